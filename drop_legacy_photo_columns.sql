@@ -0,0 +1,21 @@
+-- drop_legacy_photo_columns.sql
+
+USE kids_vehicle_tracking;
+
+-- Photos now live in the content-addressed photo store (stored_photos + files under app.photo.storage.dir).
+-- The application copies the old base64 columns into the store on startup and clears them row by row.
+-- Run this once the check below returns 0 for every table.
+
+SELECT 'drivers' AS tbl, COUNT(*) AS pending FROM drivers WHERE driver_photo IS NOT NULL
+UNION ALL SELECT 'students', COUNT(*) FROM students WHERE student_photo IS NOT NULL
+UNION ALL SELECT 'vehicles', COUNT(*) FROM vehicles WHERE vehicle_photo IS NOT NULL
+UNION ALL SELECT 'school', COUNT(*) FROM school WHERE school_photo IS NOT NULL
+UNION ALL SELECT 'vehicle_owner', COUNT(*) FROM vehicle_owner WHERE owner_photo IS NOT NULL;
+
+-- ALTER TABLE drivers DROP COLUMN driver_photo;
+-- ALTER TABLE students DROP COLUMN student_photo;
+-- ALTER TABLE vehicles DROP COLUMN vehicle_photo;
+-- ALTER TABLE school DROP COLUMN school_photo;
+-- ALTER TABLE vehicle_owner DROP COLUMN owner_photo;
+
+SELECT 'Legacy photo column check complete.' AS Message;
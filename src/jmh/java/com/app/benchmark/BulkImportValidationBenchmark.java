@@ -0,0 +1,120 @@
+package com.app.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.entity.ClassMaster;
+import com.app.entity.School;
+import com.app.entity.SectionMaster;
+import com.app.payload.request.StudentRequestDto;
+import com.app.service.IReferenceDataCache;
+import com.app.service.impl.BulkStudentImportServiceImpl;
+
+/**
+ * Row validation of a bulk student import (required fields, EMAIL_PATTERN, 10-digit
+ * phone regex, class / section lookups) over synthetic rows, one in five invalid.
+ * The private validation methods are called through reflection; nothing touches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulkImportValidationBenchmark {
+
+    @Param({ "500" })
+    private int rows;
+
+    private BulkStudentImportServiceImpl importService;
+    private Method validateAll;
+    private Method validateStudentData;
+    private Object lookups;
+    private List<StudentRequestDto> students;
+
+    @Setup
+    public void setUp() throws Exception {
+        School school = new School();
+        school.setSchoolId(7);
+        List<ClassMaster> classes = new ArrayList<>();
+        List<SectionMaster> sections = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            ClassMaster classMaster = new ClassMaster();
+            classMaster.setClassId(i);
+            classMaster.setClassName("Class " + i);
+            classMaster.setSchool(school);
+            classes.add(classMaster);
+        }
+        for (int i = 1; i <= 4; i++) {
+            SectionMaster sectionMaster = new SectionMaster();
+            sectionMaster.setSectionId(i);
+            sectionMaster.setSectionName(String.valueOf((char) ('A' + i - 1)));
+            sectionMaster.setSchool(school);
+            sections.add(sectionMaster);
+        }
+
+        IReferenceDataCache referenceDataCache = mock(IReferenceDataCache.class, withSettings().stubOnly());
+        when(referenceDataCache.getClassesBySchool(any())).thenReturn(classes);
+        when(referenceDataCache.getSectionsBySchool(any())).thenReturn(sections);
+
+        importService = new BulkStudentImportServiceImpl();
+        ReflectionTestUtils.setField(importService, "referenceDataCache", referenceDataCache);
+
+        Method loadLookups = BulkStudentImportServiceImpl.class.getDeclaredMethod("loadLookups", School.class);
+        loadLookups.setAccessible(true);
+        lookups = loadLookups.invoke(importService, school);
+
+        validateAll = BulkStudentImportServiceImpl.class.getDeclaredMethod("validateAll", List.class, lookups.getClass());
+        validateAll.setAccessible(true);
+        validateStudentData = BulkStudentImportServiceImpl.class.getDeclaredMethod("validateStudentData",
+                StudentRequestDto.class, lookups.getClass());
+        validateStudentData.setAccessible(true);
+
+        students = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            boolean invalid = i % 5 == 4;
+            StudentRequestDto student = new StudentRequestDto();
+            student.setFirstName("Student" + i);
+            student.setLastName("Kulkarni");
+            student.setFatherName("Father" + i);
+            student.setMotherName("Mother" + i);
+            student.setSchoolId(7);
+            student.setClassId(invalid ? 99 : 1 + i % 12);
+            student.setSectionId(1 + i % 4);
+            student.setPrimaryContactNumber(invalid ? "98765-4321" : String.valueOf(9_000_000_000L + i));
+            student.setAlternateContactNumber(i % 3 == 0 ? String.valueOf(8_000_000_000L + i) : null);
+            student.setEmail(invalid ? "parent" + i + "@invalid" : "parent" + i + "@example.com");
+            student.setCreatedBy("benchmark");
+            students.add(student);
+        }
+    }
+
+    // Whole batch, as importStudents runs it (parallel stream over the rows)
+    @Benchmark
+    public Object validateAll() throws Exception {
+        return validateAll.invoke(importService, students, lookups);
+    }
+
+    // Same rows validated one after another on a single thread
+    @Benchmark
+    public void validateSequential(Blackhole blackhole) throws Exception {
+        for (StudentRequestDto student : students) {
+            blackhole.consume(validateStudentData.invoke(importService, student, lookups));
+        }
+    }
+}
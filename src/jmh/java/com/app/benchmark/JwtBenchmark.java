@@ -0,0 +1,56 @@
+package com.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.app.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * JwtAuthenticationFilter's per-request work: one signature + expiry check of the bearer token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-benchmark-secret-key-0123";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000L);
+        token = jwtUtil.generateToken("parent.benchmark", List.of("PARENT"));
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public List<String> parseClaimsAndRoles() {
+        return jwtUtil.extractRoles(jwtUtil.parseClaims(token));
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, "parent.benchmark");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("parent.benchmark", List.of("PARENT"));
+    }
+}
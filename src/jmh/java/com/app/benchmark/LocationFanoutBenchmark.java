@@ -0,0 +1,77 @@
+package com.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.payload.response.LivePositionDto;
+import com.app.service.impl.LocationFanoutServiceImpl;
+
+/**
+ * LocationFanoutServiceImpl.publish: interval / distance filter, LOCATION_UPDATE payload
+ * construction and serialization, handed to a channel that discards the message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LocationFanoutBenchmark {
+
+    private LocationFanoutServiceImpl publishing;
+    private LocationFanoutServiceImpl suppressing;
+    private LivePositionDto position;
+
+    @Setup
+    public void setUp() {
+        // Zero interval / distance / heartbeat: every tick is built and sent
+        publishing = newFanout(0L, 0d, 0L);
+        // Production defaults: repeated ticks of one vehicle are suppressed by the filter
+        suppressing = newFanout(2000L, 10d, 30000L);
+
+        position = LivePositionDto.builder()
+                .vehicleId(12)
+                .vehicleNumber("MH12AB1234")
+                .driverId(5)
+                .driverName("Ramesh Patil")
+                .tripId(311)
+                .tripName("Morning Route A")
+                .schoolId(7)
+                .latitude(18.520430)
+                .longitude(73.856743)
+                .speed(32.5)
+                .bearing(270.0)
+                .address("FC Road, Shivajinagar, Pune")
+                .lastUpdated(LocalDateTime.of(2026, 10, 17, 7, 45, 12))
+                .build();
+        suppressing.publish(position);
+    }
+
+    @Benchmark
+    public boolean publishAccepted() {
+        return publishing.publish(position);
+    }
+
+    @Benchmark
+    public boolean publishSuppressed() {
+        return suppressing.publish(position);
+    }
+
+    private static LocationFanoutServiceImpl newFanout(long minIntervalMs, double minDistanceMeters, long heartbeatMs) {
+        LocationFanoutServiceImpl fanout = new LocationFanoutServiceImpl();
+        ReflectionTestUtils.setField(fanout, "messagingTemplate", new SimpMessagingTemplate((message, timeout) -> true));
+        ReflectionTestUtils.setField(fanout, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(fanout, "minIntervalMs", minIntervalMs);
+        ReflectionTestUtils.setField(fanout, "minDistanceMeters", minDistanceMeters);
+        ReflectionTestUtils.setField(fanout, "heartbeatMs", heartbeatMs);
+        return fanout;
+    }
+}
@@ -0,0 +1,79 @@
+package com.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.app.payload.response.WebSocketNotificationDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of a WebSocketNotificationDto as done for every STOMP message,
+ * with an ObjectMapper built the way Spring Boot builds the application one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotificationSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private WebSocketNotificationDto notification;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("studentId", 1042);
+        data.put("studentName", "Aarav Sharma");
+        data.put("eventType", "PICKUP_FROM_PARENT");
+        data.put("latitude", 18.520430);
+        data.put("longitude", 73.856743);
+        data.put("vehicleNumber", "MH12AB1234");
+
+        notification = WebSocketNotificationDto.builder()
+                .id("8f14e45f-ceea-467f-a0e6-0b8f6e0b7c3a")
+                .type("PICKUP_CONFIRMATION")
+                .title("Student Picked Up")
+                .message("Aarav Sharma has been picked up by vehicle MH12AB1234")
+                .priority("HIGH")
+                .targetRole("PARENT")
+                .schoolId(7)
+                .tripId(311)
+                .vehicleId(12)
+                .studentId(1042)
+                .timestamp(LocalDateTime.of(2026, 10, 17, 7, 45, 12))
+                .isRead(false)
+                .data(data)
+                .action("CREATE")
+                .entityType("ATTENDANCE")
+                .build();
+        serialized = objectMapper.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public String writeValueAsString() throws Exception {
+        return objectMapper.writeValueAsString(notification);
+    }
+
+    @Benchmark
+    public WebSocketNotificationDto readValue() throws Exception {
+        return objectMapper.readValue(serialized, WebSocketNotificationDto.class);
+    }
+}
@@ -0,0 +1,342 @@
+package com.app.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.app.payload.response.ApiResponse;
+import com.app.repository.DispatchLogRepository;
+import com.app.repository.DriverRepository;
+import com.app.repository.SchoolRepository;
+import com.app.repository.SchoolUserRepository;
+import com.app.repository.SchoolVehicleRepository;
+import com.app.repository.StudentRepository;
+import com.app.repository.TripRepository;
+import com.app.repository.TripStudentRepository;
+import com.app.repository.UserRepository;
+import com.app.repository.UserRoleRepository;
+import com.app.repository.VehicleDriverRepository;
+import com.app.repository.VehicleOwnerRepository;
+import com.app.repository.VehicleRepository;
+import com.app.repository.projection.VehicleActivityProjection;
+import com.app.service.IActiveTripIndexService;
+import com.app.service.IPendingUserService;
+import com.app.service.IPhotoStorageService;
+import com.app.service.IReferenceDataCache;
+import com.app.service.IWebSocketNotificationService;
+import com.app.service.impl.VehicleOwnerServiceImpl;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Owner-scoped dashboard queries against a real database (file-backed H2 in MySQL mode
+ * under target/, schema generated from the entities with their indexes) while the
+ * platform-wide dispatch_logs table grows.
+ *
+ * The owner's own data is the same at every size: 25 vehicles with 200 dispatch logs
+ * each over the last 30 days. Only other owners' rows are added, so with the
+ * (vehicle_id, created_date) index the score should stay flat across dispatchLogRows.
+ * dashboard runs the queries on every call (snapshot cache disabled); cachedDashboard
+ * is the same call answered from the snapshot cache. Seeding a size takes
+ * minutes, so the database is kept between forks and only reseeded when the size
+ * changes (mvn clean or deleting target/benchmark-db starts over).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OwnerDashboardQueryBenchmark {
+
+    private static final int OWNER_ID = 3;
+    private static final int OWNER_USER_ID = 41;
+    private static final String OWNER_USERNAME = "owner.benchmark";
+    private static final String OWNER_NAME = "Benchmark Owner";
+    private static final int OWNER_VEHICLES = 25;
+    private static final int OWNER_LOGS_PER_VEHICLE = 200;
+    private static final int PLATFORM_VEHICLES = 5_000;
+    private static final int INSERT_CHUNK = 100_000;
+    private static final String URL = "jdbc:h2:file:./target/benchmark-db/owner-dashboard;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=USER,VALUE;CACHE_SIZE=524288;DB_CLOSE_DELAY=-1";
+
+    // Platform-wide dispatch_logs size; the owner's share is fixed
+    @Param({ "100000", "1000000", "3000000" })
+    private int dispatchLogRows;
+
+    private AnnotationConfigApplicationContext context;
+    private VehicleOwnerServiceImpl ownerService;
+    private VehicleOwnerServiceImpl cachedOwnerService;
+    private DispatchLogRepository dispatchLogRepository;
+    private List<Integer> ownerVehicleIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean seeded = seededRows() == dispatchLogRows;
+        JpaConfig.schemaAction = seeded ? "none" : "create";
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        if (!seeded) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            seed(jdbc);
+            // Written last, so an interrupted seed is redone by the next fork
+            jdbc.execute("DROP TABLE IF EXISTS benchmark_seed");
+            jdbc.execute("CREATE TABLE benchmark_seed AS SELECT " + dispatchLogRows + " AS dispatch_log_rows");
+        }
+
+        dispatchLogRepository = context.getBean(DispatchLogRepository.class);
+        VehicleRepository vehicleRepository = context.getBean(VehicleRepository.class);
+        ownerVehicleIds = vehicleRepository.findIdsByCreatedBy(OWNER_USERNAME);
+
+        ownerService = ownerService(vehicleRepository, 0L);
+        cachedOwnerService = ownerService(vehicleRepository, 10_000L);
+
+        ApiResponse check = ownerService.getVehicleOwnerDashboard(OWNER_ID);
+        if (!check.isSuccess()) {
+            throw new IllegalStateException("Dashboard failed on seeded data: " + check.getMessage());
+        }
+        cachedOwnerService.getVehicleOwnerDashboard(OWNER_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // The data stays under target/ for the next benchmark method at the same size
+        context.close();
+    }
+
+    @Benchmark
+    public ApiResponse dashboard() {
+        return ownerService.getVehicleOwnerDashboard(OWNER_ID);
+    }
+
+    @Benchmark
+    public ApiResponse cachedDashboard() {
+        return cachedOwnerService.getVehicleOwnerDashboard(OWNER_ID);
+    }
+
+    @Benchmark
+    public List<VehicleActivityProjection> recentActivity() {
+        return dispatchLogRepository.findRecentActivityByVehicles(ownerVehicleIds,
+                LocalDateTime.now().minusDays(7), PageRequest.of(0, 20));
+    }
+
+    // cacheTtlMs 0 = every call rebuilds the dashboard
+    private VehicleOwnerServiceImpl ownerService(VehicleRepository vehicleRepository, long cacheTtlMs) {
+        VehicleOwnerServiceImpl service = new VehicleOwnerServiceImpl(context.getBean(VehicleOwnerRepository.class),
+                stub(UserRepository.class), stub(IReferenceDataCache.class), stub(IPendingUserService.class),
+                stub(SchoolRepository.class), stub(SchoolUserRepository.class), stub(UserRoleRepository.class),
+                dispatchLogRepository, vehicleRepository, stub(VehicleDriverRepository.class),
+                context.getBean(DriverRepository.class), stub(SchoolVehicleRepository.class), stub(StudentRepository.class),
+                context.getBean(TripRepository.class), stub(TripStudentRepository.class),
+                stub(IWebSocketNotificationService.class), stub(IPhotoStorageService.class),
+                stub(IActiveTripIndexService.class));
+        ReflectionTestUtils.setField(service, "dashboardCacheTtlMs", cacheTtlMs);
+        ReflectionTestUtils.setField(service, "dashboardCacheMaxSize", 2000);
+        return service;
+    }
+
+    // Size the database on disk was seeded for, or -1 when there is none yet
+    private static int seededRows() {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT dispatch_log_rows FROM benchmark_seed")) {
+            return rs.next() ? rs.getInt(1) : -1;
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        jdbc.execute("SET REFERENTIAL_INTEGRITY FALSE");
+
+        insertSelect(jdbc, "user", 1, Map.of(
+                "u_id", String.valueOf(OWNER_USER_ID),
+                "user_name", "'" + OWNER_USERNAME + "'",
+                "is_active", "TRUE"));
+        insertSelect(jdbc, "vehicle_owner", 1, Map.of(
+                "owner_id", String.valueOf(OWNER_ID),
+                "u_id", String.valueOf(OWNER_USER_ID),
+                "name", "'" + OWNER_NAME + "'",
+                "email", "'owner@example.com'"));
+
+        // Vehicles 1..25 belong to the owner, the rest to other owners
+        insertSelect(jdbc, "vehicles", OWNER_VEHICLES + PLATFORM_VEHICLES, Map.of(
+                "vehicle_id", "X",
+                "created_by", "CASE WHEN X <= " + OWNER_VEHICLES + " THEN '" + OWNER_USERNAME + "' ELSE CONCAT('owner-', MOD(X, 500)) END",
+                "is_active", "MOD(X, 10) <> 0"));
+        insertSelect(jdbc, "drivers", 500, Map.of(
+                "created_by", "CASE WHEN X <= 30 THEN '" + OWNER_NAME + "' ELSE CONCAT('Owner ', MOD(X, 100)) END",
+                "is_active", "MOD(X, 10) <> 0"));
+        insertSelect(jdbc, "trips", (OWNER_VEHICLES + PLATFORM_VEHICLES) * 4, Map.of(
+                "vehicle_id", "MOD(X, " + (OWNER_VEHICLES + PLATFORM_VEHICLES) + ") + 1",
+                "school_id", "1"));
+
+        int ownerLogs = OWNER_VEHICLES * OWNER_LOGS_PER_VEHICLE;
+        Map<String, String> ownerLog = new LinkedHashMap<>(logColumns());
+        ownerLog.put("vehicle_id", "MOD(X, " + OWNER_VEHICLES + ") + 1");
+        ownerLog.put("created_date", "DATEADD('MINUTE', -MOD(X * 37, 30 * 24 * 60), CURRENT_TIMESTAMP)");
+        insertSelect(jdbc, "dispatch_logs", ownerLogs, ownerLog);
+
+        Map<String, String> platformLog = new LinkedHashMap<>(logColumns());
+        platformLog.put("vehicle_id", OWNER_VEHICLES + " + MOD(X, " + PLATFORM_VEHICLES + ") + 1");
+        platformLog.put("created_date", "DATEADD('MINUTE', -MOD(X * 37, 365 * 24 * 60), CURRENT_TIMESTAMP)");
+        insertSelect(jdbc, "dispatch_logs", Math.max(0, dispatchLogRows - ownerLogs), platformLog);
+
+        jdbc.execute("ANALYZE");
+    }
+
+    private static Map<String, String> logColumns() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("trip_id", "MOD(X, 1000) + 1");
+        columns.put("student_id", "MOD(X, 20000) + 1");
+        columns.put("school_id", "MOD(X, 50) + 1");
+        columns.put("driver_id", "MOD(X, 500) + 1");
+        columns.put("event_type", "CASEWHEN(MOD(X, 2) = 0, 'PICKUP_FROM_PARENT', 'DROP_TO_SCHOOL')");
+        columns.put("remarks", "'benchmark'");
+        return columns;
+    }
+
+    /**
+     * INSERT ... SELECT over SYSTEM_RANGE(1, rows); X is the row number. NOT NULL columns
+     * without an expression get a type-appropriate filler, unique per row for text.
+     * Rows go in in chunks so no single statement has to hold millions of undo entries.
+     */
+    private static void insertSelect(JdbcTemplate jdbc, String table, int rows, Map<String, String> expressions) {
+        if (rows <= 0) {
+            return;
+        }
+        Map<String, String> columns = new LinkedHashMap<>(expressions);
+        List<Map<String, Object>> required = jdbc.queryForList(
+                "SELECT COLUMN_NAME, DATA_TYPE, CHARACTER_MAXIMUM_LENGTH FROM INFORMATION_SCHEMA.COLUMNS "
+                        + "WHERE TABLE_NAME = ? AND IS_NULLABLE = 'NO' AND IS_IDENTITY = 'NO'", table);
+        for (Map<String, Object> column : required) {
+            String name = ((String) column.get("COLUMN_NAME")).toLowerCase();
+            if (!columns.containsKey(name)) {
+                columns.put(name, filler(jdbc, table, name, (String) column.get("DATA_TYPE")));
+            }
+        }
+
+        StringJoiner names = new StringJoiner(", ");
+        StringJoiner values = new StringJoiner(", ");
+        columns.forEach((name, expression) -> {
+            names.add(name);
+            values.add(expression);
+        });
+        for (int from = 1; from <= rows; from += INSERT_CHUNK) {
+            int to = Math.min(rows, from + INSERT_CHUNK - 1);
+            jdbc.execute("INSERT INTO " + table + " (" + names + ") SELECT " + values
+                    + " FROM SYSTEM_RANGE(" + from + ", " + to + ")");
+        }
+    }
+
+    private static String filler(JdbcTemplate jdbc, String table, String column, String dataType) {
+        switch (dataType.toUpperCase()) {
+            case "CHARACTER VARYING":
+            case "CHARACTER":
+            case "CHARACTER LARGE OBJECT":
+                return "CAST(X AS VARCHAR)";
+            case "BOOLEAN":
+                return "TRUE";
+            case "DATE":
+                return "CURRENT_DATE";
+            case "TIME":
+                return "CURRENT_TIME";
+            case "TIMESTAMP":
+            case "TIMESTAMP WITH TIME ZONE":
+                return "CURRENT_TIMESTAMP";
+            case "ENUM":
+                return "'" + jdbc.queryForObject("SELECT VALUE_NAME FROM INFORMATION_SCHEMA.ENUM_VALUES "
+                        + "WHERE OBJECT_NAME = ? AND ENUM_IDENTIFIER = (SELECT DTD_IDENTIFIER FROM INFORMATION_SCHEMA.COLUMNS "
+                        + "WHERE TABLE_NAME = ? AND COLUMN_NAME = ?) ORDER BY VALUE_ORDINAL LIMIT 1",
+                        String.class, table, table, column) + "'";
+            case "BINARY VARYING":
+            case "BINARY LARGE OBJECT":
+                return "X'00'";
+            default:
+                return "0";
+        }
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    /**
+     * Just the JPA layer: every entity and repository of the application on H2 in MySQL
+     * mode, with the same naming strategies Spring Boot applies.
+     */
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = DispatchLogRepository.class)
+    static class JpaConfig {
+
+        // "none" when the database on disk is already seeded for this size
+        static String schemaAction = "create";
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource(URL, "sa", "");
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            Properties properties = new Properties();
+            properties.put("hibernate.hbm2ddl.auto", schemaAction);
+            properties.put("hibernate.physical_naming_strategy",
+                    "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy");
+            properties.put("hibernate.implicit_naming_strategy",
+                    "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy");
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan("com.app.entity");
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaProperties(properties);
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
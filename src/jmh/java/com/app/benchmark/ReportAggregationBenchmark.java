@@ -0,0 +1,168 @@
+package com.app.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.app.entity.School;
+import com.app.payload.response.ApiResponse;
+import com.app.repository.DispatchLogRepository;
+import com.app.repository.NotificationRepository;
+import com.app.repository.SchoolRepository;
+import com.app.repository.StudentAttendanceRepository;
+import com.app.repository.StudentRepository;
+import com.app.repository.TripRepository;
+import com.app.repository.VehicleRepository;
+import com.app.repository.projection.ClassAttendanceSummaryProjection;
+import com.app.repository.projection.StudentAttendanceSummaryProjection;
+import com.app.service.IReportJobService;
+import com.app.service.impl.ReportServiceImpl;
+
+/**
+ * Attendance report assembly in ReportServiceImpl over synthetic grouped rows: the
+ * student-wise page and the class-wise summary. Repositories are stubs returning the
+ * rows, so this measures the in-process aggregation only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportAggregationBenchmark {
+
+    @Param({ "200", "1000" })
+    private int pageSize;
+
+    private ReportServiceImpl reportService;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() {
+        // The report service logs with System.out on every call; keep that out of the fork's output
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        School school = new School();
+        school.setSchoolId(7);
+        school.setSchoolName("Benchmark Public School");
+
+        List<StudentAttendanceSummaryProjection> studentRows = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            studentRows.add(new StudentRow(i, "Student" + i, "Kulkarni", "Class " + (1 + i % 12),
+                    String.valueOf((char) ('A' + i % 4)), 18L + i % 4, 2L + i % 3, (long) (i % 2)));
+        }
+        List<ClassAttendanceSummaryProjection> classRows = new ArrayList<>();
+        for (int c = 1; c <= 12; c++) {
+            for (int s = 0; s < 4; s++) {
+                classRows.add(new ClassRow("Class " + c, String.valueOf((char) ('A' + s)), 40L, 760L, 40L, 12L));
+            }
+        }
+
+        SchoolRepository schoolRepository = stub(SchoolRepository.class);
+        when(schoolRepository.findById(anyInt())).thenReturn(Optional.of(school));
+        StudentAttendanceRepository attendanceRepository = stub(StudentAttendanceRepository.class);
+        when(attendanceRepository.summarizeByStudent(anyInt(), any(), any(), any()))
+                .thenReturn(new PageImpl<>(studentRows, PageRequest.of(0, pageSize), pageSize * 10L));
+        when(attendanceRepository.summarizeByClass(anyInt(), any(), any())).thenReturn(classRows);
+
+        reportService = new ReportServiceImpl(stub(StudentRepository.class), stub(DispatchLogRepository.class),
+                stub(NotificationRepository.class), stub(TripRepository.class), stub(VehicleRepository.class),
+                schoolRepository, attendanceRepository, stub(IReportJobService.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public ApiResponse studentWise() {
+        return reportService.getAttendanceReport(7, "student-wise", "2026-09-01", "2026-09-30", 0, pageSize);
+    }
+
+    @Benchmark
+    public ApiResponse classWise() {
+        return reportService.getAttendanceReport(7, "class-wise", "2026-09-01", "2026-09-30", null, null);
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    private static final class StudentRow implements StudentAttendanceSummaryProjection {
+        private final Integer studentId;
+        private final String firstName;
+        private final String lastName;
+        private final String className;
+        private final String sectionName;
+        private final Long presentDays;
+        private final Long absentDays;
+        private final Long lateDays;
+
+        private StudentRow(Integer studentId, String firstName, String lastName, String className, String sectionName,
+                Long presentDays, Long absentDays, Long lateDays) {
+            this.studentId = studentId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.className = className;
+            this.sectionName = sectionName;
+            this.presentDays = presentDays;
+            this.absentDays = absentDays;
+            this.lateDays = lateDays;
+        }
+
+        public Integer getStudentId() { return studentId; }
+        public String getFirstName() { return firstName; }
+        public String getLastName() { return lastName; }
+        public String getClassName() { return className; }
+        public String getSectionName() { return sectionName; }
+        public Long getPresentDays() { return presentDays; }
+        public Long getAbsentDays() { return absentDays; }
+        public Long getLateDays() { return lateDays; }
+    }
+
+    private static final class ClassRow implements ClassAttendanceSummaryProjection {
+        private final String className;
+        private final String sectionName;
+        private final Long studentCount;
+        private final Long presentDays;
+        private final Long absentDays;
+        private final Long lateDays;
+
+        private ClassRow(String className, String sectionName, Long studentCount, Long presentDays, Long absentDays,
+                Long lateDays) {
+            this.className = className;
+            this.sectionName = sectionName;
+            this.studentCount = studentCount;
+            this.presentDays = presentDays;
+            this.absentDays = absentDays;
+            this.lateDays = lateDays;
+        }
+
+        public String getClassName() { return className; }
+        public String getSectionName() { return sectionName; }
+        public Long getStudentCount() { return studentCount; }
+        public Long getPresentDays() { return presentDays; }
+        public Long getAbsentDays() { return absentDays; }
+        public Long getLateDays() { return lateDays; }
+    }
+}
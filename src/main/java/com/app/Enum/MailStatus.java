@@ -0,0 +1,8 @@
+package com.app.Enum;
+
+public enum MailStatus {
+	PENDING,
+	SENDING,
+	SENT,
+	FAILED
+}
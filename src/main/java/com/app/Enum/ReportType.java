@@ -0,0 +1,41 @@
+package com.app.Enum;
+
+import java.util.Locale;
+
+import com.app.exception.BadRequestException;
+
+public enum ReportType {
+
+	ATTENDANCE("attendance"),
+	DISPATCH_LOGS("dispatch-logs", "dispatch"),
+	NOTIFICATIONS("notifications", "notification");
+
+	private final String slug;
+	private final String[] aliases;
+
+	ReportType(String slug, String... aliases) {
+		this.slug = slug;
+		this.aliases = aliases;
+	}
+
+	// Canonical name used in file names and cache keys
+	public String slug() {
+		return slug;
+	}
+
+	// Exact (case-insensitive, '_' or '-') match on the canonical name or a known alias
+	public static ReportType of(String type) {
+		String normalized = type == null ? "" : type.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+		for (ReportType reportType : values()) {
+			if (reportType.slug.equals(normalized)) {
+				return reportType;
+			}
+			for (String alias : reportType.aliases) {
+				if (alias.equals(normalized)) {
+					return reportType;
+				}
+			}
+		}
+		throw new BadRequestException("Unsupported report type: " + type);
+	}
+}
@@ -0,0 +1,49 @@
+package com.app.config;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process Artemis broker with a STOMP acceptor, so relay mode
+ * (app.websocket.broker.mode=relay) can be exercised locally with several app nodes
+ * pointing at one node's broker. Not meant for production: nothing is persisted and
+ * security is off.
+ */
+@Configuration
+@ConditionalOnClass(name = "org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ")
+@ConditionalOnProperty(name = "app.websocket.broker.embedded.enabled", havingValue = "true")
+public class EmbeddedStompBrokerConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedStompBrokerConfig.class);
+
+    @Value("${app.websocket.broker.embedded.host:localhost}")
+    private String host;
+
+    @Value("${app.websocket.broker.embedded.port:61613}")
+    private int port;
+
+    // Started before the relay handler connects (SmartLifecycle start), stopped on shutdown
+    @Bean(destroyMethod = "stop")
+    public EmbeddedActiveMQ embeddedStompBroker() throws Exception {
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.setJMXManagementEnabled(false);
+        // STOMP "/topic/x" maps to multicast address "x", "/queue/x" to an anycast queue
+        configuration.addAcceptorConfiguration("stomp",
+                "tcp://" + host + ":" + port + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+
+        EmbeddedActiveMQ broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        broker.start();
+        logger.info("Embedded STOMP broker listening on {}:{}", host, port);
+        return broker;
+    }
+}
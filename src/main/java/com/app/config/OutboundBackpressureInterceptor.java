@@ -0,0 +1,239 @@
+package com.app.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import com.app.service.impl.LocationFanoutServiceImpl;
+
+/**
+ * Per-session backpressure on the clientOutboundChannel.
+ *
+ * Every message queued for a session counts towards that session's depth until the
+ * outbound executor picks it up. While a session is behind, a LOCATION_UPDATE for a
+ * vehicle replaces the one still waiting for the same vehicle; the stale one is dropped
+ * when its turn comes. Every other message (pickup / drop events, notifications) is
+ * always delivered. A session whose depth exceeds the limit is closed so the client
+ * reconnects and resubscribes instead of falling further behind.
+ *
+ * The outbound executor is multi-threaded, so two updates for the same vehicle can be
+ * handled concurrently. Each one gets a per-session sequence number when queued, and
+ * location sends for a session are serialized: an update older than the last one sent
+ * for its vehicle is dropped instead of overwriting a fresher position.
+ *
+ * The send buffer / time limits in WebSocketConfig still apply once a message reaches
+ * the socket; this guards the queue in front of it.
+ */
+@Component
+public class OutboundBackpressureInterceptor implements ExecutorChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundBackpressureInterceptor.class);
+
+    // Order in which a LOCATION_UPDATE was queued for its session
+    public static final String LOCATION_SEQUENCE_HEADER = "outboundLocationSequence";
+
+    @Value("${app.websocket.backpressure.max-queue-depth:500}")
+    private int maxQueueDepth;
+
+    @Value("${app.websocket.backpressure.coalesce-locations:true}")
+    private boolean coalesceLocations;
+
+    private final Map<String, SessionQueue> sessions = new ConcurrentHashMap<>();
+
+    private final LongAdder queuedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder droppedAfterEvictionCount = new LongAdder();
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), new SessionQueue(session));
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SessionQueue queue = queueFor(message);
+        if (queue == null) {
+            return message;
+        }
+        if (queue.evicted) {
+            droppedAfterEvictionCount.increment();
+            return null;
+        }
+
+        int depth = queue.depth.incrementAndGet();
+        queuedCount.increment();
+        if (depth > maxQueueDepth) {
+            queue.depth.decrementAndGet();
+            evict(queue, depth);
+            return null;
+        }
+
+        Integer vehicleId = coalescibleVehicleId(message);
+        if (vehicleId != null) {
+            message = MessageBuilder.fromMessage(message)
+                    .setHeader(LOCATION_SEQUENCE_HEADER, queue.locationSequence.incrementAndGet())
+                    .build();
+            queue.pendingLocations.put(vehicleId, message);
+        }
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        // Rejected by the executor: the message never reaches beforeHandle
+        if (!sent || ex != null) {
+            SessionQueue queue = queueFor(message);
+            if (queue != null) {
+                queue.depth.decrementAndGet();
+                Integer vehicleId = coalescibleVehicleId(message);
+                if (vehicleId != null) {
+                    queue.pendingLocations.remove(vehicleId, message);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        SessionQueue queue = queueFor(message);
+        if (queue == null) {
+            return message;
+        }
+        queue.depth.decrementAndGet();
+
+        Integer vehicleId = coalescibleVehicleId(message);
+        if (vehicleId != null) {
+            // Held until afterMessageHandled, so the check and the send happen in one step
+            queue.locationSendLock.lock();
+            boolean[] superseded = new boolean[1];
+            queue.pendingLocations.compute(vehicleId, (id, newest) -> {
+                if (newest != null && newest != message) {
+                    superseded[0] = true;
+                    return newest;
+                }
+                return null;
+            });
+            Long sequence = message.getHeaders().get(LOCATION_SEQUENCE_HEADER, Long.class);
+            Long lastSent = queue.sentLocations.get(vehicleId);
+            if (superseded[0] || (sequence != null && lastSent != null && lastSent > sequence)) {
+                queue.locationSendLock.unlock();
+                coalescedCount.increment();
+                return null;
+            }
+            if (sequence != null) {
+                queue.sentLocations.put(vehicleId, sequence);
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        SessionQueue queue = queueFor(message);
+        if (queue != null && queue.locationSendLock.isHeldByCurrentThread()) {
+            queue.locationSendLock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        int totalDepth = 0;
+        int maxDepth = 0;
+        for (SessionQueue queue : sessions.values()) {
+            int depth = Math.max(queue.depth.get(), 0);
+            totalDepth += depth;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", sessions.size());
+        stats.put("queuedNow", totalDepth);
+        stats.put("maxSessionDepth", maxDepth);
+        stats.put("queued", queuedCount.sum());
+        stats.put("coalesced", coalescedCount.sum());
+        stats.put("evicted", evictedCount.sum());
+        stats.put("droppedAfterEviction", droppedAfterEvictionCount.sum());
+        stats.put("maxQueueDepth", maxQueueDepth);
+        stats.put("coalesceLocations", coalesceLocations);
+        return stats;
+    }
+
+    private SessionQueue queueFor(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? sessions.get(sessionId) : null;
+    }
+
+    private Integer coalescibleVehicleId(Message<?> message) {
+        if (!coalesceLocations
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+        return LocationFanoutServiceImpl.parseVehicleTopic(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+    }
+
+    private void evict(SessionQueue queue, int depth) {
+        synchronized (queue) {
+            if (queue.evicted) {
+                return;
+            }
+            queue.evicted = true;
+        }
+        evictedCount.increment();
+        queue.pendingLocations.clear();
+        logger.warn("Closing slow WebSocket session {}: {} messages queued (limit {})",
+                queue.session.getId(), depth, maxQueueDepth);
+        try {
+            queue.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            logger.debug("Error closing slow WebSocket session {}: {}", queue.session.getId(), e.getMessage());
+        }
+    }
+
+    private static final class SessionQueue {
+        private final WebSocketSession session;
+        private final AtomicInteger depth = new AtomicInteger();
+        // vehicleId -> newest LOCATION_UPDATE still queued for this session
+        private final Map<Integer, Message<?>> pendingLocations = new ConcurrentHashMap<>();
+        private final AtomicLong locationSequence = new AtomicLong();
+        // vehicleId -> sequence of the last LOCATION_UPDATE handed to the socket
+        private final Map<Integer, Long> sentLocations = new ConcurrentHashMap<>();
+        private final ReentrantLock locationSendLock = new ReentrantLock();
+        private volatile boolean evicted;
+
+        private SessionQueue(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.app.service.IReferenceDataInvalidationBus;
+import com.app.service.impl.LocalReferenceDataInvalidationBus;
+
+/**
+ * Falls back to the single-node bus when no other IReferenceDataInvalidationBus is
+ * registered. A broker-backed bus is a bean of its own, selected by its own value of
+ * app.reference-data.invalidation-bus; any value other than "local" without such a
+ * bean stops startup instead of silently leaving the other nodes stale.
+ */
+@Configuration
+public class ReferenceDataInvalidationBusConfig {
+
+    public static final String LOCAL = "local";
+
+    @Bean
+    @ConditionalOnMissingBean(IReferenceDataInvalidationBus.class)
+    public IReferenceDataInvalidationBus localReferenceDataInvalidationBus(
+            @Value("${app.reference-data.invalidation-bus:" + LOCAL + "}") String bus) {
+        if (!LOCAL.equalsIgnoreCase(bus.trim())) {
+            throw new IllegalStateException("app.reference-data.invalidation-bus=" + bus
+                    + " but no IReferenceDataInvalidationBus is registered for it; use \"" + LOCAL
+                    + "\" or add the broker-backed implementation");
+        }
+        return new LocalReferenceDataInvalidationBus();
+    }
+}
@@ -3,6 +3,7 @@ package com.app.config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -27,6 +28,9 @@ public class SecurityConfig {
 			.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
                 .authorizeHttpRequests(
                         auth -> auth
+                                // Archiving / restoring tracking history: app admins only, ahead of the /api/** permit below
+                                .requestMatchers(HttpMethod.POST, "/api/app-admin/data-lifecycle/**")
+                                .hasRole("APP_ADMIN")
                                 .requestMatchers("/api/auth/**", "/api/pending-users/**", "/api/public/**", "/api/schools/register", "/activation", "/ws/**", "/app/**", "/api/**")
                                 .permitAll()
                                 .anyRequest()
@@ -1,19 +1,129 @@
 package com.app.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import com.app.security.LocationSubscriptionInterceptor;
+
+/**
+ * STOMP over WebSocket.
+ *
+ * app.websocket.broker.mode selects where subscriptions live:
+ * - simple: in-memory broker inside this JVM (single node)
+ * - relay: an external STOMP broker (RabbitMQ, ActiveMQ / Artemis) so /topic/school/*,
+ *   /topic/role/*, /topic/vehicle/* and user queues reach clients connected to any node.
+ *   User destinations and the user registry are broadcast between nodes through the broker.
+ *
+ * For local testing of relay mode, EmbeddedStompBrokerConfig can start an in-process broker.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    public static final String BROKER_MODE_SIMPLE = "simple";
+    public static final String BROKER_MODE_RELAY = "relay";
+
+    @Autowired
+    private LocationSubscriptionInterceptor locationSubscriptionInterceptor;
+
+    @Autowired
+    private OutboundBackpressureInterceptor outboundBackpressureInterceptor;
+
+    @Lazy
+    @Autowired
+    @Qualifier("messageBrokerTaskScheduler")
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Value("${app.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${app.websocket.broker.heartbeat-send-ms:10000}")
+    private long heartbeatSendMs;
+
+    @Value("${app.websocket.broker.heartbeat-receive-ms:10000}")
+    private long heartbeatReceiveMs;
+
+    @Value("${app.websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${app.websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${app.websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${app.websocket.broker.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${app.websocket.broker.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${app.websocket.broker.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${app.websocket.broker.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${app.websocket.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${app.websocket.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${app.websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${app.websocket.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${app.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${app.websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.transport.send-time-limit-ms:15000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple message broker for destinations prefixed with "/topic"
-        config.enableSimpleBroker("/topic", "/queue");
+        if (BROKER_MODE_RELAY.equalsIgnoreCase(brokerMode)) {
+            // Relay "/topic" and "/queue" destinations to the external broker shared by all nodes
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setVirtualHost(relayVirtualHost.isBlank() ? null : relayVirtualHost)
+                    .setClientLogin(relayClientLogin)
+                    .setClientPasscode(relayClientPasscode)
+                    .setSystemLogin(relaySystemLogin)
+                    .setSystemPasscode(relaySystemPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeatSendMs)
+                    .setSystemHeartbeatReceiveInterval(heartbeatReceiveMs)
+                    // Resolve /user destinations for sessions connected to other nodes
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            // Enable a simple message broker for destinations prefixed with "/topic"
+            config.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[] { heartbeatSendMs, heartbeatReceiveMs })
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        }
         
         // Set the application destination prefix to "/app"
         config.setApplicationDestinationPrefixes("/app");
@@ -29,4 +139,33 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*") // Allow all origins for development
                 .withSockJS(); // Enable SockJS fallback options
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Authenticate STOMP sessions and guard per-vehicle location topics
+        registration.interceptors(locationSubscriptionInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Track per-session queue depth, coalesce stale location updates, close slow sessions
+        registration.interceptors(outboundBackpressureInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Slow clients are dropped once their pending sends exceed either limit
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(outboundBackpressureInterceptor);
+    }
 }
@@ -1,15 +1,31 @@
 package com.app.controller;
 
+import java.time.LocalDate;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.app.config.OutboundBackpressureInterceptor;
 import com.app.payload.response.ApiResponse;
+import com.app.security.AuthenticatedPrincipalCache;
+import com.app.service.IActiveTripIndexService;
 import com.app.service.IAppAdminService;
+import com.app.service.IDataLifecycleService;
+import com.app.service.IDriverDashboardService;
+import com.app.service.IMailOutboxService;
+import com.app.service.IPhotoStorageService;
+import com.app.service.IReferenceDataCache;
+import com.app.service.ISchoolDailyStateService;
+import com.app.service.ISchoolSearchService;
 
 @RestController
 @RequestMapping("/api/app-admin")
@@ -18,6 +34,36 @@ public class AppAdminController {
     @Autowired
     private IAppAdminService appAdminService;
 
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+
+    @Autowired
+    private IMailOutboxService mailOutboxService;
+
+    @Autowired
+    private IDriverDashboardService driverDashboardService;
+
+    @Autowired
+    private IPhotoStorageService photoStorageService;
+
+    @Autowired
+    private IReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private OutboundBackpressureInterceptor outboundBackpressureInterceptor;
+
+    @Autowired
+    private ISchoolDailyStateService schoolDailyStateService;
+
+    @Autowired
+    private IActiveTripIndexService activeTripIndexService;
+
+    @Autowired
+    private ISchoolSearchService schoolSearchService;
+
+    @Autowired
+    private IDataLifecycleService dataLifecycleService;
+
     /**
      * Get AppAdmin Dashboard
      */
@@ -55,4 +101,118 @@ public class AppAdminController {
         ApiResponse response = appAdminService.getReports(startDate, endDate);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Authentication principal cache hit / miss counters
+     */
+    @GetMapping("/principal-cache-stats")
+    public ResponseEntity<ApiResponse> getPrincipalCacheStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "Principal cache stats retrieved successfully", principalCache.getStats()));
+    }
+
+    /**
+     * Mail outbox backlog and delivery counters
+     */
+    @GetMapping("/mail-outbox-stats")
+    public ResponseEntity<ApiResponse> getMailOutboxStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "Mail outbox stats retrieved successfully", mailOutboxService.getOutboxStats()));
+    }
+
+    /**
+     * Driver dashboard cache hit / miss counters
+     */
+    @GetMapping("/driver-dashboard-cache-stats")
+    public ResponseEntity<ApiResponse> getDriverDashboardCacheStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "Driver dashboard cache stats retrieved successfully", driverDashboardService.getCacheStats()));
+    }
+
+    /**
+     * Photo store and legacy photo migration counters
+     */
+    @GetMapping("/photo-store-stats")
+    public ResponseEntity<ApiResponse> getPhotoStoreStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "Photo store stats retrieved successfully", photoStorageService.getStoreStats()));
+    }
+
+    /**
+     * Role / class / section cache size and hit ratio
+     */
+    @GetMapping("/reference-data-cache-stats")
+    public ResponseEntity<ApiResponse> getReferenceDataCacheStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "Reference data cache stats retrieved successfully", referenceDataCache.getCacheStats()));
+    }
+
+    /**
+     * Per-session outbound queue depth, coalesced location updates and evicted slow sessions
+     */
+    @GetMapping("/websocket-delivery-stats")
+    public ResponseEntity<ApiResponse> getWebSocketDeliveryStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "WebSocket delivery stats retrieved successfully", outboundBackpressureInterceptor.getStats()));
+    }
+
+    /**
+     * Per-school daily operations state (day, schools tracked, events applied, reloads)
+     */
+    @GetMapping("/school-daily-state-stats")
+    public ResponseEntity<ApiResponse> getSchoolDailyStateStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "School daily state stats retrieved successfully", schoolDailyStateService.getStats()));
+    }
+
+    /**
+     * Student-to-active-trip index (trips in progress, students indexed, lookups, reloads)
+     */
+    @GetMapping("/active-trip-index-stats")
+    public ResponseEntity<ApiResponse> getActiveTripIndexStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "Active trip index stats retrieved successfully", activeTripIndexService.getStats()));
+    }
+
+    /**
+     * School search index (schools indexed, trigrams, searches and average latency)
+     */
+    @GetMapping("/school-search-stats")
+    public ResponseEntity<ApiResponse> getSchoolSearchStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "School search stats retrieved successfully", schoolSearchService.getStats()));
+    }
+
+    /**
+     * Retention / archiving job (last run, trip days archived, rows archived and restored)
+     */
+    @GetMapping("/data-lifecycle-stats")
+    public ResponseEntity<ApiResponse> getDataLifecycleStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "Data lifecycle stats retrieved successfully", dataLifecycleService.getStats()));
+    }
+
+    /**
+     * Queue one retention pass now instead of waiting for the next scheduled one; poll GET /data-lifecycle/run
+     */
+    @PostMapping("/data-lifecycle/run")
+    public ResponseEntity<ApiResponse> runDataLifecycle() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ApiResponse(true, "Data lifecycle pass queued", dataLifecycleService.requestRun()));
+    }
+
+    /**
+     * Status of the queued / running retention pass and the outcome of the last one
+     */
+    @GetMapping("/data-lifecycle/run")
+    public ResponseEntity<ApiResponse> getDataLifecycleRun() {
+        return ResponseEntity.ok(new ApiResponse(true, "Data lifecycle run status retrieved successfully", dataLifecycleService.getRunStatus()));
+    }
+
+    /**
+     * Downsampled routes and archive state of a trip, newest day first
+     */
+    @GetMapping("/data-lifecycle/trips/{tripId}/route-summaries")
+    public ResponseEntity<ApiResponse> getTripRouteSummaries(@PathVariable Integer tripId) {
+        return ResponseEntity.ok(new ApiResponse(true, "Trip route summaries retrieved successfully", dataLifecycleService.getRouteSummaries(tripId)));
+    }
+
+    /**
+     * Restore the archived locations and dispatch logs of a trip (one day, or every archived day without date)
+     */
+    @PostMapping("/data-lifecycle/trips/{tripId}/restore")
+    public ResponseEntity<ApiResponse> restoreArchivedTrip(@PathVariable Integer tripId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(new ApiResponse(true, "Archived trip restored successfully", dataLifecycleService.restoreTrip(tripId, date)));
+    }
 }
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -13,6 +14,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.validation.Valid;
+
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.response.ApiResponse;
 import com.app.service.IAppAdminSchoolService;
 
@@ -28,8 +32,8 @@ public class AppAdminSchoolController {
      * Get all schools with details for AppAdmin
      */
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllSchools() {
-        ApiResponse response = appAdminSchoolService.getAllSchools();
+    public ResponseEntity<ApiResponse> getAllSchools(@Valid @ModelAttribute PaginationRequest pagination) {
+        ApiResponse response = appAdminSchoolService.getAllSchools(pagination);
         return ResponseEntity.ok(response);
     }
 
@@ -75,11 +79,12 @@ public class AppAdminSchoolController {
     }
 
     /**
-     * Search schools by name, city, or state
+     * Search schools by name, code, city, district or state (ranked, paged by pageNo/pageSize)
      */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse> searchSchools(@RequestParam String query) {
-        ApiResponse response = appAdminSchoolService.searchSchools(query);
+    public ResponseEntity<ApiResponse> searchSchools(@RequestParam String query,
+            @Valid @ModelAttribute PaginationRequest pagination) {
+        ApiResponse response = appAdminSchoolService.searchSchools(query, pagination);
         return ResponseEntity.ok(response);
     }
 
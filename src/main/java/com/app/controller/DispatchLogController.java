@@ -1,9 +1,11 @@
 package com.app.controller;
 
 import com.app.payload.request.DispatchLogRequestDto;
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.response.ApiResponse;
 import com.app.service.IDispatchLogService;
 
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -37,13 +39,15 @@ public class DispatchLogController {
 
     // ----------- Get Dispatch Logs By Trip -----------
     @GetMapping("/trip/{tripId}")
-    public ResponseEntity<ApiResponse> getDispatchLogsByTrip(@PathVariable Integer tripId) {
-        return ResponseEntity.ok(dispatchLogService.getDispatchLogsByTrip(tripId));
+    public ResponseEntity<ApiResponse> getDispatchLogsByTrip(@PathVariable Integer tripId,
+            @Valid @ModelAttribute PaginationRequest pagination) {
+        return ResponseEntity.ok(dispatchLogService.getDispatchLogsByTrip(tripId, pagination));
     }
 
     // ----------- Get Dispatch Logs By Vehicle -----------
     @GetMapping("/vehicle/{vehicleId}")
-    public ResponseEntity<ApiResponse> getDispatchLogsByVehicle(@PathVariable Integer vehicleId) {
-        return ResponseEntity.ok(dispatchLogService.getDispatchLogsByVehicle(vehicleId));
+    public ResponseEntity<ApiResponse> getDispatchLogsByVehicle(@PathVariable Integer vehicleId,
+            @Valid @ModelAttribute PaginationRequest pagination) {
+        return ResponseEntity.ok(dispatchLogService.getDispatchLogsByVehicle(vehicleId, pagination));
     }
 }
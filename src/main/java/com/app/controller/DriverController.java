@@ -158,13 +158,34 @@ public class DriverController {
             ((Number) locationData.get("longitude")).doubleValue() : null;
         String address = locationData.get("address") != null ? 
             (String) locationData.get("address") : null;
+        Double speed = locationData.get("speed") != null ? 
+            ((Number) locationData.get("speed")).doubleValue() : null;
+        Double bearing = locationData.get("bearing") != null ? 
+            ((Number) locationData.get("bearing")).doubleValue() : null;
         
         if (latitude == null || longitude == null) {
             return ResponseEntity.badRequest().body(
                 new com.app.payload.response.ApiResponse(false, "latitude and longitude are required", null));
         }
         
-        return ResponseEntity.ok(driverService.saveLocationUpdate(driverId, tripId, latitude, longitude, address));
+        return ResponseEntity.ok(driverService.saveLocationUpdate(driverId, tripId, latitude, longitude, address, speed, bearing));
+    }
+
+    // ----------- Live Location (in-memory, no database read) -----------
+    @GetMapping("/vehicle/{vehicleId}/live-location")
+    public ResponseEntity<ApiResponse> getVehicleLiveLocation(@PathVariable Integer vehicleId) {
+        return ResponseEntity.ok(driverService.getVehicleLiveLocation(vehicleId));
+    }
+
+    @GetMapping("/trip/{tripId}/live-location")
+    public ResponseEntity<ApiResponse> getTripLiveLocation(@PathVariable Integer tripId) {
+        return ResponseEntity.ok(driverService.getTripLiveLocation(tripId));
+    }
+
+    // ----------- Location Ingestion Stats -----------
+    @GetMapping("/location/ingestion-stats")
+    public ResponseEntity<ApiResponse> getLocationIngestionStats() {
+        return ResponseEntity.ok(driverService.getLocationIngestionStats());
     }
 
 }
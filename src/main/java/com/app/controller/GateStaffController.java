@@ -18,8 +18,11 @@ public class GateStaffController {
 
     // ----------- Get Gate Staff Dashboard -----------
     @GetMapping("/{userId}/dashboard")
-    public ResponseEntity<?> getGateStaffDashboard(@PathVariable Integer userId) {
-        return ResponseEntity.ok(gateStaffService.getGateStaffDashboard(userId));
+    public ResponseEntity<?> getGateStaffDashboard(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gateStaffService.getGateStaffDashboard(userId, page, size));
     }
 
     // ----------- Get Students by Trip -----------
@@ -80,8 +83,10 @@ public class GateStaffController {
 
     // ----------- Get Recent Dispatch Logs -----------
     @GetMapping("/{userId}/recent-logs")
-    public ResponseEntity<?> getRecentDispatchLogs(@PathVariable Integer userId) {
-        return ResponseEntity.ok(gateStaffService.getRecentDispatchLogs(userId));
+    public ResponseEntity<?> getRecentDispatchLogs(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(gateStaffService.getRecentDispatchLogs(userId, limit));
     }
 
     // ----------- Get Gate Staff by User ID -----------
@@ -1,10 +1,12 @@
 package com.app.controller;
 
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.StudentParentRequestDto;
 import com.app.payload.request.UserRequestDto;
 import com.app.payload.response.ApiResponse;
 import com.app.service.IParentService;
 
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -77,6 +79,20 @@ public class ParentController {
     public ResponseEntity<ApiResponse> getParentNotifications(@PathVariable Integer userId) {
         return ResponseEntity.ok(parentService.getParentNotifications(userId));
     }
+
+    // ----------- Get Parent Notification Feed (keyset paged, pass nextCursor to load older) -----------
+    @GetMapping("/{userId}/notifications/feed")
+    public ResponseEntity<ApiResponse> getParentNotificationFeed(@PathVariable Integer userId,
+            @Valid @ModelAttribute PaginationRequest pagination) {
+        return ResponseEntity.ok(parentService.getParentNotificationFeed(userId, pagination));
+    }
+
+    // ----------- Get Trip/Vehicle Details of One Notification -----------
+    @GetMapping("/{userId}/notifications/{notificationId}/details")
+    public ResponseEntity<ApiResponse> getParentNotificationDetails(@PathVariable Integer userId,
+            @PathVariable Integer notificationId) {
+        return ResponseEntity.ok(parentService.getParentNotificationDetails(userId, notificationId));
+    }
     
     // ----------- Get Parent Trips -----------
     @GetMapping("/{userId}/trips")
@@ -1,5 +1,6 @@
 package com.app.controller;
 
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.PendingUserRequestDTO;
 import com.app.payload.response.ApiResponse;
 import com.app.service.IPendingUserService;
@@ -37,8 +38,8 @@ public class PendingUserController {
 
     // ----------- Get All Pending Users -----------
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllPendingUsers() {
-        return ResponseEntity.ok(pendingUserService.getAllPendingUsers());
+    public ResponseEntity<ApiResponse> getAllPendingUsers(@Valid @ModelAttribute PaginationRequest pagination) {
+        return ResponseEntity.ok(pendingUserService.getAllPendingUsers(pagination));
     }
 
     // ----------- Delete Pending User -----------
@@ -0,0 +1,78 @@
+package com.app.controller;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.app.entity.StoredPhoto;
+import com.app.service.IPhotoStorageService;
+
+@RestController
+@RequestMapping("/api/photos")
+public class PhotoController {
+
+    // Content-addressed: the bytes behind a hash never change
+    private static final CacheControl PHOTO_CACHE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    // Served inline; anything else stored earlier (e.g. SVG) is only offered as a download
+    private static final Set<String> INLINE_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/webp");
+
+    @Autowired
+    private IPhotoStorageService photoStorageService;
+
+    // ----------- Photo / Thumbnail -----------
+    // Streamed from the photo store; clients revalidate with If-None-Match
+    @GetMapping("/{contentHash}")
+    public ResponseEntity<Resource> getPhoto(
+            @PathVariable String contentHash,
+            @RequestParam(defaultValue = "false") boolean thumbnail,
+            WebRequest webRequest) {
+        StoredPhoto photo = photoStorageService.find(contentHash);
+        if (photo == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        boolean servesThumbnail = thumbnail && Boolean.TRUE.equals(photo.getHasThumbnail());
+        String etag = "\"" + contentHash + (servesThumbnail ? "-thumb" : "") + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(PHOTO_CACHE).build();
+        }
+
+        Path file = photoStorageService.resolve(photo, thumbnail);
+        if (!Files.exists(file)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!servesThumbnail && !INLINE_TYPES.contains(photo.getContentType())) {
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment")
+                    .header("X-Content-Type-Options", "nosniff")
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(new FileSystemResource(file));
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(PHOTO_CACHE)
+                .header("X-Content-Type-Options", "nosniff")
+                .contentType(servesThumbnail ? MediaType.IMAGE_JPEG : MediaType.parseMediaType(photo.getContentType()))
+                .body(new FileSystemResource(file));
+    }
+}
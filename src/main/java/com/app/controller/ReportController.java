@@ -1,14 +1,26 @@
 package com.app.controller;
 
+import com.app.Enum.ReportType;
+import com.app.exception.BadRequestException;
 import com.app.payload.response.ApiResponse;
+import com.app.service.IReportExportService;
+import com.app.service.IReportJobService;
 import com.app.service.IReportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -17,12 +29,22 @@ public class ReportController {
     @Autowired
     private IReportService reportService;
 
+    @Autowired
+    private IReportExportService reportExportService;
+
+    @Autowired
+    private IReportJobService reportJobService;
+
     // ----------- Attendance Report -----------
     @GetMapping("/attendance/{schoolId}")
     public ResponseEntity<ApiResponse> getAttendanceReport(
             @PathVariable Integer schoolId,
-            @RequestParam String filterType) {
-        return ResponseEntity.ok(reportService.getAttendanceReport(schoolId, filterType));
+            @RequestParam String filterType,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(reportService.getAttendanceReport(schoolId, filterType, fromDate, toDate, page, size));
     }
 
     // ----------- Dispatch Logs Report -----------
@@ -37,8 +59,10 @@ public class ReportController {
     @GetMapping("/notifications/{schoolId}")
     public ResponseEntity<ApiResponse> getNotificationLogsReport(
             @PathVariable Integer schoolId,
-            @RequestParam String filterType) {
-        return ResponseEntity.ok(reportService.getNotificationLogsReport(schoolId, filterType));
+            @RequestParam String filterType,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(reportService.getNotificationLogsReport(schoolId, filterType, page, size));
     }
 
     // ----------- Export Report -----------
@@ -46,20 +70,62 @@ public class ReportController {
     public ResponseEntity<ApiResponse> exportReport(
             @PathVariable Integer schoolId,
             @RequestParam String type,
-            @RequestParam String format) {
-        return ResponseEntity.ok(reportService.exportReport(schoolId, type, format));
+            @RequestParam String format,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate) {
+        return ResponseEntity.ok(reportService.exportReport(schoolId, type, format, fromDate, toDate));
+    }
+
+    // ----------- Export Job Status -----------
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse> getReportJobStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(reportService.getReportJobStatus(jobId));
+    }
+
+    // ----------- Download Export Job File -----------
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadReportJob(@PathVariable String jobId) {
+        Path artifact = reportJobService.getArtifact(jobId);
+        if (artifact == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + artifact.getFileName() + "\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(new FileSystemResource(artifact));
     }
 
     // ----------- Download Report File -----------
+    // CSV is streamed straight from the database cursor to the response
     @GetMapping("/download/{schoolId}")
-    public ResponseEntity<Resource> downloadReport(
+    public ResponseEntity<?> downloadReport(
             @PathVariable Integer schoolId,
             @RequestParam String type,
-            @RequestParam String format) {
+            @RequestParam String format,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate) {
+        // Validate everything up front: once the stream starts the status is already 200
+        ReportType kind = ReportType.of(type);
+        String extension = format.toLowerCase(Locale.ROOT);
+        if (!"csv".equals(extension) && !"pdf".equals(extension)) {
+            throw new BadRequestException("Unsupported format: " + format);
+        }
+        LocalDate from = parseDate("fromDate", fromDate);
+        LocalDate to = parseDate("toDate", toDate);
+        String fileName = kind.slug() + "_report_" + schoolId + "_" + System.currentTimeMillis() + "." + extension;
+
+        if ("csv".equals(extension)) {
+            StreamingResponseBody body = out -> reportExportService.writeCsv(schoolId, kind, from, to, out);
+
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .body(body);
+        }
+
         try {
-            byte[] fileContent = reportService.generateReportFile(schoolId, type, format);
-            String fileName = type + "_report_" + schoolId + "_" + System.currentTimeMillis() + "." + format.toLowerCase();
-            
+            byte[] fileContent = reportService.generateReportFile(schoolId, kind.slug(), extension);
             ByteArrayResource resource = new ByteArrayResource(fileContent);
             
             return ResponseEntity.ok()
@@ -72,6 +138,17 @@ public class ReportController {
         }
     }
 
+    private static LocalDate parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid " + name + " (expected yyyy-MM-dd): " + value);
+        }
+    }
+
     // ----------- Test Endpoint -----------
     @GetMapping("/test")
     public ResponseEntity<ApiResponse> testEndpoint() {
@@ -1,9 +1,11 @@
 package com.app.controller;
 
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.SchoolRequestDto;
 import com.app.payload.response.ApiResponse;
 import com.app.service.ISchoolService;
 
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -59,8 +61,8 @@ public class SchoolController {
 
     // ----------- Get All Schools -----------
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllSchools() {
-        return ResponseEntity.ok(schoolService.getAllSchools());
+    public ResponseEntity<ApiResponse> getAllSchools(@Valid @ModelAttribute PaginationRequest pagination) {
+        return ResponseEntity.ok(schoolService.getAllSchools(pagination));
     }
 
     // ----------- Get Vehicles in Transit for School -----------
@@ -1,5 +1,6 @@
 package com.app.controller;
 
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.VehicleOwnerRequestDto;
 import com.app.payload.response.ApiResponse;
 import com.app.service.IVehicleOwnerService;
@@ -8,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.validation.Valid;
 import java.util.Map;
 
 @RestController
@@ -59,8 +61,9 @@ public class VehicleOwnerController {
 
     // ----------- Get All Vehicle Owners for a School -----------
     @GetMapping("/school/{schoolId}")
-    public ResponseEntity<ApiResponse> getAllOwners(@PathVariable Integer schoolId) {
-        return ResponseEntity.ok(vehicleOwnerService.getAllVehicleOwners(schoolId));
+    public ResponseEntity<ApiResponse> getAllOwners(@PathVariable Integer schoolId,
+            @Valid @ModelAttribute PaginationRequest pagination) {
+        return ResponseEntity.ok(vehicleOwnerService.getAllVehicleOwners(schoolId, pagination));
     }
     
  // ----------- Get Vehicle Owner By UserId -----------
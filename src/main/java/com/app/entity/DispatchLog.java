@@ -2,6 +2,8 @@ package com.app.entity;
 
 import java.time.LocalDateTime;
 import com.app.Enum.EventType;
+import com.app.service.impl.DriverDashboardInvalidationListener;
+import com.app.service.impl.SchoolDailyStateListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,8 +12,14 @@ import lombok.*;
     @Index(name = "idx_dispatch_logs_created_date", columnList = "created_date"),
     @Index(name = "idx_dispatch_logs_event_type", columnList = "event_type"),
     @Index(name = "idx_dispatch_logs_driver_id", columnList = "driver_id"),
-    @Index(name = "idx_dispatch_logs_trip_student", columnList = "trip_id, student_id")
+    @Index(name = "idx_dispatch_logs_trip_student", columnList = "trip_id, student_id"),
+    @Index(name = "idx_dispatch_logs_school_created", columnList = "school_id, created_date"),
+    @Index(name = "idx_dispatch_logs_vehicle_created", columnList = "vehicle_id, created_date"),
+    @Index(name = "idx_dispatch_logs_trip_log", columnList = "trip_id, dispatch_log_id"),
+    @Index(name = "idx_dispatch_logs_vehicle_log", columnList = "vehicle_id, dispatch_log_id"),
+    @Index(name = "idx_dispatch_logs_student_log", columnList = "student_id, dispatch_log_id")
 })
+@EntityListeners({ DriverDashboardInvalidationListener.class, SchoolDailyStateListener.class })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -7,8 +7,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
@@ -25,6 +25,8 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "drivers", uniqueConstraints = {
     @UniqueConstraint(name = "uk_drivers_user", columnNames = {"u_id"})
+}, indexes = {
+    @Index(name = "idx_drivers_created_by", columnList = "created_by")
 })
 @Data
 @NoArgsConstructor
@@ -45,9 +47,9 @@ public class Driver {
 	@Column(name = "driver_name", nullable = false, length = 100)
 	private String driverName;
 
-	@Lob
-	@Column(name = "driver_photo", columnDefinition = "LONGTEXT")
-	private String driverPhoto;
+	// Content hash in the photo store, or an external URL (see IPhotoStorageService)
+	@Column(name = "driver_photo_ref", length = 500)
+	private String driverPhotoRef;
 
 	@NotBlank(message = "Driver contact number is required")
 	@Size(min = 10, max = 15, message = "Driver contact number must be between 10 and 15 characters")
@@ -0,0 +1,34 @@
+package com.app.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cluster-wide lease of a background job. The node whose id is in lockedBy may run
+ * the job until lockedUntil; a crashed holder's lease simply runs out.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+	@Id
+	@Column(name = "name", length = 50)
+	private String name;
+
+	@Column(name = "locked_by", length = 64)
+	private String lockedBy;
+
+	@Column(name = "locked_until", nullable = false)
+	private LocalDateTime lockedUntil;
+
+}
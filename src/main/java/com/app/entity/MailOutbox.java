@@ -0,0 +1,90 @@
+package com.app.entity;
+
+import java.time.LocalDateTime;
+
+import com.app.Enum.MailStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outgoing e-mail written in the same transaction as the business change that
+ * triggered it and delivered later by the mail outbox dispatcher.
+ */
+@Entity
+@Table(name = "mail_outbox", indexes = {
+    @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MailOutbox {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "mail_outbox_id")
+	private Long mailOutboxId;
+
+	@Column(name = "recipient", nullable = false, length = 150)
+	private String recipient;
+
+	@Column(name = "from_address", length = 150)
+	private String fromAddress;
+
+	@Column(name = "subject", nullable = false, length = 255)
+	private String subject;
+
+	@Lob
+	@Column(name = "body", nullable = false, columnDefinition = "TEXT")
+	private String body;
+
+	@Column(name = "is_html", nullable = false)
+	@Builder.Default
+	private Boolean isHtml = true;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, length = 20)
+	@Builder.Default
+	private MailStatus status = MailStatus.PENDING;
+
+	@Column(name = "attempts", nullable = false)
+	@Builder.Default
+	private Integer attempts = 0;
+
+	@Column(name = "next_attempt_at", nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(name = "claimed_at")
+	private LocalDateTime claimedAt;
+
+	@Column(name = "last_error", length = 500)
+	private String lastError;
+
+	@Column(name = "sent_at")
+	private LocalDateTime sentAt;
+
+	@Column(name = "created_date", updatable = false)
+	private LocalDateTime createdDate;
+
+	@PrePersist
+	protected void onCreate() {
+		createdDate = LocalDateTime.now();
+		if (nextAttemptAt == null) {
+			nextAttemptAt = createdDate;
+		}
+	}
+}
@@ -3,12 +3,14 @@ package com.app.entity;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import com.app.service.impl.SchoolSearchListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -19,6 +21,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "school")
+@EntityListeners(SchoolSearchListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -66,9 +69,9 @@ public class School {
 	@Column(length = 150)
 	private String email;
 
-	@Lob
-	@Column(name = "school_photo", columnDefinition = "LONGTEXT")
-	private String schoolPhoto;
+	// Content hash in the photo store, or an external URL (see IPhotoStorageService)
+	@Column(name = "school_photo_ref", length = 500)
+	private String schoolPhotoRef;
 
 	@Column(name = "is_active", nullable = false)
 	private Boolean isActive;
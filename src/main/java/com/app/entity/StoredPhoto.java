@@ -0,0 +1,49 @@
+package com.app.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Metadata of a photo kept in the content-addressed photo store. The bytes live on
+ * disk under the SHA-256 of their content; entities reference the photo by that hash.
+ */
+@Entity
+@Table(name = "stored_photos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredPhoto {
+
+	@Id
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+
+	@Column(name = "content_type", nullable = false, length = 100)
+	private String contentType;
+
+	@Column(name = "size_bytes", nullable = false)
+	private Long sizeBytes;
+
+	@Column(name = "width")
+	private Integer width;
+
+	@Column(name = "height")
+	private Integer height;
+
+	@Column(name = "has_thumbnail", nullable = false)
+	@Builder.Default
+	private Boolean hasThumbnail = false;
+
+	@Column(name = "created_date", nullable = false)
+	private LocalDateTime createdDate;
+
+}
@@ -12,7 +12,6 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -60,9 +59,9 @@ public class Student {
 	@JoinColumn(name = "section_id", nullable = false)
 	private SectionMaster sectionMaster;
 
-	@Lob
-	@Column(name = "student_photo", columnDefinition = "LONGTEXT")
-	private String studentPhoto;
+	// Content hash in the photo store, or an external URL (see IPhotoStorageService)
+	@Column(name = "student_photo_ref", length = 500)
+	private String studentPhotoRef;
 
 	@ManyToOne
 	@JoinColumn(name = "school_id", nullable = false)
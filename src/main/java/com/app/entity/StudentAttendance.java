@@ -8,6 +8,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -19,7 +20,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "student_attendance")
+@Table(name = "student_attendance", indexes = {
+    @Index(name = "idx_student_attendance_student_date", columnList = "student_id, attendance_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -6,9 +6,12 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import com.app.Enum.TripType;
+import com.app.service.impl.DriverDashboardInvalidationListener;
+import com.app.service.impl.TripContextInvalidationListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -40,6 +43,7 @@ import lombok.NoArgsConstructor;
         @Index(name = "idx_trips_trip_type", columnList = "trip_type")
     }
 )
+@EntityListeners({ DriverDashboardInvalidationListener.class, TripContextInvalidationListener.class })
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -0,0 +1,122 @@
+package com.app.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cold-tier record of one trip run (trip + day) whose detail rows have aged out of
+ * vehicle_locations / dispatch_logs: a downsampled route plus the archive files
+ * holding the full detail for on-demand restore.
+ */
+@Entity
+@Table(name = "trip_route_summaries",
+    uniqueConstraints = @UniqueConstraint(name = "uk_trip_route_summaries_trip_day", columnNames = { "trip_id", "trip_date" }),
+    indexes = {
+        @Index(name = "idx_trip_route_summaries_vehicle_day", columnList = "vehicle_id, trip_date")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TripRouteSummary {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "trip_route_summary_id")
+	private Long tripRouteSummaryId;
+
+	@Column(name = "trip_id", nullable = false)
+	private Integer tripId;
+
+	@Column(name = "trip_date", nullable = false)
+	private LocalDate tripDate;
+
+	@Column(name = "vehicle_id")
+	private Integer vehicleId;
+
+	@Column(name = "driver_id")
+	private Integer driverId;
+
+	@Column(name = "school_id")
+	private Integer schoolId;
+
+	@Column(name = "start_time")
+	private LocalDateTime startTime;
+
+	@Column(name = "end_time")
+	private LocalDateTime endTime;
+
+	// GPS fixes before downsampling / points kept in routePoints
+	@Column(name = "point_count")
+	private Integer pointCount;
+
+	@Column(name = "sampled_point_count")
+	private Integer sampledPointCount;
+
+	@Column(name = "distance_meters")
+	private Double distanceMeters;
+
+	@Column(name = "max_speed")
+	private Double maxSpeed;
+
+	// JSON array of [latitude, longitude, epochSecond]
+	@Lob
+	@Column(name = "route_points", columnDefinition = "LONGTEXT")
+	private String routePoints;
+
+	// Archive files relative to the archive directory; null until that table was archived
+	@Column(name = "location_archive", length = 255)
+	private String locationArchive;
+
+	@Column(name = "dispatch_archive", length = 255)
+	private String dispatchArchive;
+
+	@Column(name = "archived_location_count")
+	private Integer archivedLocationCount;
+
+	@Column(name = "archived_dispatch_log_count")
+	private Integer archivedDispatchLogCount;
+
+	@Column(name = "archived_notification_count")
+	private Integer archivedNotificationCount;
+
+	@Column(name = "restored_date")
+	private LocalDateTime restoredDate;
+
+	// Restored detail is not archived again before this time
+	@Column(name = "retain_until")
+	private LocalDateTime retainUntil;
+
+	@Column(name = "created_date", updatable = false)
+	private LocalDateTime createdDate;
+
+	@Column(name = "updated_date")
+	private LocalDateTime updatedDate;
+
+	@PrePersist
+	protected void onCreate() {
+		createdDate = LocalDateTime.now();
+		updatedDate = createdDate;
+	}
+
+	@PreUpdate
+	protected void onUpdate() {
+		updatedDate = LocalDateTime.now();
+	}
+}
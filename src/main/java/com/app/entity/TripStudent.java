@@ -2,8 +2,11 @@ package com.app.entity;
 
 import java.time.LocalDateTime;
 
+import com.app.service.impl.DriverDashboardInvalidationListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -28,6 +31,7 @@ import lombok.NoArgsConstructor;
         @Index(name = "idx_trip_students_attendance_status", columnList = "attendance_status")
     }
 )
+@EntityListeners(DriverDashboardInvalidationListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,6 +1,8 @@
 package com.app.entity;
 
 import java.time.LocalDateTime;
+import com.app.security.PrincipalCacheInvalidationListener;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -13,6 +15,7 @@ import lombok.*;
 	        @Index(name = "idx_is_active", columnList = "is_active") // ✅ Correct
 	    }
 	)
+@EntityListeners(PrincipalCacheInvalidationListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -55,6 +58,12 @@ public class User {
 	@Column(name = "updated_date")
 	private LocalDateTime updatedDate;
 
+	// User name as last loaded or saved, so a rename can also evict the old name's cached principal
+	@Transient
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private String loadedUserName;
+
 	@PrePersist
 	protected void onCreate() {
 		createdDate = LocalDateTime.now();
@@ -1,11 +1,14 @@
 package com.app.entity;
 
 import java.time.LocalDateTime;
+import com.app.security.PrincipalCacheInvalidationListener;
+
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "user_roles")
+@EntityListeners(PrincipalCacheInvalidationListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
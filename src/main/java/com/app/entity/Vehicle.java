@@ -11,8 +11,8 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -24,7 +24,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "vehicles")
+@Table(name = "vehicles", indexes = {
+    @Index(name = "idx_vehicles_created_by", columnList = "created_by")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,9 +46,9 @@ public class Vehicle {
 	@Column(name = "registration_number", nullable = false, unique = true, length = 20)
 	private String registrationNumber;
 
-	@Lob
-	@Column(name = "vehicle_photo", columnDefinition = "LONGTEXT")
-	private String vehiclePhoto;
+	// Content hash in the photo store, or an external URL (see IPhotoStorageService)
+	@Column(name = "vehicle_photo_ref", length = 500)
+	private String vehiclePhotoRef;
 	
 	@Enumerated(EnumType.STRING)
 	private VehicleType vehicleType;
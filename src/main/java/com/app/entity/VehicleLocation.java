@@ -9,7 +9,10 @@ import lombok.*;
     @Index(name = "idx_vehicle_locations_trip_id", columnList = "trip_id"),
     @Index(name = "idx_vehicle_locations_created_date", columnList = "created_date"),
     @Index(name = "idx_vehicle_locations_vehicle_id", columnList = "vehicle_id"),
-    @Index(name = "idx_vehicle_locations_driver_id", columnList = "driver_id")
+    @Index(name = "idx_vehicle_locations_driver_id", columnList = "driver_id"),
+    @Index(name = "idx_vehicle_locations_trip_created", columnList = "trip_id, created_date"),
+    @Index(name = "idx_vehicle_locations_vehicle_created", columnList = "vehicle_id, created_date"),
+    @Index(name = "idx_vehicle_locations_driver_created", columnList = "driver_id, created_date")
 })
 @Data
 @NoArgsConstructor
@@ -10,7 +10,6 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
@@ -47,9 +46,9 @@ public class VehicleOwner {
     @Column(length = 20)
     private String contactNumber;
     
-    @Lob
-    @Column(name = "owner_photo", columnDefinition = "LONGTEXT")
-    private String ownerPhoto;
+    // Content hash in the photo store, or an external URL (see IPhotoStorageService)
+    @Column(name = "owner_photo_ref", length = 500)
+    private String ownerPhotoRef;
 
     private String address;
 
@@ -0,0 +1,8 @@
+package com.app.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+
+	public PayloadTooLargeException(String message) {
+		super(message);
+	}
+}
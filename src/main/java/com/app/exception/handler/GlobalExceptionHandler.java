@@ -11,7 +11,11 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.app.exception.BadRequestException;
+import com.app.exception.ConflictException;
+import com.app.exception.PayloadTooLargeException;
 import com.app.exception.ResourceNotFoundException;
+import com.app.exception.ServiceUnavailableException;
 import com.app.payload.response.ApiResponse;
 
 @RestControllerAdvice
@@ -23,6 +27,30 @@ public class GlobalExceptionHandler {
 	        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(resp);
 	    }
 
+	    @ExceptionHandler(BadRequestException.class)
+	    public ResponseEntity<ApiResponse> handleBadRequest(BadRequestException ex) {
+	        ApiResponse resp = new ApiResponse(false, ex.getMessage(), null);
+	        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp);
+	    }
+
+	    @ExceptionHandler(PayloadTooLargeException.class)
+	    public ResponseEntity<ApiResponse> handlePayloadTooLarge(PayloadTooLargeException ex) {
+	        ApiResponse resp = new ApiResponse(false, ex.getMessage(), null);
+	        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(resp);
+	    }
+
+	    @ExceptionHandler(ConflictException.class)
+	    public ResponseEntity<ApiResponse> handleConflict(ConflictException ex) {
+	        ApiResponse resp = new ApiResponse(false, ex.getMessage(), null);
+	        return ResponseEntity.status(HttpStatus.CONFLICT).body(resp);
+	    }
+
+	    @ExceptionHandler(ServiceUnavailableException.class)
+	    public ResponseEntity<ApiResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+	        ApiResponse resp = new ApiResponse(false, ex.getMessage(), null);
+	        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(resp);
+	    }
+
 	    @ExceptionHandler(DataIntegrityViolationException.class)
 	    public ResponseEntity<ApiResponse> handleDataIntegrity(DataIntegrityViolationException ex) {
 	        ApiResponse resp = new ApiResponse(false, "Database error: " + ex.getMostSpecificCause().getMessage(), null);
@@ -0,0 +1,33 @@
+package com.app.payload.request;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single GPS fix waiting in the location ingestion queue.
+ * Only ids are kept so the background writer never touches JPA entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationFixDto {
+
+	private Integer tripId;
+	private Integer driverId;
+	private Integer vehicleId;
+	private Integer schoolId;
+
+	private Double latitude;
+	private Double longitude;
+	private String address;
+	private Double speed;
+	private Double bearing;
+
+	private LocalDateTime recordedAt;
+
+}
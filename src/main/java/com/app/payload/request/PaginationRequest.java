@@ -2,23 +2,51 @@ package com.app.payload.request;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Query parameters of a keyset-paginated list endpoint: ?pageSize=&cursor=&includeTotal=.
+ * The first page is requested without a cursor; each following page passes the
+ * nextCursor of the previous response.
+ */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class PaginationRequest {
 
-	@NotNull(message = "Page number is required")
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int MAX_PAGE_SIZE = 100;
+
+	// Offset-paged endpoints only (e.g. school search); keyset endpoints reject it
 	@Min(value = 0, message = "Page number cannot be negative")
 	private Integer pageNo;
 
-	@NotNull(message = "Page size is required")
 	@Min(value = 1, message = "Page size must be at least 1")
 	@Max(value = 100, message = "page size cannot exceed 100")
 	private Integer pageSize;
 
+	// Opaque position returned as nextCursor by the previous page; empty for the first page
+	private String cursor;
+
+	// Also return the total row count (one extra COUNT query)
+	private Boolean includeTotal;
+
+	public PaginationRequest(Integer pageNo, Integer pageSize) {
+		this.pageNo = pageNo;
+		this.pageSize = pageSize;
+	}
+
+	public int resolvePageSize() {
+		if (pageSize == null || pageSize < 1) {
+			return DEFAULT_PAGE_SIZE;
+		}
+		return Math.min(pageSize, MAX_PAGE_SIZE);
+	}
+
+	public boolean wantsTotal() {
+		return Boolean.TRUE.equals(includeTotal);
+	}
+
 }
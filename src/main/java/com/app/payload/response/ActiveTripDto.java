@@ -0,0 +1,30 @@
+package com.app.payload.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * In-progress trip as held by the active trip index.
+ * Instances are replaced, never mutated, once published to the index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActiveTripDto {
+
+	private Integer tripId;
+	private String tripName;
+	private Integer tripNumber;
+	private LocalDateTime tripStartTime;
+	private Integer schoolId;
+	private Integer vehicleId;
+	private String vehicleNumber;
+	private Integer driverId;
+	private String driverName;
+
+}
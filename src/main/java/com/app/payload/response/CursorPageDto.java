@@ -0,0 +1,81 @@
+package com.app.payload.response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.app.exception.BadRequestException;
+import com.app.payload.request.PaginationRequest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset-paginated list. Rows are ordered by their id; nextCursor
+ * encodes the id of the last row and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDto<T> {
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    private List<T> items;
+    private String nextCursor;
+    private Boolean hasMore;
+    private Integer pageSize;
+    private Long totalCount;
+
+    /**
+     * Builds a page from up to pageSize + 1 fetched rows; the extra row only tells
+     * whether another page exists and is not returned.
+     */
+    public static <E, T> CursorPageDto<T> of(List<E> rows, int pageSize, Function<E, Integer> idOf,
+                                             Function<E, T> mapper, Long totalCount) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(idOf.apply(pageRows.get(pageRows.size() - 1))) : null;
+
+        return CursorPageDto.<T>builder()
+                .items(pageRows.stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .pageSize(pageSize)
+                .totalCount(totalCount)
+                .build();
+    }
+
+    public static String encodeCursor(Integer lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Id of the last row of the previous page, or null for the first page. Keyset
+     * endpoints page by cursor only, so a page number is rejected rather than ignored.
+     */
+    public static Integer decodeCursor(PaginationRequest pagination) {
+        if (pagination != null && pagination.getPageNo() != null && pagination.getPageNo() > 0) {
+            throw new BadRequestException("pageNo is not supported here; pass the nextCursor of the previous page as cursor");
+        }
+        String cursor = pagination != null ? pagination.getCursor() : null;
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Integer.valueOf(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64 or not a number: same answer as a wrong prefix
+        }
+        throw new BadRequestException("Invalid pagination cursor");
+    }
+}
@@ -0,0 +1,36 @@
+package com.app.payload.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last known position of a vehicle/driver held in memory by the live position store.
+ * Instances are replaced, never mutated, once published to the store.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LivePositionDto {
+
+	private Integer vehicleId;
+	private String vehicleNumber;
+	private Integer driverId;
+	private String driverName;
+	private Integer tripId;
+	private String tripName;
+	private Integer schoolId;
+
+	private Double latitude;
+	private Double longitude;
+	private Double speed;
+	private Double bearing;
+	private String address;
+
+	private LocalDateTime lastUpdated;
+
+}
@@ -18,8 +18,11 @@ public class ParentNotificationResponseDto {
     private String message;
     private String notificationType;
     private String eventType;
+    private Integer studentId;
     private String studentName;
+    private Integer vehicleId;
     private String vehicleNumber;
+    private Integer tripId;
     private String tripName;
     private String location;
     private LocalDateTime notificationTime;
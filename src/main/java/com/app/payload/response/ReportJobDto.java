@@ -0,0 +1,41 @@
+package com.app.payload.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot of a background report job as returned by the export and status endpoints.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobDto {
+
+	private String jobId;
+	private Integer schoolId;
+	private String reportType;
+	private String format;
+	private LocalDate fromDate;
+	private LocalDate toDate;
+
+	// QUEUED, RUNNING, COMPLETED, FAILED
+	private String status;
+	private Boolean cached;
+	private Long bytesWritten;
+	private Long recordCount;
+	private String fileName;
+	private String downloadUrl;
+	private String errorMessage;
+
+	private LocalDateTime submittedAt;
+	private LocalDateTime startedAt;
+	private LocalDateTime completedAt;
+	private LocalDateTime expiresAt;
+
+}
@@ -1,16 +1,27 @@
 package com.app.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.app.Enum.EventType;
 import com.app.entity.DispatchLog;
 import com.app.entity.Driver;
 import com.app.entity.School;
 import com.app.entity.Student;
 import com.app.entity.Trip;
 import com.app.entity.Vehicle;
+import com.app.repository.projection.DailyDispatchEventProjection;
+import com.app.repository.projection.DispatchLogSummaryProjection;
+import com.app.repository.projection.StudentGateStatusProjection;
+import com.app.repository.projection.TripEventCountProjection;
+import com.app.repository.projection.VehicleActivityProjection;
+import com.app.repository.projection.VehicleLastEventProjection;
 
 public interface DispatchLogRepository extends JpaRepository<DispatchLog, Integer> {
 
@@ -34,4 +45,118 @@ public interface DispatchLogRepository extends JpaRepository<DispatchLog, Intege
 
 	List<DispatchLog> findBySchool_SchoolIdOrderByCreatedDateDesc(Integer schoolId);
 
+	// Newest dispatch logs of a school, limited by the pageable
+	List<DispatchLog> findBySchool_SchoolIdOrderByCreatedDateDesc(Integer schoolId, Pageable pageable);
+
+	// Latest gate entry and exit per student of a school within [from, to), one row per student
+	@Query("SELECT d.student.studentId AS studentId, " +
+	       "MAX(CASE WHEN d.eventType = :entryType THEN d.createdDate END) AS lastEntryTime, " +
+	       "MAX(CASE WHEN d.eventType = :exitType THEN d.createdDate END) AS lastExitTime " +
+	       "FROM DispatchLog d " +
+	       "WHERE d.school.schoolId = :schoolId AND d.eventType IN (:entryType, :exitType) " +
+	       "AND d.createdDate >= :from AND d.createdDate < :to " +
+	       "GROUP BY d.student.studentId")
+	List<StudentGateStatusProjection> findGateStatusBySchool(@Param("schoolId") Integer schoolId,
+			@Param("entryType") EventType entryType, @Param("exitType") EventType exitType,
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+	// Newest dispatch log rows of a school since a point in time, as flat projections
+	@Query("SELECT d.dispatchLogId AS dispatchLogId, d.eventType AS eventType, " +
+	       "s.firstName AS studentFirstName, s.lastName AS studentLastName, " +
+	       "v.vehicleNumber AS vehicleNumber, t.tripName AS tripName, d.remarks AS remarks, d.createdDate AS createdDate " +
+	       "FROM DispatchLog d LEFT JOIN d.student s LEFT JOIN d.vehicle v LEFT JOIN d.trip t " +
+	       "WHERE d.school.schoolId = :schoolId AND d.createdDate >= :from " +
+	       "ORDER BY d.createdDate DESC, d.dispatchLogId DESC")
+	List<DispatchLogSummaryProjection> findRecentSummariesBySchool(@Param("schoolId") Integer schoolId,
+			@Param("from") LocalDateTime from, Pageable pageable);
+
+	// Newest dispatch log rows of a vehicle, as flat projections
+	@Query("SELECT d.dispatchLogId AS dispatchLogId, d.eventType AS eventType, " +
+	       "s.firstName AS studentFirstName, s.lastName AS studentLastName, " +
+	       "v.vehicleNumber AS vehicleNumber, t.tripName AS tripName, d.remarks AS remarks, d.createdDate AS createdDate " +
+	       "FROM DispatchLog d LEFT JOIN d.student s LEFT JOIN d.vehicle v LEFT JOIN d.trip t " +
+	       "WHERE v.vehicleId = :vehicleId " +
+	       "ORDER BY d.createdDate DESC, d.dispatchLogId DESC")
+	List<DispatchLogSummaryProjection> findRecentSummariesByVehicle(@Param("vehicleId") Integer vehicleId, Pageable pageable);
+
+	// Pickup and drop counts per trip for the given trips on a vehicle since a point in time
+	@Query("SELECT d.trip.tripId AS tripId, " +
+	       "SUM(CASE WHEN d.eventType IN (:pickupTypes) THEN 1 ELSE 0 END) AS pickupCount, " +
+	       "SUM(CASE WHEN d.eventType IN (:dropTypes) THEN 1 ELSE 0 END) AS dropCount " +
+	       "FROM DispatchLog d " +
+	       "WHERE d.trip.tripId IN (:tripIds) AND d.vehicle.vehicleId = :vehicleId AND d.createdDate >= :from " +
+	       "GROUP BY d.trip.tripId")
+	List<TripEventCountProjection> countPickupsAndDropsByTrip(@Param("tripIds") Collection<Integer> tripIds,
+			@Param("vehicleId") Integer vehicleId, @Param("from") LocalDateTime from,
+			@Param("pickupTypes") Collection<EventType> pickupTypes, @Param("dropTypes") Collection<EventType> dropTypes);
+
+	// Number of dispatch logs of the given vehicles since a point in time. Spelled out because the
+	// derived query joins vehicles and filters there, which bypasses (vehicle_id, created_date).
+	@Query("SELECT COUNT(d) FROM DispatchLog d WHERE d.vehicle.vehicleId IN (:vehicleIds) AND d.createdDate > :from")
+	long countByVehicle_VehicleIdInAndCreatedDateAfter(@Param("vehicleIds") Collection<Integer> vehicleIds,
+			@Param("from") LocalDateTime from);
+
+	// Latest pickup and drop per vehicle within [from, to), one row per vehicle
+	@Query("SELECT d.vehicle.vehicleId AS vehicleId, " +
+	       "MAX(CASE WHEN d.eventType IN (:pickupTypes) THEN d.createdDate END) AS lastPickupTime, " +
+	       "MAX(CASE WHEN d.eventType IN (:dropTypes) THEN d.createdDate END) AS lastDropTime " +
+	       "FROM DispatchLog d " +
+	       "WHERE d.vehicle.vehicleId IN (:vehicleIds) AND (d.eventType IN (:pickupTypes) OR d.eventType IN (:dropTypes)) " +
+	       "AND d.createdDate >= :from AND d.createdDate < :to " +
+	       "GROUP BY d.vehicle.vehicleId")
+	List<VehicleLastEventProjection> findLastPickupAndDropByVehicles(@Param("vehicleIds") Collection<Integer> vehicleIds,
+			@Param("pickupTypes") Collection<EventType> pickupTypes, @Param("dropTypes") Collection<EventType> dropTypes,
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+	// Newest dispatch log rows across a set of vehicles since a point in time, as flat projections.
+	// fk() filters on dispatch_logs.vehicle_id rather than the joined vehicles row, so the
+	// (vehicle_id, created_date) index drives the scan instead of the platform-wide created_date one.
+	@Query("SELECT d.dispatchLogId AS dispatchLogId, d.eventType AS eventType, v.vehicleId AS vehicleId, " +
+	       "s.firstName AS studentFirstName, s.middleName AS studentMiddleName, s.lastName AS studentLastName, " +
+	       "v.vehicleNumber AS vehicleNumber, t.tripName AS tripName, d.remarks AS remarks, d.createdDate AS createdDate " +
+	       "FROM DispatchLog d JOIN Vehicle v ON v.vehicleId = fk(d.vehicle) LEFT JOIN d.student s LEFT JOIN d.trip t " +
+	       "WHERE fk(d.vehicle) IN (:vehicleIds) AND d.createdDate >= :from " +
+	       "ORDER BY d.createdDate DESC, d.dispatchLogId DESC")
+	List<VehicleActivityProjection> findRecentActivityByVehicles(@Param("vehicleIds") Collection<Integer> vehicleIds,
+			@Param("from") LocalDateTime from, Pageable pageable);
+
+	// Newest dispatch logs across a set of vehicles since a point in time
+	List<DispatchLog> findByVehicle_VehicleIdInAndCreatedDateAfterOrderByCreatedDateDesc(Collection<Integer> vehicleIds,
+			LocalDateTime from, Pageable pageable);
+
+	// Keyset pages of a trip's / vehicle's logs, newest first: rows before the given id
+	List<DispatchLog> findByTrip_TripIdAndDispatchLogIdLessThanOrderByDispatchLogIdDesc(Integer tripId, Integer dispatchLogId, Pageable pageable);
+
+	List<DispatchLog> findByVehicle_VehicleIdAndDispatchLogIdLessThanOrderByDispatchLogIdDesc(Integer vehicleId, Integer dispatchLogId, Pageable pageable);
+
+	long countByTrip_TripId(Integer tripId);
+
+	long countByVehicle_VehicleId(Integer vehicleId);
+
+	// Events of the given types across all schools since a point in time (rebuilds the per-school daily state)
+	@Query("SELECT d.school.schoolId AS schoolId, d.vehicle.vehicleId AS vehicleId, d.student.studentId AS studentId, " +
+	       "d.eventType AS eventType, d.createdDate AS createdDate " +
+	       "FROM DispatchLog d " +
+	       "WHERE d.createdDate >= :from AND d.eventType IN (:eventTypes)")
+	List<DailyDispatchEventProjection> findDailyEventsSince(@Param("from") LocalDateTime from,
+			@Param("eventTypes") Collection<EventType> eventTypes);
+
+	// Latest pickup and drop per vehicle of one school since a point in time (daily state on a multi-node deployment)
+	@Query("SELECT d.vehicle.vehicleId AS vehicleId, " +
+	       "MAX(CASE WHEN d.eventType IN (:pickupTypes) THEN d.createdDate END) AS lastPickupTime, " +
+	       "MAX(CASE WHEN d.eventType IN (:dropTypes) THEN d.createdDate END) AS lastDropTime " +
+	       "FROM DispatchLog d " +
+	       "WHERE d.school.schoolId = :schoolId AND (d.eventType IN (:pickupTypes) OR d.eventType IN (:dropTypes)) " +
+	       "AND d.createdDate >= :from " +
+	       "GROUP BY d.vehicle.vehicleId")
+	List<VehicleLastEventProjection> findLastPickupAndDropBySchool(@Param("schoolId") Integer schoolId,
+			@Param("pickupTypes") Collection<EventType> pickupTypes, @Param("dropTypes") Collection<EventType> dropTypes,
+			@Param("from") LocalDateTime from);
+
+	// Distinct students of one school with an event of the given type since a point in time
+	@Query("SELECT COUNT(DISTINCT d.student.studentId) FROM DispatchLog d " +
+	       "WHERE d.school.schoolId = :schoolId AND d.eventType = :eventType AND d.createdDate >= :from")
+	long countDistinctStudentsBySchoolAndEventTypeSince(@Param("schoolId") Integer schoolId,
+			@Param("eventType") EventType eventType, @Param("from") LocalDateTime from);
+
 }
@@ -4,6 +4,7 @@ package com.app.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import com.app.entity.Driver;
 import com.app.entity.User;
 import com.app.entity.Vehicle;
+import com.app.repository.projection.ActiveCountProjection;
 
 public interface DriverRepository extends JpaRepository<Driver, Integer> {
 
@@ -37,4 +39,13 @@ public interface DriverRepository extends JpaRepository<Driver, Integer> {
     // Find all drivers assigned to a vehicle
     @Query("SELECT d FROM Driver d JOIN VehicleDriver vd ON d.driverId = vd.driver.driverId WHERE vd.vehicle = :vehicle AND vd.isActive = true")
     List<Driver> findAllByVehicle(@Param("vehicle") Vehicle vehicle);
+
+    // Total / active driver counts of an owner without loading the rows
+    @Query("SELECT COUNT(d) AS total, COALESCE(SUM(CASE WHEN d.isActive = true THEN 1 ELSE 0 END), 0) AS active " +
+           "FROM Driver d WHERE d.createdBy = :createdBy")
+    ActiveCountProjection countActiveByCreatedBy(@Param("createdBy") String createdBy);
+
+    // Keyset page: drivers after the given id, in id order
+    List<Driver> findByDriverIdGreaterThanOrderByDriverIdAsc(Integer driverId, Pageable pageable);
+
 }
@@ -0,0 +1,37 @@
+package com.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.app.Enum.MailStatus;
+import com.app.entity.MailOutbox;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    // Ids of messages due for (re)delivery, oldest first
+    @Query("SELECT m.mailOutboxId FROM MailOutbox m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") MailStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Claim a due message; returns 0 when another dispatcher got it first
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = com.app.Enum.MailStatus.SENDING, m.claimedAt = :now "
+            + "WHERE m.mailOutboxId = :id AND m.status = com.app.Enum.MailStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Return messages whose sender died mid-delivery to the queue
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = com.app.Enum.MailStatus.PENDING, m.claimedAt = null "
+            + "WHERE m.status = com.app.Enum.MailStatus.SENDING AND m.claimedAt < :staleBefore")
+    int releaseStale(@Param("staleBefore") LocalDateTime staleBefore);
+
+    long countByStatus(MailStatus status);
+
+}
@@ -1,11 +1,18 @@
 package com.app.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.app.entity.DispatchLog;
 import com.app.entity.Notification;
+import com.app.repository.projection.NotificationLogProjection;
+import com.app.repository.projection.ParentNotificationFeedProjection;
 
 public interface NotificationRepository extends JpaRepository<Notification, Integer> {
 	List<Notification> findByDispatchLog(DispatchLog dispatchLog);
@@ -13,4 +20,42 @@ public interface NotificationRepository extends JpaRepository<Notification, Inte
 	// Optimized query for parent notifications
 	List<Notification> findByDispatchLog_Student_StudentIdOrderByCreatedDateDesc(Integer studentId);
 
+	// Newest notifications of one student, limited by the pageable
+	List<Notification> findByDispatchLog_Student_StudentIdOrderByCreatedDateDesc(Integer studentId, Pageable pageable);
+
+	// Newest notifications across all children of a parent with ids below beforeId, newest first
+	@Query("SELECT n.notificationLogId AS notificationId, n.notificationType AS notificationType, n.createdDate AS createdDate, "
+			+ "d.eventType AS eventType, s.studentId AS studentId, s.firstName AS studentFirstName, s.lastName AS studentLastName, "
+			+ "t.tripId AS tripId, t.tripName AS tripName, v.vehicleId AS vehicleId, v.vehicleNumber AS vehicleNumber "
+			+ "FROM Notification n JOIN n.dispatchLog d JOIN d.student s LEFT JOIN d.trip t LEFT JOIN d.vehicle v "
+			+ "WHERE s.studentId IN (SELECT sp.student.studentId FROM StudentParent sp WHERE sp.parentUser.uId = :userId) "
+			+ "AND n.notificationLogId < :beforeId "
+			+ "ORDER BY n.notificationLogId DESC")
+	List<ParentNotificationFeedProjection> findParentFeed(@Param("userId") Integer userId, @Param("beforeId") Integer beforeId,
+			Pageable pageable);
+
+	@Query("SELECT COUNT(n) FROM Notification n JOIN n.dispatchLog d "
+			+ "WHERE d.student.studentId IN (SELECT sp.student.studentId FROM StudentParent sp WHERE sp.parentUser.uId = :userId)")
+	long countParentFeed(@Param("userId") Integer userId);
+
+	// Notification logs of a school's dispatch logs in a date range, joined in one query.
+	// status: ALL, SENT (is_sent), FAILED (error recorded) or PENDING (not sent, no error)
+	@Query(value = "SELECT n.notificationLogId AS notificationId, d.dispatchLogId AS dispatchLogId, "
+			+ "t.tripId AS tripId, t.tripName AS tripName, s.studentId AS studentId, "
+			+ "s.firstName AS studentFirstName, s.lastName AS studentLastName, v.vehicleNumber AS vehicleNumber, "
+			+ "n.notificationType AS notificationType, n.sentAt AS sentAt, n.isSent AS isSent, n.errorMsg AS errorMsg "
+			+ "FROM Notification n JOIN n.dispatchLog d JOIN d.trip t JOIN d.student s JOIN d.vehicle v "
+			+ "WHERE d.school.schoolId = :schoolId AND d.createdDate BETWEEN :from AND :to "
+			+ "AND (:status = 'ALL' OR (:status = 'SENT' AND n.isSent = true) "
+			+ "OR (:status = 'FAILED' AND n.errorMsg IS NOT NULL) "
+			+ "OR (:status = 'PENDING' AND n.isSent = false AND n.errorMsg IS NULL)) "
+			+ "ORDER BY d.createdDate DESC, n.notificationLogId DESC",
+			countQuery = "SELECT COUNT(n) FROM Notification n JOIN n.dispatchLog d "
+			+ "WHERE d.school.schoolId = :schoolId AND d.createdDate BETWEEN :from AND :to "
+			+ "AND (:status = 'ALL' OR (:status = 'SENT' AND n.isSent = true) "
+			+ "OR (:status = 'FAILED' AND n.errorMsg IS NOT NULL) "
+			+ "OR (:status = 'PENDING' AND n.isSent = false AND n.errorMsg IS NULL))")
+	Page<NotificationLogProjection> findLogsBySchool(@Param("schoolId") Integer schoolId, @Param("from") LocalDateTime from,
+			@Param("to") LocalDateTime to, @Param("status") String status, Pageable pageable);
+
 }
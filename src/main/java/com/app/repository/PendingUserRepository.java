@@ -3,6 +3,7 @@ package com.app.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.app.entity.PendingUser;
@@ -24,4 +25,7 @@ public interface PendingUserRepository extends JpaRepository<PendingUser, Intege
 	// Find pending users by entity type, entity ID, and not used
 	List<PendingUser> findByEntityTypeAndEntityIdAndIsUsedFalse(String entityType, Long entityId);
 
+	// Keyset page: pending users after the given id, in id order
+	List<PendingUser> findByPendingUserIdGreaterThanOrderByPendingUserIdAsc(Integer pendingUserId, Pageable pageable);
+
 }
@@ -1,10 +1,15 @@
 package com.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.app.entity.School;
+import com.app.repository.projection.SchoolSearchProjection;
 
 public interface SchoolRepository extends JpaRepository<School, Integer> {
 
@@ -18,4 +23,24 @@ public interface SchoolRepository extends JpaRepository<School, Integer> {
 
 	Optional<School> findBySchoolName(String schoolName);
 
+	// Keyset page: schools after the given id, in id order
+	List<School> findBySchoolIdGreaterThanOrderBySchoolIdAsc(Integer schoolId, Pageable pageable);
+
+	long countByIsActive(Boolean isActive);
+
+	long countByStartDateIsNotNullAndEndDateIsNotNull();
+
+	// Searchable text of every school, for loading the search index
+	@Query("SELECT s.schoolId AS schoolId, s.schoolName AS schoolName, s.schoolCode AS schoolCode, "
+			+ "s.city AS city, s.district AS district, s.state AS state FROM School s")
+	List<SchoolSearchProjection> findAllSearchRows();
+
+	// Searchable text of the schools containing the (lower-case) query in any searched field
+	@Query("SELECT s.schoolId AS schoolId, s.schoolName AS schoolName, s.schoolCode AS schoolCode, "
+			+ "s.city AS city, s.district AS district, s.state AS state FROM School s "
+			+ "WHERE LOWER(s.schoolName) LIKE CONCAT('%', :query, '%') OR LOWER(s.schoolCode) LIKE CONCAT('%', :query, '%') "
+			+ "OR LOWER(s.city) LIKE CONCAT('%', :query, '%') OR LOWER(s.district) LIKE CONCAT('%', :query, '%') "
+			+ "OR LOWER(s.state) LIKE CONCAT('%', :query, '%')")
+	List<SchoolSearchProjection> findSearchRowsContaining(@Param("query") String query);
+
 }
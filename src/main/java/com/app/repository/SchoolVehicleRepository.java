@@ -33,4 +33,13 @@ public interface SchoolVehicleRepository extends JpaRepository<SchoolVehicle, In
     // Find mapping by vehicle and school IDs
     java.util.Optional<SchoolVehicle> findByVehicle_VehicleIdAndSchool_SchoolId(Integer vehicleId, Integer schoolId);
 
+    // Is the user the owner of this vehicle
+    boolean existsByVehicle_VehicleIdAndOwner_User_uId(Integer vehicleId, Integer userId);
+
+    // Is the user active staff of a school this vehicle serves
+    @Query("SELECT COUNT(sv) > 0 FROM SchoolVehicle sv, SchoolUser su " +
+           "WHERE su.school = sv.school AND sv.vehicle.vehicleId = :vehicleId " +
+           "AND su.user.uId = :userId AND su.isActive = true")
+    boolean existsSchoolStaffForVehicle(@Param("vehicleId") Integer vehicleId, @Param("userId") Integer userId);
+
 }
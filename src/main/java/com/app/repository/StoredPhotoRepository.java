@@ -0,0 +1,9 @@
+package com.app.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.app.entity.StoredPhoto;
+
+public interface StoredPhotoRepository extends JpaRepository<StoredPhoto, String> {
+
+}
@@ -4,6 +4,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +13,8 @@ import org.springframework.stereotype.Repository;
 
 import com.app.entity.Student;
 import com.app.entity.StudentAttendance;
+import com.app.repository.projection.ClassAttendanceSummaryProjection;
+import com.app.repository.projection.StudentAttendanceSummaryProjection;
 
 @Repository
 public interface StudentAttendanceRepository extends JpaRepository<StudentAttendance, Integer> {
@@ -39,4 +43,32 @@ public interface StudentAttendanceRepository extends JpaRepository<StudentAttend
     // Find all attendance records for a student
     List<StudentAttendance> findByStudent(Student student);
 
+    // Per-student present/absent/late counts for a school within a date range (students without records count as zero)
+    @Query(value = "SELECT s.studentId AS studentId, s.firstName AS firstName, s.lastName AS lastName, "
+            + "cm.className AS className, sm.sectionName AS sectionName, "
+            + "COALESCE(SUM(CASE WHEN sa.isPresent = true THEN 1 ELSE 0 END), 0) AS presentDays, "
+            + "COALESCE(SUM(CASE WHEN sa.isAbsent = true THEN 1 ELSE 0 END), 0) AS absentDays, "
+            + "COALESCE(SUM(CASE WHEN sa.isLate = true THEN 1 ELSE 0 END), 0) AS lateDays "
+            + "FROM Student s LEFT JOIN s.classMaster cm LEFT JOIN s.sectionMaster sm "
+            + "LEFT JOIN StudentAttendance sa ON sa.student = s AND sa.attendanceDate BETWEEN :fromDate AND :toDate "
+            + "WHERE s.school.schoolId = :schoolId "
+            + "GROUP BY s.studentId, s.firstName, s.lastName, cm.className, sm.sectionName "
+            + "ORDER BY s.studentId",
+            countQuery = "SELECT COUNT(s) FROM Student s WHERE s.school.schoolId = :schoolId")
+    Page<StudentAttendanceSummaryProjection> summarizeByStudent(@Param("schoolId") Integer schoolId,
+            @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate, Pageable pageable);
+
+    // Class + section present/absent/late counts for a school within a date range
+    @Query("SELECT cm.className AS className, sm.sectionName AS sectionName, COUNT(DISTINCT s.studentId) AS studentCount, "
+            + "COALESCE(SUM(CASE WHEN sa.isPresent = true THEN 1 ELSE 0 END), 0) AS presentDays, "
+            + "COALESCE(SUM(CASE WHEN sa.isAbsent = true THEN 1 ELSE 0 END), 0) AS absentDays, "
+            + "COALESCE(SUM(CASE WHEN sa.isLate = true THEN 1 ELSE 0 END), 0) AS lateDays "
+            + "FROM Student s LEFT JOIN s.classMaster cm LEFT JOIN s.sectionMaster sm "
+            + "LEFT JOIN StudentAttendance sa ON sa.student = s AND sa.attendanceDate BETWEEN :fromDate AND :toDate "
+            + "WHERE s.school.schoolId = :schoolId "
+            + "GROUP BY cm.classOrder, cm.className, sm.sectionName "
+            + "ORDER BY cm.classOrder, cm.className, sm.sectionName")
+    List<ClassAttendanceSummaryProjection> summarizeByClass(@Param("schoolId") Integer schoolId,
+            @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
 }
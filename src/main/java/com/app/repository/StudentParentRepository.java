@@ -21,4 +21,6 @@ public interface StudentParentRepository extends JpaRepository<StudentParent, In
 	
 	Optional<StudentParent> findByParentUser(User parentUser);
 
+	boolean existsByParentUser_uIdAndStudent_StudentId(Integer uId, Integer studentId);
+
 }
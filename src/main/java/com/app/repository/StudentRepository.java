@@ -2,12 +2,15 @@ package com.app.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.app.entity.Student;
 import com.app.entity.School;
+import com.app.repository.projection.StudentSummaryProjection;
 
 public interface StudentRepository extends JpaRepository<Student, Integer> {
 
@@ -27,4 +30,12 @@ public interface StudentRepository extends JpaRepository<Student, Integer> {
     
     List<Student> findBySchool(School school);
 
+    // ---- Paged, photo-free student rows for a school ----
+    @Query(value = "SELECT s.studentId AS studentId, s.firstName AS firstName, s.middleName AS middleName, " +
+                   "s.lastName AS lastName, c.className AS className, sec.sectionName AS sectionName " +
+                   "FROM Student s LEFT JOIN s.classMaster c LEFT JOIN s.sectionMaster sec " +
+                   "WHERE s.school.schoolId = :schoolId ORDER BY s.studentId",
+           countQuery = "SELECT COUNT(s) FROM Student s WHERE s.school.schoolId = :schoolId")
+    Page<StudentSummaryProjection> findSummariesBySchoolId(@Param("schoolId") Integer schoolId, Pageable pageable);
+
 }
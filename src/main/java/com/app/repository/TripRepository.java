@@ -1,16 +1,20 @@
 package com.app.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.app.entity.Driver;
 import com.app.entity.School;
 import com.app.entity.Student;
 import com.app.entity.Trip;
+import com.app.repository.projection.DriverTripCountProjection;
+import com.app.repository.projection.TripSummaryProjection;
 
 public interface TripRepository extends JpaRepository<Trip, Integer> {
 	
@@ -48,10 +52,32 @@ public interface TripRepository extends JpaRepository<Trip, Integer> {
 	// Find trips by driver and active status
 	List<Trip> findByDriverAndIsActive(Driver driver, boolean isActive);
 
+	// Is the trip still active with the given status
+	boolean existsByTripIdAndTripStatusAndIsActiveTrue(Integer tripId, String tripStatus);
+
 	// Find trips containing a specific student
 	List<Trip> findByStudentsContaining(Student student);
 
 	// Find trips by vehicle and school
 	List<Trip> findByVehicleAndSchool(com.app.entity.Vehicle vehicle, School school);
 
+	// Trip headers for a school without loading vehicle/driver entities
+	@Query("SELECT t.tripId AS tripId, t.tripName AS tripName, t.tripNumber AS tripNumber, " +
+	       "v.vehicleNumber AS vehicleNumber, d.driverName AS driverName " +
+	       "FROM Trip t LEFT JOIN t.vehicle v LEFT JOIN t.driver d " +
+	       "WHERE t.school.schoolId = :schoolId ORDER BY t.tripId")
+	List<TripSummaryProjection> findSummariesBySchoolId(@Param("schoolId") Integer schoolId);
+
+	// Every trip of a driver with its assigned student count, one row per trip
+	@Query("SELECT t.tripId AS tripId, t.tripName AS tripName, t.tripStatus AS tripStatus, " +
+	       "t.tripStartTime AS tripStartTime, t.isActive AS isActive, COUNT(ts) AS studentCount " +
+	       "FROM Trip t LEFT JOIN t.students ts " +
+	       "WHERE t.driver.driverId = :driverId " +
+	       "GROUP BY t.tripId, t.tripName, t.tripStatus, t.tripStartTime, t.isActive ORDER BY t.tripId")
+	List<DriverTripCountProjection> findTripCountsByDriverId(@Param("driverId") Integer driverId);
+
+	// Number of trips run by the given vehicles (filters on the trips FK, not a join to vehicles)
+	@Query("SELECT COUNT(t) FROM Trip t WHERE t.vehicle.vehicleId IN (:vehicleIds)")
+	long countByVehicleVehicleIdIn(@Param("vehicleIds") Collection<Integer> vehicleIds);
+
 }
@@ -0,0 +1,17 @@
+package com.app.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.app.entity.TripRouteSummary;
+
+public interface TripRouteSummaryRepository extends JpaRepository<TripRouteSummary, Long> {
+
+	Optional<TripRouteSummary> findByTripIdAndTripDate(Integer tripId, LocalDate tripDate);
+
+	List<TripRouteSummary> findByTripIdOrderByTripDateDesc(Integer tripId);
+
+}
@@ -1,12 +1,17 @@
 package com.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.app.entity.Student;
 import com.app.entity.Trip;
 import com.app.entity.TripStudent;
+import com.app.repository.projection.ActiveTripStudentProjection;
+import com.app.repository.projection.TripStudentSummaryProjection;
 
 public interface TripStudentRepository extends JpaRepository<TripStudent, Integer> {
 	
@@ -18,4 +23,50 @@ public interface TripStudentRepository extends JpaRepository<TripStudent, Intege
 	
 	int countByTripTripIdIn(List<Integer> tripIds);
 
+	// Students of every active trip with the given status, with the trip's vehicle and driver
+	@Query("SELECT t.tripId AS tripId, ts.student.studentId AS studentId, t.tripName AS tripName, t.tripNumber AS tripNumber, " +
+	       "t.tripStartTime AS tripStartTime, t.school.schoolId AS schoolId, v.vehicleId AS vehicleId, " +
+	       "v.vehicleNumber AS vehicleNumber, d.driverId AS driverId, d.driverName AS driverName " +
+	       "FROM TripStudent ts JOIN ts.trip t JOIN t.vehicle v LEFT JOIN t.driver d " +
+	       "WHERE t.tripStatus = :tripStatus AND t.isActive = true")
+	List<ActiveTripStudentProjection> findActiveTripStudents(@Param("tripStatus") String tripStatus);
+
+	// Active trips with the given status of any of the given students, one row per trip and student
+	@Query("SELECT t.tripId AS tripId, ts.student.studentId AS studentId, t.tripName AS tripName, t.tripNumber AS tripNumber, " +
+	       "t.tripStartTime AS tripStartTime, t.school.schoolId AS schoolId, v.vehicleId AS vehicleId, " +
+	       "v.vehicleNumber AS vehicleNumber, d.driverId AS driverId, d.driverName AS driverName " +
+	       "FROM TripStudent ts JOIN ts.trip t JOIN t.vehicle v LEFT JOIN t.driver d " +
+	       "WHERE ts.student.studentId IN (:studentIds) AND t.tripStatus = :tripStatus AND t.isActive = true")
+	List<ActiveTripStudentProjection> findActiveTripStudentsByStudentIds(@Param("tripStatus") String tripStatus,
+			@Param("studentIds") Collection<Integer> studentIds);
+
+	// Students of one trip if it is active with the given status, with the trip's vehicle and driver
+	@Query("SELECT t.tripId AS tripId, ts.student.studentId AS studentId, t.tripName AS tripName, t.tripNumber AS tripNumber, " +
+	       "t.tripStartTime AS tripStartTime, t.school.schoolId AS schoolId, v.vehicleId AS vehicleId, " +
+	       "v.vehicleNumber AS vehicleNumber, d.driverId AS driverId, d.driverName AS driverName " +
+	       "FROM TripStudent ts JOIN ts.trip t JOIN t.vehicle v LEFT JOIN t.driver d " +
+	       "WHERE t.tripId = :tripId AND t.tripStatus = :tripStatus AND t.isActive = true")
+	List<ActiveTripStudentProjection> findActiveTripStudentsByTripId(@Param("tripStatus") String tripStatus,
+			@Param("tripId") Integer tripId);
+
+	// Is the user a parent of a student assigned to a trip on this vehicle
+	@Query("SELECT COUNT(ts) > 0 FROM TripStudent ts, StudentParent sp " +
+	       "WHERE sp.student = ts.student AND ts.trip.vehicle.vehicleId = :vehicleId " +
+	       "AND sp.parentUser.uId = :userId")
+	boolean existsParentOnVehicle(@Param("vehicleId") Integer vehicleId, @Param("userId") Integer userId);
+
+	// Photo-free student rows for every trip of a school, in pickup order
+	@Query("SELECT ts.trip.tripId AS tripId, s.studentId AS studentId, s.firstName AS firstName, " +
+	       "s.middleName AS middleName, s.lastName AS lastName, c.className AS className, sec.sectionName AS sectionName " +
+	       "FROM TripStudent ts JOIN ts.student s LEFT JOIN s.classMaster c LEFT JOIN s.sectionMaster sec " +
+	       "WHERE ts.trip.school.schoolId = :schoolId ORDER BY ts.trip.tripId, ts.pickupOrder")
+	List<TripStudentSummaryProjection> findSummariesBySchoolId(@Param("schoolId") Integer schoolId);
+
+	// Photo-free student rows for a single trip, in pickup order
+	@Query("SELECT ts.trip.tripId AS tripId, s.studentId AS studentId, s.firstName AS firstName, " +
+	       "s.middleName AS middleName, s.lastName AS lastName, c.className AS className, sec.sectionName AS sectionName " +
+	       "FROM TripStudent ts JOIN ts.student s LEFT JOIN s.classMaster c LEFT JOIN s.sectionMaster sec " +
+	       "WHERE ts.trip.tripId = :tripId ORDER BY ts.pickupOrder")
+	List<TripStudentSummaryProjection> findSummariesByTripId(@Param("tripId") Integer tripId);
+
 }
@@ -6,6 +6,7 @@ import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import com.app.entity.Driver;
 import com.app.entity.Trip;
 import com.app.entity.VehicleLocation;
 
@@ -16,6 +17,20 @@ public interface VehicleLocationRepository extends JpaRepository<VehicleLocation
      */
     Optional<VehicleLocation> findTopByTripOrderByCreatedDateDesc(Trip trip);
 
+    /**
+     * Find the most recent location reported by a driver
+     */
+    Optional<VehicleLocation> findTopByDriverOrderByCreatedDateDesc(Driver driver);
+
+    /**
+     * Find the most recent location by id, for live positions on a multi-node deployment
+     */
+    Optional<VehicleLocation> findTopByVehicle_VehicleIdOrderByCreatedDateDesc(Integer vehicleId);
+
+    Optional<VehicleLocation> findTopByDriver_DriverIdOrderByCreatedDateDesc(Integer driverId);
+
+    Optional<VehicleLocation> findTopByTrip_TripIdOrderByCreatedDateDesc(Integer tripId);
+
     /**
      * Find all locations for a trip, ordered by most recent first
      */
@@ -1,7 +1,9 @@
 package com.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.app.entity.User;
@@ -23,4 +25,7 @@ public interface VehicleOwnerRepository extends JpaRepository<VehicleOwner, Inte
 	
 	Optional<VehicleOwner> findByContactNumber(String contactNumber);
 
+	// Keyset page: owners after the given id, in id order
+	List<VehicleOwner> findByOwnerIdGreaterThanOrderByOwnerIdAsc(Integer ownerId, Pageable pageable);
+
 }
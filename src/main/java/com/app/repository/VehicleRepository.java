@@ -1,5 +1,6 @@
 package com.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.app.entity.Vehicle;
+import com.app.repository.projection.ActiveCountProjection;
 
 public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
 
@@ -20,4 +22,14 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
 	// Custom query to find vehicles by vehicle owner through createdBy field
 	@Query("SELECT v FROM Vehicle v WHERE v.createdBy = :ownerName")
 	List<Vehicle> findByVehicleOwner(@Param("ownerName") String ownerName);
-}
\ No newline at end of file
+
+	// Ids of the vehicles created by an owner
+	@Query("SELECT v.vehicleId FROM Vehicle v WHERE v.createdBy = :createdBy")
+	List<Integer> findIdsByCreatedBy(@Param("createdBy") String createdBy);
+
+	// Total / active vehicle counts for the given ids
+	@Query("SELECT COUNT(v) AS total, COALESCE(SUM(CASE WHEN v.isActive = true THEN 1 ELSE 0 END), 0) AS active " +
+	       "FROM Vehicle v WHERE v.vehicleId IN (:vehicleIds)")
+	ActiveCountProjection countActiveByIds(@Param("vehicleIds") Collection<Integer> vehicleIds);
+
+}
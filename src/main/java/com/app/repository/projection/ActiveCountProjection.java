@@ -0,0 +1,12 @@
+package com.app.repository.projection;
+
+/**
+ * Total and active row counts of an aggregate query.
+ */
+public interface ActiveCountProjection {
+
+	Long getTotal();
+
+	Long getActive();
+
+}
@@ -0,0 +1,31 @@
+package com.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Student assigned to an in-progress trip, with the trip, vehicle and driver fields
+ * needed to describe that trip to the student's parents.
+ */
+public interface ActiveTripStudentProjection {
+
+	Integer getTripId();
+
+	Integer getStudentId();
+
+	String getTripName();
+
+	Integer getTripNumber();
+
+	LocalDateTime getTripStartTime();
+
+	Integer getSchoolId();
+
+	Integer getVehicleId();
+
+	String getVehicleNumber();
+
+	Integer getDriverId();
+
+	String getDriverName();
+
+}
@@ -0,0 +1,20 @@
+package com.app.repository.projection;
+
+/**
+ * Present / absent / late day counts of one class + section within a date range.
+ */
+public interface ClassAttendanceSummaryProjection {
+
+	String getClassName();
+
+	String getSectionName();
+
+	Long getStudentCount();
+
+	Long getPresentDays();
+
+	Long getAbsentDays();
+
+	Long getLateDays();
+
+}
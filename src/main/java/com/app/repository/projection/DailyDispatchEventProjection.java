@@ -0,0 +1,22 @@
+package com.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.app.Enum.EventType;
+
+/**
+ * One pickup / drop event reduced to the ids the per-school daily state needs.
+ */
+public interface DailyDispatchEventProjection {
+
+	Integer getSchoolId();
+
+	Integer getVehicleId();
+
+	Integer getStudentId();
+
+	EventType getEventType();
+
+	LocalDateTime getCreatedDate();
+
+}
@@ -0,0 +1,28 @@
+package com.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.app.Enum.EventType;
+
+/**
+ * Flat dispatch log row for activity feeds.
+ */
+public interface DispatchLogSummaryProjection {
+
+	Integer getDispatchLogId();
+
+	EventType getEventType();
+
+	String getStudentFirstName();
+
+	String getStudentLastName();
+
+	String getVehicleNumber();
+
+	String getTripName();
+
+	String getRemarks();
+
+	LocalDateTime getCreatedDate();
+
+}
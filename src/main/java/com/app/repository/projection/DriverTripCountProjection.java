@@ -0,0 +1,22 @@
+package com.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trip header of a driver with the number of students assigned to it.
+ */
+public interface DriverTripCountProjection {
+
+	Integer getTripId();
+
+	String getTripName();
+
+	String getTripStatus();
+
+	LocalDateTime getTripStartTime();
+
+	Boolean getIsActive();
+
+	Long getStudentCount();
+
+}
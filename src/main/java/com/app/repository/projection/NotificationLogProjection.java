@@ -0,0 +1,37 @@
+package com.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.app.Enum.NotificationType;
+
+/**
+ * One notification row of the notification-logs report with its dispatch log, trip,
+ * student and vehicle columns already joined in.
+ */
+public interface NotificationLogProjection {
+
+	Integer getNotificationId();
+
+	Integer getDispatchLogId();
+
+	Integer getTripId();
+
+	String getTripName();
+
+	Integer getStudentId();
+
+	String getStudentFirstName();
+
+	String getStudentLastName();
+
+	String getVehicleNumber();
+
+	NotificationType getNotificationType();
+
+	LocalDateTime getSentAt();
+
+	Boolean getIsSent();
+
+	String getErrorMsg();
+
+}
@@ -0,0 +1,35 @@
+package com.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.app.Enum.EventType;
+import com.app.Enum.NotificationType;
+
+/**
+ * One notification of a parent's feed with the child, trip and vehicle it refers to.
+ */
+public interface ParentNotificationFeedProjection {
+
+	Integer getNotificationId();
+
+	NotificationType getNotificationType();
+
+	LocalDateTime getCreatedDate();
+
+	EventType getEventType();
+
+	Integer getStudentId();
+
+	String getStudentFirstName();
+
+	String getStudentLastName();
+
+	Integer getTripId();
+
+	String getTripName();
+
+	Integer getVehicleId();
+
+	String getVehicleNumber();
+
+}
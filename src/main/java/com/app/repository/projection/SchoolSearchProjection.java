@@ -0,0 +1,20 @@
+package com.app.repository.projection;
+
+/**
+ * Text fields of a school that the app-admin school search matches on.
+ */
+public interface SchoolSearchProjection {
+
+	Integer getSchoolId();
+
+	String getSchoolName();
+
+	String getSchoolCode();
+
+	String getCity();
+
+	String getDistrict();
+
+	String getState();
+
+}
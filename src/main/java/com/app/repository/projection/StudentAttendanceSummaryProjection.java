@@ -0,0 +1,24 @@
+package com.app.repository.projection;
+
+/**
+ * Present / absent / late day counts of one student within a date range.
+ */
+public interface StudentAttendanceSummaryProjection {
+
+	Integer getStudentId();
+
+	String getFirstName();
+
+	String getLastName();
+
+	String getClassName();
+
+	String getSectionName();
+
+	Long getPresentDays();
+
+	Long getAbsentDays();
+
+	Long getLateDays();
+
+}
@@ -0,0 +1,16 @@
+package com.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest gate entry / exit of a student within a date range (null when none).
+ */
+public interface StudentGateStatusProjection {
+
+	Integer getStudentId();
+
+	LocalDateTime getLastEntryTime();
+
+	LocalDateTime getLastExitTime();
+
+}
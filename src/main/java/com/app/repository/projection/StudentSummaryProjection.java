@@ -0,0 +1,20 @@
+package com.app.repository.projection;
+
+/**
+ * Lightweight student row (no photo, no associations) for list screens.
+ */
+public interface StudentSummaryProjection {
+
+	Integer getStudentId();
+
+	String getFirstName();
+
+	String getMiddleName();
+
+	String getLastName();
+
+	String getClassName();
+
+	String getSectionName();
+
+}
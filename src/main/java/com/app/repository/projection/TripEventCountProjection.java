@@ -0,0 +1,14 @@
+package com.app.repository.projection;
+
+/**
+ * Pickup / drop dispatch log counts of one trip.
+ */
+public interface TripEventCountProjection {
+
+	Integer getTripId();
+
+	Long getPickupCount();
+
+	Long getDropCount();
+
+}
@@ -0,0 +1,10 @@
+package com.app.repository.projection;
+
+/**
+ * Student row tagged with the trip it is assigned to.
+ */
+public interface TripStudentSummaryProjection extends StudentSummaryProjection {
+
+	Integer getTripId();
+
+}
@@ -0,0 +1,18 @@
+package com.app.repository.projection;
+
+/**
+ * Trip header row with vehicle number and driver name, without loading the entities.
+ */
+public interface TripSummaryProjection {
+
+	Integer getTripId();
+
+	String getTripName();
+
+	Integer getTripNumber();
+
+	String getVehicleNumber();
+
+	String getDriverName();
+
+}
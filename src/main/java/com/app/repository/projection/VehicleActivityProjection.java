@@ -0,0 +1,12 @@
+package com.app.repository.projection;
+
+/**
+ * Dispatch log row tagged with its vehicle, for owner activity feeds.
+ */
+public interface VehicleActivityProjection extends DispatchLogSummaryProjection {
+
+	Integer getVehicleId();
+
+	String getStudentMiddleName();
+
+}
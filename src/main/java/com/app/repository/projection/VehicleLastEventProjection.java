@@ -0,0 +1,16 @@
+package com.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest pickup / drop of a vehicle within a date range (null when none).
+ */
+public interface VehicleLastEventProjection {
+
+	Integer getVehicleId();
+
+	LocalDateTime getLastPickupTime();
+
+	LocalDateTime getLastDropTime();
+
+}
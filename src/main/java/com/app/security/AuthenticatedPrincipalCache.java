@@ -0,0 +1,121 @@
+package com.app.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.service.impl.UserDetailsServiceImpl;
+import com.app.util.BoundedCache;
+
+/**
+ * Short-lived cache of authenticated principals keyed by username.
+ *
+ * Saves the user + role lookups JwtAuthenticationFilter would otherwise run on every
+ * request. Entries expire after the TTL and are dropped explicitly whenever a User or
+ * UserRole row changes (see PrincipalCacheInvalidationListener).
+ */
+@Component
+public class AuthenticatedPrincipalCache {
+
+	@Lazy
+	@Autowired
+	private UserDetailsServiceImpl userDetailsService;
+
+	@Value("${app.security.principal-cache.ttl-ms:60000}")
+	private long ttlMs;
+
+	@Value("${app.security.principal-cache.max-size:10000}")
+	private int maxSize;
+
+	private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder invalidationCount = new LongAdder();
+	private final LongAdder notFoundCount = new LongAdder();
+
+	/**
+	 * Cached principal for the username, loading it on a miss. Returns null when the
+	 * user no longer exists.
+	 */
+	public UserDetails get(String userName) {
+		long nowMs = System.currentTimeMillis();
+		CachedPrincipal cached = principals.get(userName);
+		if (cached != null && nowMs - cached.loadedAtMs < ttlMs) {
+			hitCount.increment();
+			return cached.principal;
+		}
+
+		missCount.increment();
+		UserDetails principal;
+		try {
+			principal = userDetailsService.loadUserByUsername(userName);
+		} catch (UsernameNotFoundException e) {
+			notFoundCount.increment();
+			principals.remove(userName);
+			return null;
+		}
+
+		BoundedCache.put(principals, userName, new CachedPrincipal(principal, nowMs), maxSize, ttlMs, entry -> entry.loadedAtMs);
+		return principal;
+	}
+
+	/**
+	 * Drops the user's entry now and again once the surrounding transaction commits,
+	 * so a request racing the commit cannot re-cache the old roles.
+	 */
+	public void invalidate(String userName) {
+		if (userName == null) {
+			return;
+		}
+		invalidationCount.increment();
+		principals.remove(userName);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					principals.remove(userName);
+				}
+			});
+		}
+	}
+
+	public void invalidateAll() {
+		invalidationCount.increment();
+		principals.clear();
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		long hits = hitCount.sum();
+		long misses = missCount.sum();
+		stats.put("size", principals.size());
+		stats.put("hits", hits);
+		stats.put("misses", misses);
+		stats.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+		stats.put("invalidations", invalidationCount.sum());
+		stats.put("notFound", notFoundCount.sum());
+		stats.put("ttlMs", ttlMs);
+		return stats;
+	}
+
+	private static final class CachedPrincipal {
+		private final UserDetails principal;
+		private final long loadedAtMs;
+
+		private CachedPrincipal(UserDetails principal, long loadedAtMs) {
+			this.principal = principal;
+			this.loadedAtMs = loadedAtMs;
+		}
+	}
+}
@@ -1,20 +1,25 @@
 package com.app.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.*;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.app.service.impl.UserDetailsServiceImpl;
-
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -23,34 +28,48 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	@Autowired
     private JwtUtil jwtUtil;
 	@Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private AuthenticatedPrincipalCache principalCache;
+
+	// When true the roles claim of a verified token is trusted as-is and no user lookup is made
+	@Value("${app.security.jwt.trust-roles-claim:false}")
+	private boolean trustRolesClaim;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws IOException, ServletException {
         final String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String token = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims claims = null;
             try {
-                username = jwtUtil.extractUsername(token);
-            } catch (Exception e) {
+                // Signature and expiry are verified once here
+                claims = jwtUtil.parseClaims(authHeader.substring(7));
+            } catch (JwtException | IllegalArgumentException e) {
                 // Ignore invalid token
             }
-        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails ud = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(token, ud.getUsername())) {
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(ud, null, ud.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(auth);
+            if (claims != null && claims.getSubject() != null) {
+                UserDetails ud = trustRolesClaim ? principalFromClaims(claims) : principalCache.get(claims.getSubject());
+                if (ud != null && ud.isEnabled()) {
+                    UsernamePasswordAuthenticationToken auth =
+                            new UsernamePasswordAuthenticationToken(ud, null, ud.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails principalFromClaims(Claims claims) {
+        List<SimpleGrantedAuthority> authorities = jwtUtil.extractRoles(claims).stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .collect(Collectors.toList());
+        return User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(authorities)
+                .build();
+    }
 }
@@ -13,11 +13,14 @@ import java.util.function.Function;
 public class JwtUtil {
 
     private final Key key;
+    private final JwtParser parser;
     private final long jwtExpirationMs;
 
     public JwtUtil(@Value("${app.jwt.secret}") String secret,
                    @Value("${app.jwt.expiration-ms}") long jwtExpirationMs) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        // Parsers are immutable and thread-safe, build it once
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
         this.jwtExpirationMs = jwtExpirationMs;
     }
 
@@ -41,8 +44,26 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> resolver) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        return resolver.apply(claims);
+        return resolver.apply(parseClaims(token));
+    }
+
+    // Verifies signature and expiry in a single parse; throws JwtException when the token is not valid
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public List<String> extractRoles(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof Collection<?>)) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>();
+        for (Object role : (Collection<?>) roles) {
+            if (role != null) {
+                names.add(role.toString());
+            }
+        }
+        return names;
     }
 
     public boolean validateToken(String token, String username) {
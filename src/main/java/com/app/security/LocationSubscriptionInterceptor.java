@@ -0,0 +1,74 @@
+package com.app.security;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import com.app.service.ILocationFanoutService;
+import com.app.service.impl.LocationFanoutServiceImpl;
+
+/**
+ * Guards the per-vehicle location topics.
+ *
+ * On CONNECT the optional "Authorization: Bearer ..." STOMP header is verified and the
+ * username stored on the session. A SUBSCRIBE to /topic/vehicle/{vehicleId}/location is
+ * only let through for the vehicle's owner, staff of a school it serves, or a parent of
+ * a student riding it. Sessions without a valid token are always refused. All other
+ * destinations are left untouched.
+ */
+@Component
+public class LocationSubscriptionInterceptor implements ChannelInterceptor {
+
+	private static final Logger logger = LoggerFactory.getLogger(LocationSubscriptionInterceptor.class);
+
+	public static final String SESSION_USERNAME = "authenticatedUserName";
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Lazy
+	@Autowired
+	private ILocationFanoutService locationFanoutService;
+
+	@Override
+	public Message<?> preSend(Message<?> message, MessageChannel channel) {
+		StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+		if (accessor == null || accessor.getCommand() == null) {
+			return message;
+		}
+
+		if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+			String authHeader = accessor.getFirstNativeHeader("Authorization");
+			Map<String, Object> session = accessor.getSessionAttributes();
+			if (authHeader != null && authHeader.startsWith("Bearer ") && session != null) {
+				try {
+					session.put(SESSION_USERNAME, jwtUtil.extractUsername(authHeader.substring(7)));
+				} catch (Exception e) {
+					// Invalid token: the session stays anonymous and cannot subscribe to vehicle topics
+				}
+			}
+		} else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+			Integer vehicleId = LocationFanoutServiceImpl.parseVehicleTopic(accessor.getDestination());
+			if (vehicleId != null) {
+				Map<String, Object> session = accessor.getSessionAttributes();
+				String userName = session != null ? (String) session.get(SESSION_USERNAME) : null;
+				if (!locationFanoutService.canSubscribe(userName, vehicleId)) {
+					logger.debug("Refused subscribe to vehicle {} for {}", vehicleId, userName != null ? userName : "anonymous session");
+					throw new MessageDeliveryException("Not allowed to subscribe to location of vehicle " + vehicleId);
+				}
+			}
+		}
+		return message;
+	}
+}
@@ -0,0 +1,52 @@
+package com.app.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.app.entity.User;
+import com.app.entity.UserRole;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * JPA listener on User and UserRole that evicts the affected principal from
+ * AuthenticatedPrincipalCache whenever an account or its roles change. A renamed
+ * user is evicted under both the old and the new name.
+ */
+@Component
+public class PrincipalCacheInvalidationListener {
+
+	@Autowired
+	private AuthenticatedPrincipalCache principalCache;
+
+	@PostLoad
+	public void onLoad(Object entity) {
+		if (entity instanceof User user) {
+			user.setLoadedUserName(user.getUserName());
+		}
+	}
+
+	@PreUpdate
+	public void beforeUpdate(Object entity) {
+		if (entity instanceof User user && user.getLoadedUserName() != null
+				&& !user.getLoadedUserName().equals(user.getUserName())) {
+			principalCache.invalidate(user.getLoadedUserName());
+		}
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onChange(Object entity) {
+		if (entity instanceof User user) {
+			principalCache.invalidate(user.getUserName());
+			user.setLoadedUserName(user.getUserName());
+		} else if (entity instanceof UserRole userRole && userRole.getUser() != null) {
+			principalCache.invalidate(userRole.getUser().getUserName());
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.app.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.app.entity.Trip;
+import com.app.payload.response.ActiveTripDto;
+
+public interface IActiveTripIndexService {
+
+	// Index a trip that has just been started with the students assigned to it (after the transaction commits)
+	void tripStarted(Trip trip, Collection<Integer> studentIds);
+
+	// Drop a finished trip from the index (after the transaction commits)
+	void tripEnded(Integer tripId);
+
+	// Re-read an indexed trip after it was edited, deactivated, deleted or its students changed (after the
+	// transaction commits); drops it once it is no longer in progress. No-op for trips not in progress
+	void refreshTrip(Integer tripId);
+
+	// Ids of the in-progress trips a student is on
+	Set<Integer> getActiveTripIds(Integer studentId);
+
+	// Distinct in-progress trips of any of the given students
+	List<ActiveTripDto> getActiveTrips(Collection<Integer> studentIds);
+
+	// Reload the index from the in-progress trips in the database
+	void rebuild();
+
+	Map<String, Object> getStats();
+
+}
@@ -2,6 +2,7 @@ package com.app.service;
 
 import java.util.Map;
 
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.response.ApiResponse;
 
 public interface IAppAdminSchoolService {
@@ -9,7 +10,7 @@ public interface IAppAdminSchoolService {
     /**
      * Get all schools with complete details for AppAdmin
      */
-    ApiResponse getAllSchools();
+    ApiResponse getAllSchools(PaginationRequest pagination);
     
     /**
      * Get school details by ID
@@ -32,9 +33,9 @@ public interface IAppAdminSchoolService {
     ApiResponse getSchoolStatistics();
     
     /**
-     * Search schools by name, city, or state
+     * Search schools by name, code, city, district or state; ranked, one page (pageNo, pageSize) at a time
      */
-    ApiResponse searchSchools(String query);
+    ApiResponse searchSchools(String query, PaginationRequest pagination);
     
     /**
      * Resend activation link for school admin
@@ -0,0 +1,26 @@
+package com.app.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public interface IDataLifecycleService {
+
+	// Archive and downsample every trip day past its retention period; returns what this pass did
+	Map<String, Object> runRetention();
+
+	// Queue a retention pass on the lifecycle scheduler (at most one waiting) and return the run status
+	Map<String, Object> requestRun();
+
+	// Whether a pass is queued or running, and the outcome of the last one
+	Map<String, Object> getRunStatus();
+
+	// Put the archived detail of a trip back into vehicle_locations / dispatch_logs (one day, or every archived day when date is null)
+	Map<String, Object> restoreTrip(Integer tripId, LocalDate date);
+
+	// Downsampled routes and archive state of a trip, newest day first
+	List<Map<String, Object>> getRouteSummaries(Integer tripId);
+
+	Map<String, Object> getStats();
+
+}
@@ -1,6 +1,7 @@
 package com.app.service;
 
 import com.app.payload.request.DispatchLogRequestDto;
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.response.ApiResponse;
 
 public interface IDispatchLogService {
@@ -11,8 +12,8 @@ public interface IDispatchLogService {
 
 	ApiResponse getDispatchLogById(Integer dispatchLogId);
 
-	ApiResponse getDispatchLogsByTrip(Integer tripId);
+	ApiResponse getDispatchLogsByTrip(Integer tripId, PaginationRequest pagination);
 
-	ApiResponse getDispatchLogsByVehicle(Integer vehicleId);
+	ApiResponse getDispatchLogsByVehicle(Integer vehicleId, PaginationRequest pagination);
 
 }
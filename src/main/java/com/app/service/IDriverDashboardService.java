@@ -0,0 +1,20 @@
+package com.app.service;
+
+import java.util.Map;
+
+import com.app.payload.response.ApiResponse;
+
+public interface IDriverDashboardService {
+
+	// Aggregated driver dashboard, served from a short-lived per-driver cache
+	ApiResponse getDriverDashboard(Integer driverId);
+
+	// Drop the cached dashboard of a driver (now and after the surrounding transaction completes)
+	void invalidate(Integer driverId);
+
+	void invalidateAll();
+
+	// Cache hit / miss counters
+	Map<String, Object> getCacheStats();
+
+}
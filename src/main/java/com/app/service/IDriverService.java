@@ -1,6 +1,7 @@
 package com.app.service;
 
 import com.app.payload.request.DriverRequestDto;
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.StudentAttendanceRequestDto;
 import com.app.payload.request.NotificationRequestDto;
 import com.app.payload.response.ApiResponse;
@@ -20,7 +21,7 @@ public interface IDriverService {
 
 	ApiResponse getAllDrivers(Integer ownerId);
 
-	ApiResponse getAllDriversForAdmin();
+	ApiResponse getAllDriversForAdmin(PaginationRequest pagination);
 
 	// Driver Dashboard Methods
 	ApiResponse getDriverDashboard(Integer driverId);
@@ -63,6 +64,18 @@ public interface IDriverService {
     ApiResponse updateDriverLocation(Integer driverId, Map<String, Object> locationData);
 
     // Save location update for active trip
-    ApiResponse saveLocationUpdate(Integer driverId, Integer tripId, Double latitude, Double longitude, String address);
+    ApiResponse saveLocationUpdate(Integer driverId, Integer tripId, Double latitude, Double longitude, String address,
+                                   Double speed, Double bearing);
+
+    // Last known position served from the live position store
+    ApiResponse getVehicleLiveLocation(Integer vehicleId);
+
+    ApiResponse getTripLiveLocation(Integer tripId);
+
+    // Queue depth and counters of the write-behind location pipeline
+    ApiResponse getLocationIngestionStats();
+
+    // Drop the cached GPS context of a trip (now and after the surrounding transaction completes)
+    void invalidateTripContext(Integer tripId);
 
 }
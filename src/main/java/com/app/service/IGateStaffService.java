@@ -4,8 +4,8 @@ import com.app.payload.response.ApiResponse;
 
 public interface IGateStaffService {
 
-    // Get gate staff dashboard data
-    ApiResponse getGateStaffDashboard(Integer userId);
+    // Get gate staff dashboard data (students paged, gate status for today)
+    ApiResponse getGateStaffDashboard(Integer userId, Integer page, Integer size);
 
     // Get students by trip for gate staff
     ApiResponse getStudentsByTrip(Integer userId, Integer tripId);
@@ -16,8 +16,8 @@ public interface IGateStaffService {
     // Mark gate exit
     ApiResponse markGateExit(Integer userId, Integer studentId, Integer tripId, String remarks);
 
-    // Get recent dispatch logs for gate staff
-    ApiResponse getRecentDispatchLogs(Integer userId);
+    // Get today's most recent dispatch logs for the gate staff's school
+    ApiResponse getRecentDispatchLogs(Integer userId, Integer limit);
 
     // Get gate staff by user ID
     ApiResponse getGateStaffByUserId(Integer userId);
@@ -0,0 +1,21 @@
+package com.app.service;
+
+import com.app.payload.response.LivePositionDto;
+
+public interface ILivePositionService {
+
+	// Publish the latest position; indexed by every non-null vehicle, driver and trip id
+	void update(LivePositionDto position);
+
+	LivePositionDto getByVehicle(Integer vehicleId);
+
+	LivePositionDto getByDriver(Integer driverId);
+
+	LivePositionDto getByTrip(Integer tripId);
+
+	// Forget the trip index entry once a trip has ended
+	void removeTrip(Integer tripId);
+
+	int size();
+
+}
@@ -0,0 +1,18 @@
+package com.app.service;
+
+import java.util.Map;
+
+import com.app.payload.response.LivePositionDto;
+
+public interface ILocationFanoutService {
+
+	// Publish one LOCATION_UPDATE per vehicle per tick; returns false when suppressed by the interval/distance filter
+	boolean publish(LivePositionDto position);
+
+	// Whether a user may subscribe to a vehicle's location topic (linked parent, school staff or owner)
+	boolean canSubscribe(String userName, Integer vehicleId);
+
+	// Published / suppressed counters
+	Map<String, Object> getFanoutStats();
+
+}
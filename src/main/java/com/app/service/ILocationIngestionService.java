@@ -0,0 +1,18 @@
+package com.app.service;
+
+import java.util.Map;
+
+import com.app.payload.request.LocationFixDto;
+
+public interface ILocationIngestionService {
+
+	// Queue a GPS fix for the background batch writer. Returns false when the fix was rejected.
+	boolean enqueue(LocationFixDto fix);
+
+	// Write everything currently queued to vehicle_locations
+	int flush();
+
+	// Queue depth and accepted / dropped / written / failed counters
+	Map<String, Object> getIngestionStats();
+
+}
@@ -0,0 +1,16 @@
+package com.app.service;
+
+import java.util.Map;
+
+public interface IMailOutboxService {
+
+	// Persist an e-mail in the caller's transaction; it is delivered in the background after commit
+	void enqueue(String to, String subject, String body, boolean html, String from);
+
+	// Deliver one round of due messages now; returns the number handed to the mail server
+	int dispatchNow();
+
+	// Outbox backlog and delivery counters
+	Map<String, Object> getOutboxStats();
+
+}
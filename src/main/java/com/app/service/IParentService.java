@@ -1,5 +1,6 @@
 package com.app.service;
 
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.StudentParentRequestDto;
 import com.app.payload.request.UserRequestDto;
 import com.app.payload.response.ApiResponse;
@@ -26,6 +27,12 @@ public interface IParentService {
 	ApiResponse getParentDashboard(Integer userId);
 	
 	ApiResponse getParentNotifications(Integer userId);
+
+	// Newest notifications across all of a parent's children, one keyset page at a time (newest first)
+	ApiResponse getParentNotificationFeed(Integer userId, PaginationRequest pagination);
+
+	// Trip and vehicle details of one feed item, loaded on demand
+	ApiResponse getParentNotificationDetails(Integer userId, Integer notificationId);
 	
 	ApiResponse getParentTrips(Integer userId);
 	
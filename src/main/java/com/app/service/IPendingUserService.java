@@ -1,5 +1,6 @@
 package com.app.service;
 
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.PendingUserRequestDTO;
 import com.app.payload.response.ApiResponse;
 
@@ -11,10 +12,13 @@ public interface IPendingUserService {
 
     ApiResponse getPendingUserById(Integer pendingUserId);
 
-    ApiResponse getAllPendingUsers();
+    ApiResponse getAllPendingUsers(PaginationRequest pagination);
 
     ApiResponse deletePendingUser(Integer pendingUserId);
 
 	ApiResponse completeRegistration(String token, String password, String userName);
 
+	// Send the activation link for an already persisted pending user token
+	void sendActivationLink(String email, String token);
+
 }
@@ -0,0 +1,28 @@
+package com.app.service;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.app.entity.StoredPhoto;
+
+public interface IPhotoStorageService {
+
+	// Store a base64 / data-URL photo and return its reference; URLs and existing photo URLs are kept as references
+	String store(String photo);
+
+	// Public URL of a stored reference (external URLs are returned unchanged)
+	String toUrl(String photoRef);
+
+	// Metadata of a stored photo, or null when unknown
+	StoredPhoto find(String contentHash);
+
+	// File of the original image, or of its thumbnail when one was generated
+	Path resolve(StoredPhoto photo, boolean thumbnail);
+
+	// Copy legacy base64 photo columns into the store and point the entities at it
+	Map<String, Object> migrateLegacyPhotos();
+
+	// Stored / deduplicated / migrated counters
+	Map<String, Object> getStoreStats();
+
+}
@@ -0,0 +1,41 @@
+package com.app.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.app.entity.ClassMaster;
+import com.app.entity.Role;
+import com.app.entity.School;
+import com.app.entity.SectionMaster;
+
+public interface IReferenceDataCache {
+
+	// Role by name (PARENT, DRIVER, VEHICLE_OWNER, ...); loaded once, then served from memory
+	Optional<Role> findRoleByName(String roleName);
+
+	Optional<Role> findRoleById(Integer roleId);
+
+	Optional<ClassMaster> findClassById(Integer classId);
+
+	Optional<SectionMaster> findSectionById(Integer sectionId);
+
+	// All classes of a school ordered by class order
+	List<ClassMaster> getClassesBySchool(School school);
+
+	// All sections of a school ordered by section name
+	List<SectionMaster> getSectionsBySchool(School school);
+
+	// Called from role / class / section writes; also broadcast to other nodes through IReferenceDataInvalidationBus
+	void invalidateRoles();
+
+	void invalidateClasses(Integer schoolId);
+
+	void invalidateSections(Integer schoolId);
+
+	void invalidateAll();
+
+	// Size / hit ratio per reference table
+	Map<String, Object> getCacheStats();
+
+}
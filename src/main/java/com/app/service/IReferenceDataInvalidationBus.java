@@ -0,0 +1,37 @@
+package com.app.service;
+
+import java.util.function.Consumer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Carries reference-data invalidations between app nodes. The default implementation
+ * is single-node; a broker-backed one (Redis pub/sub, JMS, ...) can be selected with
+ * app.reference-data.invalidation-bus.
+ */
+public interface IReferenceDataInvalidationBus {
+
+	// Send an invalidation that happened on this node to the other nodes
+	void publish(InvalidationEvent event);
+
+	// Receive invalidations published by other nodes
+	void subscribe(Consumer<InvalidationEvent> listener);
+
+	enum Scope {
+		ROLES, CLASSES, SECTIONS, ALL
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	class InvalidationEvent {
+		private Scope scope;
+		// null for ROLES / ALL
+		private Integer schoolId;
+		// Node that published the event, so a node can ignore its own messages
+		private String originNodeId;
+	}
+
+}
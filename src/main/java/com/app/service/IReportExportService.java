@@ -0,0 +1,14 @@
+package com.app.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import com.app.Enum.ReportType;
+
+public interface IReportExportService {
+
+	// Stream a report as CSV (attendance, dispatch-logs, notifications) straight to the output; returns rows written
+	long writeCsv(Integer schoolId, ReportType type, LocalDate fromDate, LocalDate toDate, OutputStream out) throws IOException;
+
+}
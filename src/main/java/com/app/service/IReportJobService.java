@@ -0,0 +1,24 @@
+package com.app.service;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.app.Enum.ReportType;
+import com.app.payload.response.ReportJobDto;
+
+public interface IReportJobService {
+
+	// Queue a report build (or reuse a cached artifact / in-flight job for the same school, type, format and range)
+	ReportJobDto submit(Integer schoolId, ReportType type, String format, LocalDate fromDate, LocalDate toDate);
+
+	// Current state of a job, null when unknown or expired
+	ReportJobDto getJob(String jobId);
+
+	// Finished file of a completed job, null when not ready or evicted
+	Path getArtifact(String jobId);
+
+	// Worker pool, queue and cache counters
+	Map<String, Object> getJobStats();
+
+}
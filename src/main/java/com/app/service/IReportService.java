@@ -4,14 +4,17 @@ import com.app.payload.response.ApiResponse;
 
 public interface IReportService {
 
-    ApiResponse getAttendanceReport(Integer schoolId, String filterType); // student-wise, class-wise
+    ApiResponse getAttendanceReport(Integer schoolId, String filterType, String fromDate, String toDate,
+            Integer page, Integer size); // student-wise (paged), class-wise
 
     ApiResponse getDispatchLogsReport(Integer schoolId, String filterType); // trip-wise, vehicle-wise
 
-    ApiResponse getNotificationLogsReport(Integer schoolId, String filterType); // sent, failed, pending
+    ApiResponse getNotificationLogsReport(Integer schoolId, String filterType, Integer page, Integer size); // sent, failed, pending (paged)
 
-    ApiResponse exportReport(Integer schoolId, String type, String format); // PDF/CSV
+    ApiResponse exportReport(Integer schoolId, String type, String format, String fromDate, String toDate); // queues a background CSV build
 
-    byte[] generateReportFile(Integer schoolId, String type, String format); // Generate actual file content
+    ApiResponse getReportJobStatus(String jobId); // QUEUED, RUNNING, COMPLETED, FAILED
+
+    byte[] generateReportFile(Integer schoolId, String type, String format); // PDF only; CSV is streamed by the controller
 
 }
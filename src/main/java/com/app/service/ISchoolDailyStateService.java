@@ -0,0 +1,26 @@
+package com.app.service;
+
+import java.util.Map;
+
+import com.app.entity.DispatchLog;
+
+public interface ISchoolDailyStateService {
+
+	// Apply a persisted dispatch event to today's state of its school (after the transaction commits)
+	void record(DispatchLog dispatchLog);
+
+	// Vehicles whose latest event today is a pickup
+	long countVehiclesInTransit(Integer schoolId);
+
+	// Distinct students dropped at school today
+	long countStudentsDroppedAtSchool(Integer schoolId);
+
+	// Distinct students handed to parents today
+	long countStudentsHandedToParents(Integer schoolId);
+
+	// Reload today's state from the dispatch logs
+	void rebuild();
+
+	Map<String, Object> getStats();
+
+}
@@ -0,0 +1,24 @@
+package com.app.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.app.entity.School;
+
+public interface ISchoolSearchService {
+
+	// Ids of schools whose name, code, city, district or state contains the query, best match first
+	List<Integer> search(String query);
+
+	// Add or refresh a school in the index (after the transaction commits)
+	void index(School school);
+
+	// Drop a school from the index (after the transaction commits)
+	void remove(Integer schoolId);
+
+	// Reload the index from the database
+	void rebuild();
+
+	Map<String, Object> getStats();
+
+}
@@ -1,5 +1,6 @@
 package com.app.service;
 
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.SchoolRequestDto;
 import com.app.payload.response.ApiResponse;
 
@@ -17,7 +18,7 @@ public interface ISchoolService {
 
 	ApiResponse getSchoolById(Integer schoolId);
 
-	ApiResponse getAllSchools();
+	ApiResponse getAllSchools(PaginationRequest pagination);
 
 	ApiResponse getVehiclesInTransit(Integer schoolId);
 
@@ -1,5 +1,6 @@
 package com.app.service;
 
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.VehicleOwnerRequestDto;
 import com.app.payload.response.ApiResponse;
 
@@ -17,7 +18,7 @@ public interface IVehicleOwnerService {
 
 	ApiResponse getVehicleOwnerDashboard(Integer ownerId);
 
-	ApiResponse getAllVehicleOwners(Integer schoolId);
+	ApiResponse getAllVehicleOwners(Integer schoolId, PaginationRequest pagination);
 	
 	ApiResponse getVehicleOwnerByUserId(Integer userId);
 	
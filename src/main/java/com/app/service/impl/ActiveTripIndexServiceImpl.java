@@ -0,0 +1,323 @@
+package com.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.app.entity.Trip;
+import com.app.payload.response.ActiveTripDto;
+import com.app.repository.TripRepository;
+import com.app.repository.TripStudentRepository;
+import com.app.repository.projection.ActiveTripStudentProjection;
+import com.app.service.IActiveTripIndexService;
+
+/**
+ * In-memory index of the trips currently in progress, keyed by student.
+ *
+ * Parent apps look up their children's live trips here instead of walking every
+ * historic trip assignment. Trips enter the index when a driver starts them and
+ * leave when they end; the index is reloaded from the in-progress trips at startup.
+ *
+ * Writes are rare (trip start/end, assignment changes) and serialized on the index;
+ * each write publishes new immutable sets, so reads never lock.
+ *
+ * On a multi-node deployment a trip may start or end on another node, so lookups
+ * query the students' in-progress trips instead (see InMemoryReadModel).
+ */
+@Service
+public class ActiveTripIndexServiceImpl extends InMemoryReadModel implements IActiveTripIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveTripIndexServiceImpl.class);
+
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+
+    @Autowired
+    private TripStudentRepository tripStudentRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    // tripId -> trip summary
+    private final Map<Integer, ActiveTripDto> trips = new ConcurrentHashMap<>();
+    // tripId -> students on the trip
+    private final Map<Integer, Set<Integer>> studentsByTrip = new ConcurrentHashMap<>();
+    // studentId -> in-progress trips of the student
+    private final Map<Integer, Set<Integer>> tripsByStudent = new ConcurrentHashMap<>();
+
+    // Trips ended while a reload is running; the reload must not bring them back
+    private final Set<Integer> endedDuringReload = new HashSet<>();
+    private boolean reloading;
+
+    private volatile boolean loaded;
+    private volatile long lastLoadAttemptMs;
+
+    private final LongAdder lookupCount = new LongAdder();
+    private final LongAdder startedCount = new LongAdder();
+    private final LongAdder endedCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder reloadCount = new LongAdder();
+
+    @Override
+    public void tripStarted(Trip trip, Collection<Integer> studentIds) {
+        if (trip == null || trip.getTripId() == null) {
+            return;
+        }
+        ActiveTripDto activeTrip = ActiveTripDto.builder()
+                .tripId(trip.getTripId())
+                .tripName(trip.getTripName())
+                .tripNumber(trip.getTripNumber())
+                .tripStartTime(trip.getTripStartTime())
+                .schoolId(trip.getSchool() != null ? trip.getSchool().getSchoolId() : null)
+                .vehicleId(trip.getVehicle() != null ? trip.getVehicle().getVehicleId() : null)
+                .vehicleNumber(trip.getVehicle() != null ? trip.getVehicle().getVehicleNumber() : null)
+                .driverId(trip.getDriver() != null ? trip.getDriver().getDriverId() : null)
+                .driverName(trip.getDriver() != null ? trip.getDriver().getDriverName() : null)
+                .build();
+        Set<Integer> students = studentIds != null ? Set.copyOf(studentIds) : Set.of();
+
+        afterCommit(() -> {
+            synchronized (this) {
+                trips.put(activeTrip.getTripId(), activeTrip);
+                replaceStudents(activeTrip.getTripId(), students);
+                endedDuringReload.remove(activeTrip.getTripId());
+            }
+            startedCount.increment();
+        });
+    }
+
+    @Override
+    public void tripEnded(Integer tripId) {
+        if (tripId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (this) {
+                trips.remove(tripId);
+                replaceStudents(tripId, Set.of());
+                if (reloading) {
+                    endedDuringReload.add(tripId);
+                }
+            }
+            endedCount.increment();
+        });
+    }
+
+    @Override
+    public void refreshTrip(Integer tripId) {
+        if (tripId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            if (!trips.containsKey(tripId)) {
+                return;
+            }
+            try {
+                List<ActiveTripStudentProjection> rows = tripStudentRepository.findActiveTripStudentsByTripId(IN_PROGRESS, tripId);
+                // No rows: either the trip is gone / deactivated / ended, or it is running without students
+                boolean inProgress = !rows.isEmpty() || tripRepository.existsByTripIdAndTripStatusAndIsActiveTrue(tripId, IN_PROGRESS);
+                Set<Integer> students = new HashSet<>();
+                for (ActiveTripStudentProjection row : rows) {
+                    students.add(row.getStudentId());
+                }
+                synchronized (this) {
+                    if (!trips.containsKey(tripId)) {
+                        return;
+                    }
+                    if (!inProgress) {
+                        trips.remove(tripId);
+                        replaceStudents(tripId, Set.of());
+                        if (reloading) {
+                            endedDuringReload.add(tripId);
+                        }
+                    } else {
+                        if (!rows.isEmpty()) {
+                            trips.put(tripId, toActiveTrip(rows.get(0)));
+                        }
+                        replaceStudents(tripId, Set.copyOf(students));
+                    }
+                }
+                refreshCount.increment();
+            } catch (Exception e) {
+                logger.error("Could not refresh active trip {}: {}", tripId, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public Set<Integer> getActiveTripIds(Integer studentId) {
+        if (!isAuthoritative()) {
+            lookupCount.increment();
+            if (studentId == null) {
+                return Set.of();
+            }
+            Set<Integer> tripIds = new LinkedHashSet<>();
+            for (ActiveTripStudentProjection row : tripStudentRepository.findActiveTripStudentsByStudentIds(IN_PROGRESS, Set.of(studentId))) {
+                tripIds.add(row.getTripId());
+            }
+            return tripIds;
+        }
+        ensureLoaded();
+        lookupCount.increment();
+        return studentId != null ? tripsByStudent.getOrDefault(studentId, Set.of()) : Set.of();
+    }
+
+    @Override
+    public List<ActiveTripDto> getActiveTrips(Collection<Integer> studentIds) {
+        if (!isAuthoritative()) {
+            lookupCount.increment();
+            if (studentIds == null || studentIds.isEmpty()) {
+                return List.of();
+            }
+            Map<Integer, ActiveTripDto> result = new LinkedHashMap<>();
+            for (ActiveTripStudentProjection row : tripStudentRepository.findActiveTripStudentsByStudentIds(IN_PROGRESS, studentIds)) {
+                result.computeIfAbsent(row.getTripId(), id -> toActiveTrip(row));
+            }
+            return new ArrayList<>(result.values());
+        }
+        ensureLoaded();
+        lookupCount.increment();
+        if (studentIds == null || studentIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> tripIds = new LinkedHashSet<>();
+        for (Integer studentId : studentIds) {
+            if (studentId != null) {
+                tripIds.addAll(tripsByStudent.getOrDefault(studentId, Set.of()));
+            }
+        }
+        List<ActiveTripDto> result = new ArrayList<>(tripIds.size());
+        for (Integer tripId : tripIds) {
+            ActiveTripDto trip = trips.get(tripId);
+            if (trip != null) {
+                result.add(trip);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected void load() {
+        synchronized (this) {
+            reloading = true;
+            endedDuringReload.clear();
+        }
+        lastLoadAttemptMs = System.currentTimeMillis();
+        try {
+            List<ActiveTripStudentProjection> rows = tripStudentRepository.findActiveTripStudents(IN_PROGRESS);
+
+            Map<Integer, ActiveTripDto> loadedTrips = new LinkedHashMap<>();
+            Map<Integer, Set<Integer>> loadedStudents = new LinkedHashMap<>();
+            for (ActiveTripStudentProjection row : rows) {
+                loadedTrips.computeIfAbsent(row.getTripId(), id -> toActiveTrip(row));
+                loadedStudents.computeIfAbsent(row.getTripId(), id -> new HashSet<>()).add(row.getStudentId());
+            }
+
+            // Merge rather than replace: trips started while the query ran are already indexed
+            synchronized (this) {
+                for (Map.Entry<Integer, ActiveTripDto> entry : loadedTrips.entrySet()) {
+                    Integer tripId = entry.getKey();
+                    if (endedDuringReload.contains(tripId) || trips.containsKey(tripId)) {
+                        continue;
+                    }
+                    trips.put(tripId, entry.getValue());
+                    replaceStudents(tripId, Set.copyOf(loadedStudents.get(tripId)));
+                }
+            }
+            loaded = true;
+            reloadCount.increment();
+            logger.info("Loaded active trip index: {} trips, {} students", loadedTrips.size(), tripsByStudent.size());
+        } catch (Exception e) {
+            logger.error("Could not load active trip index: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                reloading = false;
+                endedDuringReload.clear();
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("authoritative", isAuthoritative());
+        stats.put("loaded", loaded);
+        stats.put("activeTrips", trips.size());
+        stats.put("indexedStudents", tripsByStudent.size());
+        stats.put("lookups", lookupCount.sum());
+        stats.put("started", startedCount.sum());
+        stats.put("ended", endedCount.sum());
+        stats.put("refreshes", refreshCount.sum());
+        stats.put("reloads", reloadCount.sum());
+        return stats;
+    }
+
+    // Point a trip at a new student set and fix the reverse entries; caller holds the lock
+    private void replaceStudents(Integer tripId, Set<Integer> students) {
+        Set<Integer> previous = students.isEmpty() ? studentsByTrip.remove(tripId) : studentsByTrip.put(tripId, students);
+        if (previous != null) {
+            for (Integer studentId : previous) {
+                if (!students.contains(studentId)) {
+                    unlinkStudent(studentId, tripId);
+                }
+            }
+        }
+        for (Integer studentId : students) {
+            if (previous == null || !previous.contains(studentId)) {
+                linkStudent(studentId, tripId);
+            }
+        }
+    }
+
+    private void linkStudent(Integer studentId, Integer tripId) {
+        Set<Integer> current = tripsByStudent.getOrDefault(studentId, Set.of());
+        Set<Integer> updated = new HashSet<>(current);
+        updated.add(tripId);
+        tripsByStudent.put(studentId, Set.copyOf(updated));
+    }
+
+    private void unlinkStudent(Integer studentId, Integer tripId) {
+        Set<Integer> current = tripsByStudent.get(studentId);
+        if (current == null) {
+            return;
+        }
+        Set<Integer> updated = new HashSet<>(current);
+        updated.remove(tripId);
+        if (updated.isEmpty()) {
+            tripsByStudent.remove(studentId);
+        } else {
+            tripsByStudent.put(studentId, Set.copyOf(updated));
+        }
+    }
+
+    private void ensureLoaded() {
+        if (reloadDue(loaded, lastLoadAttemptMs)) {
+            rebuild();
+        }
+    }
+
+    private static ActiveTripDto toActiveTrip(ActiveTripStudentProjection row) {
+        return ActiveTripDto.builder()
+                .tripId(row.getTripId())
+                .tripName(row.getTripName())
+                .tripNumber(row.getTripNumber())
+                .tripStartTime(row.getTripStartTime())
+                .schoolId(row.getSchoolId())
+                .vehicleId(row.getVehicleId())
+                .vehicleNumber(row.getVehicleNumber())
+                .driverId(row.getDriverId())
+                .driverName(row.getDriverName())
+                .build();
+    }
+}
@@ -5,32 +5,44 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.app.entity.PendingUser;
 import com.app.entity.School;
+import com.app.exception.BadRequestException;
 import com.app.exception.ResourceNotFoundException;
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.response.ApiResponse;
+import com.app.payload.response.CursorPageDto;
 import com.app.payload.response.SchoolResponseDto;
 import com.app.repository.PendingUserRepository;
 import com.app.repository.SchoolRepository;
 import com.app.repository.SchoolUserRepository;
 import com.app.service.IAppAdminSchoolService;
-
-import jakarta.mail.internet.MimeMessage;
+import com.app.service.IMailOutboxService;
+import com.app.service.IPhotoStorageService;
+import com.app.service.ISchoolSearchService;
 
 @Service
 public class AppAdminSchoolServiceImpl implements IAppAdminSchoolService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AppAdminSchoolServiceImpl.class);
+
     @Autowired
     private SchoolRepository schoolRepository;
+
+    @Autowired
+    private IPhotoStorageService photoStorageService;
     
     @Autowired
     private PendingUserRepository pendingUserRepository;
@@ -39,28 +51,32 @@ public class AppAdminSchoolServiceImpl implements IAppAdminSchoolService {
     private SchoolUserRepository schoolUserRepository;
     
     @Autowired
-    private JavaMailSender mailSender;
+    private IMailOutboxService mailOutboxService;
+    
+    @Autowired
+    private ISchoolSearchService schoolSearchService;
     
     @Value("${app.frontend.activation-url}")
     private String activationBaseUrl;
 
     @Override
-    public ApiResponse getAllSchools() {
+    public ApiResponse getAllSchools(PaginationRequest pagination) {
+        // Outside the try: a bad cursor is the client's error, not a retrieval failure
+        Integer afterId = CursorPageDto.decodeCursor(pagination);
         try {
-            List<School> schools = schoolRepository.findAll();
-            List<SchoolResponseDto> schoolDtos = schools.stream()
-                    .map(this::mapToResponse)
-                    .collect(Collectors.toList());
+            int pageSize = pagination.resolvePageSize();
+            List<School> rows = schoolRepository.findBySchoolIdGreaterThanOrderBySchoolIdAsc(
+                    afterId != null ? afterId : 0, PageRequest.of(0, pageSize + 1));
+            CursorPageDto<SchoolResponseDto> page = CursorPageDto.of(rows, pageSize, School::getSchoolId, this::mapToResponse, null);
 
+            // Totals come from COUNT queries so they cover every school, not just this page
             Map<String, Object> responseData = new HashMap<>();
-            responseData.put("schools", schoolDtos);
-            responseData.put("totalCount", schoolDtos.size());
-            responseData.put("activeCount", schoolDtos.stream()
-                    .mapToInt(school -> Boolean.TRUE.equals(school.getIsActive()) ? 1 : 0)
-                    .sum());
-            responseData.put("inactiveCount", schoolDtos.stream()
-                    .mapToInt(school -> Boolean.FALSE.equals(school.getIsActive()) ? 1 : 0)
-                    .sum());
+            responseData.put("schools", page.getItems());
+            responseData.put("nextCursor", page.getNextCursor());
+            responseData.put("hasMore", page.getHasMore());
+            responseData.put("totalCount", schoolRepository.count());
+            responseData.put("activeCount", schoolRepository.countByIsActive(true));
+            responseData.put("inactiveCount", schoolRepository.countByIsActive(false));
 
             return new ApiResponse(true, "All schools retrieved successfully", responseData);
         } catch (Exception e) {
@@ -151,17 +167,11 @@ public class AppAdminSchoolServiceImpl implements IAppAdminSchoolService {
     @Override
     public ApiResponse getSchoolStatistics() {
         try {
-            List<School> schools = schoolRepository.findAll();
-            
-            long totalSchools = schools.size();
-            long activeSchools = schools.stream()
-                    .mapToLong(school -> Boolean.TRUE.equals(school.getIsActive()) ? 1 : 0)
-                    .sum();
+            long totalSchools = schoolRepository.count();
+            long activeSchools = schoolRepository.countByIsActive(true);
             long inactiveSchools = totalSchools - activeSchools;
             
-            long schoolsWithDates = schools.stream()
-                    .mapToLong(school -> (school.getStartDate() != null && school.getEndDate() != null) ? 1 : 0)
-                    .sum();
+            long schoolsWithDates = schoolRepository.countByStartDateIsNotNullAndEndDateIsNotNull();
             
             long schoolsWithoutDates = totalSchools - schoolsWithDates;
 
@@ -180,23 +190,34 @@ public class AppAdminSchoolServiceImpl implements IAppAdminSchoolService {
     }
 
     @Override
-    public ApiResponse searchSchools(String query) {
+    public ApiResponse searchSchools(String query, PaginationRequest pagination) {
+        int pageSize = pagination != null ? pagination.resolvePageSize() : PaginationRequest.DEFAULT_PAGE_SIZE;
+        int pageNo = pagination != null && pagination.getPageNo() != null ? pagination.getPageNo() : 0;
+        if (pageNo < 0) {
+            throw new BadRequestException("Page number cannot be negative");
+        }
         try {
-            List<School> schools = schoolRepository.findAll();
-            
-            // Filter schools by name, city, or state (case-insensitive)
-            List<SchoolResponseDto> filteredSchools = schools.stream()
-                    .filter(school -> 
-                        (school.getSchoolName() != null && school.getSchoolName().toLowerCase().contains(query.toLowerCase())) ||
-                        (school.getCity() != null && school.getCity().toLowerCase().contains(query.toLowerCase())) ||
-                        (school.getState() != null && school.getState().toLowerCase().contains(query.toLowerCase()))
-                    )
+            // Ranked ids from the search index; only the requested page is loaded from the database
+            List<Integer> matchedIds = schoolSearchService.search(query);
+
+            int from = (int) Math.min((long) pageNo * pageSize, matchedIds.size());
+            int to = Math.min(from + pageSize, matchedIds.size());
+            List<Integer> pageIds = matchedIds.subList(from, to);
+
+            Map<Integer, School> schoolsById = schoolRepository.findAllById(pageIds).stream()
+                    .collect(Collectors.toMap(School::getSchoolId, Function.identity()));
+            List<SchoolResponseDto> pageSchools = pageIds.stream()
+                    .map(schoolsById::get)
+                    .filter(Objects::nonNull)
                     .map(this::mapToResponse)
                     .collect(Collectors.toList());
 
             Map<String, Object> responseData = new HashMap<>();
-            responseData.put("schools", filteredSchools);
-            responseData.put("totalCount", filteredSchools.size());
+            responseData.put("schools", pageSchools);
+            responseData.put("totalCount", matchedIds.size());
+            responseData.put("pageNo", pageNo);
+            responseData.put("pageSize", pageSize);
+            responseData.put("hasMore", to < matchedIds.size());
             responseData.put("query", query);
 
             return new ApiResponse(true, "Search results retrieved successfully", responseData);
@@ -254,42 +275,30 @@ public class AppAdminSchoolServiceImpl implements IAppAdminSchoolService {
     }
 
     private void sendActivationEmail(String to, String activationUrl, String schoolName) {
-        try {
-            MimeMessage msg = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(msg, true);
-
-            String html = """
-                <div style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <div style="background-color: #1E3A8A; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0;">
-                        <h2 style="margin: 0;">Welcome to Kids Vehicle Tracking System</h2>
+        String html = """
+            <div style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
+                <div style="background-color: #1E3A8A; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0;">
+                    <h2 style="margin: 0;">Welcome to Kids Vehicle Tracking System</h2>
+                </div>
+                <div style="background-color: #f8f9fa; padding: 30px; border-radius: 0 0 8px 8px;">
+                    <p style="font-size: 16px; color: #333;">Thank you for registering %s with us!</p>
+                    <p style="color: #666;">To complete your registration and activate your school admin account, please click the button below:</p>
+                    <div style="text-align: center; margin: 30px 0;">
+                        <a href="%s" style="background-color: #1E3A8A; color: white; padding: 15px 30px; text-decoration: none; border-radius: 5px; display: inline-block; font-weight: bold;">Activate Account</a>
                     </div>
-                    <div style="background-color: #f8f9fa; padding: 30px; border-radius: 0 0 8px 8px;">
-                        <p style="font-size: 16px; color: #333;">Thank you for registering %s with us!</p>
-                        <p style="color: #666;">To complete your registration and activate your school admin account, please click the button below:</p>
-                        <div style="text-align: center; margin: 30px 0;">
-                            <a href="%s" style="background-color: #1E3A8A; color: white; padding: 15px 30px; text-decoration: none; border-radius: 5px; display: inline-block; font-weight: bold;">Activate Account</a>
-                        </div>
-                        <div style="background-color: #fff3cd; border: 1px solid #ffeaa7; padding: 15px; border-radius: 5px; margin: 20px 0;">
-                            <p style="margin: 0; color: #856404;"><strong>Important:</strong> This link is valid for 24 hours only.</p>
-                        </div>
-                        <p style="color: #666; font-size: 14px;">If you didn't request this registration, please ignore this email.</p>
-                        <hr style="margin: 30px 0; border: none; border-top: 1px solid #dee2e6;">
-                        <p style="color: #6c757d; font-size: 12px; text-align: center; margin: 0;">Kids Vehicle Tracking System - School Management</p>
+                    <div style="background-color: #fff3cd; border: 1px solid #ffeaa7; padding: 15px; border-radius: 5px; margin: 20px 0;">
+                        <p style="margin: 0; color: #856404;"><strong>Important:</strong> This link is valid for 24 hours only.</p>
                     </div>
+                    <p style="color: #666; font-size: 14px;">If you didn't request this registration, please ignore this email.</p>
+                    <hr style="margin: 30px 0; border: none; border-top: 1px solid #dee2e6;">
+                    <p style="color: #6c757d; font-size: 12px; text-align: center; margin: 0;">Kids Vehicle Tracking System - School Management</p>
                 </div>
-                """.formatted(schoolName, activationUrl);
-
-            helper.setText(html, true);
-            helper.setTo(to);
-            helper.setSubject("Activate Your School Account - Kids Vehicle Tracking");
-            helper.setFrom("noreply@kidsvt.com");
-            mailSender.send(msg);
-
-            System.out.println("Activation email sent successfully to: " + to);
-        } catch (Exception ex) {
-            System.err.println("Failed to send activation email to: " + to);
-            ex.printStackTrace();
-        }
+            </div>
+            """.formatted(schoolName, activationUrl);
+
+        // Delivered by the mail outbox once this transaction commits
+        mailOutboxService.enqueue(to, "Activate Your School Account - Kids Vehicle Tracking", html, true, "noreply@kidsvt.com");
+        logger.debug("Activation email queued for {}", MailOutboxServiceImpl.maskAddress(to));
     }
 
     /**
@@ -314,7 +323,7 @@ public class AppAdminSchoolServiceImpl implements IAppAdminSchoolService {
                 .pincode(school.getPincode())
                 .contactNo(school.getContactNo())
                 .email(school.getEmail())
-                .schoolPhoto(school.getSchoolPhoto())
+                .schoolPhoto(photoStorageService.toUrl(school.getSchoolPhotoRef()))
                 .isActive(school.getIsActive())
                 .hasActiveUser(hasActiveUser)
                 .startDate(school.getStartDate())
@@ -10,8 +10,6 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -36,8 +34,7 @@ import com.app.repository.DriverRepository;
 import com.app.entity.Driver;
 import com.app.security.JwtUtil;
 import com.app.service.IAuthService;
-
-import jakarta.mail.internet.MimeMessage;
+import com.app.service.IMailOutboxService;
 
 @Service
 public class AuthServiceImpl implements IAuthService{
@@ -49,7 +46,7 @@ public class AuthServiceImpl implements IAuthService{
 	@Autowired
     private PasswordResetTokenRepository tokenRepository;
 	@Autowired
-    private JavaMailSender mailSender;
+    private IMailOutboxService mailOutboxService;
 	@Autowired
     private PasswordEncoder passwordEncoder;
 	@Autowired
@@ -92,16 +89,9 @@ public class AuthServiceImpl implements IAuthService{
     }
 	
 	private void sendOtpMail(String to, String otp) {
-        try {
-            MimeMessage msg = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(msg, true);
-            helper.setTo(to);
-            helper.setSubject("Password Reset OTP");
-            helper.setText("<p>Your OTP for password reset is <b>" + otp + "</b>. It is valid for 10 minutes.</p>", true);
-            mailSender.send(msg);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        // Delivered by the mail outbox once the reset token is committed
+        mailOutboxService.enqueue(to, "Password Reset OTP",
+                "<p>Your OTP for password reset is <b>" + otp + "</b>. It is valid for 10 minutes.</p>", true, null);
     }
 
 	@Override
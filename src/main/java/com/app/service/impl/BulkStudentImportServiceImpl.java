@@ -1,80 +1,93 @@
 package com.app.service.impl;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.app.entity.ClassMaster;
 import com.app.entity.Role;
 import com.app.entity.School;
 import com.app.entity.SectionMaster;
-import com.app.entity.Student;
-import com.app.entity.StudentParent;
 import com.app.exception.ResourceNotFoundException;
 import com.app.payload.request.BulkStudentImportRequestDto;
-import com.app.payload.request.PendingUserRequestDTO;
 import com.app.payload.request.StudentRequestDto;
 import com.app.payload.response.BulkImportResultDto;
 import com.app.payload.response.BulkImportResultDto.StudentImportResultDto;
-import com.app.repository.ClassMasterRepository;
-import com.app.repository.RoleRepository;
 import com.app.repository.SchoolRepository;
-import com.app.repository.SectionMasterRepository;
-import com.app.repository.StudentParentRepository;
-import com.app.repository.StudentRepository;
 import com.app.service.IBulkStudentImportService;
 import com.app.service.IPendingUserService;
+import com.app.service.IPhotoStorageService;
+import com.app.service.IReferenceDataCache;
 
-import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Chunked bulk student import.
+ *
+ * Class and section ids are resolved against maps preloaded once per school, rows are
+ * validated in parallel, and valid rows are written chunk by chunk with JDBC batch
+ * inserts, each chunk in its own short transaction. If a chunk fails it is replayed
+ * row by row so one bad row only fails itself. Activation links are queued in the
+ * mail outbox as part of the chunk.
+ */
 @Service
 @Slf4j
-@Transactional
 public class BulkStudentImportServiceImpl implements IBulkStudentImportService {
 
     private static final Logger log = LoggerFactory.getLogger(BulkStudentImportServiceImpl.class);
 
+    private static final String STUDENT_INSERT = "INSERT INTO students (first_name, middle_name, last_name, gender, class_id, "
+            + "section_id, student_photo_ref, school_id, mother_name, father_name, primary_contact_number, "
+            + "alternate_contact_number, email, is_active, created_by, created_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String STUDENT_PARENT_INSERT = "INSERT INTO student_parent (student_id, relation, created_by, created_date) "
+            + "VALUES (?, ?, ?, ?)";
+    private static final String PENDING_USER_INSERT = "INSERT INTO pending_user (entity_type, entity_id, email, contact_number, "
+            + "role_id, token, token_expiry, is_used, is_active, created_by, created_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     @Autowired
-    private StudentRepository studentRepository;
-    
-    @Autowired
-    private SchoolRepository schoolRepository;
-    
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
-    private ClassMasterRepository classMasterRepository;
+    private IPhotoStorageService photoStorageService;
     
     @Autowired
-    private SectionMasterRepository sectionMasterRepository;
+    private TransactionTemplate transactionTemplate;
     
     @Autowired
-    private StudentParentRepository studentParentRepository;
+    private SchoolRepository schoolRepository;
     
     @Autowired
-    private RoleRepository roleRepository;
+    private IReferenceDataCache referenceDataCache;
     
     @Autowired
     private IPendingUserService pendingUserService;
     
-    @Autowired
-    private JavaMailSender mailSender;
-    
-    @Value("${app.frontend.activation-url}")
-    private String activationBaseUrl;
+    @Value("${app.import.students.chunk-size:200}")
+    private int chunkSize;
     
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
         "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$"
@@ -109,11 +122,6 @@ public class BulkStudentImportServiceImpl implements IBulkStudentImportService {
                 .build();
         }
         
-        List<StudentImportResultDto> results = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-        int successfulImports = 0;
-        int failedImports = 0;
-        
         // Validate school exists
         School school;
         try {
@@ -132,81 +140,86 @@ public class BulkStudentImportServiceImpl implements IBulkStudentImportService {
         }
         
         // Get parent role
-        Role parentRole = roleRepository.findByRoleName("PARENT")
+        Role parentRole = referenceDataCache.findRoleByName("PARENT")
             .orElseThrow(() -> new ResourceNotFoundException("Parent role not found"));
         
-        // Process each student
-        for (int i = 0; i < request.getStudents().size(); i++) {
-            StudentRequestDto studentDto = request.getStudents().get(i);
-            int rowNumber = i + 1;
-            
+        List<StudentRequestDto> students = request.getStudents();
+        StudentImportResultDto[] results = new StudentImportResultDto[students.size()];
+        List<String> errors = new ArrayList<>();
+        
+        // Validate every row in parallel against the school's preloaded classes and sections
+        SchoolLookups lookups = loadLookups(school);
+        List<String>[] validationErrors = validateAll(students, lookups);
+        
+        List<ImportRow> validRows = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            StudentRequestDto studentDto = students.get(i);
+            if (!validationErrors[i].isEmpty()) {
+                results[i] = errorResult(studentDto, i + 1, String.join(", ", validationErrors[i]));
+                continue;
+            }
+            validRows.add(new ImportRow(i + 1, studentDto, generateParentEmail(studentDto, request.getSchoolDomain())));
+        }
+        
+        // Insert valid rows chunk by chunk, one short transaction per chunk
+        boolean createPendingUsers = Boolean.TRUE.equals(request.getSendActivationEmails());
+        for (int from = 0; from < validRows.size(); from += chunkSize) {
+            List<ImportRow> chunk = validRows.subList(from, Math.min(from + chunkSize, validRows.size()));
+            List<ImportRow> committed = new ArrayList<>(chunk.size());
             try {
-                // Validate student data
-                List<String> validationErrors = validateStudentData(studentDto, school.getSchoolId());
-                if (!validationErrors.isEmpty()) {
-                    results.add(StudentImportResultDto.builder()
-                        .studentId(null)
-                        .studentName(studentDto.getFirstName() + " " + studentDto.getLastName())
-                        .parentEmail(null)
-                        .status("ERROR")
-                        .errorMessage(String.join(", ", validationErrors))
-                        .rowNumber(rowNumber)
-                        .build());
-                    failedImports++;
-                    continue;
+                transactionTemplate.executeWithoutResult(status ->
+                        insertRows(chunk, school.getSchoolId(), parentRole.getRoleId(), createPendingUsers, request.getCreatedBy()));
+                committed.addAll(chunk);
+            } catch (Exception chunkError) {
+                // Replay the chunk row by row so only the offending rows fail
+                log.warn("Chunk starting at row {} failed ({}), retrying row by row", chunk.get(0).rowNumber, chunkError.getMessage());
+                for (ImportRow row : chunk) {
+                    row.reset();
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                insertRows(List.of(row), school.getSchoolId(), parentRole.getRoleId(), createPendingUsers, request.getCreatedBy()));
+                        committed.add(row);
+                    } catch (Exception e) {
+                        String message = rootMessage(e);
+                        log.error("Failed to import student at row {}: {}", row.rowNumber, message);
+                        results[row.rowNumber - 1] = errorResult(row.dto, row.rowNumber, message);
+                        errors.add("Row " + row.rowNumber + ": " + message);
+                    }
                 }
-                
-                // Generate parent email
-                String parentEmail = generateParentEmail(studentDto, request.getSchoolDomain());
-                
-                // Create student
-                Student student = createStudent(studentDto, school, request.getCreatedBy());
-                Student savedStudent = studentRepository.save(student);
-                
-                // Create student-parent relationship
-                StudentParent studentParent = createStudentParent(savedStudent, studentDto, request.getCreatedBy());
-                StudentParent savedStudentParent = studentParentRepository.save(studentParent);
-                
-                // ✅ Create pending user for parent activation
-                // User, UserRole, and SchoolUser will be created when parent activates account (clicks activation link)
-                if (request.getSendActivationEmails()) {
-                    createPendingUserForParent(savedStudent, savedStudentParent, parentEmail, parentRole, request.getCreatedBy());
-                }
-                
-                results.add(StudentImportResultDto.builder()
-                    .studentId(savedStudent.getStudentId())
-                    .studentName(savedStudent.getFirstName() + " " + savedStudent.getLastName())
-                    .parentEmail(parentEmail)
+            }
+            
+            for (ImportRow row : committed) {
+                results[row.rowNumber - 1] = StudentImportResultDto.builder()
+                    .studentId(row.studentId)
+                    .studentName(row.dto.getFirstName() + " " + row.dto.getLastName())
+                    .parentEmail(row.parentEmail)
                     .status("SUCCESS")
                     .errorMessage(null)
-                    .rowNumber(rowNumber)
-                    .build());
-                
+                    .rowNumber(row.rowNumber)
+                    .build();
+            }
+            
+            log.info("Imported chunk of {} students ({} of {} valid rows processed)",
+                    committed.size(), Math.min(from + chunkSize, validRows.size()), validRows.size());
+        }
+        
+        int successfulImports = 0;
+        int failedImports = 0;
+        for (StudentImportResultDto result : results) {
+            if ("SUCCESS".equals(result.getStatus())) {
                 successfulImports++;
-                log.info("Successfully imported student: {} {}", savedStudent.getFirstName(), savedStudent.getLastName());
-                
-            } catch (Exception e) {
-                log.error("Failed to import student at row {}: {}", rowNumber, e.getMessage());
-                results.add(StudentImportResultDto.builder()
-                    .studentId(null)
-                    .studentName(studentDto.getFirstName() + " " + studentDto.getLastName())
-                    .parentEmail(null)
-                    .status("ERROR")
-                    .errorMessage(e.getMessage())
-                    .rowNumber(rowNumber)
-                    .build());
+            } else {
                 failedImports++;
-                errors.add("Row " + rowNumber + ": " + e.getMessage());
             }
         }
         
         log.info("Bulk import completed. Success: {}, Failed: {}", successfulImports, failedImports);
         
         return BulkImportResultDto.builder()
-            .totalRows(request.getStudents().size())
+            .totalRows(students.size())
             .successfulImports(successfulImports)
             .failedImports(failedImports)
-            .results(results)
+            .results(new ArrayList<>(Arrays.asList(results)))
             .errors(errors)
             .success(failedImports == 0)
             .message(String.format("Import completed. %d successful, %d failed", successfulImports, failedImports))
@@ -214,6 +227,7 @@ public class BulkStudentImportServiceImpl implements IBulkStudentImportService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BulkImportResultDto validateStudents(BulkStudentImportRequestDto request) {
         log.info("Validating {} students", request.getStudents().size());
         
@@ -223,7 +237,8 @@ public class BulkStudentImportServiceImpl implements IBulkStudentImportService {
         int invalidRows = 0;
         
         // Validate school exists
-        if (!schoolRepository.existsById(request.getSchoolId())) {
+        School school = schoolRepository.findById(request.getSchoolId()).orElse(null);
+        if (school == null) {
             errors.add("School not found with ID: " + request.getSchoolId());
             return BulkImportResultDto.builder()
                 .totalRows(request.getStudents().size())
@@ -236,16 +251,13 @@ public class BulkStudentImportServiceImpl implements IBulkStudentImportService {
                 .build();
         }
         
-        School school = schoolRepository.findById(request.getSchoolId()).orElse(null);
-        
         // Validate each student
+        List<String>[] validationErrors = validateAll(request.getStudents(), loadLookups(school));
         for (int i = 0; i < request.getStudents().size(); i++) {
             StudentRequestDto studentDto = request.getStudents().get(i);
             int rowNumber = i + 1;
             
-            List<String> validationErrors = validateStudentData(studentDto, school.getSchoolId());
-            
-            if (validationErrors.isEmpty()) {
+            if (validationErrors[i].isEmpty()) {
                 results.add(StudentImportResultDto.builder()
                     .studentId(null)
                     .studentName(studentDto.getFirstName() + " " + studentDto.getLastName())
@@ -261,11 +273,11 @@ public class BulkStudentImportServiceImpl implements IBulkStudentImportService {
                     .studentName(studentDto.getFirstName() + " " + studentDto.getLastName())
                     .parentEmail(null)
                     .status("INVALID")
-                    .errorMessage(String.join(", ", validationErrors))
+                    .errorMessage(String.join(", ", validationErrors[i]))
                     .rowNumber(rowNumber)
                     .build());
                 invalidRows++;
-                errors.add("Row " + rowNumber + ": " + String.join(", ", validationErrors));
+                errors.add("Row " + rowNumber + ": " + String.join(", ", validationErrors[i]));
             }
         }
         
@@ -280,7 +292,23 @@ public class BulkStudentImportServiceImpl implements IBulkStudentImportService {
             .build();
     }
     
-    private List<String> validateStudentData(StudentRequestDto student, Integer schoolId) {
+    private SchoolLookups loadLookups(School school) {
+        Map<Integer, ClassMaster> classes = referenceDataCache.getClassesBySchool(school).stream()
+            .collect(Collectors.toMap(ClassMaster::getClassId, Function.identity()));
+        Map<Integer, SectionMaster> sections = referenceDataCache.getSectionsBySchool(school).stream()
+            .collect(Collectors.toMap(SectionMaster::getSectionId, Function.identity()));
+        return new SchoolLookups(classes, sections);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<String>[] validateAll(List<StudentRequestDto> students, SchoolLookups lookups) {
+        List<String>[] validationErrors = new List[students.size()];
+        IntStream.range(0, students.size()).parallel()
+            .forEach(i -> validationErrors[i] = validateStudentData(students.get(i), lookups));
+        return validationErrors;
+    }
+    
+    private List<String> validateStudentData(StudentRequestDto student, SchoolLookups lookups) {
         List<String> errors = new ArrayList<>();
         
         // Required field validation
@@ -308,19 +336,13 @@ public class BulkStudentImportServiceImpl implements IBulkStudentImportService {
         }
         
         // Class validation
-        if (student.getClassId() != null) {
-            ClassMaster classMaster = classMasterRepository.findByClassIdAndSchoolSchoolId(student.getClassId(), schoolId);
-            if (classMaster == null) {
-                errors.add("Invalid class ID: " + student.getClassId());
-            }
+        if (student.getClassId() != null && !lookups.classes.containsKey(student.getClassId())) {
+            errors.add("Invalid class ID: " + student.getClassId());
         }
         
         // Section validation
-        if (student.getSectionId() != null) {
-            SectionMaster sectionMaster = sectionMasterRepository.findBySectionIdAndSchoolSchoolId(student.getSectionId(), schoolId);
-            if (sectionMaster == null) {
-                errors.add("Invalid section ID: " + student.getSectionId());
-            }
+        if (student.getSectionId() != null && !lookups.sections.containsKey(student.getSectionId())) {
+            errors.add("Invalid section ID: " + student.getSectionId());
         }
         
         // Contact number validation
@@ -354,73 +376,164 @@ public class BulkStudentImportServiceImpl implements IBulkStudentImportService {
             student.getFirstName() + " " + student.getLastName());
     }
     
-    private Student createStudent(StudentRequestDto request, School school, String createdBy) {
-        ClassMaster classMaster = null;
-        SectionMaster sectionMaster = null;
+    /**
+     * Batch-inserts students, their StudentParent rows and (optionally) parent
+     * PendingUser rows for the given rows. Must run inside a transaction.
+     */
+    private void insertRows(List<ImportRow> rows, Integer schoolId, Integer parentRoleId,
+                            boolean createPendingUsers, String createdBy) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
         
-        if (request.getClassId() != null) {
-            classMaster = classMasterRepository.findByClassIdAndSchoolSchoolId(request.getClassId(), school.getSchoolId());
+        // ✅ Use the provided createdBy (not "Bulk import")
+        List<Integer> studentIds = batchInsert(STUDENT_INSERT, rows, (ps, row) -> {
+            StudentRequestDto dto = row.dto;
+            ps.setString(1, dto.getFirstName());
+            ps.setString(2, dto.getMiddleName());
+            ps.setString(3, dto.getLastName());
+            ps.setString(4, dto.getGender() != null ? dto.getGender().name() : null);
+            setInteger(ps, 5, dto.getClassId());
+            setInteger(ps, 6, dto.getSectionId());
+            ps.setString(7, photoStorageService.store(dto.getStudentPhoto()));
+            ps.setInt(8, schoolId);
+            ps.setString(9, dto.getMotherName());
+            ps.setString(10, dto.getFatherName());
+            ps.setString(11, dto.getPrimaryContactNumber());
+            ps.setString(12, dto.getAlternateContactNumber());
+            ps.setString(13, dto.getEmail());
+            ps.setBoolean(14, true);
+            ps.setString(15, createdBy);
+            ps.setTimestamp(16, now);
+        });
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).studentId = studentIds.get(i);
         }
         
-        if (request.getSectionId() != null) {
-            sectionMaster = sectionMasterRepository.findBySectionIdAndSchoolSchoolId(request.getSectionId(), school.getSchoolId());
+        // ✅ Use parentRelation from request if provided, otherwise default to "GUARDIAN" (matches normal registration)
+        List<Integer> studentParentIds = batchInsert(STUDENT_PARENT_INSERT, rows, (ps, row) -> {
+            String relation = (row.dto.getParentRelation() != null && !row.dto.getParentRelation().trim().isEmpty())
+                ? row.dto.getParentRelation()
+                : "GUARDIAN";
+            ps.setInt(1, row.studentId);
+            ps.setString(2, relation);
+            ps.setString(3, createdBy);
+            ps.setTimestamp(4, now);
+        });
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).studentParentId = studentParentIds.get(i);
         }
         
-        // ✅ Use the provided createdBy (not "Bulk import")
-        return Student.builder()
-            .firstName(request.getFirstName())
-            .lastName(request.getLastName())
-            .fatherName(request.getFatherName())
-            .motherName(request.getMotherName())
-            .primaryContactNumber(request.getPrimaryContactNumber())
-            .alternateContactNumber(request.getAlternateContactNumber())
-            .email(request.getEmail())
-            .gender(request.getGender())
-            .studentPhoto(request.getStudentPhoto())
-            .school(school)
-            .classMaster(classMaster)
-            .sectionMaster(sectionMaster)
-            .isActive(true)
-            .createdDate(LocalDateTime.now())
-            .createdBy(createdBy)  // ✅ Use actual creator name
-            .build();
+        if (!createPendingUsers) {
+            return;
+        }
+        
+        // ✅ "PARENT" entity type with the StudentParent id, same as normal registration,
+        // so the activation flow can create SchoolUser and UserRole entries when the parent activates
+        Timestamp tokenExpiry = Timestamp.valueOf(now.toLocalDateTime().plusDays(1)); // 1 day validity
+        batchInsert(PENDING_USER_INSERT, rows, (ps, row) -> {
+            row.activationToken = UUID.randomUUID().toString();
+            ps.setString(1, "PARENT");
+            ps.setLong(2, row.studentParentId.longValue());
+            ps.setString(3, row.parentEmail);
+            ps.setString(4, row.dto.getPrimaryContactNumber());
+            ps.setInt(5, parentRoleId);
+            ps.setString(6, row.activationToken);
+            ps.setTimestamp(7, tokenExpiry);
+            ps.setBoolean(8, false);
+            ps.setBoolean(9, true);
+            ps.setString(10, createdBy);
+            ps.setTimestamp(11, now);
+        });
+        
+        // Activation mails go into the outbox in the same transaction, so a rolled-back chunk sends nothing
+        for (ImportRow row : rows) {
+            pendingUserService.sendActivationLink(row.parentEmail, row.activationToken);
+        }
     }
     
-    private StudentParent createStudentParent(Student student, StudentRequestDto request, String createdBy) {
-        // ✅ Use parentRelation from request if provided, otherwise default to "GUARDIAN" (matches normal registration)
-        String relation = (request.getParentRelation() != null && !request.getParentRelation().trim().isEmpty()) 
-            ? request.getParentRelation() 
-            : "GUARDIAN";  // Default to GUARDIAN instead of "Father"
-        
-        return StudentParent.builder()
-            .student(student)
-            .relation(relation)
-            .createdDate(LocalDateTime.now())
-            .createdBy(createdBy)  // ✅ Use actual creator name
+    private List<Integer> batchInsert(String sql, List<ImportRow> rows, RowBinder binder) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Integer>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (ImportRow row : rows) {
+                    binder.bind(ps, row);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                
+                List<Integer> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getInt(1));
+                    }
+                }
+                if (ids.size() != rows.size()) {
+                    throw new IllegalStateException("Expected " + rows.size() + " generated keys but got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+    
+    private StudentImportResultDto errorResult(StudentRequestDto studentDto, int rowNumber, String message) {
+        return StudentImportResultDto.builder()
+            .studentId(null)
+            .studentName(studentDto.getFirstName() + " " + studentDto.getLastName())
+            .parentEmail(null)
+            .status("ERROR")
+            .errorMessage(message)
+            .rowNumber(rowNumber)
             .build();
     }
     
-    private void createPendingUserForParent(Student student, StudentParent studentParent, 
-                                          String parentEmail, Role parentRole, String createdBy) {
-        try {
-            // ✅ FIX: Use "PARENT" entity type (same as normal registration) and StudentParent ID
-            // This ensures activation flow can properly create SchoolUser and UserRole entries
-            PendingUserRequestDTO pendingReq = PendingUserRequestDTO.builder()
-                .entityType("PARENT")  // ✅ Changed from "STUDENT_PARENT" to "PARENT" to match activation flow
-                .entityId(studentParent.getStudentParentId().longValue())  // ✅ Changed from student.getStudentId() to studentParent.getStudentParentId()
-                .email(parentEmail)
-                .contactNumber(student.getPrimaryContactNumber())
-                .roleId(parentRole.getRoleId())
-                .createdBy(createdBy)
-                .build();
-            
-            pendingUserService.createPendingUser(pendingReq);
-            log.info("Created pending user for parent: {} with entityType=PARENT, entityId={}", 
-                    parentEmail, studentParent.getStudentParentId());
-            
-        } catch (Exception e) {
-            log.error("Failed to create pending user for parent {}: {}", parentEmail, e.getMessage());
-            // Don't fail the entire import for email issues
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws java.sql.SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+    
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : e.getMessage();
+    }
+    
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, ImportRow row) throws java.sql.SQLException;
+    }
+    
+    private static final class SchoolLookups {
+        private final Map<Integer, ClassMaster> classes;
+        private final Map<Integer, SectionMaster> sections;
+        
+        private SchoolLookups(Map<Integer, ClassMaster> classes, Map<Integer, SectionMaster> sections) {
+            this.classes = classes;
+            this.sections = sections;
+        }
+    }
+    
+    private static final class ImportRow {
+        private final int rowNumber;
+        private final StudentRequestDto dto;
+        private final String parentEmail;
+        private Integer studentId;
+        private Integer studentParentId;
+        private String activationToken;
+        
+        private ImportRow(int rowNumber, StudentRequestDto dto, String parentEmail) {
+            this.rowNumber = rowNumber;
+            this.dto = dto;
+            this.parentEmail = parentEmail;
+        }
+        
+        // Forget ids assigned by a rolled-back chunk
+        private void reset() {
+            studentId = null;
+            studentParentId = null;
+            activationToken = null;
         }
     }
 }
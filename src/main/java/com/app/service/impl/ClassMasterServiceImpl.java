@@ -9,6 +9,7 @@ import com.app.payload.response.ClassMasterResponseDto;
 import com.app.repository.ClassMasterRepository;
 import com.app.repository.SchoolRepository;
 import com.app.service.IClassMasterService;
+import com.app.service.IReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +26,9 @@ public class ClassMasterServiceImpl implements IClassMasterService {
     @Autowired
     private SchoolRepository schoolRepository;
 
+    @Autowired
+    private IReferenceDataCache referenceDataCache;
+
     @Override
     public ApiResponse createClass(ClassMasterRequestDto request) {
         try {
@@ -53,6 +57,7 @@ public class ClassMasterServiceImpl implements IClassMasterService {
                     .build();
 
             ClassMaster savedClass = classMasterRepository.save(classMaster);
+            referenceDataCache.invalidateClasses(school.getSchoolId());
             ClassMasterResponseDto response = convertToResponseDto(savedClass);
 
             return new ApiResponse(true, "Class created successfully", response);
@@ -85,12 +90,17 @@ public class ClassMasterServiceImpl implements IClassMasterService {
             classMaster.setClassName(request.getClassName());
             classMaster.setClassOrder(request.getClassOrder());
             classMaster.setDescription(request.getDescription());
+            Integer previousSchoolId = classMaster.getSchool() != null ? classMaster.getSchool().getSchoolId() : null;
             classMaster.setSchool(school);
             classMaster.setIsActive(request.getIsActive());
             classMaster.setUpdatedBy(request.getUpdatedBy());
             classMaster.setUpdatedDate(LocalDateTime.now());
 
             ClassMaster updatedClass = classMasterRepository.save(classMaster);
+            referenceDataCache.invalidateClasses(school.getSchoolId());
+            if (previousSchoolId != null && !previousSchoolId.equals(school.getSchoolId())) {
+                referenceDataCache.invalidateClasses(previousSchoolId);
+            }
             ClassMasterResponseDto response = convertToResponseDto(updatedClass);
 
             return new ApiResponse(true, "Class updated successfully", response);
@@ -106,6 +116,7 @@ public class ClassMasterServiceImpl implements IClassMasterService {
                     .orElseThrow(() -> new ResourceNotFoundException("Class not found with ID: " + classId));
 
             classMasterRepository.delete(classMaster);
+            referenceDataCache.invalidateClasses(classMaster.getSchool() != null ? classMaster.getSchool().getSchoolId() : null);
             return new ApiResponse(true, "Class deleted successfully", null);
         } catch (Exception e) {
             return new ApiResponse(false, "Error deleting class: " + e.getMessage(), null);
@@ -169,6 +180,7 @@ public class ClassMasterServiceImpl implements IClassMasterService {
             classMaster.setUpdatedDate(LocalDateTime.now());
 
             ClassMaster updatedClass = classMasterRepository.save(classMaster);
+            referenceDataCache.invalidateClasses(updatedClass.getSchool() != null ? updatedClass.getSchool().getSchoolId() : null);
             ClassMasterResponseDto response = convertToResponseDto(updatedClass);
 
             return new ApiResponse(true, "Class status updated successfully", response);
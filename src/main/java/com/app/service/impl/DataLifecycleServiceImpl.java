@@ -0,0 +1,780 @@
+package com.app.service.impl;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.entity.TripRouteSummary;
+import com.app.exception.ConflictException;
+import com.app.exception.ResourceNotFoundException;
+import com.app.repository.TripRouteSummaryRepository;
+import com.app.service.IDataLifecycleService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Retention for the two append-only tracking tables.
+ *
+ * vehicle_locations and dispatch_logs are the hot tier. Once a trip day (trip_id +
+ * calendar day) is older than the table's retention period, a background job writes
+ * its rows to a gzipped JSON-lines file under the archive directory, keeps a coarse
+ * downsampled route in trip_route_summaries (the cold tier) and deletes the detail.
+ * Dispatch logs are archived together with their notifications.
+ *
+ * An archived trip day can be restored on demand; restored rows keep their original
+ * ids and are held back from the next archive passes for a few days.
+ *
+ * Every node schedules the pass, but a pass only runs while its node holds the
+ * "data-lifecycle" row of job_leases, so two nodes never archive at the same time.
+ */
+@Service
+public class DataLifecycleServiceImpl implements IDataLifecycleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataLifecycleServiceImpl.class);
+
+    private static final String LOCATIONS = "vehicle_locations";
+    private static final String DISPATCH_LOGS = "dispatch_logs";
+    private static final String NOTIFICATIONS = "notifications";
+
+    // Archived / restored columns, in insert order; the id column comes first
+    private static final List<String> LOCATION_COLUMNS = List.of("location_id", "trip_id", "driver_id", "vehicle_id",
+            "school_id", "latitude", "longitude", "address", "speed", "bearing", "created_date", "updated_date");
+    private static final List<String> DISPATCH_LOG_COLUMNS = List.of("dispatch_log_id", "trip_id", "student_id",
+            "school_id", "vehicle_id", "driver_id", "event_type", "remarks", "latitude", "longitude", "address",
+            "created_by", "created_date", "updated_by", "updated_date");
+    private static final List<String> NOTIFICATION_COLUMNS = List.of("notification_log_id", "dispatch_log_id",
+            "notification_type", "is_sent", "sent_at", "error_msg", "created_by", "created_date", "updated_by",
+            "updated_date");
+
+    private static final String LEASE_NAME = "data-lifecycle";
+
+    private static final int IN_CLAUSE_CHUNK = 500;
+    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TripRouteSummaryRepository tripRouteSummaryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.data-lifecycle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.data-lifecycle.interval-ms:21600000}")
+    private long intervalMs;
+
+    @Value("${app.data-lifecycle.initial-delay-ms:300000}")
+    private long initialDelayMs;
+
+    @Value("${app.data-lifecycle.location-retention-days:30}")
+    private int locationRetentionDays;
+
+    @Value("${app.data-lifecycle.dispatch-log-retention-days:180}")
+    private int dispatchLogRetentionDays;
+
+    // Trip days archived per table per pass
+    @Value("${app.data-lifecycle.max-trip-days-per-run:500}")
+    private int maxTripDaysPerRun;
+
+    // Consecutive points of the downsampled route are at least this far apart
+    @Value("${app.data-lifecycle.route-min-distance-meters:200}")
+    private double routeMinDistanceMeters;
+
+    @Value("${app.data-lifecycle.restore-hold-days:7}")
+    private int restoreHoldDays;
+
+    @Value("${app.data-lifecycle.archive-dir:${user.home}/kids-vehicle-tracking/archive}")
+    private String archiveDir;
+
+    // Renewed after every trip day, so it only has to outlast one trip day of a crashed node
+    @Value("${app.data-lifecycle.lease-ms:600000}")
+    private long leaseMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private Path baseDir;
+    private ScheduledExecutorService scheduler;
+
+    // One pass at a time; archive and restore of a trip day never interleave
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean runQueued = new AtomicBoolean();
+    private final ReentrantLock tripDayLock = new ReentrantLock();
+
+    private volatile LocalDateTime lastRunStarted;
+    private volatile LocalDateTime lastRunFinished;
+    private volatile Map<String, Object> lastRunResult;
+    private volatile String lastRunError;
+
+    private final LongAdder runCount = new LongAdder();
+    private final LongAdder archivedTripDayCount = new LongAdder();
+    private final LongAdder archivedLocationCount = new LongAdder();
+    private final LongAdder archivedDispatchLogCount = new LongAdder();
+    private final LongAdder archivedNotificationCount = new LongAdder();
+    private final LongAdder heldTripDayCount = new LongAdder();
+    private final LongAdder failedTripDayCount = new LongAdder();
+    private final LongAdder restoreCount = new LongAdder();
+    private final LongAdder restoredRowCount = new LongAdder();
+
+    @PostConstruct
+    public void start() throws IOException {
+        baseDir = Paths.get(archiveDir).toAbsolutePath().normalize();
+        Files.createDirectories(baseDir);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "data-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::runSafely, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+        logger.info("Data lifecycle started - enabled: {}, location retention: {} days, dispatch log retention: {} days, archive: {}",
+                enabled, locationRetentionDays, dispatchLogRetentionDays, baseDir);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public Map<String, Object> runRetention() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!running.compareAndSet(false, true)) {
+            result.put("skipped", "A retention pass is already running");
+            return result;
+        }
+        boolean leased = false;
+        try {
+            leased = acquireLease();
+            if (!leased) {
+                result.put("skipped", "A retention pass is running on another node");
+                return result;
+            }
+            lastRunStarted = LocalDateTime.now();
+            LocalDateTime locationCutoff = LocalDate.now().minusDays(locationRetentionDays).atStartOfDay();
+            LocalDateTime dispatchCutoff = LocalDate.now().minusDays(dispatchLogRetentionDays).atStartOfDay();
+
+            int locationDays = 0;
+            for (TripDay tripDay : findExpiredTripDays(LOCATIONS, locationCutoff)) {
+                renewLease();
+                if (archiveLocations(tripDay)) {
+                    locationDays++;
+                }
+            }
+            int dispatchDays = 0;
+            for (TripDay tripDay : findExpiredTripDays(DISPATCH_LOGS, dispatchCutoff)) {
+                renewLease();
+                if (archiveDispatchLogs(tripDay)) {
+                    dispatchDays++;
+                }
+            }
+
+            runCount.increment();
+            result.put("locationCutoff", locationCutoff);
+            result.put("dispatchLogCutoff", dispatchCutoff);
+            result.put("locationTripDaysArchived", locationDays);
+            result.put("dispatchTripDaysArchived", dispatchDays);
+            if (locationDays + dispatchDays > 0) {
+                logger.info("Data lifecycle pass archived {} location and {} dispatch log trip days", locationDays, dispatchDays);
+            }
+            lastRunResult = result;
+            lastRunError = null;
+            return result;
+        } catch (RuntimeException e) {
+            lastRunError = e.getMessage();
+            throw e;
+        } finally {
+            if (leased) {
+                lastRunFinished = LocalDateTime.now();
+                releaseLease();
+            }
+            running.set(false);
+        }
+    }
+
+    @Override
+    public Map<String, Object> requestRun() {
+        // Runs on the lifecycle thread, so a long pass never holds an HTTP request
+        if (runQueued.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    runQueued.set(false);
+                    runSafely();
+                });
+            } catch (RejectedExecutionException e) {
+                runQueued.set(false);
+                throw e;
+            }
+        }
+        return getRunStatus();
+    }
+
+    @Override
+    public Map<String, Object> getRunStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("queued", runQueued.get());
+        status.put("running", running.get());
+        status.put("lastRunStarted", lastRunStarted);
+        status.put("lastRunFinished", lastRunFinished);
+        status.put("lastRunResult", lastRunResult);
+        status.put("lastRunError", lastRunError);
+        return status;
+    }
+
+    @Override
+    public Map<String, Object> restoreTrip(Integer tripId, LocalDate date) {
+        List<TripRouteSummary> summaries = date != null
+                ? tripRouteSummaryRepository.findByTripIdAndTripDate(tripId, date).map(List::of).orElse(List.of())
+                : tripRouteSummaryRepository.findByTripIdOrderByTripDateDesc(tripId);
+        summaries = summaries.stream()
+                .filter(s -> s.getLocationArchive() != null || s.getDispatchArchive() != null)
+                .toList();
+        if (summaries.isEmpty()) {
+            throw new ResourceNotFoundException("No archived data for trip " + tripId + (date != null ? " on " + date : ""));
+        }
+
+        int locations = 0;
+        int dispatchLogs = 0;
+        int notifications = 0;
+        List<LocalDate> days = new ArrayList<>();
+        for (TripRouteSummary summary : summaries) {
+            tripDayLock.lock();
+            try {
+                List<ArchivedRow> dispatchRows = summary.getDispatchArchive() != null
+                        ? readArchive(summary.getDispatchArchive()) : List.of();
+                List<ArchivedRow> locationRows = summary.getLocationArchive() != null
+                        ? readArchive(summary.getLocationArchive()) : List.of();
+
+                int[] counts = transactionTemplate.execute(status -> new int[] {
+                        insertIgnore(DISPATCH_LOGS, DISPATCH_LOG_COLUMNS, rowsOf(dispatchRows, DISPATCH_LOGS)),
+                        insertIgnore(NOTIFICATIONS, NOTIFICATION_COLUMNS, rowsOf(dispatchRows, NOTIFICATIONS)),
+                        insertIgnore(LOCATIONS, LOCATION_COLUMNS, rowsOf(locationRows, LOCATIONS))
+                });
+
+                LocalDateTime now = LocalDateTime.now();
+                summary.setRestoredDate(now);
+                summary.setRetainUntil(now.plusDays(restoreHoldDays));
+                tripRouteSummaryRepository.save(summary);
+
+                dispatchLogs += counts[0];
+                notifications += counts[1];
+                locations += counts[2];
+                days.add(summary.getTripDate());
+            } catch (IOException e) {
+                // The summary points at an archive that is missing or unreadable
+                throw new ConflictException("Archive of trip " + tripId + " on " + summary.getTripDate()
+                        + " cannot be restored: " + e.getMessage());
+            } finally {
+                tripDayLock.unlock();
+            }
+        }
+        restoreCount.increment();
+        restoredRowCount.add(locations + dispatchLogs + notifications);
+        logger.info("Restored trip {} ({} days): {} locations, {} dispatch logs, {} notifications",
+                tripId, days.size(), locations, dispatchLogs, notifications);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("tripId", tripId);
+        result.put("days", days);
+        result.put("restoredLocations", locations);
+        result.put("restoredDispatchLogs", dispatchLogs);
+        result.put("restoredNotifications", notifications);
+        result.put("retainUntil", LocalDateTime.now().plusDays(restoreHoldDays));
+        return result;
+    }
+
+    @Override
+    public List<Map<String, Object>> getRouteSummaries(Integer tripId) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (TripRouteSummary summary : tripRouteSummaryRepository.findByTripIdOrderByTripDateDesc(tripId)) {
+            Map<String, Object> dto = new LinkedHashMap<>();
+            dto.put("tripId", summary.getTripId());
+            dto.put("tripDate", summary.getTripDate());
+            dto.put("vehicleId", summary.getVehicleId());
+            dto.put("driverId", summary.getDriverId());
+            dto.put("schoolId", summary.getSchoolId());
+            dto.put("startTime", summary.getStartTime());
+            dto.put("endTime", summary.getEndTime());
+            dto.put("pointCount", summary.getPointCount());
+            dto.put("sampledPointCount", summary.getSampledPointCount());
+            dto.put("distanceMeters", summary.getDistanceMeters());
+            dto.put("maxSpeed", summary.getMaxSpeed());
+            dto.put("routePoints", summary.getRoutePoints() != null ? readPoints(summary.getRoutePoints()) : List.of());
+            dto.put("locationsArchived", summary.getLocationArchive() != null);
+            dto.put("dispatchLogsArchived", summary.getDispatchArchive() != null);
+            dto.put("archivedLocationCount", summary.getArchivedLocationCount());
+            dto.put("archivedDispatchLogCount", summary.getArchivedDispatchLogCount());
+            dto.put("archivedNotificationCount", summary.getArchivedNotificationCount());
+            dto.put("restoredDate", summary.getRestoredDate());
+            dto.put("retainUntil", summary.getRetainUntil());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("running", running.get());
+        stats.put("lastRunStarted", lastRunStarted);
+        stats.put("lastRunFinished", lastRunFinished);
+        stats.put("runs", runCount.sum());
+        stats.put("archivedTripDays", archivedTripDayCount.sum());
+        stats.put("archivedLocations", archivedLocationCount.sum());
+        stats.put("archivedDispatchLogs", archivedDispatchLogCount.sum());
+        stats.put("archivedNotifications", archivedNotificationCount.sum());
+        stats.put("heldTripDays", heldTripDayCount.sum());
+        stats.put("failedTripDays", failedTripDayCount.sum());
+        stats.put("restores", restoreCount.sum());
+        stats.put("restoredRows", restoredRowCount.sum());
+        stats.put("locationRetentionDays", locationRetentionDays);
+        stats.put("dispatchLogRetentionDays", dispatchLogRetentionDays);
+        stats.put("archiveDir", baseDir.toString());
+        return stats;
+    }
+
+    private void runSafely() {
+        try {
+            runRetention();
+        } catch (Exception e) {
+            logger.error("Data lifecycle pass failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean acquireLease() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT IGNORE INTO job_leases (name, locked_by, locked_until) VALUES (?, NULL, ?)",
+                LEASE_NAME, Timestamp.valueOf(now));
+        return jdbcTemplate.update("UPDATE job_leases SET locked_by = ?, locked_until = ? "
+                + "WHERE name = ? AND (locked_by IS NULL OR locked_until < ?)",
+                nodeId, Timestamp.valueOf(now.plus(leaseMs, ChronoUnit.MILLIS)), LEASE_NAME, Timestamp.valueOf(now)) == 1;
+    }
+
+    // Stops the pass between trip days once another node has taken over an expired lease
+    private void renewLease() {
+        int renewed = jdbcTemplate.update("UPDATE job_leases SET locked_until = ? WHERE name = ? AND locked_by = ?",
+                Timestamp.valueOf(LocalDateTime.now().plus(leaseMs, ChronoUnit.MILLIS)), LEASE_NAME, nodeId);
+        if (renewed == 0) {
+            throw new IllegalStateException("Data lifecycle lease was taken over by another node");
+        }
+    }
+
+    private void releaseLease() {
+        try {
+            jdbcTemplate.update("UPDATE job_leases SET locked_by = NULL, locked_until = ? WHERE name = ? AND locked_by = ?",
+                    Timestamp.valueOf(LocalDateTime.now()), LEASE_NAME, nodeId);
+        } catch (RuntimeException e) {
+            // The lease runs out on its own
+            logger.warn("Could not release the data lifecycle lease: {}", e.getMessage());
+        }
+    }
+
+    private List<TripDay> findExpiredTripDays(String table, LocalDateTime cutoff) {
+        return jdbcTemplate.query("SELECT DISTINCT trip_id, DATE(created_date) AS trip_date FROM " + table
+                + " WHERE created_date < ? ORDER BY trip_date LIMIT ?",
+                (rs, rowNum) -> new TripDay(rs.getInt("trip_id"), rs.getDate("trip_date").toLocalDate()),
+                Timestamp.valueOf(cutoff), maxTripDaysPerRun);
+    }
+
+    private boolean archiveLocations(TripDay tripDay) {
+        tripDayLock.lock();
+        try {
+            TripRouteSummary summary = tripRouteSummaryRepository
+                    .findByTripIdAndTripDate(tripDay.tripId, tripDay.day).orElse(null);
+            if (isHeld(summary)) {
+                heldTripDayCount.increment();
+                return false;
+            }
+
+            List<Map<String, Object>> rows = selectTripDay(LOCATIONS, LOCATION_COLUMNS, tripDay);
+            if (rows.isEmpty()) {
+                return false;
+            }
+            String archive = archivePath(tripDay, "locations");
+            List<ArchivedRow> archived = mergeAndWrite(archive, LOCATIONS, "location_id", rows);
+
+            TripRouteSummary target = summary != null ? summary : newSummary(tripDay, rows.get(0));
+            summarizeRoute(target, rowsOf(archived, LOCATIONS));
+            target.setLocationArchive(archive);
+            target.setArchivedLocationCount(archived.size());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                deleteTripDay(LOCATIONS, tripDay);
+                tripRouteSummaryRepository.save(target);
+            });
+            archivedTripDayCount.increment();
+            archivedLocationCount.add(rows.size());
+            return true;
+        } catch (Exception e) {
+            failedTripDayCount.increment();
+            logger.error("Could not archive locations of trip {} on {}: {}", tripDay.tripId, tripDay.day, e.getMessage());
+            return false;
+        } finally {
+            tripDayLock.unlock();
+        }
+    }
+
+    private boolean archiveDispatchLogs(TripDay tripDay) {
+        tripDayLock.lock();
+        try {
+            TripRouteSummary summary = tripRouteSummaryRepository
+                    .findByTripIdAndTripDate(tripDay.tripId, tripDay.day).orElse(null);
+            if (isHeld(summary)) {
+                heldTripDayCount.increment();
+                return false;
+            }
+
+            List<Map<String, Object>> logs = selectTripDay(DISPATCH_LOGS, DISPATCH_LOG_COLUMNS, tripDay);
+            if (logs.isEmpty()) {
+                return false;
+            }
+            List<Object> logIds = logs.stream().map(row -> row.get("dispatch_log_id")).toList();
+            List<Map<String, Object>> notifications = new ArrayList<>();
+            for (List<Object> chunk : chunks(logIds)) {
+                notifications.addAll(jdbcTemplate.queryForList("SELECT " + String.join(", ", NOTIFICATION_COLUMNS)
+                        + " FROM " + NOTIFICATIONS + " WHERE dispatch_log_id IN (" + placeholders(chunk.size()) + ")",
+                        chunk.toArray()));
+            }
+
+            String archive = archivePath(tripDay, "dispatch");
+            List<ArchivedRow> archived = new ArrayList<>(readArchiveIfExists(archive));
+            archived = merge(archived, DISPATCH_LOGS, "dispatch_log_id", logs);
+            archived = merge(archived, NOTIFICATIONS, "notification_log_id", notifications);
+            writeArchive(archive, archived);
+
+            TripRouteSummary target = summary != null ? summary : newSummary(tripDay, logs.get(0));
+            if (target.getStartTime() == null) {
+                target.setStartTime(toDateTime(logs.get(0).get("created_date")));
+                target.setEndTime(toDateTime(logs.get(logs.size() - 1).get("created_date")));
+            }
+            target.setDispatchArchive(archive);
+            target.setArchivedDispatchLogCount(rowsOf(archived, DISPATCH_LOGS).size());
+            target.setArchivedNotificationCount(rowsOf(archived, NOTIFICATIONS).size());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                for (List<Object> chunk : chunks(logIds)) {
+                    jdbcTemplate.update("DELETE FROM " + NOTIFICATIONS + " WHERE dispatch_log_id IN ("
+                            + placeholders(chunk.size()) + ")", chunk.toArray());
+                }
+                deleteTripDay(DISPATCH_LOGS, tripDay);
+                tripRouteSummaryRepository.save(target);
+            });
+            archivedTripDayCount.increment();
+            archivedDispatchLogCount.add(logs.size());
+            archivedNotificationCount.add(notifications.size());
+            return true;
+        } catch (Exception e) {
+            failedTripDayCount.increment();
+            logger.error("Could not archive dispatch logs of trip {} on {}: {}", tripDay.tripId, tripDay.day, e.getMessage());
+            return false;
+        } finally {
+            tripDayLock.unlock();
+        }
+    }
+
+    private boolean isHeld(TripRouteSummary summary) {
+        return summary != null && summary.getRetainUntil() != null && summary.getRetainUntil().isAfter(LocalDateTime.now());
+    }
+
+    private List<Map<String, Object>> selectTripDay(String table, List<String> columns, TripDay tripDay) {
+        return jdbcTemplate.queryForList("SELECT " + String.join(", ", columns) + " FROM " + table
+                + " WHERE trip_id = ? AND created_date >= ? AND created_date < ? ORDER BY created_date, " + columns.get(0),
+                tripDay.tripId, Timestamp.valueOf(tripDay.day.atStartOfDay()), Timestamp.valueOf(tripDay.day.plusDays(1).atStartOfDay()));
+    }
+
+    private void deleteTripDay(String table, TripDay tripDay) {
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE trip_id = ? AND created_date >= ? AND created_date < ?",
+                tripDay.tripId, Timestamp.valueOf(tripDay.day.atStartOfDay()), Timestamp.valueOf(tripDay.day.plusDays(1).atStartOfDay()));
+    }
+
+    private int insertIgnore(String table, List<String> columns, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT IGNORE INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + placeholders(columns.size()) + ")";
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                String column = columns.get(i);
+                Object value = row.get(column);
+                values[i] = isDateTimeColumn(column) && value != null ? Timestamp.valueOf(toDateTime(value)) : value;
+            }
+            args.add(values);
+        }
+        int inserted = 0;
+        for (int count : jdbcTemplate.batchUpdate(sql, args)) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for batched rows
+            inserted += count == -2 ? 1 : Math.max(count, 0);
+        }
+        return inserted;
+    }
+
+    // Coarse route: first and last fix plus every fix at least routeMinDistanceMeters from the previous kept one
+    private void summarizeRoute(TripRouteSummary summary, List<Map<String, Object>> rows) throws IOException {
+        List<double[]> points = new ArrayList<>();
+        double distance = 0;
+        double maxSpeed = 0;
+        double[] previous = null;
+        double[] lastKept = null;
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            Object lat = row.get("latitude");
+            Object lon = row.get("longitude");
+            if (!(lat instanceof Number) || !(lon instanceof Number)) {
+                continue;
+            }
+            LocalDateTime time = toDateTime(row.get("created_date"));
+            double[] point = { ((Number) lat).doubleValue(), ((Number) lon).doubleValue(),
+                    time != null ? time.atZone(ZoneId.systemDefault()).toEpochSecond() : 0 };
+            if (previous != null) {
+                distance += distanceMeters(previous, point);
+            }
+            if (lastKept == null || i == rows.size() - 1 || distanceMeters(lastKept, point) >= routeMinDistanceMeters) {
+                points.add(point);
+                lastKept = point;
+            }
+            if (row.get("speed") instanceof Number speed) {
+                maxSpeed = Math.max(maxSpeed, speed.doubleValue());
+            }
+            previous = point;
+        }
+
+        summary.setPointCount(rows.size());
+        summary.setSampledPointCount(points.size());
+        summary.setDistanceMeters(distance);
+        summary.setMaxSpeed(maxSpeed);
+        summary.setRoutePoints(objectMapper.writeValueAsString(points));
+        if (!rows.isEmpty()) {
+            summary.setStartTime(toDateTime(rows.get(0).get("created_date")));
+            summary.setEndTime(toDateTime(rows.get(rows.size() - 1).get("created_date")));
+        }
+    }
+
+    private TripRouteSummary newSummary(TripDay tripDay, Map<String, Object> firstRow) {
+        return TripRouteSummary.builder()
+                .tripId(tripDay.tripId)
+                .tripDate(tripDay.day)
+                .vehicleId(toInteger(firstRow.get("vehicle_id")))
+                .driverId(toInteger(firstRow.get("driver_id")))
+                .schoolId(toInteger(firstRow.get("school_id")))
+                .build();
+    }
+
+    // ---------------- Archive files ----------------
+
+    private String archivePath(TripDay tripDay, String kind) {
+        return String.format("%04d/%02d/trip-%d-%s-%s.jsonl.gz", tripDay.day.getYear(), tripDay.day.getMonthValue(),
+                tripDay.tripId, tripDay.day, kind);
+    }
+
+    // An earlier pass may have written the file but failed to delete the rows; keep one copy of each row
+    private List<ArchivedRow> mergeAndWrite(String archive, String table, String idColumn,
+                                            List<Map<String, Object>> rows) throws IOException {
+        List<ArchivedRow> merged = merge(readArchiveIfExists(archive), table, idColumn, rows);
+        writeArchive(archive, merged);
+        return merged;
+    }
+
+    private List<ArchivedRow> merge(List<ArchivedRow> existing, String table, String idColumn,
+                                    List<Map<String, Object>> rows) {
+        Map<String, ArchivedRow> byKey = new LinkedHashMap<>();
+        for (ArchivedRow row : existing) {
+            Object id = row.table.equals(table) ? row.row.get(idColumn) : null;
+            byKey.put(id != null ? table + ":" + id : "other:" + byKey.size(), row);
+        }
+        for (Map<String, Object> row : rows) {
+            byKey.put(table + ":" + row.get(idColumn), new ArchivedRow(table, jsonSafe(row)));
+        }
+        return new ArrayList<>(byKey.values());
+    }
+
+    private void writeArchive(String archive, List<ArchivedRow> rows) throws IOException {
+        Path target = resolveArchive(archive);
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8))) {
+                for (ArchivedRow row : rows) {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("table", row.table);
+                    line.put("row", row.row);
+                    writer.write(objectMapper.writeValueAsString(line));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private List<ArchivedRow> readArchiveIfExists(String archive) throws IOException {
+        return Files.exists(resolveArchive(archive)) ? readArchive(archive) : Collections.emptyList();
+    }
+
+    private List<ArchivedRow> readArchive(String archive) throws IOException {
+        List<ArchivedRow> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(resolveArchive(archive))), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> parsed = objectMapper.readValue(line, new TypeReference<Map<String, Object>>() {});
+                @SuppressWarnings("unchecked")
+                Map<String, Object> row = (Map<String, Object>) parsed.get("row");
+                rows.add(new ArchivedRow((String) parsed.get("table"), row));
+            }
+        }
+        return rows;
+    }
+
+    private Path resolveArchive(String archive) {
+        Path path = baseDir.resolve(archive).normalize();
+        if (!path.startsWith(baseDir)) {
+            throw new IllegalArgumentException("Archive path outside the archive directory: " + archive);
+        }
+        return path;
+    }
+
+    private List<double[]> readPoints(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<double[]>>() {});
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    // ---------------- Helpers ----------------
+
+    private static List<Map<String, Object>> rowsOf(List<ArchivedRow> rows, String table) {
+        return rows.stream().filter(row -> table.equals(row.table)).map(row -> row.row).toList();
+    }
+
+    // JDBC may hand back java.sql.Timestamp; store date-times as ISO strings
+    private static Map<String, Object> jsonSafe(Map<String, Object> row) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Timestamp || value instanceof LocalDateTime) {
+                value = toDateTime(value).toString();
+            }
+            copy.put(entry.getKey(), value);
+        }
+        return copy;
+    }
+
+    private static boolean isDateTimeColumn(String column) {
+        return column.endsWith("_date") || column.endsWith("_at");
+    }
+
+    private static LocalDateTime toDateTime(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof Number epochMillis) {
+            return new Timestamp(epochMillis.longValue()).toLocalDateTime();
+        }
+        return LocalDateTime.parse(value.toString());
+    }
+
+    private static Integer toInteger(Object value) {
+        return value instanceof Number number ? number.intValue() : null;
+    }
+
+    private static List<List<Object>> chunks(List<Object> ids) {
+        List<List<Object>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_CHUNK) {
+            chunks.add(ids.subList(i, Math.min(i + IN_CLAUSE_CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static double distanceMeters(double[] from, double[] to) {
+        double dLat = Math.toRadians(to[0] - from[0]);
+        double dLon = Math.toRadians(to[1] - from[1]);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(from[0])) * Math.cos(Math.toRadians(to[0])) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+    }
+
+    private static final class TripDay {
+        private final int tripId;
+        private final LocalDate day;
+
+        private TripDay(int tripId, LocalDate day) {
+            this.tripId = tripId;
+            this.day = day;
+        }
+    }
+
+    private static final class ArchivedRow {
+        private final String table;
+        private final Map<String, Object> row;
+
+        private ArchivedRow(String table, Map<String, Object> row) {
+            this.table = table;
+            this.row = row;
+        }
+    }
+}
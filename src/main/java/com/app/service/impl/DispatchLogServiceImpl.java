@@ -3,13 +3,16 @@ package com.app.service.impl;
 import com.app.entity.*;
 import com.app.exception.ResourceNotFoundException;
 import com.app.payload.request.DispatchLogRequestDto;
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.response.ApiResponse;
+import com.app.payload.response.CursorPageDto;
 import com.app.payload.response.DispatchLogResponseDto;
 import com.app.repository.*;
 import com.app.service.IDispatchLogService;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -105,27 +108,36 @@ public class DispatchLogServiceImpl implements IDispatchLogService {
     }
 
     @Override
-    public ApiResponse getDispatchLogsByTrip(Integer tripId) {
-        Trip trip = tripRepository.findById(tripId)
-                .orElseThrow(() -> new ResourceNotFoundException("Trip not found with ID: " + tripId));
+    public ApiResponse getDispatchLogsByTrip(Integer tripId, PaginationRequest pagination) {
+        if (!tripRepository.existsById(tripId)) {
+            throw new ResourceNotFoundException("Trip not found with ID: " + tripId);
+        }
 
-        List<DispatchLogResponseDto> logs = dispatchLogRepository.findByTrip(trip).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Newest first: each page continues below the last id of the previous one
+        Integer beforeId = CursorPageDto.decodeCursor(pagination);
+        int pageSize = pagination.resolvePageSize();
+        List<DispatchLog> rows = dispatchLogRepository.findByTrip_TripIdAndDispatchLogIdLessThanOrderByDispatchLogIdDesc(
+                tripId, beforeId != null ? beforeId : Integer.MAX_VALUE, PageRequest.of(0, pageSize + 1));
 
-        return new ApiResponse(true, "Dispatch logs for trip fetched successfully", logs);
+        CursorPageDto<DispatchLogResponseDto> page = CursorPageDto.of(rows, pageSize, DispatchLog::getDispatchLogId,
+                this::mapToResponse, pagination.wantsTotal() ? dispatchLogRepository.countByTrip_TripId(tripId) : null);
+        return new ApiResponse(true, "Dispatch logs for trip fetched successfully", page);
     }
 
     @Override
-    public ApiResponse getDispatchLogsByVehicle(Integer vehicleId) {
-        Vehicle vehicle = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId));
+    public ApiResponse getDispatchLogsByVehicle(Integer vehicleId, PaginationRequest pagination) {
+        if (!vehicleRepository.existsById(vehicleId)) {
+            throw new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId);
+        }
 
-        List<DispatchLogResponseDto> logs = dispatchLogRepository.findByVehicle(vehicle).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        Integer beforeId = CursorPageDto.decodeCursor(pagination);
+        int pageSize = pagination.resolvePageSize();
+        List<DispatchLog> rows = dispatchLogRepository.findByVehicle_VehicleIdAndDispatchLogIdLessThanOrderByDispatchLogIdDesc(
+                vehicleId, beforeId != null ? beforeId : Integer.MAX_VALUE, PageRequest.of(0, pageSize + 1));
 
-        return new ApiResponse(true, "Dispatch logs for vehicle fetched successfully", logs);
+        CursorPageDto<DispatchLogResponseDto> page = CursorPageDto.of(rows, pageSize, DispatchLog::getDispatchLogId,
+                this::mapToResponse, pagination.wantsTotal() ? dispatchLogRepository.countByVehicle_VehicleId(vehicleId) : null);
+        return new ApiResponse(true, "Dispatch logs for vehicle fetched successfully", page);
     }
 
     // ---------------- Mapper ----------------
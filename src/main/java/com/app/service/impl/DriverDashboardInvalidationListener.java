@@ -0,0 +1,49 @@
+package com.app.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.app.entity.DispatchLog;
+import com.app.entity.Driver;
+import com.app.entity.Trip;
+import com.app.entity.TripStudent;
+import com.app.service.IDriverDashboardService;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on Trip, TripStudent and DispatchLog that evicts the affected driver's
+ * cached dashboard whenever a trip changes state or attendance is recorded.
+ */
+@Component
+public class DriverDashboardInvalidationListener {
+
+	@Lazy
+	@Autowired
+	private IDriverDashboardService driverDashboardService;
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onChange(Object entity) {
+		if (entity instanceof Trip trip) {
+			invalidate(trip.getDriver());
+		} else if (entity instanceof TripStudent tripStudent && tripStudent.getTrip() != null) {
+			invalidate(tripStudent.getTrip().getDriver());
+		} else if (entity instanceof DispatchLog log) {
+			invalidate(log.getDriver());
+			if (log.getTrip() != null) {
+				invalidate(log.getTrip().getDriver());
+			}
+		}
+	}
+
+	private void invalidate(Driver driver) {
+		if (driver != null) {
+			driverDashboardService.invalidate(driver.getDriverId());
+		}
+	}
+}
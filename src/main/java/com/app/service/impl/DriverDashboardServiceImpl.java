@@ -0,0 +1,320 @@
+package com.app.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.Enum.EventType;
+import com.app.entity.Driver;
+import com.app.entity.Vehicle;
+import com.app.entity.VehicleDriver;
+import com.app.exception.ResourceNotFoundException;
+import com.app.payload.response.ApiResponse;
+import com.app.payload.response.DriverDashboardResponseDto;
+import com.app.repository.DispatchLogRepository;
+import com.app.repository.DriverRepository;
+import com.app.repository.TripRepository;
+import com.app.repository.VehicleDriverRepository;
+import com.app.repository.projection.DispatchLogSummaryProjection;
+import com.app.repository.projection.DriverTripCountProjection;
+import com.app.repository.projection.TripEventCountProjection;
+import com.app.service.IDriverDashboardService;
+import com.app.service.IPhotoStorageService;
+import com.app.util.BoundedCache;
+
+/**
+ * Driver dashboard built from three grouped queries instead of per-trip lookups:
+ * trip headers with student counts, today's pickup / drop counts per trip, and the
+ * newest dispatch logs of the vehicle.
+ *
+ * Results are cached per driver for a few seconds. DriverDashboardInvalidationListener
+ * evicts a driver's entry whenever one of their trips, trip students or dispatch logs
+ * changes, so attendance and trip events show up on the next request.
+ */
+@Service
+public class DriverDashboardServiceImpl implements IDriverDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverDashboardServiceImpl.class);
+
+    private static final int RECENT_ACTIVITY_LIMIT = 5;
+
+    private static final Set<EventType> PICKUP_EVENTS = EnumSet.of(EventType.PICKUP_FROM_PARENT, EventType.PICKUP_FROM_SCHOOL);
+    private static final Set<EventType> DROP_EVENTS = EnumSet.of(EventType.DROP_TO_SCHOOL, EventType.DROP_TO_PARENT);
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private IPhotoStorageService photoStorageService;
+
+    @Autowired
+    private VehicleDriverRepository vehicleDriverRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private DispatchLogRepository dispatchLogRepository;
+
+    @Value("${app.driver.dashboard.cache-ttl-ms:5000}")
+    private long ttlMs;
+
+    @Value("${app.driver.dashboard.cache-max-size:5000}")
+    private int maxSize;
+
+    private final Map<Integer, CachedDashboard> dashboards = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse getDriverDashboard(Integer driverId) {
+        long nowMs = System.currentTimeMillis();
+        CachedDashboard cached = driverId != null ? dashboards.get(driverId) : null;
+        if (cached != null && nowMs - cached.loadedAtMs < ttlMs) {
+            hitCount.increment();
+            return new ApiResponse(true, cached.message, cached.dashboard);
+        }
+        missCount.increment();
+
+        try {
+            Driver driver = driverRepository.findById(driverId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Driver not found with ID: " + driverId));
+
+            // Validate that the driver has user credentials (is activated)
+            if (driver.getUser() == null) {
+                logger.warn("Driver has not completed user activation: {}", driver.getDriverName());
+                return new ApiResponse(false, "Driver has not completed user activation. Please complete registration first.", null);
+            }
+
+            VehicleDriver vehicleDriver = vehicleDriverRepository.findByDriverAndIsActiveTrue(driver)
+                    .stream().findFirst().orElse(null);
+
+            String message;
+            DriverDashboardResponseDto dashboard;
+            if (vehicleDriver == null) {
+                logger.debug("No active vehicle assignment found for driver: {}", driver.getDriverName());
+                message = "Driver dashboard data retrieved successfully (No vehicle assigned)";
+                dashboard = buildUnassignedDashboard(driver);
+            } else {
+                message = "Driver dashboard data retrieved successfully";
+                dashboard = buildDashboard(driver, vehicleDriver);
+            }
+
+            cache(driverId, new CachedDashboard(dashboard, message, nowMs));
+            return new ApiResponse(true, message, dashboard);
+        } catch (Exception e) {
+            logger.error("Error in getDriverDashboard for driver {}: {}", driverId, e.getMessage(), e);
+            return new ApiResponse(false, "Error retrieving driver dashboard: " + e.getMessage(), null);
+        }
+    }
+
+    @Override
+    public void invalidate(Integer driverId) {
+        if (driverId == null) {
+            return;
+        }
+        invalidationCount.increment();
+        dashboards.remove(driverId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    dashboards.remove(driverId);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidationCount.increment();
+        dashboards.clear();
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hits = hitCount.sum();
+        long misses = missCount.sum();
+        stats.put("size", dashboards.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        stats.put("invalidations", invalidationCount.sum());
+        stats.put("ttlMs", ttlMs);
+        stats.put("maxSize", maxSize);
+        return stats;
+    }
+
+    private DriverDashboardResponseDto buildDashboard(Driver driver, VehicleDriver vehicleDriver) {
+        Vehicle vehicle = vehicleDriver.getVehicle();
+
+        // All trips assigned to the driver with their student counts; statistics use the active
+        // ones, or every assigned trip when none is active
+        List<DriverTripCountProjection> allTrips = tripRepository.findTripCountsByDriverId(driver.getDriverId());
+        List<DriverTripCountProjection> activeTrips = allTrips.stream()
+                .filter(t -> Boolean.TRUE.equals(t.getIsActive()))
+                .collect(Collectors.toList());
+        List<DriverTripCountProjection> tripsForStats = activeTrips.isEmpty() ? allTrips : activeTrips;
+
+        int totalTripsToday = tripsForStats.size();
+        int completedTrips = 0;
+        int pendingTrips = 0;
+        int totalStudentsToday = 0;
+        DriverTripCountProjection currentTrip = null;
+        for (DriverTripCountProjection trip : tripsForStats) {
+            String status = trip.getTripStatus();
+            if ("COMPLETED".equals(status) || "ENDED".equals(status)) {
+                completedTrips++;
+            } else if ("NOT_STARTED".equals(status) || "SCHEDULED".equals(status)) {
+                pendingTrips++;
+            } else if (currentTrip == null && ("IN_PROGRESS".equals(status) || "STARTED".equals(status))) {
+                currentTrip = trip;
+            }
+            totalStudentsToday += trip.getStudentCount() != null ? trip.getStudentCount().intValue() : 0;
+        }
+
+        // Today's pickups and drops on this vehicle, one grouped row per trip
+        int studentsPickedUp = 0;
+        int studentsDropped = 0;
+        if (!tripsForStats.isEmpty()) {
+            List<Integer> tripIds = tripsForStats.stream().map(DriverTripCountProjection::getTripId).collect(Collectors.toList());
+            LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
+            for (TripEventCountProjection counts : dispatchLogRepository.countPickupsAndDropsByTrip(
+                    tripIds, vehicle.getVehicleId(), startOfToday, PICKUP_EVENTS, DROP_EVENTS)) {
+                studentsPickedUp += counts.getPickupCount() != null ? counts.getPickupCount().intValue() : 0;
+                studentsDropped += counts.getDropCount() != null ? counts.getDropCount().intValue() : 0;
+            }
+        }
+
+        List<DriverDashboardResponseDto.RecentActivityDto> recentActivities = dispatchLogRepository
+                .findRecentSummariesByVehicle(vehicle.getVehicleId(), PageRequest.of(0, RECENT_ACTIVITY_LIMIT))
+                .stream()
+                .map(this::mapToActivityDto)
+                .collect(Collectors.toList());
+
+        logger.debug("Driver {} dashboard: trips={}, students={}, pickedUp={}, dropped={}",
+                driver.getDriverId(), totalTripsToday, totalStudentsToday, studentsPickedUp, studentsDropped);
+
+        return DriverDashboardResponseDto.builder()
+                .driverId(driver.getDriverId())
+                .driverName(driver.getDriverName())
+                .driverContactNumber(driver.getDriverContactNumber())
+                .driverPhoto(photoStorageService.toUrl(driver.getDriverPhotoRef()))
+                .vehicleId(vehicle.getVehicleId())
+                .vehicleNumber(vehicle.getVehicleNumber())
+                .vehicleType(vehicle.getVehicleType() != null ? vehicle.getVehicleType().toString() : null)
+                .vehicleCapacity(vehicle.getCapacity())
+                .schoolId(vehicleDriver.getSchool().getSchoolId())
+                .schoolName(vehicleDriver.getSchool().getSchoolName())
+                .totalTripsToday(totalTripsToday)
+                .completedTrips(completedTrips)
+                .pendingTrips(pendingTrips)
+                .totalStudentsToday(totalStudentsToday)
+                .studentsPickedUp(studentsPickedUp)
+                .studentsDropped(studentsDropped)
+                .currentTripId(currentTrip != null ? currentTrip.getTripId() : null)
+                .currentTripName(currentTrip != null ? currentTrip.getTripName() : null)
+                .currentTripStatus(currentTrip != null ? currentTrip.getTripStatus() : null)
+                .currentTripStartTime(currentTrip != null ? currentTrip.getTripStartTime() : null)
+                .currentTripStudentCount(currentTrip != null && currentTrip.getStudentCount() != null
+                        ? currentTrip.getStudentCount().intValue() : 0)
+                .recentActivities(recentActivities)
+                .build();
+    }
+
+    private DriverDashboardResponseDto buildUnassignedDashboard(Driver driver) {
+        return DriverDashboardResponseDto.builder()
+                .driverId(driver.getDriverId())
+                .driverName(driver.getDriverName())
+                .driverContactNumber(driver.getDriverContactNumber())
+                .driverPhoto(photoStorageService.toUrl(driver.getDriverPhotoRef()))
+                .vehicleId(null)
+                .vehicleNumber("Not Assigned")
+                .vehicleType(null)
+                .vehicleCapacity(0)
+                .schoolId(null)
+                .schoolName("Not Assigned")
+                .totalTripsToday(0)
+                .completedTrips(0)
+                .pendingTrips(0)
+                .totalStudentsToday(0)
+                .studentsPickedUp(0)
+                .studentsDropped(0)
+                .currentTripId(null)
+                .currentTripName(null)
+                .currentTripStatus(null)
+                .currentTripStartTime(null)
+                .currentTripStudentCount(0)
+                .recentActivities(new ArrayList<>())
+                .build();
+    }
+
+    private DriverDashboardResponseDto.RecentActivityDto mapToActivityDto(DispatchLogSummaryProjection log) {
+        String studentName = log.getStudentFirstName() + " " + log.getStudentLastName();
+        return DriverDashboardResponseDto.RecentActivityDto.builder()
+                .activityId(log.getDispatchLogId())
+                .activityType(log.getEventType().toString())
+                .description(getActivityDescription(log.getEventType(), log.getVehicleNumber(), studentName))
+                .activityTime(log.getCreatedDate())
+                .studentName(studentName)
+                .location(log.getRemarks())
+                .build();
+    }
+
+    private String getActivityDescription(EventType eventType, String vehicleNumber, String studentName) {
+        switch (eventType) {
+            case PICKUP_FROM_PARENT:
+                return "Picked up " + studentName + " from home";
+            case DROP_TO_SCHOOL:
+                return "Dropped " + studentName + " at school";
+            case PICKUP_FROM_SCHOOL:
+                return "Picked up " + studentName + " from school";
+            case DROP_TO_PARENT:
+                return "Dropped " + studentName + " at home";
+            case GATE_ENTRY:
+                return "Vehicle " + vehicleNumber + " entered school gate";
+            case GATE_EXIT:
+                return "Vehicle " + vehicleNumber + " exited school gate";
+            default:
+                return "Activity recorded for " + studentName;
+        }
+    }
+
+    private void cache(Integer driverId, CachedDashboard entry) {
+        BoundedCache.put(dashboards, driverId, entry, maxSize, ttlMs, cached -> cached.loadedAtMs);
+    }
+
+    private static final class CachedDashboard {
+        private final DriverDashboardResponseDto dashboard;
+        private final String message;
+        private final long loadedAtMs;
+
+        private CachedDashboard(DriverDashboardResponseDto dashboard, String message, long loadedAtMs) {
+            this.dashboard = dashboard;
+            this.message = message;
+            this.loadedAtMs = loadedAtMs;
+        }
+    }
+}
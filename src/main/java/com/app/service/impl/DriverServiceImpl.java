@@ -5,13 +5,18 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.app.entity.Driver;
 import com.app.entity.DispatchLog;
@@ -29,22 +34,24 @@ import com.app.Enum.EventType;
 import com.app.Enum.NotificationType;
 import com.app.exception.ResourceNotFoundException;
 import com.app.payload.request.DriverRequestDto;
+import com.app.payload.request.LocationFixDto;
 import com.app.payload.request.NotificationRequestDto;
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.PendingUserRequestDTO;
 import com.app.payload.request.StudentAttendanceRequestDto;
 import com.app.payload.response.ApiResponse;
-import com.app.payload.response.DriverDashboardResponseDto;
+import com.app.payload.response.CursorPageDto;
 import com.app.payload.response.DriverProfileResponseDto;
 import com.app.payload.response.DriverReportsResponseDto;
 import com.app.payload.response.DriverResponseDto;
 import com.app.payload.response.DispatchLogResponseDto;
+import com.app.payload.response.LivePositionDto;
 import com.app.payload.response.TimeBasedTripsResponseDto;
 import com.app.payload.response.TripResponseDto;
 import com.app.payload.response.WebSocketNotificationDto;
 import com.app.repository.DispatchLogRepository;
 import com.app.repository.DriverRepository;
 import com.app.repository.NotificationRepository;
-import com.app.repository.RoleRepository;
 import com.app.repository.StudentParentRepository;
 import com.app.repository.TripRepository;
 import com.app.repository.TripStatusRepository;
@@ -53,9 +60,17 @@ import com.app.repository.UserRepository;
 import com.app.repository.UserRoleRepository;
 import com.app.repository.VehicleDriverRepository;
 import com.app.repository.VehicleLocationRepository;
+import com.app.service.IActiveTripIndexService;
+import com.app.service.IDriverDashboardService;
 import com.app.service.IDriverService;
+import com.app.service.ILivePositionService;
+import com.app.service.ILocationFanoutService;
+import com.app.service.ILocationIngestionService;
 import com.app.service.IPendingUserService;
+import com.app.service.IPhotoStorageService;
+import com.app.service.IReferenceDataCache;
 import com.app.service.IWebSocketNotificationService;
+import com.app.util.BoundedCache;
 
 @Service
 public class DriverServiceImpl implements IDriverService {
@@ -65,6 +80,9 @@ public class DriverServiceImpl implements IDriverService {
     @Autowired
     private DriverRepository driverRepository;
 
+    @Autowired
+    private IPhotoStorageService photoStorageService;
+
     @Autowired
     private UserRepository userRepository;
     
@@ -72,7 +90,7 @@ public class DriverServiceImpl implements IDriverService {
     private UserRoleRepository userRoleRepository;
     
     @Autowired
-    private RoleRepository roleRepository;
+    private IReferenceDataCache referenceDataCache;
     
     @Autowired
     private IPendingUserService pendingUserService;
@@ -94,6 +112,9 @@ public class DriverServiceImpl implements IDriverService {
     
     @Autowired
     private DispatchLogRepository dispatchLogRepository;
+
+    @Autowired
+    private IDriverDashboardService driverDashboardService;
     
     @Autowired
     private NotificationRepository notificationRepository;
@@ -107,6 +128,31 @@ public class DriverServiceImpl implements IDriverService {
     @Autowired
     private VehicleLocationRepository vehicleLocationRepository;
 
+    @Autowired
+    private ILocationIngestionService locationIngestionService;
+
+    @Autowired
+    private ILivePositionService livePositionService;
+
+    @Autowired
+    private ILocationFanoutService locationFanoutService;
+
+    @Autowired
+    private IActiveTripIndexService activeTripIndexService;
+
+    @Value("${app.location.trip-context-ttl-ms:30000}")
+    private long tripContextTtlMs;
+
+    @Value("${app.location.trip-context-max-size:5000}")
+    private int tripContextMaxSize;
+
+    @Value("${app.deployment.multi-node:false}")
+    private boolean multiNode;
+
+    // tripId -> ids needed to enqueue a GPS fix without hitting the database; evicted on every Trip change
+    // (see TripContextInvalidationListener)
+    private final Map<Integer, ActiveTripContext> activeTripContexts = new ConcurrentHashMap<>();
+
     @Override
     @Transactional
     public ApiResponse createDriver(DriverRequestDto request) {
@@ -119,7 +165,7 @@ public class DriverServiceImpl implements IDriverService {
 
         Driver driver = Driver.builder()
                 .driverName(request.getDriverName())
-                .driverPhoto(request.getDriverPhoto())
+                .driverPhotoRef(photoStorageService.store(request.getDriverPhoto()))
                 .driverContactNumber(request.getDriverContactNumber())
                 .driverAddress(request.getDriverAddress())
                 .email(request.getEmail())
@@ -132,7 +178,7 @@ public class DriverServiceImpl implements IDriverService {
         Driver savedDriver  = driverRepository.save(driver);
         
         // Find DRIVER role
-        Role role = roleRepository.findByRoleName("DRIVER")
+        Role role = referenceDataCache.findRoleByName("DRIVER")
                 .orElseThrow(() -> new ResourceNotFoundException("Role DRIVER not found"));
 
         // Note: UserRole will be created when driver activates account via email link
@@ -167,7 +213,7 @@ public class DriverServiceImpl implements IDriverService {
 
         // Update fields
         driver.setDriverName(request.getDriverName());
-        driver.setDriverPhoto(request.getDriverPhoto());
+        driver.setDriverPhotoRef(photoStorageService.store(request.getDriverPhoto()));
         driver.setDriverContactNumber(request.getDriverContactNumber());
         driver.setDriverAddress(request.getDriverAddress());
         driver.setEmail(request.getEmail());
@@ -225,13 +271,16 @@ public class DriverServiceImpl implements IDriverService {
     }
 
     @Override
-    public ApiResponse getAllDriversForAdmin() {
-        // Get all drivers including non-activated ones (for admin purposes)
-        List<DriverResponseDto> drivers = driverRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-
-        return new ApiResponse(true, "All drivers fetched successfully", drivers);
+    public ApiResponse getAllDriversForAdmin(PaginationRequest pagination) {
+        // All drivers including non-activated ones (for admin purposes), one keyset page at a time
+        Integer afterId = CursorPageDto.decodeCursor(pagination);
+        int pageSize = pagination.resolvePageSize();
+        List<Driver> rows = driverRepository.findByDriverIdGreaterThanOrderByDriverIdAsc(
+                afterId != null ? afterId : 0, PageRequest.of(0, pageSize + 1));
+
+        CursorPageDto<DriverResponseDto> page = CursorPageDto.of(rows, pageSize, Driver::getDriverId, this::mapToResponse,
+                pagination.wantsTotal() ? driverRepository.count() : null);
+        return new ApiResponse(true, "All drivers fetched successfully", page);
     }
 
     // Helper method to map entity to response DTO
@@ -241,7 +290,7 @@ public class DriverServiceImpl implements IDriverService {
                 .userId(driver.getUser() != null ? driver.getUser().getUId() : null)
                // .userName(driver.getUser() != null ? driver.getUser().getUserName() : null)
                 .driverName(driver.getDriverName())
-                .driverPhoto(driver.getDriverPhoto())
+                .driverPhoto(photoStorageService.toUrl(driver.getDriverPhotoRef()))
                 .driverContactNumber(driver.getDriverContactNumber())
                 .driverAddress(driver.getDriverAddress())
                 .isActive(driver.getIsActive())
@@ -257,165 +306,7 @@ public class DriverServiceImpl implements IDriverService {
     @Override
     public ApiResponse getDriverDashboard(Integer driverId) {
         logger.debug("getDriverDashboard called with driverId: {}", driverId);
-        try {
-            Driver driver = driverRepository.findById(driverId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Driver not found with ID: " + driverId));
-            
-            logger.debug("Driver found: {} (ID: {})", driver.getDriverName(), driver.getDriverId());
-
-            // Validate that the driver has user credentials (is activated)
-            if (driver.getUser() == null) {
-                logger.warn("Driver has not completed user activation: {}", driver.getDriverName());
-                return new ApiResponse(false, "Driver has not completed user activation. Please complete registration first.", null);
-            }
-            logger.debug("Driver is activated with user ID = {}", driver.getUser().getUId());
-
-            // Get driver's assigned vehicle
-            List<VehicleDriver> vehicleDrivers = vehicleDriverRepository.findByDriverAndIsActiveTrue(driver);
-            logger.debug("Found {} active vehicle assignments for driver", vehicleDrivers.size());
-            
-            VehicleDriver vehicleDriver = vehicleDrivers.stream().findFirst().orElse(null);
-
-            if (vehicleDriver == null) {
-                logger.warn("No active vehicle assignment found for driver: {}", driver.getDriverName());
-                // Return a basic dashboard without vehicle info
-                DriverDashboardResponseDto dashboard = DriverDashboardResponseDto.builder()
-                        .driverId(driver.getDriverId())
-                        .driverName(driver.getDriverName())
-                        .driverContactNumber(driver.getDriverContactNumber())
-                        .driverPhoto(driver.getDriverPhoto())
-                        .vehicleId(null)
-                        .vehicleNumber("Not Assigned")
-                        .vehicleType(null)
-                        .vehicleCapacity(0)
-                        .schoolId(null)
-                        .schoolName("Not Assigned")
-                        .totalTripsToday(0)
-                        .completedTrips(0)
-                        .pendingTrips(0)
-                        .totalStudentsToday(0)
-                        .studentsPickedUp(0)
-                        .studentsDropped(0)
-                        .currentTripId(null)
-                        .currentTripName(null)
-                        .currentTripStatus(null)
-                        .currentTripStartTime(null)
-                        .currentTripStudentCount(0)
-                        .recentActivities(new ArrayList<>())
-                        .build();
-                
-                return new ApiResponse(true, "Driver dashboard data retrieved successfully (No vehicle assigned)", dashboard);
-            }
-            
-            logger.debug("Vehicle assignment found: Vehicle {} assigned to School {}", 
-                        vehicleDriver.getVehicle().getVehicleNumber(), vehicleDriver.getSchool().getSchoolName());
-
-            Vehicle vehicle = vehicleDriver.getVehicle();
-            
-            // Log current vehicle capacity from database
-            logger.debug("Vehicle capacity from database: {}", vehicle.getCapacity());
-            
-            // Get all trips assigned to this driver (don't filter by date or active status)
-            // This ensures we show all trips that are assigned to the driver
-            List<Trip> allDriverTrips = tripRepository.findByDriver(driver);
-            logger.debug("Found {} total trips assigned to driver", allDriverTrips.size());
-            
-            // Filter for active trips only (for dashboard display)
-            List<Trip> activeTrips = allDriverTrips.stream()
-                    .filter(t -> Boolean.TRUE.equals(t.getIsActive()))
-                    .collect(Collectors.toList());
-            logger.debug("Found {} active trips assigned to driver", activeTrips.size());
-            
-            // If no active trips, use all trips (for statistics)
-            List<Trip> tripsForStats = activeTrips.isEmpty() ? allDriverTrips : activeTrips;
-            
-            // Calculate statistics based on all assigned trips
-            int totalTripsToday = tripsForStats.size();
-            int completedTrips = (int) tripsForStats.stream()
-                    .filter(t -> "COMPLETED".equals(t.getTripStatus()) || "ENDED".equals(t.getTripStatus()))
-                    .count();
-            int pendingTrips = (int) tripsForStats.stream()
-                    .filter(t -> "NOT_STARTED".equals(t.getTripStatus()) || "SCHEDULED".equals(t.getTripStatus()))
-                    .count();
-            
-            // Calculate student statistics across all assigned trips
-            int totalStudentsToday = 0;
-            int studentsPickedUp = 0;
-            int studentsDropped = 0;
-            
-            logger.debug("Calculating student statistics for {} trips", tripsForStats.size());
-            
-            for (Trip trip : tripsForStats) {
-                // Count total students in trip
-                int tripStudents = tripStudentRepository.countByTrip(trip);
-                totalStudentsToday += tripStudents;
-                logger.debug("Trip {} has {} students", trip.getTripName(), tripStudents);
-                
-                // Count students picked up and dropped based on dispatch logs
-                List<DispatchLog> tripLogs = dispatchLogRepository.findByTripAndVehicle(trip, vehicle);
-                int pickupCount = (int) tripLogs.stream()
-                    .filter(log -> log.getEventType() == EventType.PICKUP_FROM_PARENT || 
-                                  log.getEventType() == EventType.PICKUP_FROM_SCHOOL)
-                    .count();
-                int dropCount = (int) tripLogs.stream()
-                    .filter(log -> log.getEventType() == EventType.DROP_TO_SCHOOL || 
-                                  log.getEventType() == EventType.DROP_TO_PARENT)
-                    .count();
-                
-                studentsPickedUp += pickupCount;
-                studentsDropped += dropCount;
-                
-                System.out.println("🔍 Trip " + trip.getTripName() + " - Pickups: " + pickupCount + ", Drops: " + dropCount);
-            }
-            
-            System.out.println("🔍 Total trips: " + totalTripsToday + ", Total students: " + totalStudentsToday + 
-                             ", Picked up: " + studentsPickedUp + ", Dropped: " + studentsDropped);
-            
-            // Get current trip (in progress)
-            Trip currentTrip = tripsForStats.stream()
-                    .filter(t -> "IN_PROGRESS".equals(t.getTripStatus()) || "STARTED".equals(t.getTripStatus()))
-                    .findFirst().orElse(null);
-
-            // Get recent activities
-            List<DispatchLog> recentLogs = dispatchLogRepository.findByVehicle_VehicleIdOrderByCreatedDateDesc(vehicle.getVehicleId())
-                    .stream().limit(5).collect(Collectors.toList());
-
-            List<DriverDashboardResponseDto.RecentActivityDto> recentActivities = recentLogs.stream()
-                    .map(this::mapToActivityDto)
-                    .collect(Collectors.toList());
-
-            DriverDashboardResponseDto dashboard = DriverDashboardResponseDto.builder()
-                    .driverId(driver.getDriverId())
-                    .driverName(driver.getDriverName())
-                    .driverContactNumber(driver.getDriverContactNumber())
-                    .driverPhoto(driver.getDriverPhoto())
-                    .vehicleId(vehicle.getVehicleId())
-                    .vehicleNumber(vehicle.getVehicleNumber())
-                    .vehicleType(vehicle.getVehicleType() != null ? vehicle.getVehicleType().toString() : null)
-                    .vehicleCapacity(vehicle.getCapacity())
-                    .schoolId(vehicleDriver.getSchool().getSchoolId())
-                    .schoolName(vehicleDriver.getSchool().getSchoolName())
-                    .totalTripsToday(totalTripsToday)
-                    .completedTrips(completedTrips)
-                    .pendingTrips(pendingTrips)
-                    .totalStudentsToday(totalStudentsToday)
-                    .studentsPickedUp(studentsPickedUp)
-                    .studentsDropped(studentsDropped)
-                    .currentTripId(currentTrip != null ? currentTrip.getTripId() : null)
-                    .currentTripName(currentTrip != null ? currentTrip.getTripName() : null)
-                    .currentTripStatus(currentTrip != null ? currentTrip.getTripStatus() : null)
-                    .currentTripStartTime(currentTrip != null ? currentTrip.getTripStartTime() : null)
-                    .currentTripStudentCount(currentTrip != null ? tripStudentRepository.countByTrip(currentTrip) : 0)
-                    .recentActivities(recentActivities)
-                    .build();
-
-            System.out.println("🔍 Dashboard data created successfully for driver: " + driver.getDriverName());
-            return new ApiResponse(true, "Driver dashboard data retrieved successfully", dashboard);
-        } catch (Exception e) {
-            System.out.println("🔍 Error in getDriverDashboard: " + e.getMessage());
-            e.printStackTrace();
-            return new ApiResponse(false, "Error retrieving driver dashboard: " + e.getMessage(), null);
-        }
+        return driverDashboardService.getDriverDashboard(driverId);
     }
 
     @Override
@@ -629,6 +520,7 @@ public class DriverServiceImpl implements IDriverService {
             trip.setTripStatus("IN_PROGRESS");
             trip.setTripStartTime(LocalDateTime.now());
             tripRepository.save(trip);
+            activeTripContexts.remove(tripId);
 
             // Create trip status entry
             LocalDateTime startTime = LocalDateTime.now();
@@ -644,6 +536,9 @@ public class DriverServiceImpl implements IDriverService {
 
             // GET ALL STUDENTS IN TRIP
             List<TripStudent> tripStudents = tripStudentRepository.findByTrip(trip);
+            activeTripIndexService.tripStarted(trip, tripStudents.stream()
+                    .map(ts -> ts.getStudent().getStudentId())
+                    .collect(Collectors.toList()));
             
             // CREATE DISPATCH LOG AND NOTIFICATION FOR EACH STUDENT
             for (TripStudent ts : tripStudents) {
@@ -799,6 +694,9 @@ public class DriverServiceImpl implements IDriverService {
             trip.setTripStatus("COMPLETED");
             trip.setTripEndTime(LocalDateTime.now());
             tripRepository.save(trip);
+            activeTripContexts.remove(tripId);
+            livePositionService.removeTrip(tripId);
+            activeTripIndexService.tripEnded(tripId);
 
             // Get the previous IN_PROGRESS status to get start time
             LocalDateTime endTime = LocalDateTime.now();
@@ -832,37 +730,6 @@ public class DriverServiceImpl implements IDriverService {
     
 
     // Helper methods
-    private DriverDashboardResponseDto.RecentActivityDto mapToActivityDto(DispatchLog log) {
-        return DriverDashboardResponseDto.RecentActivityDto.builder()
-                .activityId(log.getDispatchLogId())
-                .activityType(log.getEventType().toString())
-                .description(getActivityDescription(log.getEventType(), log.getVehicle().getVehicleNumber(), 
-                        log.getStudent().getFirstName() + " " + log.getStudent().getLastName()))
-                .activityTime(log.getCreatedDate())
-                .studentName(log.getStudent().getFirstName() + " " + log.getStudent().getLastName())
-                .location(log.getRemarks())
-                .build();
-    }
-
-    private String getActivityDescription(com.app.Enum.EventType eventType, String vehicleNumber, String studentName) {
-        switch (eventType) {
-            case PICKUP_FROM_PARENT:
-                return "Picked up " + studentName + " from home";
-            case DROP_TO_SCHOOL:
-                return "Dropped " + studentName + " at school";
-            case PICKUP_FROM_SCHOOL:
-                return "Picked up " + studentName + " from school";
-            case DROP_TO_PARENT:
-                return "Dropped " + studentName + " at home";
-            case GATE_ENTRY:
-                return "Vehicle " + vehicleNumber + " entered school gate";
-            case GATE_EXIT:
-                return "Vehicle " + vehicleNumber + " exited school gate";
-            default:
-                return "Activity recorded for " + studentName;
-        }
-    }
-
     private TripResponseDto mapToTripResponseDto(Trip trip) {
         // Calculate student statistics
         int totalStudents = tripStudentRepository.countByTrip(trip);
@@ -959,7 +826,7 @@ public class DriverServiceImpl implements IDriverService {
         return TripResponseDto.TripStudentDto.builder()
                 .studentId(tripStudent.getStudent().getStudentId())
                 .studentName(tripStudent.getStudent().getFirstName() + " " + tripStudent.getStudent().getLastName())
-                .studentPhoto(tripStudent.getStudent().getStudentPhoto())
+                .studentPhoto(photoStorageService.toUrl(tripStudent.getStudent().getStudentPhotoRef()))
                 .className(tripStudent.getStudent().getClassMaster() != null ? tripStudent.getStudent().getClassMaster().getClassName() : "Unknown")
                 .sectionName(tripStudent.getStudent().getSectionMaster() != null ? tripStudent.getStudent().getSectionMaster().getSectionName() : "Unknown")
                 .pickupLocation(pickupLocation)
@@ -1381,7 +1248,7 @@ public class DriverServiceImpl implements IDriverService {
                 .email(driver.getEmail())
                 .driverContactNumber(driver.getDriverContactNumber())
                 .driverAddress(driver.getDriverAddress())
-                .driverPhoto(driver.getDriverPhoto())
+                .driverPhoto(photoStorageService.toUrl(driver.getDriverPhotoRef()))
                 .schoolName(schoolName)
                 .vehicleNumber(vehicleNumber)
                 .vehicleType(vehicleType)
@@ -1428,7 +1295,7 @@ public class DriverServiceImpl implements IDriverService {
                 driver.setDriverAddress(requestDto.getDriverAddress());
             }
             if (requestDto.getDriverPhoto() != null) {
-                driver.setDriverPhoto(requestDto.getDriverPhoto());
+                driver.setDriverPhotoRef(photoStorageService.store(requestDto.getDriverPhoto()));
             }
             
             driver.setUpdatedDate(LocalDateTime.now());
@@ -1790,21 +1657,10 @@ public class DriverServiceImpl implements IDriverService {
                     .build();
             }
             
-            // Update driver's current location (you might want to create a separate Location entity)
-            // For now, we'll just log the location update
             System.out.println("📍 Driver " + driver.getDriverName() + " location updated: " + 
                 latitude + ", " + longitude + " at " + timestamp);
             
-            // TODO: Save location to database (create Location entity if needed)
-            // Location location = Location.builder()
-            //     .driver(driver)
-            //     .latitude(latitude)
-            //     .longitude(longitude)
-            //     .timestamp(LocalDateTime.parse(timestamp))
-            //     .build();
-            // locationRepository.save(location);
-            
-            // Send real-time location update to parents of students in active trips
+            // Update the live position store and send one location tick per vehicle in progress
             _sendLocationUpdateToParents(driver, latitude, longitude);
             
             return ApiResponse.builder()
@@ -1829,46 +1685,44 @@ public class DriverServiceImpl implements IDriverService {
 
     private void _sendLocationUpdateToParents(Driver driver, Double latitude, Double longitude) {
         try {
-            // Find active trips for this driver
-            List<Trip> activeTrips = tripRepository.findByDriverAndIsActive(driver, true);
-            
-            for (Trip trip : activeTrips) {
-                // Get all students in this trip
-                List<TripStudent> tripStudents = tripStudentRepository.findByTrip(trip);
-                
-                for (TripStudent tripStudent : tripStudents) {
-                    // Send location update to parent
-                    String notificationMessage = String.format(
-                        "🚌 Vehicle location update: %s is at %.6f, %.6f. Trip: %s",
-                        driver.getDriverName(),
-                        latitude,
-                        longitude,
-                        trip.getTripName()
-                    );
-                    
-                    // Send WebSocket notification to parent
-                    webSocketNotificationService.sendNotificationToSchool(
-                        trip.getSchool().getSchoolId(),
-                        com.app.payload.response.WebSocketNotificationDto.builder()
-                            .type("LOCATION_UPDATE")
-                            .title("Vehicle Location Update")
-                            .message(notificationMessage)
-                            .data(Map.of(
-                                "driverId", driver.getDriverId(),
-                                "driverName", driver.getDriverName(),
-                                "latitude", latitude,
-                                "longitude", longitude,
-                                "tripId", trip.getTripId(),
-                                "tripName", trip.getTripName(),
-                                "vehicleNumber", trip.getVehicle().getVehicleNumber()
-                            ))
-                            .build()
-                    );
+            LocalDateTime now = LocalDateTime.now();
+
+            // Only trips actually in progress carry a vehicle worth tracking
+            List<Trip> inProgressTrips = tripRepository.findByDriverAndTripStatus(driver, "IN_PROGRESS");
+
+            if (inProgressTrips.isEmpty()) {
+                livePositionService.update(LivePositionDto.builder()
+                    .driverId(driver.getDriverId())
+                    .driverName(driver.getDriverName())
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .lastUpdated(now)
+                    .build());
+                return;
+            }
+
+            java.util.Set<Integer> publishedVehicles = new java.util.HashSet<>();
+            for (Trip trip : inProgressTrips) {
+                LivePositionDto position = LivePositionDto.builder()
+                    .vehicleId(trip.getVehicle().getVehicleId())
+                    .vehicleNumber(trip.getVehicle().getVehicleNumber())
+                    .driverId(driver.getDriverId())
+                    .driverName(driver.getDriverName())
+                    .tripId(trip.getTripId())
+                    .tripName(trip.getTripName())
+                    .schoolId(trip.getSchool().getSchoolId())
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .lastUpdated(now)
+                    .build();
+                livePositionService.update(position);
+
+                // A vehicle gets one message per tick no matter how many trips or students it carries
+                if (publishedVehicles.add(position.getVehicleId())) {
+                    locationFanoutService.publish(position);
                 }
             }
             
-            System.out.println("📍 Location updates sent to parents for driver: " + driver.getDriverName());
-            
         } catch (Exception e) {
             System.out.println("❌ Error sending location updates to parents: " + e.getMessage());
         }
@@ -1877,34 +1731,24 @@ public class DriverServiceImpl implements IDriverService {
     @Override
     public ApiResponse getDriverLocation(Integer driverId) {
         try {
-            Driver driver = driverRepository.findById(driverId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Driver not found with ID: " + driverId));
+            // Served from the live position store; the database is only consulted on a miss
+            LivePositionDto position = livePositionService.getByDriver(driverId);
 
-            // Get the latest location from dispatch logs
-            List<DispatchLog> locationLogs = dispatchLogRepository.findByDriverOrderByCreatedDateDesc(driver);
-            
-            if (locationLogs.isEmpty()) {
-                return new ApiResponse(false, "No location data available for driver", null);
-            }
+            if (position == null) {
+                Driver driver = driverRepository.findById(driverId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Driver not found with ID: " + driverId));
 
-            // Get the most recent location log
-            DispatchLog latestLocation = locationLogs.get(0);
-            
-            Map<String, Object> locationData = new java.util.HashMap<>();
-            locationData.put("driverId", driverId);
-            locationData.put("driverName", driver.getDriverName());
-            locationData.put("latitude", latestLocation.getLatitude());
-            locationData.put("longitude", latestLocation.getLongitude());
-            locationData.put("lastUpdated", latestLocation.getCreatedDate());
-            locationData.put("address", latestLocation.getAddress());
-            
-            // Calculate if location is recent (within last 5 minutes)
-            LocalDateTime now = LocalDateTime.now();
-            long minutesSinceUpdate = java.time.Duration.between(latestLocation.getCreatedDate(), now).toMinutes();
-            locationData.put("isRecent", minutesSinceUpdate <= 5);
-            locationData.put("minutesAgo", minutesSinceUpdate);
+                VehicleLocation latestLocation = vehicleLocationRepository
+                        .findTopByDriverOrderByCreatedDateDesc(driver).orElse(null);
+                if (latestLocation == null) {
+                    return new ApiResponse(false, "No location data available for driver", null);
+                }
+
+                position = mapToLivePosition(latestLocation);
+                livePositionService.update(position);
+            }
 
-            return new ApiResponse(true, "Driver location retrieved successfully", locationData);
+            return new ApiResponse(true, "Driver location retrieved successfully", mapLivePositionToResponse(position));
             
         } catch (Exception e) {
             System.out.println("❌ Error getting driver location: " + e.getMessage());
@@ -1913,82 +1757,210 @@ public class DriverServiceImpl implements IDriverService {
     }
 
     @Override
-    @Transactional
-    public ApiResponse saveLocationUpdate(Integer driverId, Integer tripId, Double latitude, Double longitude, String address) {
-        try {
-            System.out.println("📍 saveLocationUpdate called - driverId: " + driverId + ", tripId: " + tripId);
-            
-            // Validate driver
-            Driver driver = driverRepository.findById(driverId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Driver not found with ID: " + driverId));
+    public ApiResponse getVehicleLiveLocation(Integer vehicleId) {
+        LivePositionDto position = livePositionService.getByVehicle(vehicleId);
+        if (position == null) {
+            return new ApiResponse(false, "No live location available for vehicle", null);
+        }
+        return new ApiResponse(true, "Vehicle location retrieved successfully", mapLivePositionToResponse(position));
+    }
 
-            // Validate trip and check if it's assigned to driver
-            Trip trip = tripRepository.findByDriverAndTripId(driver, tripId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Trip not found or not assigned to driver"));
+    @Override
+    public ApiResponse getTripLiveLocation(Integer tripId) {
+        LivePositionDto position = livePositionService.getByTrip(tripId);
+        if (position == null) {
+            return new ApiResponse(false, "No live location available for trip", null);
+        }
+        return new ApiResponse(true, "Trip location retrieved successfully", mapLivePositionToResponse(position));
+    }
+
+    private LivePositionDto mapToLivePosition(VehicleLocation location) {
+        return LivePositionDto.builder()
+                .vehicleId(location.getVehicle() != null ? location.getVehicle().getVehicleId() : null)
+                .vehicleNumber(location.getVehicle() != null ? location.getVehicle().getVehicleNumber() : null)
+                .driverId(location.getDriver() != null ? location.getDriver().getDriverId() : null)
+                .driverName(location.getDriver() != null ? location.getDriver().getDriverName() : null)
+                .tripId(location.getTrip() != null ? location.getTrip().getTripId() : null)
+                .tripName(location.getTrip() != null ? location.getTrip().getTripName() : null)
+                .schoolId(location.getSchool() != null ? location.getSchool().getSchoolId() : null)
+                .latitude(location.getLatitude())
+                .longitude(location.getLongitude())
+                .speed(location.getSpeed())
+                .bearing(location.getBearing())
+                .address(location.getAddress())
+                .lastUpdated(location.getCreatedDate())
+                .build();
+    }
+
+    private Map<String, Object> mapLivePositionToResponse(LivePositionDto position) {
+        Map<String, Object> locationData = new java.util.HashMap<>();
+        locationData.put("driverId", position.getDriverId());
+        locationData.put("driverName", position.getDriverName());
+        locationData.put("vehicleId", position.getVehicleId());
+        locationData.put("vehicleNumber", position.getVehicleNumber());
+        locationData.put("tripId", position.getTripId());
+        locationData.put("tripName", position.getTripName());
+        locationData.put("latitude", position.getLatitude());
+        locationData.put("longitude", position.getLongitude());
+        locationData.put("speed", position.getSpeed());
+        locationData.put("bearing", position.getBearing());
+        locationData.put("lastUpdated", position.getLastUpdated());
+        locationData.put("address", position.getAddress());
+
+        // Calculate if location is recent (within last 5 minutes)
+        if (position.getLastUpdated() != null) {
+            long minutesSinceUpdate = java.time.Duration.between(position.getLastUpdated(), LocalDateTime.now()).toMinutes();
+            locationData.put("isRecent", minutesSinceUpdate <= 5);
+            locationData.put("minutesAgo", minutesSinceUpdate);
+        }
+        return locationData;
+    }
+
+    @Override
+    public ApiResponse saveLocationUpdate(Integer driverId, Integer tripId, Double latitude, Double longitude, String address,
+                                          Double speed, Double bearing) {
+        try {
+            ActiveTripContext context = resolveActiveTripContext(driverId, tripId);
 
             // Verify trip is active (trip_status = "IN_PROGRESS")
-            if (!"IN_PROGRESS".equals(trip.getTripStatus())) {
-                return new ApiResponse(false, "Cannot update location: Trip is not in progress. Current status: " + trip.getTripStatus(), null);
+            if (!"IN_PROGRESS".equals(context.tripStatus)) {
+                activeTripContexts.remove(tripId);
+                return new ApiResponse(false, "Cannot update location: Trip is not in progress. Current status: " + context.tripStatus, null);
             }
 
-            // Create and save VehicleLocation record
-            VehicleLocation vehicleLocation = VehicleLocation.builder()
-                    .trip(trip)
-                    .driver(driver)
-                    .vehicle(trip.getVehicle())
-                    .school(trip.getSchool())
+            LocalDateTime now = LocalDateTime.now();
+            String safeAddress = address != null ? address : "";
+
+            // Hand the fix to the write-behind pipeline; the row is inserted by the batch writer
+            LocationFixDto fix = LocationFixDto.builder()
+                    .tripId(context.tripId)
+                    .driverId(context.driverId)
+                    .vehicleId(context.vehicleId)
+                    .schoolId(context.schoolId)
                     .latitude(latitude)
                     .longitude(longitude)
-                    .address(address != null ? address : "")
-                    .speed(null) // Can be calculated or provided if available
-                    .bearing(null) // Can be calculated or provided if available
+                    .address(safeAddress)
+                    .speed(speed)
+                    .bearing(bearing)
+                    .recordedAt(now)
                     .build();
 
-            VehicleLocation savedLocation = vehicleLocationRepository.save(vehicleLocation);
-            System.out.println("📍 VehicleLocation saved with ID: " + savedLocation.getLocationId());
+            if (!locationIngestionService.enqueue(fix)) {
+                return new ApiResponse(false, "Location update dropped: ingestion queue is full", null);
+            }
 
-            // Send WebSocket notification with location data to all parents, school admin, and vehicle owner
-            WebSocketNotificationDto locationNotification = WebSocketNotificationDto.builder()
-                    .type("LOCATION_UPDATE")
-                    .title("Vehicle Location Update")
-                    .message(String.format("📍 Vehicle %s is currently at %.6f, %.6f. Trip: %s", 
-                            trip.getVehicle().getVehicleNumber(), latitude, longitude, trip.getTripName()))
-                    .priority("MEDIUM")
-                    .tripId(trip.getTripId())
-                    .schoolId(trip.getSchool().getSchoolId())
-                    .vehicleId(trip.getVehicle().getVehicleId())
-                    .timestamp(LocalDateTime.now())
-                    .data(Map.of(
-                            "locationId", savedLocation.getLocationId(),
-                            "driverId", driver.getDriverId(),
-                            "driverName", driver.getDriverName(),
-                            "latitude", latitude,
-                            "longitude", longitude,
-                            "address", address != null ? address : "",
-                            "tripId", trip.getTripId(),
-                            "tripName", trip.getTripName(),
-                            "vehicleId", trip.getVehicle().getVehicleId(),
-                            "vehicleNumber", trip.getVehicle().getVehicleNumber()
-                    ))
+            LivePositionDto position = LivePositionDto.builder()
+                    .vehicleId(context.vehicleId)
+                    .vehicleNumber(context.vehicleNumber)
+                    .driverId(context.driverId)
+                    .driverName(context.driverName)
+                    .tripId(context.tripId)
+                    .tripName(context.tripName)
+                    .schoolId(context.schoolId)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .speed(speed)
+                    .bearing(bearing)
+                    .address(safeAddress)
+                    .lastUpdated(now)
                     .build();
+            livePositionService.update(position);
 
-            // Send notification to school (which includes school admin, parents, and vehicle owner)
-            webSocketNotificationService.sendNotificationToSchool(trip.getSchool().getSchoolId(), locationNotification);
-            System.out.println("📱 Location update notification sent to school ID: " + trip.getSchool().getSchoolId());
+            // One message per vehicle tick on the vehicle topic (parents, school staff and owner subscribe there)
+            locationFanoutService.publish(position);
 
-            return new ApiResponse(true, "Location update saved successfully", Map.of(
-                    "locationId", savedLocation.getLocationId(),
+            return new ApiResponse(true, "Location update accepted", Map.of(
                     "latitude", latitude,
                     "longitude", longitude,
-                    "address", address != null ? address : "",
-                    "timestamp", LocalDateTime.now()
+                    "address", safeAddress,
+                    "timestamp", now
             ));
             
         } catch (Exception e) {
             System.out.println("❌ Error saving location update: " + e.getMessage());
-            e.printStackTrace();
             return new ApiResponse(false, "Failed to save location update: " + e.getMessage(), null);
         }
     }
+
+    @Override
+    public ApiResponse getLocationIngestionStats() {
+        Map<String, Object> stats = new java.util.LinkedHashMap<>(locationIngestionService.getIngestionStats());
+        stats.put("fanout", locationFanoutService.getFanoutStats());
+        return new ApiResponse(true, "Location ingestion stats retrieved successfully", stats);
+    }
+
+    @Override
+    public void invalidateTripContext(Integer tripId) {
+        if (tripId == null) {
+            return;
+        }
+        activeTripContexts.remove(tripId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    activeTripContexts.remove(tripId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the cached trip/driver/vehicle ids for a trip receiving GPS fixes,
+     * loading and validating them from the database only on a miss or after the TTL.
+     */
+    private ActiveTripContext resolveActiveTripContext(Integer driverId, Integer tripId) {
+        ActiveTripContext cached = activeTripContexts.get(tripId);
+        long nowMs = System.currentTimeMillis();
+        if (cached != null && cached.driverId.equals(driverId) && nowMs - cached.loadedAtMs < tripContextTtlMs
+                // Trips ended or deleted on another node never evict this node's entry, so re-check the status
+                && (!multiNode || tripRepository.existsByTripIdAndTripStatusAndIsActiveTrue(tripId, cached.tripStatus))) {
+            return cached;
+        }
+
+        // Validate driver
+        Driver driver = driverRepository.findById(driverId)
+                .orElseThrow(() -> new ResourceNotFoundException("Driver not found with ID: " + driverId));
+
+        // Validate trip and check if it's assigned to driver
+        Trip trip = tripRepository.findByDriverAndTripId(driver, tripId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip not found or not assigned to driver"));
+
+        ActiveTripContext context = new ActiveTripContext(
+                trip.getTripId(), trip.getTripName(), trip.getTripStatus(),
+                driver.getDriverId(), driver.getDriverName(),
+                trip.getVehicle().getVehicleId(), trip.getVehicle().getVehicleNumber(),
+                trip.getSchool().getSchoolId(), nowMs);
+        BoundedCache.put(activeTripContexts, tripId, context, tripContextMaxSize, tripContextTtlMs, entry -> entry.loadedAtMs);
+        return context;
+    }
+
+    /**
+     * Immutable snapshot of the trip fields needed on the GPS hot path.
+     */
+    private static final class ActiveTripContext {
+        private final Integer tripId;
+        private final String tripName;
+        private final String tripStatus;
+        private final Integer driverId;
+        private final String driverName;
+        private final Integer vehicleId;
+        private final String vehicleNumber;
+        private final Integer schoolId;
+        private final long loadedAtMs;
+
+        private ActiveTripContext(Integer tripId, String tripName, String tripStatus, Integer driverId, String driverName,
+                                  Integer vehicleId, String vehicleNumber, Integer schoolId, long loadedAtMs) {
+            this.tripId = tripId;
+            this.tripName = tripName;
+            this.tripStatus = tripStatus;
+            this.driverId = driverId;
+            this.driverName = driverName;
+            this.vehicleId = vehicleId;
+            this.vehicleNumber = vehicleNumber;
+            this.schoolId = schoolId;
+            this.loadedAtMs = loadedAtMs;
+        }
+    }
 }
 
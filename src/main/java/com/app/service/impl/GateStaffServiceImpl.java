@@ -1,5 +1,6 @@
 package com.app.service.impl;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -7,6 +8,8 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,7 +18,6 @@ import com.app.entity.School;
 import com.app.entity.SchoolUser;
 import com.app.entity.Student;
 import com.app.entity.Trip;
-import com.app.entity.TripStudent;
 import com.app.entity.User;
 import com.app.Enum.EventType;
 import com.app.exception.ResourceNotFoundException;
@@ -27,12 +29,22 @@ import com.app.repository.StudentRepository;
 import com.app.repository.TripRepository;
 import com.app.repository.TripStudentRepository;
 import com.app.repository.UserRepository;
+import com.app.repository.projection.DispatchLogSummaryProjection;
+import com.app.repository.projection.StudentGateStatusProjection;
+import com.app.repository.projection.StudentSummaryProjection;
+import com.app.repository.projection.TripStudentSummaryProjection;
+import com.app.repository.projection.TripSummaryProjection;
 import com.app.service.IGateStaffService;
 
 @Service
 @Transactional
 public class GateStaffServiceImpl implements IGateStaffService {
 
+    private static final int DEFAULT_DASHBOARD_PAGE_SIZE = 500;
+    private static final int MAX_DASHBOARD_PAGE_SIZE = 1000;
+    private static final int DEFAULT_RECENT_LOGS = 50;
+    private static final int MAX_RECENT_LOGS = 200;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -55,42 +67,48 @@ public class GateStaffServiceImpl implements IGateStaffService {
     private DispatchLogRepository dispatchLogRepository;
 
     @Override
-    public ApiResponse getGateStaffDashboard(Integer userId) {
+    @Transactional(readOnly = true)
+    public ApiResponse getGateStaffDashboard(Integer userId, Integer page, Integer size) {
         System.out.println("🔍 getGateStaffDashboard called with userId: " + userId);
         try {
             // Validate user exists (gate staff is a user with GATE_STAFF role)
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
-            System.out.println("🔍 User found: " + user.getUserName());
-
             // Get school from SchoolUser relationship
             SchoolUser schoolUser = schoolUserRepository.findByUser(user)
                     .orElseThrow(() -> new ResourceNotFoundException("User is not associated with any school"));
 
             School school = schoolUser.getSchool();
-            System.out.println("🔍 School: " + school.getSchoolName());
+            Integer schoolId = school.getSchoolId();
 
-            // Get ALL students from this school first
-            List<Student> allStudents = studentRepository.findAll();
-            List<Student> schoolStudents = new ArrayList<>();
-            
-            // Filter students by school
-            for (Student student : allStudents) {
-                if (student.getSchool() != null && student.getSchool().getSchoolId().equals(school.getSchoolId())) {
-                    schoolStudents.add(student);
-                }
-            }
-            
-            System.out.println("🔍 Found " + schoolStudents.size() + " students in school: " + school.getSchoolName());
+            // One page of this school's students (no photos, no entity graph)
+            int pageNo = page != null && page >= 0 ? page : 0;
+            int pageSize = size != null && size > 0 ? Math.min(size, MAX_DASHBOARD_PAGE_SIZE) : DEFAULT_DASHBOARD_PAGE_SIZE;
+            Page<StudentSummaryProjection> studentPage =
+                    studentRepository.findSummariesBySchoolId(schoolId, PageRequest.of(pageNo, pageSize));
+
+            // Today's latest gate entry/exit for every student of the school, in one grouped query
+            Map<Integer, StudentGateStatusProjection> gateStatus = loadTodayGateStatus(schoolId);
 
-            // Get trips for this school
-            List<Trip> trips = tripRepository.findBySchool(school);
-            System.out.println("🔍 Found " + trips.size() + " trips for school");
+            List<TripSummaryProjection> trips = tripRepository.findSummariesBySchoolId(schoolId);
+            Map<Integer, List<TripStudentSummaryProjection>> studentsByTripId = new HashMap<>();
+            for (TripStudentSummaryProjection row : tripStudentRepository.findSummariesBySchoolId(schoolId)) {
+                studentsByTripId.computeIfAbsent(row.getTripId(), k -> new ArrayList<>()).add(row);
+            }
 
-            int totalStudents = schoolStudents.size(); // Use all students count
+            int totalStudents = (int) studentPage.getTotalElements();
             int studentsWithGateEntry = 0;
             int studentsWithGateExit = 0;
+            for (StudentGateStatusProjection status : gateStatus.values()) {
+                if (status.getLastEntryTime() != null) {
+                    studentsWithGateEntry++;
+                }
+                if (status.getLastExitTime() != null) {
+                    studentsWithGateExit++;
+                }
+            }
+
             List<Map<String, Object>> studentsByTrip = new ArrayList<>();
 
             // Create a "All Students" section first
@@ -100,96 +118,31 @@ public class GateStaffServiceImpl implements IGateStaffService {
             allStudentsTrip.put("tripNumber", "ALL-001");
             allStudentsTrip.put("vehicleNumber", "N/A");
             allStudentsTrip.put("driverName", "N/A");
-            allStudentsTrip.put("studentCount", schoolStudents.size());
+            allStudentsTrip.put("studentCount", totalStudents);
             
             List<Map<String, Object>> allStudentsList = new ArrayList<>();
-            
-            for (Student student : schoolStudents) {
-                Map<String, Object> studentMap = new HashMap<>();
-                studentMap.put("studentId", student.getStudentId());
-                studentMap.put("firstName", student.getFirstName());
-                studentMap.put("middleName", student.getMiddleName());
-                studentMap.put("lastName", student.getLastName());
-                studentMap.put("grade", student.getClassMaster() != null ? student.getClassMaster().getClassName() : "N/A");
-                studentMap.put("section", student.getSectionMaster() != null ? student.getSectionMaster().getSectionName() : "N/A");
-                studentMap.put("tripId", 0);
-
-                // Check gate entry/exit status (simplified)
-                boolean hasEntry = false;
-                boolean hasExit = false;
-                
-                // Get all dispatch logs for this student
-                List<DispatchLog> studentLogs = dispatchLogRepository.findAll();
-                for (DispatchLog log : studentLogs) {
-                    if (log.getStudent() != null && log.getStudent().getStudentId().equals(student.getStudentId())) {
-                        if (log.getEventType() == EventType.GATE_ENTRY) {
-                            hasEntry = true;
-                        }
-                        if (log.getEventType() == EventType.GATE_EXIT) {
-                            hasExit = true;
-                        }
-                    }
-                }
-
-                studentMap.put("hasGateEntry", hasEntry);
-                studentMap.put("hasGateExit", hasExit);
-
-                if (hasEntry) {
-                    studentsWithGateEntry++;
-                }
-                if (hasExit) {
-                    studentsWithGateExit++;
-                }
-                allStudentsList.add(studentMap);
+            for (StudentSummaryProjection student : studentPage.getContent()) {
+                allStudentsList.add(mapStudentRow(student, 0, gateStatus.get(student.getStudentId())));
             }
-            
             allStudentsTrip.put("students", allStudentsList);
             studentsByTrip.add(allStudentsTrip);
 
             // Now add trip-specific students
-            for (Trip trip : trips) {
-                List<TripStudent> tripStudents = tripStudentRepository.findByTrip(trip);
+            for (TripSummaryProjection trip : trips) {
+                List<TripStudentSummaryProjection> tripStudents =
+                        studentsByTripId.getOrDefault(trip.getTripId(), new ArrayList<>());
 
                 Map<String, Object> tripMap = new HashMap<>();
                 tripMap.put("tripId", trip.getTripId());
                 tripMap.put("tripName", trip.getTripName());
                 tripMap.put("tripNumber", trip.getTripNumber());
-                tripMap.put("vehicleNumber", trip.getVehicle() != null ? trip.getVehicle().getVehicleNumber() : "N/A");
-                tripMap.put("driverName", trip.getDriver() != null ? trip.getDriver().getDriverName() : "N/A");
+                tripMap.put("vehicleNumber", trip.getVehicleNumber() != null ? trip.getVehicleNumber() : "N/A");
+                tripMap.put("driverName", trip.getDriverName() != null ? trip.getDriverName() : "N/A");
                 tripMap.put("studentCount", tripStudents.size());
 
                 List<Map<String, Object>> studentsInTrip = new ArrayList<>();
-                for (TripStudent ts : tripStudents) {
-                    Student student = ts.getStudent();
-                    Map<String, Object> studentMap = new HashMap<>();
-                    studentMap.put("studentId", student.getStudentId());
-                    studentMap.put("firstName", student.getFirstName());
-                    studentMap.put("middleName", student.getMiddleName());
-                    studentMap.put("lastName", student.getLastName());
-                    studentMap.put("grade", student.getClassMaster() != null ? student.getClassMaster().getClassName() : "N/A");
-                    studentMap.put("section", student.getSectionMaster() != null ? student.getSectionMaster().getSectionName() : "N/A");
-                    studentMap.put("tripId", trip.getTripId());
-
-                    // Check gate entry/exit status (simplified)
-                    boolean hasEntry = false;
-                    boolean hasExit = false;
-                    
-                    // Get all dispatch logs for this student
-                    List<DispatchLog> studentLogs = dispatchLogRepository.findAll();
-                    for (DispatchLog log : studentLogs) {
-                        if (log.getStudent() != null && log.getStudent().getStudentId().equals(student.getStudentId())) {
-                            if (log.getEventType() == EventType.GATE_ENTRY) {
-                                hasEntry = true;
-                            }
-                            if (log.getEventType() == EventType.GATE_EXIT) {
-                                hasExit = true;
-                            }
-                        }
-                    }
-
-                    studentMap.put("hasGateEntry", hasEntry);
-                    studentMap.put("hasGateExit", hasExit);
-                    studentsInTrip.add(studentMap);
+                for (TripStudentSummaryProjection student : tripStudents) {
+                    studentsInTrip.add(mapStudentRow(student, trip.getTripId(), gateStatus.get(student.getStudentId())));
                 }
                 // Don't double-count students - they're already counted in all students
                 tripMap.put("students", studentsInTrip);
@@ -201,13 +154,16 @@ public class GateStaffServiceImpl implements IGateStaffService {
             Map<String, Object> dashboard = new HashMap<>();
             dashboard.put("gateStaffId", userId);
             dashboard.put("gateStaffName", user.getUserName());
-            dashboard.put("schoolId", school.getSchoolId());
+            dashboard.put("schoolId", schoolId);
             dashboard.put("schoolName", school.getSchoolName());
             dashboard.put("totalStudents", totalStudents);
             dashboard.put("studentsWithGateEntry", studentsWithGateEntry);
             dashboard.put("studentsWithGateExit", studentsWithGateExit);
             dashboard.put("studentsByTrip", studentsByTrip);
-            dashboard.put("date", LocalDateTime.now().toLocalDate());
+            dashboard.put("page", pageNo);
+            dashboard.put("size", pageSize);
+            dashboard.put("totalPages", studentPage.getTotalPages());
+            dashboard.put("date", LocalDate.now());
 
             System.out.println("🔍 Gate staff dashboard data created successfully for user: " + user.getUserName());
             return new ApiResponse(true, "Gate staff dashboard data retrieved successfully", dashboard);
@@ -220,49 +176,26 @@ public class GateStaffServiceImpl implements IGateStaffService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ApiResponse getStudentsByTrip(Integer userId, Integer tripId) {
         System.out.println("🔍 getStudentsByTrip called with userId: " + userId + ", tripId: " + tripId);
         try {
             // Validate user exists (gate staff is a user with GATE_STAFF role)
-            User user = userRepository.findById(userId)
+            userRepository.findById(userId)
                     .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
             // Validate trip exists
             Trip trip = tripRepository.findById(tripId)
                     .orElseThrow(() -> new ResourceNotFoundException("Trip not found with ID: " + tripId));
 
-            // Get students assigned to this trip
-            List<TripStudent> tripStudents = tripStudentRepository.findByTrip(trip);
+            // Get students assigned to this trip and today's gate status of the trip's school
+            List<TripStudentSummaryProjection> tripStudents = tripStudentRepository.findSummariesByTripId(tripId);
+            Map<Integer, StudentGateStatusProjection> gateStatus = loadTodayGateStatus(trip.getSchool().getSchoolId());
 
             List<Map<String, Object>> students = new ArrayList<>();
-            for (TripStudent ts : tripStudents) {
-                Student student = ts.getStudent();
-                Map<String, Object> studentMap = new HashMap<>();
-                studentMap.put("studentId", student.getStudentId());
-                studentMap.put("firstName", student.getFirstName());
-                studentMap.put("middleName", student.getMiddleName());
-                studentMap.put("lastName", student.getLastName());
-                studentMap.put("grade", student.getClassMaster() != null ? student.getClassMaster().getClassName() : "N/A");
-                studentMap.put("section", student.getSectionMaster() != null ? student.getSectionMaster().getSectionName() : "N/A");
-
-                // Check gate entry/exit status (simplified)
-                boolean hasEntry = false;
-                boolean hasExit = false;
-                
-                List<DispatchLog> studentLogs = dispatchLogRepository.findAll();
-                for (DispatchLog log : studentLogs) {
-                    if (log.getStudent() != null && log.getStudent().getStudentId().equals(student.getStudentId())) {
-                        if (log.getEventType() == EventType.GATE_ENTRY) {
-                            hasEntry = true;
-                        }
-                        if (log.getEventType() == EventType.GATE_EXIT) {
-                            hasExit = true;
-                        }
-                    }
-                }
-
-                studentMap.put("hasGateEntry", hasEntry);
-                studentMap.put("hasGateExit", hasExit);
+            for (TripStudentSummaryProjection student : tripStudents) {
+                Map<String, Object> studentMap = mapStudentRow(student, null, gateStatus.get(student.getStudentId()));
+                studentMap.remove("tripId");
                 students.add(studentMap);
             }
 
@@ -276,6 +209,49 @@ public class GateStaffServiceImpl implements IGateStaffService {
         }
     }
 
+    /**
+     * Today's latest gate entry/exit per student of the school, keyed by student id.
+     */
+    private Map<Integer, StudentGateStatusProjection> loadTodayGateStatus(Integer schoolId) {
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+        List<StudentGateStatusProjection> rows = dispatchLogRepository.findGateStatusBySchool(
+                schoolId, EventType.GATE_ENTRY, EventType.GATE_EXIT, startOfDay, startOfDay.plusDays(1));
+
+        Map<Integer, StudentGateStatusProjection> byStudent = new HashMap<>();
+        for (StudentGateStatusProjection row : rows) {
+            byStudent.put(row.getStudentId(), row);
+        }
+        return byStudent;
+    }
+
+    private Map<String, Object> mapStudentRow(StudentSummaryProjection student, Integer tripId, StudentGateStatusProjection status) {
+        Map<String, Object> studentMap = new HashMap<>();
+        studentMap.put("studentId", student.getStudentId());
+        studentMap.put("firstName", student.getFirstName());
+        studentMap.put("middleName", student.getMiddleName());
+        studentMap.put("lastName", student.getLastName());
+        studentMap.put("grade", student.getClassName() != null ? student.getClassName() : "N/A");
+        studentMap.put("section", student.getSectionName() != null ? student.getSectionName() : "N/A");
+        studentMap.put("tripId", tripId);
+
+        LocalDateTime lastEntry = status != null ? status.getLastEntryTime() : null;
+        LocalDateTime lastExit = status != null ? status.getLastExitTime() : null;
+        studentMap.put("hasGateEntry", lastEntry != null);
+        studentMap.put("hasGateExit", lastExit != null);
+        studentMap.put("lastGateEntryTime", lastEntry);
+        studentMap.put("lastGateExitTime", lastExit);
+
+        // Latest gate event of the day decides whether the student is currently inside
+        String lastGateEvent = null;
+        if (lastEntry != null && (lastExit == null || lastEntry.isAfter(lastExit))) {
+            lastGateEvent = EventType.GATE_ENTRY.name();
+        } else if (lastExit != null) {
+            lastGateEvent = EventType.GATE_EXIT.name();
+        }
+        studentMap.put("lastGateEvent", lastGateEvent);
+        return studentMap;
+    }
+
     @Override
     public ApiResponse markGateEntry(Integer userId, Integer studentId, Integer tripId, String remarks) {
         System.out.println("🔍 markGateEntry called with userId: " + userId + ", studentId: " + studentId + ", tripId: " + tripId);
@@ -369,7 +345,8 @@ public class GateStaffServiceImpl implements IGateStaffService {
     }
 
     @Override
-    public ApiResponse getRecentDispatchLogs(Integer userId) {
+    @Transactional(readOnly = true)
+    public ApiResponse getRecentDispatchLogs(Integer userId, Integer limit) {
         System.out.println("🔍 getRecentDispatchLogs called with userId: " + userId);
         try {
             // Validate user exists (gate staff is a user with GATE_STAFF role)
@@ -382,23 +359,23 @@ public class GateStaffServiceImpl implements IGateStaffService {
 
             School school = schoolUser.getSchool();
 
-            // Get recent dispatch logs for this school (simplified)
-            List<DispatchLog> recentLogs = dispatchLogRepository.findAll();
+            // Newest of today's dispatch logs for this school only
+            int pageSize = limit != null && limit > 0 ? Math.min(limit, MAX_RECENT_LOGS) : DEFAULT_RECENT_LOGS;
+            List<DispatchLogSummaryProjection> recentLogs = dispatchLogRepository.findRecentSummariesBySchool(
+                    school.getSchoolId(), LocalDate.now().atStartOfDay(), PageRequest.of(0, pageSize));
 
             List<Map<String, Object>> logs = new ArrayList<>();
-            for (DispatchLog log : recentLogs) {
-                if (log.getSchool() != null && log.getSchool().getSchoolId().equals(school.getSchoolId())) {
-                    Map<String, Object> logMap = new HashMap<>();
-                    logMap.put("dispatchLogId", log.getDispatchLogId());
-                    logMap.put("eventType", log.getEventType().toString());
-                    logMap.put("studentName", log.getStudent() != null ? 
-                        log.getStudent().getFirstName() + " " + log.getStudent().getLastName() : "N/A");
-                    logMap.put("vehicleNumber", log.getVehicle() != null ? log.getVehicle().getVehicleNumber() : "N/A");
-                    logMap.put("tripName", log.getTrip() != null ? log.getTrip().getTripName() : "N/A");
-                    logMap.put("remarks", log.getRemarks());
-                    logMap.put("createdDate", log.getCreatedDate());
-                    logs.add(logMap);
-                }
+            for (DispatchLogSummaryProjection log : recentLogs) {
+                Map<String, Object> logMap = new HashMap<>();
+                logMap.put("dispatchLogId", log.getDispatchLogId());
+                logMap.put("eventType", log.getEventType() != null ? log.getEventType().toString() : null);
+                logMap.put("studentName", log.getStudentFirstName() != null ? 
+                    log.getStudentFirstName() + " " + log.getStudentLastName() : "N/A");
+                logMap.put("vehicleNumber", log.getVehicleNumber() != null ? log.getVehicleNumber() : "N/A");
+                logMap.put("tripName", log.getTripName() != null ? log.getTripName() : "N/A");
+                logMap.put("remarks", log.getRemarks());
+                logMap.put("createdDate", log.getCreatedDate());
+                logs.add(logMap);
             }
 
             System.out.println("🔍 Found " + logs.size() + " recent dispatch logs for school: " + school.getSchoolName());
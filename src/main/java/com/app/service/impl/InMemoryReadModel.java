@@ -0,0 +1,71 @@
+package com.app.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Lifecycle shared by the in-memory read models (per-school daily state, active trip
+ * index, school search index).
+ *
+ * A model is loaded from the database once the application is ready and then kept in
+ * step by this node's own committed writes; a failed load is retried on read, at most
+ * every RELOAD_RETRY_MS.
+ *
+ * Writes made on another node never reach this JVM, so a model is only authoritative on
+ * a single node. On a multi-node deployment (app.deployment.multi-node=true) it is
+ * neither loaded nor fed, and the subclass answers reads with its database queries
+ * instead.
+ */
+public abstract class InMemoryReadModel {
+
+    // Minimum time between load attempts after a failed load
+    protected static final long RELOAD_RETRY_MS = 30_000L;
+
+    @Value("${app.deployment.multi-node:false}")
+    private boolean multiNode;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    // Reload the model from the database; no-op when this node is not authoritative
+    public void rebuild() {
+        if (isAuthoritative()) {
+            load();
+        }
+    }
+
+    // Read the model's rows from the database and apply them
+    protected abstract void load();
+
+    // Whether every write passes through this node, so reads may be served from memory
+    protected boolean isAuthoritative() {
+        return !multiNode;
+    }
+
+    // Whether a model that has not loaded yet is due another attempt
+    protected boolean reloadDue(boolean loaded, long lastLoadAttemptMs) {
+        return isAuthoritative() && !loaded && System.currentTimeMillis() - lastLoadAttemptMs >= RELOAD_RETRY_MS;
+    }
+
+    // Only committed changes reach the model; outside a transaction they apply immediately
+    protected void afterCommit(Runnable change) {
+        if (!isAuthoritative()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
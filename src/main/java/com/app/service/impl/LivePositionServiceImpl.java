@@ -0,0 +1,183 @@
+package com.app.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.app.entity.Trip;
+import com.app.entity.VehicleLocation;
+import com.app.payload.response.LivePositionDto;
+import com.app.repository.TripRepository;
+import com.app.repository.VehicleLocationRepository;
+import com.app.service.ILivePositionService;
+
+/**
+ * In-memory "where is the bus now" registry.
+ *
+ * Each position is published once and indexed by vehicle, driver and trip id so
+ * every lookup is a single hash probe. Older fixes never overwrite newer ones,
+ * which keeps the store correct when updates from the two location endpoints race.
+ *
+ * On a multi-node deployment (app.deployment.multi-node=true) a driver's fixes may land
+ * on any node, so lookups also read the latest persisted fix and return the newer of
+ * the two.
+ */
+@Service
+public class LivePositionServiceImpl implements ILivePositionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LivePositionServiceImpl.class);
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private VehicleLocationRepository vehicleLocationRepository;
+
+    @Value("${app.deployment.multi-node:false}")
+    private boolean multiNode;
+
+    private final Map<Integer, LivePositionDto> byVehicle = new ConcurrentHashMap<>();
+    private final Map<Integer, LivePositionDto> byDriver = new ConcurrentHashMap<>();
+    private final Map<Integer, LivePositionDto> byTrip = new ConcurrentHashMap<>();
+
+    @Override
+    public void update(LivePositionDto position) {
+        if (position == null || position.getLatitude() == null || position.getLongitude() == null) {
+            return;
+        }
+        if (position.getVehicleId() != null) {
+            byVehicle.merge(position.getVehicleId(), position, LivePositionServiceImpl::newest);
+        }
+        if (position.getDriverId() != null) {
+            byDriver.merge(position.getDriverId(), position, LivePositionServiceImpl::newest);
+        }
+        if (position.getTripId() != null) {
+            byTrip.merge(position.getTripId(), position, LivePositionServiceImpl::newest);
+        }
+    }
+
+    @Override
+    public LivePositionDto getByVehicle(Integer vehicleId) {
+        if (vehicleId == null) {
+            return null;
+        }
+        if (multiNode) {
+            return newestOf(byVehicle.get(vehicleId), vehicleLocationRepository.findTopByVehicle_VehicleIdOrderByCreatedDateDesc(vehicleId));
+        }
+        return byVehicle.get(vehicleId);
+    }
+
+    @Override
+    public LivePositionDto getByDriver(Integer driverId) {
+        if (driverId == null) {
+            return null;
+        }
+        if (multiNode) {
+            return newestOf(byDriver.get(driverId), vehicleLocationRepository.findTopByDriver_DriverIdOrderByCreatedDateDesc(driverId));
+        }
+        return byDriver.get(driverId);
+    }
+
+    @Override
+    public LivePositionDto getByTrip(Integer tripId) {
+        if (tripId == null) {
+            return null;
+        }
+        if (multiNode) {
+            return newestOf(byTrip.get(tripId), vehicleLocationRepository.findTopByTrip_TripIdOrderByCreatedDateDesc(tripId));
+        }
+        return byTrip.get(tripId);
+    }
+
+    @Override
+    public void removeTrip(Integer tripId) {
+        if (tripId != null) {
+            byTrip.remove(tripId);
+        }
+    }
+
+    @Override
+    public int size() {
+        return byVehicle.size();
+    }
+
+    /**
+     * Warm the store from the last persisted fix of every trip still in progress,
+     * so live maps have a position right after a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmLoad() {
+        try {
+            List<Trip> inProgressTrips = tripRepository.findByTripStatus("IN_PROGRESS");
+            int loaded = 0;
+            for (Trip trip : inProgressTrips) {
+                VehicleLocation location = vehicleLocationRepository.findTopByTripOrderByCreatedDateDesc(trip).orElse(null);
+                if (location == null) {
+                    continue;
+                }
+                update(LivePositionDto.builder()
+                        .vehicleId(trip.getVehicle().getVehicleId())
+                        .vehicleNumber(trip.getVehicle().getVehicleNumber())
+                        .driverId(location.getDriver() != null ? location.getDriver().getDriverId() : null)
+                        .driverName(location.getDriver() != null ? location.getDriver().getDriverName() : null)
+                        .tripId(trip.getTripId())
+                        .tripName(trip.getTripName())
+                        .schoolId(trip.getSchool().getSchoolId())
+                        .latitude(location.getLatitude())
+                        .longitude(location.getLongitude())
+                        .speed(location.getSpeed())
+                        .bearing(location.getBearing())
+                        .address(location.getAddress())
+                        .lastUpdated(location.getCreatedDate())
+                        .build());
+                loaded++;
+            }
+            logger.info("Live position store warm-loaded {} positions from {} in-progress trips", loaded, inProgressTrips.size());
+        } catch (Exception e) {
+            logger.error("Error warm-loading live position store: {}", e.getMessage());
+        }
+    }
+
+    // The local fix may still be waiting in the write-behind queue, so it can be the newer one
+    private static LivePositionDto newestOf(LivePositionDto local, Optional<VehicleLocation> persisted) {
+        if (persisted.isEmpty()) {
+            return local;
+        }
+        LivePositionDto stored = toPosition(persisted.get());
+        return local != null ? newest(local, stored) : stored;
+    }
+
+    private static LivePositionDto toPosition(VehicleLocation location) {
+        return LivePositionDto.builder()
+                .vehicleId(location.getVehicle() != null ? location.getVehicle().getVehicleId() : null)
+                .vehicleNumber(location.getVehicle() != null ? location.getVehicle().getVehicleNumber() : null)
+                .driverId(location.getDriver() != null ? location.getDriver().getDriverId() : null)
+                .driverName(location.getDriver() != null ? location.getDriver().getDriverName() : null)
+                .tripId(location.getTrip() != null ? location.getTrip().getTripId() : null)
+                .tripName(location.getTrip() != null ? location.getTrip().getTripName() : null)
+                .schoolId(location.getSchool() != null ? location.getSchool().getSchoolId() : null)
+                .latitude(location.getLatitude())
+                .longitude(location.getLongitude())
+                .speed(location.getSpeed())
+                .bearing(location.getBearing())
+                .address(location.getAddress())
+                .lastUpdated(location.getCreatedDate())
+                .build();
+    }
+
+    private static LivePositionDto newest(LivePositionDto current, LivePositionDto candidate) {
+        if (current.getLastUpdated() == null || candidate.getLastUpdated() == null) {
+            return candidate;
+        }
+        return candidate.getLastUpdated().isBefore(current.getLastUpdated()) ? current : candidate;
+    }
+}
@@ -0,0 +1,23 @@
+package com.app.service.impl;
+
+import java.util.function.Consumer;
+
+import com.app.service.IReferenceDataInvalidationBus;
+
+/**
+ * Single-node invalidation bus: the publishing node has already evicted its own cache,
+ * so there is nobody else to tell. Registered by ReferenceDataInvalidationBusConfig
+ * when no broker-backed IReferenceDataInvalidationBus is present.
+ */
+public class LocalReferenceDataInvalidationBus implements IReferenceDataInvalidationBus {
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        // No other nodes to notify
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> listener) {
+        // Nothing is ever received from other nodes
+    }
+}
@@ -0,0 +1,246 @@
+package com.app.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import com.app.entity.User;
+import com.app.payload.response.LivePositionDto;
+import com.app.payload.response.WebSocketNotificationDto;
+import com.app.repository.SchoolVehicleRepository;
+import com.app.repository.TripStudentRepository;
+import com.app.repository.UserRepository;
+import com.app.service.ILocationFanoutService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Location fan-out engine.
+ *
+ * Each accepted GPS tick becomes exactly one pre-serialized message on
+ * /topic/vehicle/{vehicleId}/location. Parents of students on the vehicle, the
+ * school's staff and the vehicle owner subscribe there (see
+ * LocationSubscriptionInterceptor). Ticks arriving faster than the minimum interval,
+ * or that moved less than the minimum distance, are suppressed until the heartbeat
+ * interval forces a refresh.
+ */
+@Service
+public class LocationFanoutServiceImpl implements ILocationFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationFanoutServiceImpl.class);
+
+    public static final String VEHICLE_TOPIC_PREFIX = "/topic/vehicle/";
+    public static final String VEHICLE_TOPIC_SUFFIX = "/location";
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TripStudentRepository tripStudentRepository;
+
+    @Autowired
+    private SchoolVehicleRepository schoolVehicleRepository;
+
+    @Value("${app.location.fanout.min-interval-ms:2000}")
+    private long minIntervalMs;
+
+    @Value("${app.location.fanout.min-distance-meters:10}")
+    private double minDistanceMeters;
+
+    @Value("${app.location.fanout.heartbeat-ms:30000}")
+    private long heartbeatMs;
+
+    // Mirror each tick to /topic/school/{schoolId} for clients that have not moved to vehicle topics yet.
+    // That topic is not authorized per vehicle, so it is off unless explicitly enabled for the migration window
+    @Value("${app.location.fanout.school-topic-enabled:false}")
+    private boolean schoolTopicEnabled;
+
+    // vehicleId -> last tick actually published
+    private final Map<Integer, PublishedTick> lastPublished = new ConcurrentHashMap<>();
+
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder suppressedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    public static String vehicleTopic(Integer vehicleId) {
+        return VEHICLE_TOPIC_PREFIX + vehicleId + VEHICLE_TOPIC_SUFFIX;
+    }
+
+    // Vehicle id of a /topic/vehicle/{vehicleId}/location destination, null for any other destination
+    public static Integer parseVehicleTopic(String destination) {
+        if (destination == null
+                || !destination.startsWith(VEHICLE_TOPIC_PREFIX)
+                || !destination.endsWith(VEHICLE_TOPIC_SUFFIX)) {
+            return null;
+        }
+        String id = destination.substring(VEHICLE_TOPIC_PREFIX.length(), destination.length() - VEHICLE_TOPIC_SUFFIX.length());
+        try {
+            return Integer.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean publish(LivePositionDto position) {
+        if (position == null || position.getVehicleId() == null
+                || position.getLatitude() == null || position.getLongitude() == null) {
+            return false;
+        }
+
+        if (!shouldPublish(position)) {
+            suppressedCount.increment();
+            return false;
+        }
+
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(buildNotification(position));
+
+            messagingTemplate.send(vehicleTopic(position.getVehicleId()), jsonMessage(payload));
+            if (schoolTopicEnabled && position.getSchoolId() != null) {
+                messagingTemplate.send("/topic/school/" + position.getSchoolId(), jsonMessage(payload));
+            }
+
+            publishedCount.increment();
+            return true;
+        } catch (Exception e) {
+            failedCount.increment();
+            logger.error("Error publishing location for vehicle {}: {}", position.getVehicleId(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean canSubscribe(String userName, Integer vehicleId) {
+        if (userName == null || vehicleId == null) {
+            return false;
+        }
+        User user = userRepository.findByUserName(userName).orElse(null);
+        if (user == null) {
+            return false;
+        }
+        Integer userId = user.getUId();
+        return schoolVehicleRepository.existsByVehicle_VehicleIdAndOwner_User_uId(vehicleId, userId)
+                || schoolVehicleRepository.existsSchoolStaffForVehicle(vehicleId, userId)
+                || tripStudentRepository.existsParentOnVehicle(vehicleId, userId);
+    }
+
+    @Override
+    public Map<String, Object> getFanoutStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("published", publishedCount.sum());
+        stats.put("suppressed", suppressedCount.sum());
+        stats.put("failed", failedCount.sum());
+        stats.put("trackedVehicles", lastPublished.size());
+        stats.put("minIntervalMs", minIntervalMs);
+        stats.put("minDistanceMeters", minDistanceMeters);
+        stats.put("heartbeatMs", heartbeatMs);
+        return stats;
+    }
+
+    /**
+     * Atomically decides whether this tick is worth sending and, if so, records it
+     * as the vehicle's last published tick.
+     */
+    private boolean shouldPublish(LivePositionDto position) {
+        long nowMs = System.currentTimeMillis();
+        double lat = position.getLatitude();
+        double lon = position.getLongitude();
+        boolean[] accepted = new boolean[1];
+
+        lastPublished.compute(position.getVehicleId(), (vehicleId, previous) -> {
+            if (previous != null) {
+                long elapsed = nowMs - previous.timeMs;
+                if (elapsed < minIntervalMs) {
+                    return previous;
+                }
+                if (elapsed < heartbeatMs && distanceMeters(previous.latitude, previous.longitude, lat, lon) < minDistanceMeters) {
+                    return previous;
+                }
+            }
+            accepted[0] = true;
+            return new PublishedTick(lat, lon, nowMs);
+        });
+        return accepted[0];
+    }
+
+    private WebSocketNotificationDto buildNotification(LivePositionDto position) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("driverId", position.getDriverId());
+        data.put("driverName", position.getDriverName());
+        data.put("latitude", position.getLatitude());
+        data.put("longitude", position.getLongitude());
+        data.put("speed", position.getSpeed());
+        data.put("bearing", position.getBearing());
+        data.put("address", position.getAddress());
+        data.put("tripId", position.getTripId());
+        data.put("tripName", position.getTripName());
+        data.put("vehicleId", position.getVehicleId());
+        data.put("vehicleNumber", position.getVehicleNumber());
+
+        return WebSocketNotificationDto.builder()
+                .id(UUID.randomUUID().toString())
+                .type("LOCATION_UPDATE")
+                .title("Vehicle Location Update")
+                .message(String.format("📍 Vehicle %s is currently at %.6f, %.6f. Trip: %s",
+                        position.getVehicleNumber(), position.getLatitude(), position.getLongitude(), position.getTripName()))
+                .priority("MEDIUM")
+                .schoolId(position.getSchoolId())
+                .tripId(position.getTripId())
+                .vehicleId(position.getVehicleId())
+                .timestamp(position.getLastUpdated())
+                .isRead(false)
+                .entityType("VEHICLE")
+                .action("UPDATE")
+                .data(data)
+                .build();
+    }
+
+    private Message<byte[]> jsonMessage(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    private static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+    }
+
+    private static final class PublishedTick {
+        private final double latitude;
+        private final double longitude;
+        private final long timeMs;
+
+        private PublishedTick(double latitude, double longitude, long timeMs) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.timeMs = timeMs;
+        }
+    }
+}
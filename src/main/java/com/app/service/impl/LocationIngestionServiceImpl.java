@@ -0,0 +1,254 @@
+package com.app.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.app.payload.request.LocationFixDto;
+import com.app.service.ILocationIngestionService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind pipeline for GPS fixes.
+ *
+ * Fixes are buffered in a bounded queue and a single background writer turns them
+ * into multi-row INSERTs on vehicle_locations, flushing either when a batch is full
+ * or when the flush interval elapses. When the queue is full the oldest fix is shed
+ * so the newest position always wins. A batch rejected for a constraint violation is
+ * retried in halves, so only the offending fixes are dropped.
+ */
+@Service
+public class LocationIngestionServiceImpl implements ILocationIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationIngestionServiceImpl.class);
+
+    private static final String INSERT_PREFIX = "INSERT INTO vehicle_locations "
+            + "(trip_id, driver_id, vehicle_id, school_id, latitude, longitude, address, speed, bearing, created_date, updated_date) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int ADDRESS_MAX_LENGTH = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.location.ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.location.ingestion.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.location.ingestion.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${app.location.ingestion.offer-timeout-ms:20}")
+    private long offerTimeoutMs;
+
+    @Value("${app.location.ingestion.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<LocationFixDto> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder overflowCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder splitCount = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writerThread = new Thread(this::runWriter, "location-ingestion-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        logger.info("Location ingestion started - capacity: {}, batch size: {}, flush interval: {} ms",
+                queueCapacity, batchSize, flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything the writer did not get to before the timeout is written here
+        int remaining = flush();
+        logger.info("Location ingestion stopped - flushed {} remaining fixes, total written: {}",
+                remaining, writtenCount.sum());
+    }
+
+    @Override
+    public boolean enqueue(LocationFixDto fix) {
+        if (queue.offer(fix)) {
+            acceptedCount.increment();
+            return true;
+        }
+
+        // Queue is full: give the writer a short window to catch up before shedding load
+        overflowCount.increment();
+        try {
+            if (queue.offer(fix, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                acceptedCount.increment();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Still full: drop the oldest fix, a newer position makes it redundant anyway
+        if (queue.poll() != null) {
+            droppedCount.increment();
+        }
+        if (queue.offer(fix)) {
+            acceptedCount.increment();
+            return true;
+        }
+
+        droppedCount.increment();
+        logger.warn("Location ingestion queue full, dropped fix for trip {}", fix.getTripId());
+        return false;
+    }
+
+    @Override
+    public int flush() {
+        int total = 0;
+        List<LocationFixDto> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            total += batch.size();
+            writeBatch(batch);
+            batch.clear();
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Object> getIngestionStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("accepted", acceptedCount.sum());
+        stats.put("overflows", overflowCount.sum());
+        stats.put("dropped", droppedCount.sum());
+        stats.put("written", writtenCount.sum());
+        stats.put("failed", failedCount.sum());
+        stats.put("batches", batchCount.sum());
+        stats.put("splitBatches", splitCount.sum());
+        stats.put("batchSize", batchSize);
+        stats.put("flushIntervalMs", flushIntervalMs);
+        stats.put("running", running);
+        return stats;
+    }
+
+    private void runWriter() {
+        List<LocationFixDto> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.currentTimeMillis();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                LocationFixDto fix = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (fix != null) {
+                    batch.add(fix);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                long now = System.currentTimeMillis();
+                if (batch.size() >= batchSize || (!batch.isEmpty() && now - lastFlush >= flushIntervalMs)) {
+                    writeBatch(batch);
+                    batch.clear();
+                    lastFlush = now;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Unexpected error in location ingestion writer: {}", e.getMessage(), e);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<LocationFixDto> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(batch.size() * 11);
+
+        for (int i = 0; i < batch.size(); i++) {
+            LocationFixDto fix = batch.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+
+            LocalDateTime recordedAt = fix.getRecordedAt() != null ? fix.getRecordedAt() : LocalDateTime.now();
+            Timestamp ts = Timestamp.valueOf(recordedAt);
+            args.add(fix.getTripId());
+            args.add(fix.getDriverId());
+            args.add(fix.getVehicleId());
+            args.add(fix.getSchoolId());
+            args.add(fix.getLatitude());
+            args.add(fix.getLongitude());
+            args.add(truncateAddress(fix.getAddress()));
+            args.add(fix.getSpeed());
+            args.add(fix.getBearing());
+            args.add(ts);
+            args.add(ts);
+        }
+
+        try {
+            jdbcTemplate.update(sql.toString(), args.toArray());
+            writtenCount.add(batch.size());
+            batchCount.increment();
+            logger.debug("Flushed {} location fixes to vehicle_locations", batch.size());
+        } catch (DataIntegrityViolationException e) {
+            // One bad row (e.g. its trip was deleted) fails the whole INSERT: retry in halves so only that row is lost
+            if (batch.size() == 1) {
+                failedCount.increment();
+                logger.warn("Dropped location fix for trip {}: {}", batch.get(0).getTripId(), e.getMessage());
+                return;
+            }
+            splitCount.increment();
+            int half = batch.size() / 2;
+            writeBatch(batch.subList(0, half));
+            writeBatch(batch.subList(half, batch.size()));
+        } catch (Exception e) {
+            failedCount.add(batch.size());
+            logger.error("Failed to write batch of {} location fixes: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private String truncateAddress(String address) {
+        if (address == null) {
+            return "";
+        }
+        return address.length() > ADDRESS_MAX_LENGTH ? address.substring(0, ADDRESS_MAX_LENGTH) : address;
+    }
+}
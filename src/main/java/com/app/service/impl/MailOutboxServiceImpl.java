@@ -0,0 +1,412 @@
+package com.app.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.Enum.MailStatus;
+import com.app.entity.MailOutbox;
+import com.app.repository.MailOutboxRepository;
+import com.app.service.IMailOutboxService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Transactional mail outbox.
+ *
+ * Callers only insert a mail_outbox row, inside their own transaction, so a slow or
+ * unreachable SMTP server never blocks a request or holds a database transaction open.
+ * A background dispatcher claims due rows, throttles them to the configured rate and
+ * hands them to a small worker pool; each worker sends its share over a single SMTP
+ * connection. Failed messages are retried with exponential backoff until the attempt
+ * limit is reached, after which they stay FAILED for inspection.
+ */
+@Service
+public class MailOutboxServiceImpl implements IMailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailOutboxServiceImpl.class);
+
+    private static final int LAST_ERROR_MAX_LENGTH = 500;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.mail.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mail.outbox.poll-interval-ms:5000}")
+    private long pollIntervalMs;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.workers:2}")
+    private int workers;
+
+    // 0 disables throttling
+    @Value("${app.mail.outbox.max-per-second:10}")
+    private double maxPerSecond;
+
+    @Value("${app.mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.backoff-initial-ms:30000}")
+    private long backoffInitialMs;
+
+    @Value("${app.mail.outbox.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
+    // A SENDING row older than this belonged to a dispatcher that died mid-send
+    @Value("${app.mail.outbox.stale-after-ms:300000}")
+    private long staleAfterMs;
+
+    private ScheduledExecutorService dispatcher;
+    private ThreadPoolExecutor senderPool;
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+
+    private long nextPermitNanos;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder deadCount = new LongAdder();
+    private final LongAdder connectionCount = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        senderPool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 2), runnable -> {
+                    Thread thread = new Thread(runnable, "mail-outbox-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        if (enabled) {
+            dispatcher.scheduleWithFixedDelay(this::dispatchSafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        logger.info("Mail outbox started - enabled: {}, workers: {}, batch size: {}, max per second: {}",
+                enabled, workers, batchSize, maxPerSecond);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        senderPool.shutdownNow();
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(String to, String subject, String body, boolean html, String from) {
+        mailOutboxRepository.save(MailOutbox.builder()
+                .recipient(to)
+                .fromAddress(from)
+                .subject(subject)
+                .body(body)
+                .isHtml(html)
+                .status(MailStatus.PENDING)
+                .attempts(0)
+                .build());
+        enqueuedCount.increment();
+
+        // Deliver as soon as the row is visible instead of waiting for the next poll
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    @Override
+    public int dispatchNow() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status ->
+                mailOutboxRepository.releaseStale(now.minusNanos(staleAfterMs * 1_000_000L)));
+
+        int handedOver = 0;
+        while (true) {
+            List<Long> dueIds = mailOutboxRepository.findDueIds(MailStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (dueIds.isEmpty()) {
+                break;
+            }
+
+            List<Long> claimed = transactionTemplate.execute(status -> {
+                LocalDateTime claimedAt = LocalDateTime.now();
+                List<Long> ids = new ArrayList<>(dueIds.size());
+                for (Long id : dueIds) {
+                    if (mailOutboxRepository.claim(id, claimedAt) == 1) {
+                        ids.add(id);
+                    }
+                }
+                return ids;
+            });
+            if (claimed == null || claimed.isEmpty()) {
+                break;
+            }
+
+            List<MailOutbox> messages = mailOutboxRepository.findAllById(claimed);
+            throttle(messages.size());
+            Map<Long, String> failures = sendInParallel(messages);
+            recordOutcome(messages, failures);
+            handedOver += messages.size();
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+
+            if (dueIds.size() < batchSize) {
+                break;
+            }
+        }
+        return handedOver;
+    }
+
+    @Override
+    public Map<String, Object> getOutboxStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", mailOutboxRepository.countByStatus(MailStatus.PENDING));
+        stats.put("sending", mailOutboxRepository.countByStatus(MailStatus.SENDING));
+        stats.put("failed", mailOutboxRepository.countByStatus(MailStatus.FAILED));
+        stats.put("enqueued", enqueuedCount.sum());
+        stats.put("sent", sentCount.sum());
+        stats.put("retries", retryCount.sum());
+        stats.put("dead", deadCount.sum());
+        stats.put("smtpConnections", connectionCount.sum());
+        stats.put("workers", workers);
+        stats.put("maxPerSecond", maxPerSecond);
+        return stats;
+    }
+
+    private void wakeUp() {
+        if (enabled && wakeupPending.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                wakeupPending.set(false);
+                dispatchSafely();
+            });
+        }
+    }
+
+    private void dispatchSafely() {
+        try {
+            dispatchNow();
+        } catch (Exception e) {
+            logger.error("Mail outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Splits the batch across the sender pool; each part goes over one SMTP connection.
+     * Returns the ids that could not be delivered with their error.
+     */
+    private Map<Long, String> sendInParallel(List<MailOutbox> messages) {
+        int parts = Math.max(1, Math.min(workers, messages.size()));
+        List<List<MailOutbox>> groups = new ArrayList<>(parts);
+        List<Future<Map<Long, String>>> futures = new ArrayList<>(parts);
+        for (int part = 0; part < parts; part++) {
+            List<MailOutbox> group = new ArrayList<>();
+            for (int i = part; i < messages.size(); i += parts) {
+                group.add(messages.get(i));
+            }
+            Callable<Map<Long, String>> task = () -> sendGroup(group);
+            groups.add(group);
+            futures.add(senderPool.submit(task));
+        }
+
+        // A group whose outcome is unknown counts as failed, so it is retried rather than marked SENT
+        Map<Long, String> failures = new LinkedHashMap<>();
+        for (int part = 0; part < parts; part++) {
+            Future<Map<Long, String>> future = futures.get(part);
+            try {
+                if (Thread.currentThread().isInterrupted()) {
+                    future.cancel(true);
+                    failGroup(groups.get(part), "Delivery interrupted by shutdown", failures);
+                    continue;
+                }
+                failures.putAll(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                failGroup(groups.get(part), "Delivery interrupted by shutdown", failures);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.error("Mail sender task failed: {}", cause.getMessage());
+                failGroup(groups.get(part), cause.getMessage(), failures);
+            }
+        }
+        return failures;
+    }
+
+    private static void failGroup(List<MailOutbox> group, String error, Map<Long, String> failures) {
+        for (MailOutbox mail : group) {
+            failures.put(mail.getMailOutboxId(), error);
+        }
+    }
+
+    private Map<Long, String> sendGroup(List<MailOutbox> group) {
+        Map<Long, String> failures = new LinkedHashMap<>();
+        Map<MimeMessage, Long> idsByMessage = new IdentityHashMap<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>(group.size());
+
+        for (MailOutbox mail : group) {
+            try {
+                MimeMessage msg = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(msg, true, "UTF-8");
+                helper.setTo(mail.getRecipient());
+                helper.setSubject(mail.getSubject());
+                helper.setText(mail.getBody(), Boolean.TRUE.equals(mail.getIsHtml()));
+                if (mail.getFromAddress() != null) {
+                    helper.setFrom(mail.getFromAddress());
+                }
+                idsByMessage.put(msg, mail.getMailOutboxId());
+                mimeMessages.add(msg);
+            } catch (Exception e) {
+                failures.put(mail.getMailOutboxId(), e.getMessage());
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            // JavaMailSender sends all messages of one call over a single connection
+            connectionCount.increment();
+            mailSender.send(mimeMessages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                idsByMessage.values().forEach(id -> failures.put(id, e.getMessage()));
+            } else {
+                e.getFailedMessages().forEach((message, error) -> {
+                    Long id = idsByMessage.get(message);
+                    if (id != null) {
+                        failures.put(id, error.getMessage());
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            // MailException and anything else the sender throws, e.g. a bad header surfacing only at send time
+            idsByMessage.values().forEach(id -> failures.put(id, e.getMessage()));
+        }
+        return failures;
+    }
+
+    private void recordOutcome(List<MailOutbox> messages, Map<Long, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        for (MailOutbox mail : messages) {
+            mail.setClaimedAt(null);
+            if (!failures.containsKey(mail.getMailOutboxId())) {
+                mail.setStatus(MailStatus.SENT);
+                mail.setSentAt(now);
+                mail.setLastError(null);
+                sentCount.increment();
+                continue;
+            }
+
+            int attempts = mail.getAttempts() + 1;
+            mail.setAttempts(attempts);
+            mail.setLastError(truncate(failures.get(mail.getMailOutboxId())));
+            if (attempts >= maxAttempts) {
+                mail.setStatus(MailStatus.FAILED);
+                deadCount.increment();
+                logger.error("Giving up on mail {} to {} after {} attempts: {}",
+                        mail.getMailOutboxId(), maskAddress(mail.getRecipient()), attempts, mail.getLastError());
+            } else {
+                // 30s, 1m, 2m, 4m ... capped at backoff-max-ms
+                long delayMs = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 20));
+                mail.setStatus(MailStatus.PENDING);
+                mail.setNextAttemptAt(now.plusNanos(delayMs * 1_000_000L));
+                retryCount.increment();
+                logger.warn("Mail {} to {} failed (attempt {}), retrying in {} ms: {}",
+                        mail.getMailOutboxId(), maskAddress(mail.getRecipient()), attempts, delayMs, mail.getLastError());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> mailOutboxRepository.saveAll(messages));
+    }
+
+    /**
+     * Blocks until the given number of sends fits in the configured rate.
+     */
+    private void throttle(int permits) {
+        if (maxPerSecond <= 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextPermitNanos);
+            nextPermitNanos = start + (long) (permits * 1_000_000_000L / maxPerSecond);
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // For logs: keeps the first character of the local part and the domain, e.g. j***@example.com
+    public static String maskAddress(String address) {
+        if (address == null) {
+            return null;
+        }
+        int at = address.indexOf('@');
+        if (at <= 0) {
+            return "***";
+        }
+        return address.charAt(0) + "***" + address.substring(at);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > LAST_ERROR_MAX_LENGTH ? error.substring(0, LAST_ERROR_MAX_LENGTH) : error;
+    }
+}
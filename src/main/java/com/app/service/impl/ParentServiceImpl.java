@@ -11,6 +11,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,24 +24,31 @@ import com.app.entity.StudentParent;
 import com.app.entity.Trip;
 import com.app.entity.User;
 import com.app.exception.ResourceNotFoundException;
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.StudentParentRequestDto;
 import com.app.payload.request.UserRequestDto;
+import com.app.payload.response.ActiveTripDto;
 import com.app.payload.response.ApiResponse;
 import com.app.payload.response.AttendanceHistoryResponseDto;
+import com.app.payload.response.CursorPageDto;
+import com.app.payload.response.LivePositionDto;
 import com.app.payload.response.MonthlyReportResponseDto;
 import com.app.payload.response.ParentDashboardResponseDto;
 import com.app.payload.response.ParentNotificationResponseDto;
 import com.app.payload.response.StudentResponseDto;
-import com.app.entity.TripStudent;
+import com.app.entity.Vehicle;
 import com.app.repository.DispatchLogRepository;
 import com.app.repository.NotificationRepository;
 import com.app.repository.StudentAttendanceRepository;
 import com.app.repository.StudentParentRepository;
 import com.app.repository.StudentRepository;
 import com.app.repository.TripRepository;
-import com.app.repository.TripStudentRepository;
 import com.app.repository.UserRepository;
+import com.app.repository.projection.ParentNotificationFeedProjection;
+import com.app.service.IActiveTripIndexService;
+import com.app.service.ILivePositionService;
 import com.app.service.IParentService;
+import com.app.service.IPhotoStorageService;
 
 @Service
 @Transactional
@@ -61,9 +69,13 @@ public class ParentServiceImpl implements IParentService {
 	@Autowired
     private TripRepository tripRepository;
 	@Autowired
-    private TripStudentRepository tripStudentRepository;
-	@Autowired
 	private PasswordEncoder passwordEncoder;
+	@Autowired
+	private IPhotoStorageService photoStorageService;
+	@Autowired
+	private IActiveTripIndexService activeTripIndexService;
+	@Autowired
+	private ILivePositionService livePositionService;
 
     @Override
     public ApiResponse createParent(UserRequestDto request) {
@@ -193,7 +205,7 @@ public class ParentServiceImpl implements IParentService {
                 .sectionId(student.getSectionMaster() != null ? student.getSectionMaster().getSectionId() : null)
                 .sectionName(student.getSectionMaster() != null ? student.getSectionMaster().getSectionName() : null)
                 .gender(student.getGender())
-                .studentPhoto(student.getStudentPhoto())
+                .studentPhoto(photoStorageService.toUrl(student.getStudentPhotoRef()))
                 .motherName(student.getMotherName())
                 .fatherName(student.getFatherName())
                 .primaryContactNumber(student.getPrimaryContactNumber())
@@ -243,10 +255,7 @@ public class ParentServiceImpl implements IParentService {
 
             // Get recent notifications (last 5) - optimized query
             List<Notification> recentNotifications = notificationRepository
-                    .findByDispatchLog_Student_StudentIdOrderByCreatedDateDesc(student.getStudentId())
-                    .stream()
-                    .limit(5)
-                    .collect(Collectors.toList());
+                    .findByDispatchLog_Student_StudentIdOrderByCreatedDateDesc(student.getStudentId(), PageRequest.of(0, 5));
 
             // Get recent trips (last 5)
             List<Trip> recentTrips = tripRepository.findBySchool(student.getSchool())
@@ -262,7 +271,7 @@ public class ParentServiceImpl implements IParentService {
                     .contactNumber(parentUser.getContactNumber())
                     .studentId(student.getStudentId())
                     .studentName(student.getFirstName() + " " + student.getLastName())
-                    .studentPhoto(student.getStudentPhoto())
+                    .studentPhoto(photoStorageService.toUrl(student.getStudentPhotoRef()))
                     .className(student.getClassMaster() != null ? student.getClassMaster().getClassName() : "N/A")
                     .sectionName(student.getSectionMaster() != null ? student.getSectionMaster().getSectionName() : "N/A")
                     .schoolName(student.getSchool().getSchoolName())
@@ -309,21 +318,9 @@ public class ParentServiceImpl implements IParentService {
                 return new ApiResponse(true, "No students linked to this parent", new ArrayList<>());
             }
 
-            // Get all notifications for ALL students - aggregate them
-            List<Notification> allNotifications = new ArrayList<>();
-            for (StudentParent sp : studentParents) {
-                List<Notification> studentNotifications = notificationRepository
-                        .findByDispatchLog_Student_StudentIdOrderByCreatedDateDesc(sp.getStudent().getStudentId());
-                allNotifications.addAll(studentNotifications);
-            }
-            
-            // Sort by createdDate descending (most recent first)
-            allNotifications.sort((a, b) -> b.getCreatedDate().compareTo(a.getCreatedDate()));
-
-            // Limit to last 10 for dashboard performance
-            List<Notification> limitedNotifications = allNotifications.stream()
-                    .limit(10)
-                    .collect(Collectors.toList());
+            // Newest 10 across ALL students in one bounded query
+            List<ParentNotificationFeedProjection> limitedNotifications = notificationRepository
+                    .findParentFeed(userId, Integer.MAX_VALUE, PageRequest.of(0, 10));
 
             List<ParentNotificationResponseDto> notificationDtos = limitedNotifications.stream()
                     .map(this::mapToParentNotificationDto)
@@ -339,6 +336,74 @@ public class ParentServiceImpl implements IParentService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse getParentNotificationFeed(Integer userId, PaginationRequest pagination) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Parent user not found with ID: " + userId);
+        }
+
+        Integer beforeId = CursorPageDto.decodeCursor(pagination);
+        int pageSize = pagination.resolvePageSize();
+        List<ParentNotificationFeedProjection> rows = notificationRepository.findParentFeed(userId,
+                beforeId != null ? beforeId : Integer.MAX_VALUE, PageRequest.of(0, pageSize + 1));
+
+        CursorPageDto<ParentNotificationResponseDto> page = CursorPageDto.of(rows, pageSize,
+                ParentNotificationFeedProjection::getNotificationId, this::mapToParentNotificationDto,
+                pagination.wantsTotal() ? notificationRepository.countParentFeed(userId) : null);
+        return new ApiResponse(true, "Parent notification feed retrieved successfully", page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse getParentNotificationDetails(Integer userId, Integer notificationId) {
+        Notification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification not found with ID: " + notificationId));
+
+        DispatchLog dispatchLog = notification.getDispatchLog();
+        if (dispatchLog == null || dispatchLog.getStudent() == null
+                || !studentParentRepository.existsByParentUser_uIdAndStudent_StudentId(userId, dispatchLog.getStudent().getStudentId())) {
+            return new ApiResponse(false, "Notification does not belong to this parent", null);
+        }
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("notificationId", notification.getNotificationLogId());
+        details.put("eventType", dispatchLog.getEventType() != null ? dispatchLog.getEventType().toString() : null);
+        details.put("remarks", dispatchLog.getRemarks());
+        details.put("latitude", dispatchLog.getLatitude());
+        details.put("longitude", dispatchLog.getLongitude());
+        details.put("address", dispatchLog.getAddress());
+        details.put("driverName", dispatchLog.getDriver() != null ? dispatchLog.getDriver().getDriverName() : "N/A");
+
+        Trip trip = dispatchLog.getTrip();
+        if (trip != null) {
+            Map<String, Object> tripDetails = new HashMap<>();
+            tripDetails.put("tripId", trip.getTripId());
+            tripDetails.put("tripName", trip.getTripName());
+            tripDetails.put("tripNumber", trip.getTripNumber());
+            tripDetails.put("tripType", trip.getTripType() != null ? trip.getTripType().toString() : null);
+            tripDetails.put("tripStatus", trip.getTripStatus());
+            tripDetails.put("routeName", trip.getRouteName());
+            tripDetails.put("scheduledTime", trip.getScheduledTime());
+            tripDetails.put("tripStartTime", trip.getTripStartTime());
+            tripDetails.put("tripEndTime", trip.getTripEndTime());
+            details.put("trip", tripDetails);
+        }
+
+        Vehicle vehicle = dispatchLog.getVehicle();
+        if (vehicle != null) {
+            Map<String, Object> vehicleDetails = new HashMap<>();
+            vehicleDetails.put("vehicleId", vehicle.getVehicleId());
+            vehicleDetails.put("vehicleNumber", vehicle.getVehicleNumber());
+            vehicleDetails.put("registrationNumber", vehicle.getRegistrationNumber());
+            vehicleDetails.put("vehicleType", vehicle.getVehicleType() != null ? vehicle.getVehicleType().toString() : null);
+            vehicleDetails.put("capacity", vehicle.getCapacity());
+            details.put("vehicle", vehicleDetails);
+        }
+
+        return new ApiResponse(true, "Notification details retrieved successfully", details);
+    }
+
     @Override
     public ApiResponse getParentTrips(Integer userId) {
         System.out.println("🔍 getParentTrips called with userId: " + userId);
@@ -354,23 +419,15 @@ public class ParentServiceImpl implements IParentService {
                 return new ApiResponse(true, "No students linked to this parent", new ArrayList<>());
             }
 
-            // Get all TripStudent entries for all students
-            List<TripStudent> tripStudents = new ArrayList<>();
-            for (StudentParent sp : studentParents) {
-                List<TripStudent> studentTrips = tripStudentRepository.findByStudent(sp.getStudent());
-                tripStudents.addAll(studentTrips);
-            }
-            
-            // Filter active trips (IN_PROGRESS) and get unique trips
-            List<Trip> activeTrips = tripStudents.stream()
-                    .map(TripStudent::getTrip)
-                    .filter(trip -> trip.getIsActive() && "IN_PROGRESS".equals(trip.getTripStatus()))
-                    .distinct()
+            // In-progress trips of all linked students from the active trip index
+            List<Integer> studentIds = studentParents.stream()
+                    .map(sp -> sp.getStudent().getStudentId())
                     .collect(Collectors.toList());
+            List<ActiveTripDto> activeTrips = activeTripIndexService.getActiveTrips(studentIds);
 
             // Map to DTOs
             List<Map<String, Object>> tripDtos = activeTrips.stream()
-                    .map(this::mapToTripDto)
+                    .map(this::mapToActiveTripDto)
                     .collect(Collectors.toList());
 
             System.out.println("🔍 Found " + tripDtos.size() + " active trips for parent");
@@ -564,20 +621,21 @@ public class ParentServiceImpl implements IParentService {
 
     // ================ HELPER METHODS ================
 
-    private ParentNotificationResponseDto mapToParentNotificationDto(Notification notification) {
+    // Feed rows carry ids only for trip/vehicle; full details come from getParentNotificationDetails
+    private ParentNotificationResponseDto mapToParentNotificationDto(ParentNotificationFeedProjection row) {
         return ParentNotificationResponseDto.builder()
-                .notificationId(notification.getNotificationLogId())
+                .notificationId(row.getNotificationId())
                 .title("Trip Update")
                 .message("Your child's trip status has been updated")
-                .notificationType(notification.getNotificationType().toString())
-                .eventType(notification.getDispatchLog().getEventType().toString())
-                .studentName(notification.getDispatchLog().getStudent().getFirstName() + " " + 
-                           notification.getDispatchLog().getStudent().getLastName())
-                .vehicleNumber(notification.getDispatchLog().getVehicle() != null ? 
-                             notification.getDispatchLog().getVehicle().getVehicleNumber() : "N/A")
-                .tripName(notification.getDispatchLog().getTrip() != null ? 
-                        notification.getDispatchLog().getTrip().getTripName() : "N/A")
-                .notificationTime(notification.getCreatedDate())
+                .notificationType(row.getNotificationType() != null ? row.getNotificationType().toString() : null)
+                .eventType(row.getEventType() != null ? row.getEventType().toString() : null)
+                .studentId(row.getStudentId())
+                .studentName(row.getStudentFirstName() + " " + row.getStudentLastName())
+                .vehicleId(row.getVehicleId())
+                .vehicleNumber(row.getVehicleNumber() != null ? row.getVehicleNumber() : "N/A")
+                .tripId(row.getTripId())
+                .tripName(row.getTripName() != null ? row.getTripName() : "N/A")
+                .notificationTime(row.getCreatedDate())
                 .isRead(false)
                 .priority("Normal")
                 .build();
@@ -613,6 +671,33 @@ public class ParentServiceImpl implements IParentService {
         return dto;
     }
 
+    // Same keys as mapToTripDto plus the vehicle's last known position
+    private Map<String, Object> mapToActiveTripDto(ActiveTripDto trip) {
+        Map<String, Object> dto = new HashMap<>();
+        dto.put("tripId", trip.getTripId());
+        dto.put("tripName", trip.getTripName());
+        dto.put("tripNumber", trip.getTripNumber());
+        dto.put("tripDate", trip.getTripStartTime() != null ? trip.getTripStartTime().toLocalDate() : null);
+        dto.put("tripStartTime", trip.getTripStartTime());
+        dto.put("vehicleId", trip.getVehicleId());
+        dto.put("vehicleNumber", trip.getVehicleNumber() != null ? trip.getVehicleNumber() : "N/A");
+        dto.put("driverName", trip.getDriverName() != null ? trip.getDriverName() : "N/A");
+
+        LivePositionDto position = livePositionService.getByTrip(trip.getTripId());
+        if (position == null) {
+            position = livePositionService.getByVehicle(trip.getVehicleId());
+        }
+        if (position != null) {
+            dto.put("latitude", position.getLatitude());
+            dto.put("longitude", position.getLongitude());
+            dto.put("speed", position.getSpeed());
+            dto.put("bearing", position.getBearing());
+            dto.put("address", position.getAddress());
+            dto.put("lastLocationUpdate", position.getLastUpdated());
+        }
+        return dto;
+    }
+
     private AttendanceHistoryResponseDto.AttendanceRecordDto mapToAttendanceRecordDto(StudentAttendance attendance) {
         return AttendanceHistoryResponseDto.AttendanceRecordDto.builder()
                 .date(attendance.getAttendanceDate())
@@ -6,10 +6,11 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,31 +25,33 @@ import com.app.entity.User;
 import com.app.entity.UserRole;
 import com.app.entity.VehicleOwner;
 import com.app.exception.ResourceNotFoundException;
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.PendingUserRequestDTO;
 import com.app.payload.response.ApiResponse;
+import com.app.payload.response.CursorPageDto;
 import com.app.payload.response.PendingUserResponseDTO;
 import com.app.repository.DriverRepository;
 import com.app.repository.PendingUserRepository;
-import com.app.repository.RoleRepository;
 import com.app.repository.SchoolRepository;
 import com.app.repository.SchoolUserRepository;
 import com.app.repository.StudentParentRepository;
 import com.app.repository.UserRepository;
 import com.app.repository.UserRoleRepository;
 import com.app.repository.VehicleOwnerRepository;
+import com.app.service.IMailOutboxService;
 import com.app.service.IPendingUserService;
-
-import jakarta.mail.internet.MimeMessage;
-
+import com.app.service.IReferenceDataCache;
 
 @Service
 @Transactional
 public class PendingUserServiceImpl implements IPendingUserService {
 
+	private static final Logger logger = LoggerFactory.getLogger(PendingUserServiceImpl.class);
+
 	@Autowired
     private PendingUserRepository pendingUserRepository;
 	@Autowired
-    private RoleRepository roleRepository;
+    private IReferenceDataCache referenceDataCache;
 	
 	@Autowired
 	private UserRepository userRepository;
@@ -59,7 +62,7 @@ public class PendingUserServiceImpl implements IPendingUserService {
 	@Autowired
 	private SchoolUserRepository schoolUserRepository;
 	@Autowired
-	private JavaMailSender mailSender;
+	private IMailOutboxService mailOutboxService;
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 	
@@ -79,7 +82,7 @@ public class PendingUserServiceImpl implements IPendingUserService {
     // ---------------- Create ----------------
     @Override
     public ApiResponse createPendingUser(PendingUserRequestDTO request) {
-        Role role = roleRepository.findById(request.getRoleId())
+        Role role = referenceDataCache.findRoleById(request.getRoleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with ID: " + request.getRoleId()));
 
         PendingUser pendingUser = PendingUser.builder()
@@ -105,43 +108,36 @@ public class PendingUserServiceImpl implements IPendingUserService {
                 Map.of("pendingUserId", saved.getPendingUserId(), "activationLink", activationUrl));
     }
 
+    @Override
+    public void sendActivationLink(String email, String token) {
+        sendActivationEmail(email, activationBaseUrl + "?token=" + token);
+    }
+
     private void sendActivationEmail(String to, String activationUrl) {
-        try {
-            MimeMessage msg = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(msg, true);
-
-            String html = """
-                <div style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <div style="background-color: #1E3A8A; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0;">
-                        <h2 style="margin: 0;">Welcome to Kids Vehicle Tracking System</h2>
+        String html = """
+            <div style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
+                <div style="background-color: #1E3A8A; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0;">
+                    <h2 style="margin: 0;">Welcome to Kids Vehicle Tracking System</h2>
+                </div>
+                <div style="background-color: #f8f9fa; padding: 30px; border-radius: 0 0 8px 8px;">
+                    <p style="font-size: 16px; color: #333;">Thank you for registering your school with us!</p>
+                    <p style="color: #666;">To complete your registration and activate your school admin account, please click the button below:</p>
+                    <div style="text-align: center; margin: 30px 0;">
+                        <a href="%s" style="background-color: #1E3A8A; color: white; padding: 15px 30px; text-decoration: none; border-radius: 5px; display: inline-block; font-weight: bold;">Activate Account</a>
                     </div>
-                    <div style="background-color: #f8f9fa; padding: 30px; border-radius: 0 0 8px 8px;">
-                        <p style="font-size: 16px; color: #333;">Thank you for registering your school with us!</p>
-                        <p style="color: #666;">To complete your registration and activate your school admin account, please click the button below:</p>
-                        <div style="text-align: center; margin: 30px 0;">
-                            <a href="%s" style="background-color: #1E3A8A; color: white; padding: 15px 30px; text-decoration: none; border-radius: 5px; display: inline-block; font-weight: bold;">Activate Account</a>
-                        </div>
-                        <div style="background-color: #fff3cd; border: 1px solid #ffeaa7; padding: 15px; border-radius: 5px; margin: 20px 0;">
-                            <p style="margin: 0; color: #856404;"><strong>Important:</strong> This link is valid for 24 hours only.</p>
-                        </div>
-                        <p style="color: #666; font-size: 14px;">If you didn't request this registration, please ignore this email.</p>
-                        <hr style="margin: 30px 0; border: none; border-top: 1px solid #dee2e6;">
-                        <p style="color: #6c757d; font-size: 12px; text-align: center; margin: 0;">Kids Vehicle Tracking System - School Management</p>
+                    <div style="background-color: #fff3cd; border: 1px solid #ffeaa7; padding: 15px; border-radius: 5px; margin: 20px 0;">
+                        <p style="margin: 0; color: #856404;"><strong>Important:</strong> This link is valid for 24 hours only.</p>
                     </div>
+                    <p style="color: #666; font-size: 14px;">If you didn't request this registration, please ignore this email.</p>
+                    <hr style="margin: 30px 0; border: none; border-top: 1px solid #dee2e6;">
+                    <p style="color: #6c757d; font-size: 12px; text-align: center; margin: 0;">Kids Vehicle Tracking System - School Management</p>
                 </div>
-                """.formatted(activationUrl);
-
-            helper.setText(html, true);
-            helper.setTo(to);
-            helper.setSubject("Activate Your School Account - Kids Vehicle Tracking");
-            helper.setFrom("noreply@kidsvt.com");
-            mailSender.send(msg);
-
-            System.out.println("Activation email sent successfully to: " + to);
-        } catch (Exception ex) {
-            System.err.println("Failed to send activation email to: " + to);
-            ex.printStackTrace();
-        }
+            </div>
+            """.formatted(activationUrl);
+
+        // Delivered by the mail outbox once this transaction commits
+        mailOutboxService.enqueue(to, "Activate Your School Account - Kids Vehicle Tracking", html, true, "noreply@kidsvt.com");
+        logger.debug("Activation email queued for {}", MailOutboxServiceImpl.maskAddress(to));
     }
 
  // -------- VERIFY PendingUser Token --------
@@ -171,12 +167,15 @@ public class PendingUserServiceImpl implements IPendingUserService {
 
     // ---------------- Get All ----------------
     @Override
-    public ApiResponse getAllPendingUsers() {
-        List<PendingUserResponseDTO> users = pendingUserRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-
-        return new ApiResponse(true, "All pending users fetched successfully", users);
+    public ApiResponse getAllPendingUsers(PaginationRequest pagination) {
+        Integer afterId = CursorPageDto.decodeCursor(pagination);
+        int pageSize = pagination.resolvePageSize();
+        List<PendingUser> rows = pendingUserRepository.findByPendingUserIdGreaterThanOrderByPendingUserIdAsc(
+                afterId != null ? afterId : 0, PageRequest.of(0, pageSize + 1));
+
+        CursorPageDto<PendingUserResponseDTO> page = CursorPageDto.of(rows, pageSize, PendingUser::getPendingUserId,
+                this::mapToResponse, pagination.wantsTotal() ? pendingUserRepository.count() : null);
+        return new ApiResponse(true, "All pending users fetched successfully", page);
     }
 
     // ---------------- Delete ----------------
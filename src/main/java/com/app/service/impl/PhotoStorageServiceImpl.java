@@ -0,0 +1,434 @@
+package com.app.service.impl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.app.entity.StoredPhoto;
+import com.app.exception.BadRequestException;
+import com.app.exception.PayloadTooLargeException;
+import com.app.repository.StoredPhotoRepository;
+import com.app.service.IPhotoStorageService;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Content-addressed photo store.
+ *
+ * Uploaded base64 photos are decoded once, checked to be JPEG, PNG, GIF or WebP by
+ * their leading bytes, written to disk under the SHA-256 of their bytes (identical
+ * uploads share one file) and replaced on the entity by that hash.
+ * A JPEG thumbnail is generated at store time for images larger than the thumbnail
+ * size. Responses carry /api/photos/{hash} instead of the image itself, so list
+ * endpoints no longer move megabytes of base64 through JDBC, Hibernate and Jackson.
+ *
+ * Rows written before the store existed still hold base64 in the legacy *_photo
+ * columns; they are moved over in the background after startup (see
+ * migrateLegacyPhotos) and the legacy column is cleared row by row.
+ *
+ * The files live under app.photo.storage.dir. With app.deployment.multi-node every
+ * node must mount the same directory (NFS, EFS, ...): a node that cannot see the
+ * newest stored photo refuses to start rather than answer 404 for it.
+ */
+@Service
+public class PhotoStorageServiceImpl implements IPhotoStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhotoStorageServiceImpl.class);
+
+    public static final String PHOTO_URL_PREFIX = "/api/photos/";
+
+    private static final int MAX_REFERENCE_LENGTH = 500;
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String INSERT_PHOTO = "INSERT IGNORE INTO stored_photos "
+            + "(content_hash, content_type, size_bytes, width, height, has_thumbnail, created_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // table, id column, legacy base64 column, reference column
+    private static final List<String[]> LEGACY_COLUMNS = List.of(
+            new String[] { "drivers", "driver_id", "driver_photo", "driver_photo_ref" },
+            new String[] { "students", "student_id", "student_photo", "student_photo_ref" },
+            new String[] { "vehicles", "vehicle_id", "vehicle_photo", "vehicle_photo_ref" },
+            new String[] { "school", "school_id", "school_photo", "school_photo_ref" },
+            new String[] { "vehicle_owner", "owner_id", "owner_photo", "owner_photo_ref" });
+
+    @Autowired
+    private StoredPhotoRepository storedPhotoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.photo.storage.dir:${user.home}/kids-vehicle-tracking/photos}")
+    private String storageDir;
+
+    @Value("${app.photo.max-bytes:5242880}")
+    private long maxBytes;
+
+    @Value("${app.photo.thumbnail-size:200}")
+    private int thumbnailSize;
+
+    @Value("${app.photo.migration.enabled:true}")
+    private boolean migrationEnabled;
+
+    @Value("${app.photo.migration.batch-size:50}")
+    private int migrationBatchSize;
+
+    @Value("${app.deployment.multi-node:false}")
+    private boolean multiNode;
+
+    private Path baseDir;
+
+    private final LongAdder storedCount = new LongAdder();
+    private final LongAdder deduplicatedCount = new LongAdder();
+    private final LongAdder thumbnailCount = new LongAdder();
+    private final LongAdder migratedCount = new LongAdder();
+    private final LongAdder migrationFailedCount = new LongAdder();
+
+    @PostConstruct
+    public void init() throws IOException {
+        baseDir = Paths.get(storageDir).toAbsolutePath();
+        Files.createDirectories(baseDir);
+        logger.info("Photo store at {}", baseDir);
+        if (multiNode) {
+            checkSharedStorage();
+        }
+    }
+
+    @Override
+    public String store(String photo) {
+        if (photo == null || photo.isBlank()) {
+            return null;
+        }
+        String value = photo.trim();
+
+        // A photo URL handed back by a client on update is the same stored photo
+        if (value.startsWith(PHOTO_URL_PREFIX) && CONTENT_HASH.matcher(value.substring(PHOTO_URL_PREFIX.length())).matches()) {
+            return checkStored(value.substring(PHOTO_URL_PREFIX.length()));
+        }
+        if (CONTENT_HASH.matcher(value).matches()) {
+            return checkStored(value);
+        }
+        if (value.startsWith("http://") || value.startsWith("https://") || value.startsWith("/")) {
+            return checkReferenceLength(value);
+        }
+
+        boolean dataUrl = value.startsWith("data:");
+        String base64 = value;
+        if (dataUrl) {
+            int comma = value.indexOf(',');
+            if (comma < 0 || !value.substring(0, comma).endsWith(";base64")) {
+                throw new BadRequestException("Unsupported photo data URL");
+            }
+            // The declared type is ignored: the stored type is taken from the bytes
+            base64 = value.substring(comma + 1);
+        }
+
+        byte[] bytes;
+        try {
+            // Strict alphabet (line breaks allowed) so paths like uploads/a.png are not read as base64
+            bytes = Base64.getDecoder().decode(WHITESPACE.matcher(base64).replaceAll(""));
+        } catch (IllegalArgumentException e) {
+            if (dataUrl) {
+                throw new BadRequestException("Photo data URL is not valid base64");
+            }
+            // Not base64 at all: keep short values (file names, paths) as they are
+            return checkReferenceLength(value);
+        }
+
+        String contentType = sniffContentType(bytes);
+        if (contentType == null) {
+            if (dataUrl) {
+                throw new BadRequestException("Photo must be a JPEG, PNG, GIF or WebP image");
+            }
+            // Decodes, but not to an image: a short plain value is a reference, not photo data
+            return checkReferenceLength(value);
+        }
+        return storeBytes(bytes, contentType);
+    }
+
+    @Override
+    public String toUrl(String photoRef) {
+        if (photoRef == null || photoRef.isBlank()) {
+            return null;
+        }
+        return CONTENT_HASH.matcher(photoRef).matches() ? PHOTO_URL_PREFIX + photoRef : photoRef;
+    }
+
+    @Override
+    public StoredPhoto find(String contentHash) {
+        if (contentHash == null || !CONTENT_HASH.matcher(contentHash).matches()) {
+            return null;
+        }
+        return storedPhotoRepository.findById(contentHash).orElse(null);
+    }
+
+    @Override
+    public Path resolve(StoredPhoto photo, boolean thumbnail) {
+        if (thumbnail && Boolean.TRUE.equals(photo.getHasThumbnail())) {
+            return thumbnailPath(photo.getContentHash());
+        }
+        return originalPath(photo.getContentHash());
+    }
+
+    /**
+     * Moves base64 photos still held in the legacy LONGTEXT columns into the store,
+     * keyset-paging through each table so a bad row is skipped instead of retried.
+     */
+    @Override
+    public Map<String, Object> migrateLegacyPhotos() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String[] column : LEGACY_COLUMNS) {
+            String table = column[0];
+            String idColumn = column[1];
+            String legacyColumn = column[2];
+            String refColumn = column[3];
+
+            String select = "SELECT " + idColumn + ", " + legacyColumn + " FROM " + table
+                    + " WHERE " + idColumn + " > ? AND " + legacyColumn + " IS NOT NULL AND " + refColumn + " IS NULL"
+                    + " ORDER BY " + idColumn + " LIMIT " + migrationBatchSize;
+            String update = "UPDATE " + table + " SET " + refColumn + " = ?, " + legacyColumn + " = NULL WHERE " + idColumn + " = ?";
+
+            int migrated = 0;
+            int failed = 0;
+            try {
+                int lastId = 0;
+                while (true) {
+                    List<Map<String, Object>> rows = jdbcTemplate.queryForList(select, lastId);
+                    if (rows.isEmpty()) {
+                        break;
+                    }
+                    for (Map<String, Object> row : rows) {
+                        Integer id = ((Number) row.get(idColumn)).intValue();
+                        lastId = id;
+                        try {
+                            String ref = store((String) row.get(legacyColumn));
+                            jdbcTemplate.update(update, ref, id);
+                            migrated++;
+                            migratedCount.increment();
+                        } catch (RuntimeException e) {
+                            failed++;
+                            migrationFailedCount.increment();
+                            logger.warn("Could not migrate {}.{} for id {}: {}", table, legacyColumn, id, e.getMessage());
+                        }
+                    }
+                }
+            } catch (DataAccessException e) {
+                // Fresh schemas never had the legacy column
+                logger.debug("Skipping photo migration for {}.{}: {}", table, legacyColumn, e.getMessage());
+            }
+
+            result.put(table + "." + legacyColumn, Map.of("migrated", migrated, "failed", failed));
+            if (migrated > 0 || failed > 0) {
+                logger.info("Migrated {} photos from {}.{} ({} failed)", migrated, table, legacyColumn, failed);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> getStoreStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("stored", storedCount.sum());
+        stats.put("deduplicated", deduplicatedCount.sum());
+        stats.put("thumbnails", thumbnailCount.sum());
+        stats.put("migrated", migratedCount.sum());
+        stats.put("migrationFailed", migrationFailedCount.sum());
+        stats.put("storageDir", baseDir.toString());
+        return stats;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrationEnabled) {
+            return;
+        }
+        Thread migration = new Thread(() -> {
+            try {
+                migrateLegacyPhotos();
+            } catch (Exception e) {
+                logger.error("Legacy photo migration failed: {}", e.getMessage(), e);
+            }
+        }, "photo-migration");
+        migration.setDaemon(true);
+        migration.start();
+    }
+
+    private String storeBytes(byte[] bytes, String contentType) {
+        if (bytes.length > maxBytes) {
+            throw new PayloadTooLargeException("Photo exceeds the maximum size of " + maxBytes + " bytes");
+        }
+
+        String hash = sha256(bytes);
+        Path original = originalPath(hash);
+        if (Files.exists(original) && storedPhotoRepository.existsById(hash)) {
+            deduplicatedCount.increment();
+            return hash;
+        }
+
+        Integer width = null;
+        Integer height = null;
+        boolean hasThumbnail = false;
+        try {
+            writeAtomically(original, bytes);
+
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+            if (image != null) {
+                width = image.getWidth();
+                height = image.getHeight();
+                if (Math.max(width, height) > thumbnailSize) {
+                    writeAtomically(thumbnailPath(hash), thumbnail(image));
+                    hasThumbnail = true;
+                    thumbnailCount.increment();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write photo " + hash, e);
+        }
+
+        // INSERT IGNORE: a concurrent upload of the same bytes must not fail the caller's transaction
+        jdbcTemplate.update(INSERT_PHOTO, hash, contentType, (long) bytes.length, width, height, hasThumbnail,
+                Timestamp.valueOf(LocalDateTime.now()));
+        storedCount.increment();
+        return hash;
+    }
+
+    private byte[] thumbnail(BufferedImage image) throws IOException {
+        double scale = (double) thumbnailSize / Math.max(image.getWidth(), image.getHeight());
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(scaled, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private void writeAtomically(Path target, byte[] bytes) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private Path originalPath(String hash) {
+        return baseDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Path thumbnailPath(String hash) {
+        return baseDir.resolve(hash.substring(0, 2)).resolve(hash + ".thumb.jpg");
+    }
+
+    // A hash is only accepted back if this store holds it; otherwise any 64 hex characters would become a dangling photo
+    private String checkStored(String hash) {
+        if (!storedPhotoRepository.existsById(hash)) {
+            throw new BadRequestException("Unknown photo reference");
+        }
+        return hash;
+    }
+
+    private void checkSharedStorage() {
+        List<String> newest = jdbcTemplate.queryForList(
+                "SELECT content_hash FROM stored_photos ORDER BY created_date DESC LIMIT 1", String.class);
+        if (!newest.isEmpty() && !Files.exists(originalPath(newest.get(0)))) {
+            throw new IllegalStateException("Photo " + newest.get(0) + " is not under " + baseDir
+                    + "; with app.deployment.multi-node=true app.photo.storage.dir must be a directory shared by all nodes");
+        }
+    }
+
+    private static String checkReferenceLength(String value) {
+        if (value.length() > MAX_REFERENCE_LENGTH) {
+            throw new BadRequestException("Photo reference cannot exceed " + MAX_REFERENCE_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    // Only raster formats are accepted; anything else (SVG, HTML, unknown) returns null
+    private static String sniffContentType(byte[] bytes) {
+        if (startsWith(bytes, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(bytes, 0x89, 'P', 'N', 'G')) {
+            return "image/png";
+        }
+        if (startsWith(bytes, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (bytes.length >= 12 && startsWith(bytes, 'R', 'I', 'F', 'F')
+                && new String(bytes, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int... prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((bytes[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
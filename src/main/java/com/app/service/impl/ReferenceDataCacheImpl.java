@@ -0,0 +1,335 @@
+package com.app.service.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.entity.ClassMaster;
+import com.app.entity.Role;
+import com.app.entity.School;
+import com.app.entity.SectionMaster;
+import com.app.repository.ClassMasterRepository;
+import com.app.repository.RoleRepository;
+import com.app.repository.SectionMasterRepository;
+import com.app.service.IReferenceDataCache;
+import com.app.service.IReferenceDataInvalidationBus;
+import com.app.service.IReferenceDataInvalidationBus.InvalidationEvent;
+import com.app.service.IReferenceDataInvalidationBus.Scope;
+import com.app.util.BoundedCache;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process cache of roles, class masters and section masters.
+ *
+ * The role table is loaded as one snapshot; classes and sections are cached by id and
+ * as per-school lists. Entries are detached entities and must be treated as read-only:
+ * callers only read their fields or use them as association targets.
+ *
+ * RoleServiceImpl, ClassMasterServiceImpl and SectionMasterServiceImpl invalidate on
+ * every write. The eviction is repeated after the transaction completes and forwarded
+ * to other nodes through IReferenceDataInvalidationBus; the TTL only bounds staleness
+ * when a write bypasses those services.
+ */
+@Service
+public class ReferenceDataCacheImpl implements IReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCacheImpl.class);
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ClassMasterRepository classMasterRepository;
+
+    @Autowired
+    private SectionMasterRepository sectionMasterRepository;
+
+    @Autowired
+    private IReferenceDataInvalidationBus invalidationBus;
+
+    @Value("${app.reference-data.cache-ttl-ms:3600000}")
+    private long ttlMs;
+
+    @Value("${app.reference-data.cache-max-size:20000}")
+    private int maxSize;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile RoleSnapshot roles;
+
+    private final Map<Integer, Cached<ClassMaster>> classesById = new ConcurrentHashMap<>();
+    private final Map<Integer, Cached<List<ClassMaster>>> classesBySchool = new ConcurrentHashMap<>();
+    private final Map<Integer, Cached<SectionMaster>> sectionsById = new ConcurrentHashMap<>();
+    private final Map<Integer, Cached<List<SectionMaster>>> sectionsBySchool = new ConcurrentHashMap<>();
+
+    private final Counters roleCounters = new Counters();
+    private final Counters classCounters = new Counters();
+    private final Counters sectionCounters = new Counters();
+    private final LongAdder invalidationCount = new LongAdder();
+    private final LongAdder remoteInvalidationCount = new LongAdder();
+
+    @PostConstruct
+    void subscribeToInvalidations() {
+        invalidationBus.subscribe(this::onInvalidationEvent);
+    }
+
+    @Override
+    public Optional<Role> findRoleByName(String roleName) {
+        Role role = roleSnapshot().byName.get(roleName);
+        if (role != null) {
+            return Optional.of(role);
+        }
+        // Not in the snapshot: a role inserted outside RoleServiceImpl (e.g. by DataLoader) forces a reload
+        return reloadIfPresent(roleRepository.findByRoleName(roleName));
+    }
+
+    @Override
+    public Optional<Role> findRoleById(Integer roleId) {
+        Role role = roleId != null ? roleSnapshot().byId.get(roleId) : null;
+        if (role != null || roleId == null) {
+            return Optional.ofNullable(role);
+        }
+        return reloadIfPresent(roleRepository.findById(roleId));
+    }
+
+    @Override
+    public Optional<ClassMaster> findClassById(Integer classId) {
+        return Optional.ofNullable(lookup(classesById, classId, classCounters,
+                id -> classMasterRepository.findById(id).orElse(null)));
+    }
+
+    @Override
+    public Optional<SectionMaster> findSectionById(Integer sectionId) {
+        return Optional.ofNullable(lookup(sectionsById, sectionId, sectionCounters,
+                id -> sectionMasterRepository.findById(id).orElse(null)));
+    }
+
+    @Override
+    public List<ClassMaster> getClassesBySchool(School school) {
+        List<ClassMaster> classes = lookup(classesBySchool, school.getSchoolId(), classCounters,
+                id -> Collections.unmodifiableList(classMasterRepository.findAllBySchoolOrderByClassOrder(school)));
+        return classes != null ? classes : Collections.emptyList();
+    }
+
+    @Override
+    public List<SectionMaster> getSectionsBySchool(School school) {
+        List<SectionMaster> sections = lookup(sectionsBySchool, school.getSchoolId(), sectionCounters,
+                id -> Collections.unmodifiableList(sectionMasterRepository.findAllBySchoolOrderBySectionName(school)));
+        return sections != null ? sections : Collections.emptyList();
+    }
+
+    @Override
+    public void invalidateRoles() {
+        invalidate(Scope.ROLES, null);
+    }
+
+    @Override
+    public void invalidateClasses(Integer schoolId) {
+        invalidate(Scope.CLASSES, schoolId);
+    }
+
+    @Override
+    public void invalidateSections(Integer schoolId) {
+        invalidate(Scope.SECTIONS, schoolId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidate(Scope.ALL, null);
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        RoleSnapshot snapshot = roles;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("roles", roleCounters.toMap(snapshot != null ? snapshot.byId.size() : 0));
+        stats.put("classes", classCounters.toMap(classesById.size() + classesBySchool.size()));
+        stats.put("sections", sectionCounters.toMap(sectionsById.size() + sectionsBySchool.size()));
+        long hits = roleCounters.hits.sum() + classCounters.hits.sum() + sectionCounters.hits.sum();
+        long misses = roleCounters.misses.sum() + classCounters.misses.sum() + sectionCounters.misses.sum();
+        stats.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        stats.put("invalidations", invalidationCount.sum());
+        stats.put("remoteInvalidations", remoteInvalidationCount.sum());
+        stats.put("ttlMs", ttlMs);
+        stats.put("maxSize", maxSize);
+        stats.put("nodeId", nodeId);
+        return stats;
+    }
+
+    private RoleSnapshot roleSnapshot() {
+        long nowMs = System.currentTimeMillis();
+        RoleSnapshot snapshot = roles;
+        if (snapshot != null && nowMs - snapshot.loadedAtMs < ttlMs) {
+            roleCounters.hits.increment();
+            return snapshot;
+        }
+        roleCounters.misses.increment();
+
+        Map<String, Role> byName = new ConcurrentHashMap<>();
+        Map<Integer, Role> byId = new ConcurrentHashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            byName.put(role.getRoleName(), role);
+            byId.put(role.getRoleId(), role);
+        }
+        snapshot = new RoleSnapshot(byName, byId, nowMs);
+        roles = snapshot;
+        return snapshot;
+    }
+
+    private Optional<Role> reloadIfPresent(Optional<Role> role) {
+        if (role.isPresent()) {
+            roles = null;
+        }
+        return role;
+    }
+
+    /**
+     * Cached value for the key, loading it on a miss. Missing rows are not cached so a
+     * freshly created class or section is visible immediately.
+     */
+    private <T> T lookup(Map<Integer, Cached<T>> cache, Integer key, Counters counters, Function<Integer, T> loader) {
+        if (key == null) {
+            return null;
+        }
+        long nowMs = System.currentTimeMillis();
+        Cached<T> cached = cache.get(key);
+        if (cached != null && nowMs - cached.loadedAtMs < ttlMs) {
+            counters.hits.increment();
+            return cached.value;
+        }
+        counters.misses.increment();
+
+        T value = loader.apply(key);
+        if (value == null) {
+            cache.remove(key);
+            return null;
+        }
+        BoundedCache.put(cache, key, new Cached<>(value, nowMs), maxSize, ttlMs, entry -> entry.loadedAtMs);
+        return value;
+    }
+
+    /**
+     * Evicts now, again once the surrounding transaction completes (so a read racing the
+     * commit cannot re-cache the old row), and then tells the other nodes.
+     */
+    private void invalidate(Scope scope, Integer schoolId) {
+        invalidationCount.increment();
+        evict(scope, schoolId);
+
+        InvalidationEvent event = new InvalidationEvent(scope, schoolId, nodeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(scope, schoolId);
+                    broadcast(event);
+                }
+            });
+        } else {
+            broadcast(event);
+        }
+    }
+
+    private void broadcast(InvalidationEvent event) {
+        try {
+            invalidationBus.publish(event);
+        } catch (Exception e) {
+            logger.warn("Could not publish reference data invalidation {}: {}", event, e.getMessage());
+        }
+    }
+
+    private void onInvalidationEvent(InvalidationEvent event) {
+        if (event == null || nodeId.equals(event.getOriginNodeId())) {
+            return;
+        }
+        remoteInvalidationCount.increment();
+        evict(event.getScope(), event.getSchoolId());
+    }
+
+    private void evict(Scope scope, Integer schoolId) {
+        switch (scope) {
+            case ROLES:
+                roles = null;
+                break;
+            case CLASSES:
+                evictSchool(classesById, classesBySchool, schoolId, ClassMaster::getSchool);
+                break;
+            case SECTIONS:
+                evictSchool(sectionsById, sectionsBySchool, schoolId, SectionMaster::getSchool);
+                break;
+            default:
+                roles = null;
+                classesById.clear();
+                classesBySchool.clear();
+                sectionsById.clear();
+                sectionsBySchool.clear();
+        }
+    }
+
+    private static <T> void evictSchool(Map<Integer, Cached<T>> byId, Map<Integer, ? extends Cached<?>> bySchool,
+            Integer schoolId, Function<T, School> schoolOf) {
+        if (schoolId == null) {
+            byId.clear();
+            bySchool.clear();
+            return;
+        }
+        bySchool.remove(schoolId);
+        byId.values().removeIf(entry -> {
+            School school = schoolOf.apply(entry.value);
+            return school == null || schoolId.equals(school.getSchoolId());
+        });
+    }
+
+    private static final class RoleSnapshot {
+        private final Map<String, Role> byName;
+        private final Map<Integer, Role> byId;
+        private final long loadedAtMs;
+
+        private RoleSnapshot(Map<String, Role> byName, Map<Integer, Role> byId, long loadedAtMs) {
+            this.byName = byName;
+            this.byId = byId;
+            this.loadedAtMs = loadedAtMs;
+        }
+    }
+
+    private static final class Cached<T> {
+        private final T value;
+        private final long loadedAtMs;
+
+        private Cached(T value, long loadedAtMs) {
+            this.value = value;
+            this.loadedAtMs = loadedAtMs;
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private Map<String, Object> toMap(int size) {
+            long h = hits.sum();
+            long m = misses.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("size", size);
+            stats.put("hits", h);
+            stats.put("misses", m);
+            stats.put("hitRatio", h + m > 0 ? (double) h / (h + m) : 0.0);
+            return stats;
+        }
+    }
+}
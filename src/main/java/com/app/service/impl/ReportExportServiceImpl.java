@@ -0,0 +1,250 @@
+package com.app.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.app.Enum.ReportType;
+import com.app.service.IReportExportService;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Streaming CSV export for the report types exposed by ReportController.
+ *
+ * Rows are read through a forward-only JDBC cursor and written to the output as they
+ * arrive; nothing is collected in memory and no entities are loaded, so the heap cost
+ * is the same for a day of logs as for a year.
+ */
+@Service
+public class ReportExportServiceImpl implements IReportExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportExportServiceImpl.class);
+
+    private static final String ATTENDANCE_HEADER =
+            "studentId,studentName,className,sectionName,presentDays,absentDays,lateDays,totalDays,attendancePercentage";
+    private static final String ATTENDANCE_SQL = "SELECT s.student_id, s.first_name, s.last_name, cm.class_name, sm.section_name, "
+            + "COALESCE(SUM(CASE WHEN sa.is_present = 1 THEN 1 ELSE 0 END), 0) AS present_days, "
+            + "COALESCE(SUM(CASE WHEN sa.is_absent = 1 THEN 1 ELSE 0 END), 0) AS absent_days, "
+            + "COALESCE(SUM(CASE WHEN sa.is_late = 1 THEN 1 ELSE 0 END), 0) AS late_days "
+            + "FROM students s "
+            + "LEFT JOIN class_master cm ON cm.class_id = s.class_id "
+            + "LEFT JOIN section_master sm ON sm.section_id = s.section_id "
+            + "LEFT JOIN student_attendance sa ON sa.student_id = s.student_id AND sa.attendance_date BETWEEN ? AND ? "
+            + "WHERE s.school_id = ? "
+            + "GROUP BY s.student_id, s.first_name, s.last_name, cm.class_name, sm.section_name "
+            + "ORDER BY s.student_id";
+
+    private static final String DISPATCH_HEADER =
+            "dispatchLogId,tripId,tripName,vehicleId,vehicleNumber,studentId,studentName,eventType,remarks,createdDate,createdBy";
+    private static final String DISPATCH_SQL = "SELECT d.dispatch_log_id, d.trip_id, t.trip_name, d.vehicle_id, v.vehicle_number, "
+            + "d.student_id, s.first_name, s.last_name, d.event_type, d.remarks, d.created_date, d.created_by "
+            + "FROM dispatch_logs d "
+            + "JOIN trips t ON t.trip_id = d.trip_id "
+            + "JOIN vehicles v ON v.vehicle_id = d.vehicle_id "
+            + "JOIN students s ON s.student_id = d.student_id "
+            + "WHERE d.school_id = ? AND d.created_date >= ? AND d.created_date < ? "
+            + "ORDER BY d.created_date";
+
+    private static final String NOTIFICATION_HEADER =
+            "notificationId,dispatchLogId,tripId,tripName,studentId,studentName,vehicleNumber,notificationType,sentDate,status,deliveryStatus";
+    private static final String NOTIFICATION_SQL = "SELECT n.notification_log_id, n.dispatch_log_id, d.trip_id, t.trip_name, "
+            + "d.student_id, s.first_name, s.last_name, v.vehicle_number, n.notification_type, n.sent_at, n.is_sent, n.error_msg "
+            + "FROM notifications n "
+            + "JOIN dispatch_logs d ON d.dispatch_log_id = n.dispatch_log_id "
+            + "JOIN trips t ON t.trip_id = d.trip_id "
+            + "JOIN vehicles v ON v.vehicle_id = d.vehicle_id "
+            + "JOIN students s ON s.student_id = d.student_id "
+            + "WHERE d.school_id = ? AND d.created_date >= ? AND d.created_date < ? "
+            + "ORDER BY d.created_date, n.notification_log_id";
+
+    @Autowired
+    private DataSource dataSource;
+
+    // MySQL Connector/J only streams row by row when the fetch size is Integer.MIN_VALUE
+    @Value("${app.report.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    // Push buffered rows to the client every N rows so large downloads start immediately
+    @Value("${app.report.export.flush-rows:500}")
+    private int flushRows;
+
+    @Value("${app.report.export.default-log-days:30}")
+    private int defaultLogDays;
+
+    private JdbcTemplate streamingJdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public long writeCsv(Integer schoolId, ReportType kind, LocalDate fromDate, LocalDate toDate, OutputStream out) throws IOException {
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate
+                : kind == ReportType.ATTENDANCE ? to.withDayOfMonth(1) : to.minusDays(defaultLogDays);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        CsvRowWriter rows = new CsvRowWriter(writer);
+        long startMs = System.currentTimeMillis();
+
+        String header;
+        String sql;
+        Object[] args;
+        RowCallbackHandler handler;
+        switch (kind) {
+            case ATTENDANCE:
+                header = ATTENDANCE_HEADER;
+                sql = ATTENDANCE_SQL;
+                args = new Object[] { Date.valueOf(from), Date.valueOf(to), schoolId };
+                handler = rs -> rows.write(attendanceRow(rs));
+                break;
+            case DISPATCH_LOGS:
+                header = DISPATCH_HEADER;
+                sql = DISPATCH_SQL;
+                args = new Object[] { schoolId, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()) };
+                handler = rs -> rows.write(dispatchRow(rs));
+                break;
+            default:
+                header = NOTIFICATION_HEADER;
+                sql = NOTIFICATION_SQL;
+                args = new Object[] { schoolId, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()) };
+                handler = rs -> rows.write(notificationRow(rs));
+                break;
+        }
+
+        try {
+            writer.write(header);
+            writer.write('\n');
+            streamingJdbcTemplate.query(sql, handler, args);
+        } catch (UncheckedIOException e) {
+            // Client went away mid-download; the cursor is already closed by JdbcTemplate
+            throw e.getCause();
+        }
+        writer.flush();
+
+        logger.info("Exported {} {} rows for school {} ({} to {}) in {} ms",
+                rows.count, kind, schoolId, from, to, System.currentTimeMillis() - startMs);
+        return rows.count;
+    }
+
+    private Object[] attendanceRow(ResultSet rs) throws SQLException {
+        long present = rs.getLong("present_days");
+        long absent = rs.getLong("absent_days");
+        long total = present + absent;
+        return new Object[] {
+                rs.getInt("student_id"),
+                rs.getString("first_name") + " " + rs.getString("last_name"),
+                orNa(rs.getString("class_name")),
+                orNa(rs.getString("section_name")),
+                present,
+                absent,
+                rs.getLong("late_days"),
+                total,
+                total > 0 ? String.format(Locale.ROOT, "%.1f", present * 100.0 / total) : "0.0"
+        };
+    }
+
+    private Object[] dispatchRow(ResultSet rs) throws SQLException {
+        Timestamp created = rs.getTimestamp("created_date");
+        return new Object[] {
+                rs.getInt("dispatch_log_id"),
+                rs.getInt("trip_id"),
+                rs.getString("trip_name"),
+                rs.getInt("vehicle_id"),
+                rs.getString("vehicle_number"),
+                rs.getInt("student_id"),
+                rs.getString("first_name") + " " + rs.getString("last_name"),
+                rs.getString("event_type"),
+                rs.getString("remarks"),
+                created != null ? created.toLocalDateTime() : null,
+                rs.getString("created_by")
+        };
+    }
+
+    private Object[] notificationRow(ResultSet rs) throws SQLException {
+        Timestamp sentAt = rs.getTimestamp("sent_at");
+        return new Object[] {
+                rs.getInt("notification_log_id"),
+                rs.getInt("dispatch_log_id"),
+                rs.getInt("trip_id"),
+                rs.getString("trip_name"),
+                rs.getInt("student_id"),
+                rs.getString("first_name") + " " + rs.getString("last_name"),
+                rs.getString("vehicle_number"),
+                rs.getString("notification_type"),
+                sentAt != null ? sentAt.toLocalDateTime() : null,
+                rs.getBoolean("is_sent") ? "SENT" : "PENDING",
+                rs.getString("error_msg") != null ? "FAILED" : "DELIVERED"
+        };
+    }
+
+    private static String orNa(String value) {
+        return value != null ? value : "N/A";
+    }
+
+    /**
+     * Writes one CSV line per row and flushes the underlying stream every flushRows rows.
+     */
+    private final class CsvRowWriter {
+        private final Writer writer;
+        private long count;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        private void write(Object[] values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeValue(values[i]);
+                }
+                writer.write('\n');
+                if (++count % flushRows == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
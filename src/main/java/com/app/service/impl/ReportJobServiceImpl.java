@@ -0,0 +1,431 @@
+package com.app.service.impl;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.app.Enum.ReportType;
+import com.app.exception.BadRequestException;
+import com.app.exception.ServiceUnavailableException;
+import com.app.payload.response.ReportJobDto;
+import com.app.service.IReportExportService;
+import com.app.service.IReportJobService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Background report builder.
+ *
+ * Submitted reports run on a small bounded worker pool and are written to local disk,
+ * so month-end exports never hold a request thread. Finished files are kept per
+ * (schoolId, type, format, date range) until the artifact TTL expires; a repeated
+ * request for the same report is answered from that file without touching the
+ * database, and a request for a report that is already being built joins that job.
+ * A range reaching today is still being written to, so its file is never reused.
+ */
+@Service
+public class ReportJobServiceImpl implements IReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobServiceImpl.class);
+
+    private static final String STATUS_QUEUED = "QUEUED";
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_FAILED = "FAILED";
+
+    @Autowired
+    private IReportExportService reportExportService;
+
+    @Value("${app.report.jobs.dir:${java.io.tmpdir}/kids-vehicle-tracking/reports}")
+    private String jobsDir;
+
+    @Value("${app.report.jobs.workers:2}")
+    private int workers;
+
+    @Value("${app.report.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.report.jobs.artifact-ttl-minutes:60}")
+    private long artifactTtlMinutes;
+
+    @Value("${app.report.jobs.sweep-interval-seconds:300}")
+    private long sweepIntervalSeconds;
+
+    private Path baseDir;
+    private ThreadPoolExecutor workerPool;
+    private ScheduledExecutorService sweeper;
+
+    // jobId -> job
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    // cache key -> finished file
+    private final Map<String, Artifact> artifacts = new ConcurrentHashMap<>();
+    // cache key -> jobId of the build currently queued or running
+    private final Map<String, String> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder cacheHitCount = new LongAdder();
+    private final LongAdder joinedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    @PostConstruct
+    public void start() throws IOException {
+        baseDir = Paths.get(jobsDir).toAbsolutePath().normalize();
+        Files.createDirectories(baseDir);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        workerPool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-job-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::evictExpired, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+
+        logger.info("Report jobs started - workers: {}, queue capacity: {}, artifact TTL: {} min, dir: {}",
+                workers, queueCapacity, artifactTtlMinutes, baseDir);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
+    @Override
+    public ReportJobDto submit(Integer schoolId, ReportType type, String format, LocalDate fromDate, LocalDate toDate) {
+        if (type == null) {
+            throw new BadRequestException("Report type is required");
+        }
+        if (!"csv".equalsIgnoreCase(format)) {
+            throw new BadRequestException("Unsupported format for background export: " + format);
+        }
+        submittedCount.increment();
+
+        // An open-ended range means "up to today", so today's date is part of the key
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        String key = cacheKey(schoolId, type, format, fromDate, to);
+
+        Artifact artifact = artifacts.get(key);
+        if (isClosedRange(to) && artifact != null && !artifact.isExpired() && Files.exists(artifact.path)) {
+            cacheHitCount.increment();
+            ReportJob job = new ReportJob(UUID.randomUUID().toString(), key, schoolId, type, format, fromDate, to);
+            job.cached = true;
+            job.complete(artifact);
+            jobs.put(job.jobId, job);
+            return job.toDto();
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), key, schoolId, type, format, fromDate, to);
+        jobs.put(job.jobId, job);
+        String runningJobId = inFlight.putIfAbsent(key, job.jobId);
+        if (runningJobId != null) {
+            ReportJob running = jobs.get(runningJobId);
+            if (running != null) {
+                jobs.remove(job.jobId);
+                joinedCount.increment();
+                return running.toDto();
+            }
+            inFlight.put(key, job.jobId);
+        }
+
+        try {
+            workerPool.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            jobs.remove(job.jobId);
+            inFlight.remove(key, job.jobId);
+            throw new ServiceUnavailableException("Report queue is full, please try again later");
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public ReportJobDto getJob(String jobId) {
+        ReportJob job = jobId != null ? jobs.get(jobId) : null;
+        return job != null ? job.toDto() : null;
+    }
+
+    @Override
+    public Path getArtifact(String jobId) {
+        ReportJob job = jobId != null ? jobs.get(jobId) : null;
+        if (job == null || job.artifact == null || job.artifact.isExpired()) {
+            return null;
+        }
+        return Files.exists(job.artifact.path) ? job.artifact.path : null;
+    }
+
+    @Override
+    public Map<String, Object> getJobStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeWorkers", workerPool.getActiveCount());
+        stats.put("queueDepth", workerPool.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("submitted", submittedCount.sum());
+        stats.put("cacheHits", cacheHitCount.sum());
+        stats.put("joined", joinedCount.sum());
+        stats.put("rejected", rejectedCount.sum());
+        stats.put("completed", completedCount.sum());
+        stats.put("failed", failedCount.sum());
+        stats.put("trackedJobs", jobs.size());
+        stats.put("cachedArtifacts", artifacts.size());
+        return stats;
+    }
+
+    private void run(ReportJob job) {
+        job.status = STATUS_RUNNING;
+        job.startedAt = LocalDateTime.now();
+        Path target = baseDir.resolve(job.fileName()).normalize();
+        Path temp = baseDir.resolve(job.jobId + ".part").normalize();
+        if (!target.startsWith(baseDir) || !temp.startsWith(baseDir)) {
+            failedCount.increment();
+            job.fail("Invalid report file name");
+            inFlight.remove(job.key, job.jobId);
+            logger.error("Report job {} rejected: {} resolves outside {}", job.jobId, target, baseDir);
+            return;
+        }
+
+        try (OutputStream out = new CountingOutputStream(Files.newOutputStream(temp), job.bytesWritten)) {
+            job.recordCount = reportExportService.writeCsv(job.schoolId, job.type, job.fromDate, job.toDate, out);
+        } catch (Exception e) {
+            failedCount.increment();
+            job.fail(e.getMessage());
+            deleteQuietly(temp);
+            inFlight.remove(job.key, job.jobId);
+            logger.error("Report job {} ({} for school {}) failed: {}", job.jobId, job.type, job.schoolId, e.getMessage());
+            return;
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            Artifact artifact = new Artifact(target, job.recordCount, job.bytesWritten.get(),
+                    System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(artifactTtlMinutes));
+            // Only this job can download a range that reaches today; the sweeper deletes the file with the job
+            if (isClosedRange(job.toDate)) {
+                job.artifactShared = true;
+                Artifact previous = artifacts.put(job.key, artifact);
+                if (previous != null && !previous.path.equals(target)) {
+                    deleteQuietly(previous.path);
+                }
+            }
+            job.complete(artifact);
+            completedCount.increment();
+            logger.info("Report job {} ({} for school {}) completed - {} rows, {} bytes",
+                    job.jobId, job.type, job.schoolId, job.recordCount, job.bytesWritten.get());
+        } catch (IOException e) {
+            failedCount.increment();
+            job.fail(e.getMessage());
+            deleteQuietly(temp);
+        } finally {
+            inFlight.remove(job.key, job.jobId);
+        }
+    }
+
+    /**
+     * Drops artifacts past their TTL (deleting the file) and forgets finished jobs
+     * whose artifact is gone.
+     */
+    private void evictExpired() {
+        try {
+            int evicted = 0;
+            for (Map.Entry<String, Artifact> entry : artifacts.entrySet()) {
+                if (entry.getValue().isExpired() && artifacts.remove(entry.getKey(), entry.getValue())) {
+                    deleteQuietly(entry.getValue().path);
+                    evicted++;
+                }
+            }
+            long jobCutoffMs = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(artifactTtlMinutes);
+            jobs.values().removeIf(job -> {
+                if (job.finishedAtMs <= 0 || job.finishedAtMs >= jobCutoffMs
+                        || (job.artifact != null && !job.artifact.isExpired())) {
+                    return false;
+                }
+                if (job.artifact != null && !job.artifactShared && !job.cached) {
+                    deleteQuietly(job.artifact.path);
+                }
+                return true;
+            });
+            if (evicted > 0) {
+                logger.info("Evicted {} expired report artifacts", evicted);
+            }
+        } catch (Exception e) {
+            logger.error("Error evicting report artifacts: {}", e.getMessage());
+        }
+    }
+
+    // Rows are still being written for today, so only ranges ending before today may be cached
+    private static boolean isClosedRange(LocalDate toDate) {
+        return toDate.isBefore(LocalDate.now());
+    }
+
+    private static String cacheKey(Integer schoolId, ReportType type, String format, LocalDate fromDate, LocalDate toDate) {
+        return schoolId + "|" + type.slug() + "|" + format.toLowerCase(Locale.ROOT) + "|"
+                + (fromDate != null ? fromDate : "default") + "|" + toDate;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete report file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static final class Artifact {
+        private final Path path;
+        private final long recordCount;
+        private final long sizeBytes;
+        private final long expiresAtMs;
+
+        private Artifact(Path path, long recordCount, long sizeBytes, long expiresAtMs) {
+            this.path = path;
+            this.recordCount = recordCount;
+            this.sizeBytes = sizeBytes;
+            this.expiresAtMs = expiresAtMs;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMs;
+        }
+    }
+
+    private static final class ReportJob {
+        private final String jobId;
+        private final String key;
+        private final Integer schoolId;
+        private final ReportType type;
+        private final String format;
+        private final LocalDate fromDate;
+        private final LocalDate toDate;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong bytesWritten = new AtomicLong();
+
+        private volatile String status = STATUS_QUEUED;
+        private volatile boolean cached;
+        // Whether the artifact was also registered for reuse by later jobs
+        private volatile boolean artifactShared;
+        private volatile Long recordCount;
+        private volatile String errorMessage;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime completedAt;
+        private volatile long finishedAtMs;
+        private volatile Artifact artifact;
+
+        private ReportJob(String jobId, String key, Integer schoolId, ReportType type, String format,
+                LocalDate fromDate, LocalDate toDate) {
+            this.jobId = jobId;
+            this.key = key;
+            this.schoolId = schoolId;
+            this.type = type;
+            this.format = format.toLowerCase(Locale.ROOT);
+            this.fromDate = fromDate;
+            this.toDate = toDate;
+        }
+
+        // Only the canonical type, numeric school id and generated job id; never raw request text
+        private String fileName() {
+            return type.slug() + "_report_" + schoolId + "_" + jobId + "." + format;
+        }
+
+        private void complete(Artifact artifact) {
+            this.artifact = artifact;
+            this.recordCount = artifact.recordCount;
+            this.completedAt = LocalDateTime.now();
+            this.finishedAtMs = System.currentTimeMillis();
+            this.status = STATUS_COMPLETED;
+        }
+
+        private void fail(String message) {
+            this.errorMessage = message;
+            this.completedAt = LocalDateTime.now();
+            this.finishedAtMs = System.currentTimeMillis();
+            this.status = STATUS_FAILED;
+        }
+
+        private ReportJobDto toDto() {
+            Artifact current = artifact;
+            boolean completed = STATUS_COMPLETED.equals(status);
+            return ReportJobDto.builder()
+                    .jobId(jobId)
+                    .schoolId(schoolId)
+                    .reportType(type.slug())
+                    .format(format)
+                    .fromDate(fromDate)
+                    .toDate(toDate)
+                    .status(status)
+                    .cached(cached)
+                    .bytesWritten(current != null ? current.sizeBytes : bytesWritten.get())
+                    .recordCount(recordCount)
+                    .fileName(current != null ? current.path.getFileName().toString() : null)
+                    .downloadUrl(completed ? "/api/reports/jobs/" + jobId + "/download" : null)
+                    .errorMessage(errorMessage)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .expiresAt(current != null
+                            ? LocalDateTime.ofInstant(Instant.ofEpochMilli(current.expiresAtMs), ZoneId.systemDefault())
+                            : null)
+                    .build();
+        }
+    }
+
+    /**
+     * Reports progress of a running job as bytes written so far.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private final AtomicLong counter;
+
+        private CountingOutputStream(OutputStream out, AtomicLong counter) {
+            super(out);
+            this.counter = counter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            counter.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            counter.addAndGet(len);
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package com.app.service.impl;
 
+import com.app.Enum.ReportType;
 import com.app.entity.*;
+import com.app.exception.BadRequestException;
+import com.app.exception.ServiceUnavailableException;
 import com.app.payload.response.ApiResponse;
+import com.app.payload.response.ReportJobDto;
 import com.app.repository.*;
+import com.app.repository.projection.ClassAttendanceSummaryProjection;
+import com.app.repository.projection.NotificationLogProjection;
+import com.app.repository.projection.StudentAttendanceSummaryProjection;
+import com.app.service.IReportJobService;
 import com.app.service.IReportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.io.ByteArrayOutputStream;
-import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 
 @Service
@@ -20,6 +30,9 @@ import java.nio.charset.StandardCharsets;
 @Transactional(readOnly = true)
 public class ReportServiceImpl implements IReportService {
 
+    private static final int DEFAULT_REPORT_PAGE_SIZE = 200;
+    private static final int MAX_REPORT_PAGE_SIZE = 1000;
+
     private final StudentRepository studentRepository;
     private final DispatchLogRepository dispatchLogRepository;
     private final NotificationRepository notificationRepository;
@@ -27,55 +40,70 @@ public class ReportServiceImpl implements IReportService {
     private final VehicleRepository vehicleRepository;
     private final SchoolRepository schoolRepository;
     private final StudentAttendanceRepository studentAttendanceRepository;
+    private final IReportJobService reportJobService;
 
     @Override
-    public ApiResponse getAttendanceReport(Integer schoolId, String filterType) {
+    public ApiResponse getAttendanceReport(Integer schoolId, String filterType, String fromDate, String toDate,
+            Integer page, Integer size) {
         try {
             System.out.println("🔍 Generating attendance report for schoolId: " + schoolId + ", filterType: " + filterType);
             
             School school = schoolRepository.findById(schoolId)
                     .orElseThrow(() -> new RuntimeException("School not found with ID: " + schoolId));
             
-            List<Student> students = studentRepository.findBySchool(school);
-            System.out.println("🔍 Found " + students.size() + " students for school: " + school.getSchoolName());
-            
-            List<Map<String, Object>> reportRecords = new ArrayList<>();
+            // Default range is the current month up to today
+            LocalDate to = toDate != null && !toDate.isBlank() ? LocalDate.parse(toDate) : LocalDate.now();
+            LocalDate from = fromDate != null && !fromDate.isBlank() ? LocalDate.parse(fromDate) : to.withDayOfMonth(1);
+            if (from.isAfter(to)) {
+                return new ApiResponse(false, "fromDate must not be after toDate", null);
+            }
             
-            for (Student student : students) {
-                // Get attendance data from StudentAttendance table
-                List<StudentAttendance> studentAttendanceRecords = studentAttendanceRepository.findByStudent(student);
-                
-                long presentDays = studentAttendanceRecords.stream()
-                        .filter(attendance -> attendance.getIsPresent() != null && attendance.getIsPresent())
-                        .count();
-                
-                long absentDays = studentAttendanceRecords.stream()
-                        .filter(attendance -> attendance.getIsAbsent() != null && attendance.getIsAbsent())
-                        .count();
-                
-                Map<String, Object> record = new HashMap<>();
-                record.put("studentId", student.getStudentId());
-                record.put("studentName", student.getFirstName() + " " + student.getLastName());
-                record.put("className", student.getClassMaster() != null ? student.getClassMaster().getClassName() : "N/A");
-                record.put("sectionName", student.getSectionMaster() != null ? student.getSectionMaster().getSectionName() : "N/A");
-                record.put("presentDays", presentDays);
-                record.put("absentDays", absentDays);
-                long totalDays = presentDays + absentDays;
-                record.put("totalDays", totalDays);
-                record.put("attendancePercentage", totalDays > 0 ? (presentDays * 100.0 / totalDays) : 0.0);
+            if ("class-wise".equals(filterType)) {
+                List<Map<String, Object>> classRecords = new ArrayList<>();
+                for (ClassAttendanceSummaryProjection row : studentAttendanceRepository.summarizeByClass(schoolId, from, to)) {
+                    Map<String, Object> record = new LinkedHashMap<>();
+                    record.put("className", row.getClassName() != null ? row.getClassName() : "N/A");
+                    record.put("sectionName", row.getSectionName() != null ? row.getSectionName() : "N/A");
+                    record.put("studentCount", row.getStudentCount());
+                    putAttendanceCounts(record, row.getPresentDays(), row.getAbsentDays(), row.getLateDays());
+                    classRecords.add(record);
+                }
                 
-                reportRecords.add(record);
+                Map<String, Object> report = new LinkedHashMap<>();
+                report.put("fromDate", from);
+                report.put("toDate", to);
+                report.put("classes", classRecords);
+                return new ApiResponse(true, "Class-wise attendance report generated", report);
             }
             
-            // Apply filtering
-            if ("class-wise".equals(filterType)) {
-                Map<String, List<Map<String, Object>>> classWiseData = reportRecords.stream()
-                        .collect(Collectors.groupingBy(record -> (String) record.get("className")));
-                return new ApiResponse(true, "Class-wise attendance report generated", classWiseData);
-            } else {
-                return new ApiResponse(true, "Student-wise attendance report generated", reportRecords);
+            // Student-wise rows are served one page at a time
+            int pageNo = page != null && page >= 0 ? page : 0;
+            int pageSize = size != null && size > 0 ? Math.min(size, MAX_REPORT_PAGE_SIZE) : DEFAULT_REPORT_PAGE_SIZE;
+            Page<StudentAttendanceSummaryProjection> studentPage = studentAttendanceRepository.summarizeByStudent(
+                    schoolId, from, to, PageRequest.of(pageNo, pageSize));
+            System.out.println("🔍 Found " + studentPage.getTotalElements() + " students for school: " + school.getSchoolName());
+            
+            List<Map<String, Object>> reportRecords = new ArrayList<>(studentPage.getNumberOfElements());
+            for (StudentAttendanceSummaryProjection row : studentPage.getContent()) {
+                Map<String, Object> record = new LinkedHashMap<>();
+                record.put("studentId", row.getStudentId());
+                record.put("studentName", row.getFirstName() + " " + row.getLastName());
+                record.put("className", row.getClassName() != null ? row.getClassName() : "N/A");
+                record.put("sectionName", row.getSectionName() != null ? row.getSectionName() : "N/A");
+                putAttendanceCounts(record, row.getPresentDays(), row.getAbsentDays(), row.getLateDays());
+                reportRecords.add(record);
             }
             
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("fromDate", from);
+            report.put("toDate", to);
+            report.put("page", pageNo);
+            report.put("size", pageSize);
+            report.put("totalElements", studentPage.getTotalElements());
+            report.put("totalPages", studentPage.getTotalPages());
+            report.put("records", reportRecords);
+            return new ApiResponse(true, "Student-wise attendance report generated", report);
+            
         } catch (Exception e) {
             System.out.println("🔍 Error generating attendance report: " + e.getMessage());
             e.printStackTrace();
@@ -83,6 +111,17 @@ public class ReportServiceImpl implements IReportService {
         }
     }
 
+    private void putAttendanceCounts(Map<String, Object> record, Long present, Long absent, Long late) {
+        long presentDays = present != null ? present : 0L;
+        long absentDays = absent != null ? absent : 0L;
+        long totalDays = presentDays + absentDays;
+        record.put("presentDays", presentDays);
+        record.put("absentDays", absentDays);
+        record.put("lateDays", late != null ? late : 0L);
+        record.put("totalDays", totalDays);
+        record.put("attendancePercentage", totalDays > 0 ? (presentDays * 100.0 / totalDays) : 0.0);
+    }
+
     @Override
     public ApiResponse getDispatchLogsReport(Integer schoolId, String filterType) {
         try {
@@ -136,63 +175,56 @@ public class ReportServiceImpl implements IReportService {
     }
 
     @Override
-    public ApiResponse getNotificationLogsReport(Integer schoolId, String filterType) {
+    public ApiResponse getNotificationLogsReport(Integer schoolId, String filterType, Integer page, Integer size) {
         try {
             System.out.println("🔍 Generating notification logs report for schoolId: " + schoolId + ", filterType: " + filterType);
             
             School school = schoolRepository.findById(schoolId)
                     .orElseThrow(() -> new RuntimeException("School not found with ID: " + schoolId));
             
-            // Get all notifications for the school through dispatch logs
-            List<DispatchLog> schoolDispatchLogs = dispatchLogRepository.findBySchoolAndCreatedDateBetween(
-                    school, LocalDateTime.now().minusDays(30), LocalDateTime.now());
-            
-            List<Map<String, Object>> notifications = new ArrayList<>();
-            
-            for (DispatchLog dispatchLog : schoolDispatchLogs) {
-                List<Notification> dispatchNotifications = notificationRepository.findByDispatchLog(dispatchLog);
+            // Status filter is applied in the query: sent, failed, pending or everything
+            String status = filterType != null && Set.of("sent", "failed", "pending").contains(filterType)
+                    ? filterType.toUpperCase() : "ALL";
+            int pageNo = page != null && page >= 0 ? page : 0;
+            int pageSize = size != null && size > 0 ? Math.min(size, MAX_REPORT_PAGE_SIZE) : DEFAULT_REPORT_PAGE_SIZE;
+            LocalDateTime now = LocalDateTime.now();
+            
+            // Notifications with their dispatch log, trip, student and vehicle in one query
+            Page<NotificationLogProjection> logPage = notificationRepository.findLogsBySchool(
+                    schoolId, now.minusDays(30), now, status, PageRequest.of(pageNo, pageSize));
+            
+            List<Map<String, Object>> notifications = new ArrayList<>(logPage.getNumberOfElements());
+            for (NotificationLogProjection notification : logPage.getContent()) {
+                Map<String, Object> notificationEntry = new HashMap<>();
+                notificationEntry.put("notificationId", notification.getNotificationId());
+                notificationEntry.put("dispatchLogId", notification.getDispatchLogId());
+                notificationEntry.put("tripId", notification.getTripId());
+                notificationEntry.put("tripName", notification.getTripName());
+                notificationEntry.put("studentId", notification.getStudentId());
+                notificationEntry.put("studentName", notification.getStudentFirstName() + " " + notification.getStudentLastName());
+                notificationEntry.put("vehicleNumber", notification.getVehicleNumber());
+                notificationEntry.put("notificationType", notification.getNotificationType().toString());
+                notificationEntry.put("message", "Notification sent"); // Placeholder since message field doesn't exist
+                notificationEntry.put("sentTo", "Parent/Driver"); // Placeholder since sentTo field doesn't exist
+                notificationEntry.put("sentDate", notification.getSentAt());
+                notificationEntry.put("status", Boolean.TRUE.equals(notification.getIsSent()) ? "SENT" : "PENDING");
+                notificationEntry.put("deliveryStatus", notification.getErrorMsg() != null ? "FAILED" : "DELIVERED");
                 
-                for (Notification notification : dispatchNotifications) {
-                    Map<String, Object> notificationEntry = new HashMap<>();
-                    notificationEntry.put("notificationId", notification.getNotificationLogId());
-                    notificationEntry.put("dispatchLogId", dispatchLog.getDispatchLogId());
-                    notificationEntry.put("tripId", dispatchLog.getTrip().getTripId());
-                    notificationEntry.put("tripName", dispatchLog.getTrip().getTripName());
-                    notificationEntry.put("studentId", dispatchLog.getStudent().getStudentId());
-                    notificationEntry.put("studentName", dispatchLog.getStudent().getFirstName() + " " + dispatchLog.getStudent().getLastName());
-                    notificationEntry.put("vehicleNumber", dispatchLog.getVehicle().getVehicleNumber());
-                    notificationEntry.put("notificationType", notification.getNotificationType().toString());
-                    notificationEntry.put("message", "Notification sent"); // Placeholder since message field doesn't exist
-                    notificationEntry.put("sentTo", "Parent/Driver"); // Placeholder since sentTo field doesn't exist
-                    notificationEntry.put("sentDate", notification.getSentAt());
-                    notificationEntry.put("status", notification.getIsSent() ? "SENT" : "PENDING");
-                    notificationEntry.put("deliveryStatus", notification.getErrorMsg() != null ? "FAILED" : "DELIVERED");
-                    
-                    notifications.add(notificationEntry);
-                }
+                notifications.add(notificationEntry);
             }
             
-            System.out.println("🔍 Found " + notifications.size() + " notifications for school: " + school.getSchoolName());
+            System.out.println("🔍 Found " + logPage.getTotalElements() + " notifications for school: " + school.getSchoolName());
             
-            // Apply filtering
-            if ("sent".equals(filterType)) {
-                List<Map<String, Object>> sentNotifications = notifications.stream()
-                        .filter(notif -> "SENT".equals(notif.get("status")))
-                        .collect(Collectors.toList());
-                return new ApiResponse(true, "Sent notifications report generated", sentNotifications);
-            } else if ("failed".equals(filterType)) {
-                List<Map<String, Object>> failedNotifications = notifications.stream()
-                        .filter(notif -> "FAILED".equals(notif.get("status")))
-                        .collect(Collectors.toList());
-                return new ApiResponse(true, "Failed notifications report generated", failedNotifications);
-            } else if ("pending".equals(filterType)) {
-                List<Map<String, Object>> pendingNotifications = notifications.stream()
-                        .filter(notif -> "PENDING".equals(notif.get("status")))
-                        .collect(Collectors.toList());
-                return new ApiResponse(true, "Pending notifications report generated", pendingNotifications);
-            } else {
-                return new ApiResponse(true, "All notifications report generated", notifications);
-            }
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("status", status);
+            report.put("page", pageNo);
+            report.put("size", pageSize);
+            report.put("totalElements", logPage.getTotalElements());
+            report.put("totalPages", logPage.getTotalPages());
+            report.put("records", notifications);
+            
+            String label = "ALL".equals(status) ? "All" : filterType.substring(0, 1).toUpperCase() + filterType.substring(1);
+            return new ApiResponse(true, label + " notifications report generated", report);
             
         } catch (Exception e) {
             System.out.println("🔍 Error generating notification logs report: " + e.getMessage());
@@ -202,25 +234,24 @@ public class ReportServiceImpl implements IReportService {
     }
 
     @Override
-    public ApiResponse exportReport(Integer schoolId, String type, String format) {
+    public ApiResponse exportReport(Integer schoolId, String type, String format, String fromDate, String toDate) {
+        // Bad input (400) and a full job queue (503) reach GlobalExceptionHandler instead of a 200 with success=false
+        ReportType kind = ReportType.of(type);
+        LocalDate from = parseDate("fromDate", fromDate);
+        LocalDate to = parseDate("toDate", toDate);
         try {
             System.out.println("🔍 Exporting report for schoolId: " + schoolId + ", type: " + type + ", format: " + format);
             
-            // Simple test export
-            String fileName = type + "_report_" + schoolId + "_" + LocalDateTime.now().toString().substring(0, 19) + "." + format.toLowerCase();
-            
-            Map<String, Object> fileInfo = new HashMap<>();
-            fileInfo.put("fileName", fileName);
-            fileInfo.put("filePath", "/downloads/reports/" + fileName);
-            fileInfo.put("fileSize", "Generated");
-            fileInfo.put("generatedAt", LocalDateTime.now());
-            fileInfo.put("reportType", type);
-            fileInfo.put("format", format);
-            fileInfo.put("schoolId", schoolId);
-            fileInfo.put("recordCount", 1);
+            schoolRepository.findById(schoolId)
+                    .orElseThrow(() -> new RuntimeException("School not found with ID: " + schoolId));
             
-            return new ApiResponse(true, "Test report exported successfully", fileInfo);
+            // The file is built by a background worker; poll the job for status and download link
+            ReportJobDto job = reportJobService.submit(schoolId, kind, format, from, to);
+            String message = "COMPLETED".equals(job.getStatus()) ? "Report is ready for download" : "Report export queued";
+            return new ApiResponse(true, message, job);
             
+        } catch (BadRequestException | ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             System.out.println("🔍 Error exporting report: " + e.getMessage());
             e.printStackTrace();
@@ -228,8 +259,32 @@ public class ReportServiceImpl implements IReportService {
         }
     }
 
+    private static LocalDate parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid " + name + " (expected yyyy-MM-dd): " + value);
+        }
+    }
+
+    @Override
+    public ApiResponse getReportJobStatus(String jobId) {
+        ReportJobDto job = reportJobService.getJob(jobId);
+        if (job == null) {
+            return new ApiResponse(false, "Report job not found or expired: " + jobId, null);
+        }
+        return new ApiResponse(true, "Report job status retrieved successfully", job);
+    }
+
     @Override
     public byte[] generateReportFile(Integer schoolId, String type, String format) {
+        // CSV is never buffered: ReportController streams it through IReportExportService.writeCsv
+        if (!"pdf".equalsIgnoreCase(format)) {
+            throw new BadRequestException("Unsupported format for an in-memory report file: " + format);
+        }
         try {
             System.out.println("🔍 Generating report file for schoolId: " + schoolId + ", type: " + type + ", format: " + format);
             
@@ -245,15 +300,7 @@ public class ReportServiceImpl implements IReportService {
             testRecord.put("totalDays", 22);
             testRecord.put("attendancePercentage", 90.9);
             testData.add(testRecord);
-            
-            // Generate file content based on format
-            if ("csv".equalsIgnoreCase(format)) {
-                return generateCSVContent(testData, type);
-            } else if ("pdf".equalsIgnoreCase(format)) {
-                return generatePDFContent(testData, type);
-            } else {
-                throw new RuntimeException("Unsupported format: " + format);
-            }
+            return generatePDFContent(testData, type);
             
         } catch (Exception e) {
             System.out.println("🔍 Error generating report file: " + e.getMessage());
@@ -262,23 +309,6 @@ public class ReportServiceImpl implements IReportService {
         }
     }
     
-    private byte[] generateCSVContent(Object data, String reportType) {
-        try {
-            StringBuilder csvContent = new StringBuilder();
-            
-            // Simple CSV generation
-            csvContent.append("studentId,studentName,className,sectionName,presentDays,absentDays,totalDays,attendancePercentage\n");
-            csvContent.append("1,Test Student,5A,A,20,2,22,90.9\n");
-            csvContent.append("2,Another Student,5B,B,18,4,22,81.8\n");
-            
-            return csvContent.toString().getBytes(StandardCharsets.UTF_8);
-            
-        } catch (Exception e) {
-            System.out.println("🔍 Error generating CSV: " + e.getMessage());
-            throw new RuntimeException("Error generating CSV: " + e.getMessage());
-        }
-    }
-    
     private byte[] generatePDFContent(Object data, String reportType) {
         try {
             // Simple text-based content for now
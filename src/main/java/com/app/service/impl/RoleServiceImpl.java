@@ -6,6 +6,7 @@ import com.app.payload.request.RoleRequestDto;
 import com.app.payload.response.ApiResponse;
 import com.app.payload.response.RoleResponseDto;
 import com.app.repository.RoleRepository;
+import com.app.service.IReferenceDataCache;
 import com.app.service.IRoleService;
 
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,9 @@ public class RoleServiceImpl implements IRoleService {
 	@Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private IReferenceDataCache referenceDataCache;
+
     @Override
     public ApiResponse createRole(RoleRequestDto request) {
         Role role = Role.builder()
@@ -37,6 +41,7 @@ public class RoleServiceImpl implements IRoleService {
                 .build();
 
         Role saved = roleRepository.save(role);
+        referenceDataCache.invalidateRoles();
 
         return new ApiResponse(true, "Role created successfully", mapToResponse(saved));
     }
@@ -52,6 +57,7 @@ public class RoleServiceImpl implements IRoleService {
         role.setUpdatedDate(LocalDateTime.now());
 
         Role updated = roleRepository.save(role);
+        referenceDataCache.invalidateRoles();
 
         return new ApiResponse(true, "Role updated successfully", mapToResponse(updated));
     }
@@ -62,6 +68,7 @@ public class RoleServiceImpl implements IRoleService {
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with ID: " + roleId));
 
         roleRepository.delete(role);
+        referenceDataCache.invalidateRoles();
 
         return new ApiResponse(true, "Role deleted successfully", null);
     }
@@ -23,11 +23,11 @@ import com.app.payload.request.StaffCreateRequestDto;
 import com.app.payload.request.UserRequestDto;
 import com.app.payload.response.ApiResponse;
 import com.app.payload.response.UserResponseDto;
-import com.app.repository.RoleRepository;
 import com.app.repository.SchoolRepository;
 import com.app.repository.SchoolUserRepository;
 import com.app.repository.UserRepository;
 import com.app.repository.UserRoleRepository;
+import com.app.service.IReferenceDataCache;
 import com.app.service.ISchoolAdminService;
 
 
@@ -41,7 +41,7 @@ public class SchoolAdminServiceImpl implements ISchoolAdminService {
 	@Autowired
     private SchoolRepository schoolRepository;
 	@Autowired
-    private RoleRepository roleRepository;
+    private IReferenceDataCache referenceDataCache;
 	@Autowired
     private SchoolUserRepository schoolUserRepository;
 	@Autowired
@@ -71,7 +71,7 @@ public class SchoolAdminServiceImpl implements ISchoolAdminService {
         User saved = userRepository.save(user);
 
         // Assign SUPER_ADMIN role
-        Role role = roleRepository.findByRoleName("SUPER_ADMIN")
+        Role role = referenceDataCache.findRoleByName("SUPER_ADMIN")
                 .orElseThrow(() -> new ResourceNotFoundException("Role SUPER_ADMIN not found"));
 
         // Create UserRole mapping (user -> role)
@@ -144,7 +144,7 @@ public class SchoolAdminServiceImpl implements ISchoolAdminService {
         School school = schoolRepository.findById(request.getSchoolId())
                 .orElseThrow(() -> new ResourceNotFoundException("School not found with ID: " + request.getSchoolId()));
 
-        Role role = roleRepository.findById(request.getRoleId())
+        Role role = referenceDataCache.findRoleById(request.getRoleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with ID: " + request.getRoleId()));
 
         // Create UserRole mapping (user -> role)
@@ -198,7 +198,7 @@ public class SchoolAdminServiceImpl implements ISchoolAdminService {
                 .orElseThrow(() -> new ResourceNotFoundException("School not found with ID: " + request.getSchoolId()));
 
         // 3) load Role
-        Role role = roleRepository.findById(request.getRoleId())
+        Role role = referenceDataCache.findRoleById(request.getRoleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with ID: " + request.getRoleId()));
 
 //        Role role = roleRepository.findByRoleName("GATE_STAFF")
@@ -418,7 +418,7 @@ public class SchoolAdminServiceImpl implements ISchoolAdminService {
                     .orElseThrow(() -> new ResourceNotFoundException("Staff not found with ID: " + staffId));
 
             // Find the new role
-            Role newRole = roleRepository.findById(newRoleId)
+            Role newRole = referenceDataCache.findRoleById(newRoleId)
                     .orElseThrow(() -> new ResourceNotFoundException("Role not found with ID: " + newRoleId));
 
             // Update UserRole table
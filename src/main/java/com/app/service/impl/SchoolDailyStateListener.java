@@ -0,0 +1,27 @@
+package com.app.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.app.entity.DispatchLog;
+import com.app.service.ISchoolDailyStateService;
+
+import jakarta.persistence.PostPersist;
+
+/**
+ * JPA listener on DispatchLog that feeds every new pickup / drop event into the
+ * per-school daily state, whichever service wrote it.
+ */
+@Component
+public class SchoolDailyStateListener {
+
+	@Lazy
+	@Autowired
+	private ISchoolDailyStateService schoolDailyStateService;
+
+	@PostPersist
+	public void onPersist(DispatchLog dispatchLog) {
+		schoolDailyStateService.record(dispatchLog);
+	}
+}
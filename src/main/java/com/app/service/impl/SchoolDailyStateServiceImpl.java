@@ -0,0 +1,251 @@
+package com.app.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.app.Enum.EventType;
+import com.app.entity.DispatchLog;
+import com.app.repository.DispatchLogRepository;
+import com.app.repository.projection.DailyDispatchEventProjection;
+import com.app.repository.projection.VehicleLastEventProjection;
+import com.app.service.ISchoolDailyStateService;
+
+/**
+ * Today's operational state per school, kept in memory and updated per dispatch event
+ * instead of rescanning the day's logs on every dashboard poll.
+ *
+ * Per school it holds the latest pickup / drop time of each vehicle (a vehicle is in
+ * transit while its latest event is a pickup) and the students dropped at school or
+ * handed to parents. Applying an event is idempotent and order-independent, so the
+ * startup reload from the day's logs can overlap with live events.
+ *
+ * The state belongs to one local date: the first access after midnight starts a new,
+ * empty day which is then reloaded from the logs once.
+ *
+ * On a multi-node deployment the counts come from grouped queries over today's logs
+ * instead (see InMemoryReadModel).
+ */
+@Service
+public class SchoolDailyStateServiceImpl extends InMemoryReadModel implements ISchoolDailyStateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchoolDailyStateServiceImpl.class);
+
+    private static final Set<EventType> PICKUP_EVENTS = EnumSet.of(EventType.PICKUP_FROM_PARENT, EventType.PICKUP_FROM_SCHOOL);
+    private static final Set<EventType> DROP_EVENTS = EnumSet.of(EventType.DROP_TO_SCHOOL, EventType.DROP_TO_PARENT);
+    private static final Set<EventType> TRACKED_EVENTS = EnumSet.of(EventType.PICKUP_FROM_PARENT, EventType.PICKUP_FROM_SCHOOL,
+            EventType.DROP_TO_SCHOOL, EventType.DROP_TO_PARENT);
+
+    @Autowired
+    private DispatchLogRepository dispatchLogRepository;
+
+    private volatile DayState current = new DayState(LocalDate.now());
+
+    private final LongAdder appliedCount = new LongAdder();
+    private final LongAdder ignoredCount = new LongAdder();
+    private final LongAdder reloadCount = new LongAdder();
+    private final LongAdder reloadedRowCount = new LongAdder();
+
+    @Override
+    public void record(DispatchLog dispatchLog) {
+        if (dispatchLog == null || !TRACKED_EVENTS.contains(dispatchLog.getEventType())
+                || dispatchLog.getSchool() == null || dispatchLog.getVehicle() == null) {
+            return;
+        }
+        Integer schoolId = dispatchLog.getSchool().getSchoolId();
+        Integer vehicleId = dispatchLog.getVehicle().getVehicleId();
+        Integer studentId = dispatchLog.getStudent() != null ? dispatchLog.getStudent().getStudentId() : null;
+        EventType eventType = dispatchLog.getEventType();
+        LocalDateTime createdDate = dispatchLog.getCreatedDate() != null ? dispatchLog.getCreatedDate() : LocalDateTime.now();
+
+        // Only committed events count; a rolled-back pickup must not leave a vehicle "in transit"
+        afterCommit(() -> apply(schoolId, vehicleId, studentId, eventType, createdDate));
+    }
+
+    @Override
+    public long countVehiclesInTransit(Integer schoolId) {
+        if (!isAuthoritative()) {
+            List<VehicleLastEventProjection> vehicles = dispatchLogRepository.findLastPickupAndDropBySchool(
+                    schoolId, PICKUP_EVENTS, DROP_EVENTS, LocalDate.now().atStartOfDay());
+            return vehicles.stream()
+                    .filter(vehicle -> VehicleDay.inTransit(vehicle.getLastPickupTime(), vehicle.getLastDropTime()))
+                    .count();
+        }
+        SchoolDay school = loadedState().schools.get(schoolId);
+        return school != null ? school.vehiclesInTransit() : 0L;
+    }
+
+    @Override
+    public long countStudentsDroppedAtSchool(Integer schoolId) {
+        if (!isAuthoritative()) {
+            return dispatchLogRepository.countDistinctStudentsBySchoolAndEventTypeSince(
+                    schoolId, EventType.DROP_TO_SCHOOL, LocalDate.now().atStartOfDay());
+        }
+        SchoolDay school = loadedState().schools.get(schoolId);
+        return school != null ? school.droppedAtSchool.size() : 0L;
+    }
+
+    @Override
+    public long countStudentsHandedToParents(Integer schoolId) {
+        if (!isAuthoritative()) {
+            return dispatchLogRepository.countDistinctStudentsBySchoolAndEventTypeSince(
+                    schoolId, EventType.DROP_TO_PARENT, LocalDate.now().atStartOfDay());
+        }
+        SchoolDay school = loadedState().schools.get(schoolId);
+        return school != null ? school.handedToParents.size() : 0L;
+    }
+
+    @Override
+    protected void load() {
+        DayState state = currentState();
+        synchronized (state) {
+            state.lastLoadAttemptMs = System.currentTimeMillis();
+            try {
+                List<DailyDispatchEventProjection> events = dispatchLogRepository.findDailyEventsSince(
+                        state.day.atStartOfDay(), TRACKED_EVENTS);
+                for (DailyDispatchEventProjection event : events) {
+                    apply(event.getSchoolId(), event.getVehicleId(), event.getStudentId(),
+                            event.getEventType(), event.getCreatedDate());
+                }
+                state.loaded = true;
+                reloadCount.increment();
+                reloadedRowCount.add(events.size());
+                logger.info("Loaded daily state for {} from {} dispatch events ({} schools)",
+                        state.day, events.size(), state.schools.size());
+            } catch (Exception e) {
+                logger.error("Could not load daily state for {}: {}", state.day, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        DayState state = current;
+        long vehiclesInTransit = 0;
+        for (SchoolDay school : state.schools.values()) {
+            vehiclesInTransit += school.vehiclesInTransit();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("authoritative", isAuthoritative());
+        stats.put("day", state.day);
+        stats.put("loaded", state.loaded);
+        stats.put("schools", state.schools.size());
+        stats.put("vehiclesInTransit", vehiclesInTransit);
+        stats.put("applied", appliedCount.sum());
+        stats.put("ignored", ignoredCount.sum());
+        stats.put("reloads", reloadCount.sum());
+        stats.put("reloadedRows", reloadedRowCount.sum());
+        return stats;
+    }
+
+    private void apply(Integer schoolId, Integer vehicleId, Integer studentId, EventType eventType, LocalDateTime createdDate) {
+        DayState state = currentState();
+        if (schoolId == null || vehicleId == null || createdDate == null || !state.day.equals(createdDate.toLocalDate())) {
+            // Events of another day (e.g. committed just after midnight) do not belong to today's state
+            ignoredCount.increment();
+            return;
+        }
+        state.schools.computeIfAbsent(schoolId, id -> new SchoolDay()).apply(vehicleId, studentId, eventType, createdDate);
+        appliedCount.increment();
+    }
+
+    // Today's state, switching to a fresh day after local midnight
+    private DayState currentState() {
+        DayState state = current;
+        LocalDate today = LocalDate.now();
+        if (state.day.equals(today)) {
+            return state;
+        }
+        synchronized (this) {
+            if (!current.day.equals(today)) {
+                logger.info("Resetting daily state: {} -> {}", current.day, today);
+                current = new DayState(today);
+            }
+            return current;
+        }
+    }
+
+    // Today's state for reads, reloading it from the logs first if that has not happened yet
+    private DayState loadedState() {
+        DayState state = currentState();
+        if (reloadDue(state.loaded, state.lastLoadAttemptMs)) {
+            rebuild();
+        }
+        return state;
+    }
+
+    private static final class DayState {
+        private final LocalDate day;
+        private final Map<Integer, SchoolDay> schools = new ConcurrentHashMap<>();
+        private volatile boolean loaded;
+        private volatile long lastLoadAttemptMs;
+
+        private DayState(LocalDate day) {
+            this.day = day;
+        }
+    }
+
+    private static final class SchoolDay {
+        // vehicleId -> latest pickup / drop today; guarded by this
+        private final Map<Integer, VehicleDay> vehicles = new ConcurrentHashMap<>();
+        private final Set<Integer> droppedAtSchool = ConcurrentHashMap.newKeySet();
+        private final Set<Integer> handedToParents = ConcurrentHashMap.newKeySet();
+        private volatile long inTransit;
+
+        private void apply(Integer vehicleId, Integer studentId, EventType eventType, LocalDateTime createdDate) {
+            if (studentId != null) {
+                if (eventType == EventType.DROP_TO_SCHOOL) {
+                    droppedAtSchool.add(studentId);
+                } else if (eventType == EventType.DROP_TO_PARENT) {
+                    handedToParents.add(studentId);
+                }
+            }
+
+            synchronized (this) {
+                VehicleDay vehicle = vehicles.computeIfAbsent(vehicleId, id -> new VehicleDay());
+                boolean wasInTransit = vehicle.inTransit();
+                if (PICKUP_EVENTS.contains(eventType)) {
+                    if (vehicle.lastPickup == null || createdDate.isAfter(vehicle.lastPickup)) {
+                        vehicle.lastPickup = createdDate;
+                    }
+                } else if (DROP_EVENTS.contains(eventType)) {
+                    if (vehicle.lastDrop == null || createdDate.isAfter(vehicle.lastDrop)) {
+                        vehicle.lastDrop = createdDate;
+                    }
+                }
+                boolean isInTransit = vehicle.inTransit();
+                if (wasInTransit != isInTransit) {
+                    inTransit += isInTransit ? 1 : -1;
+                }
+            }
+        }
+
+        private long vehiclesInTransit() {
+            return inTransit;
+        }
+    }
+
+    private static final class VehicleDay {
+        private LocalDateTime lastPickup;
+        private LocalDateTime lastDrop;
+
+        private boolean inTransit() {
+            return inTransit(lastPickup, lastDrop);
+        }
+
+        private static boolean inTransit(LocalDateTime lastPickup, LocalDateTime lastDrop) {
+            return lastPickup != null && (lastDrop == null || lastPickup.isAfter(lastDrop));
+        }
+    }
+}
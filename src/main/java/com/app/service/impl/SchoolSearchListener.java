@@ -0,0 +1,35 @@
+package com.app.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.app.entity.School;
+import com.app.service.ISchoolSearchService;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on School that keeps the school search index in step with every
+ * insert, update and delete, whichever service wrote it.
+ */
+@Component
+public class SchoolSearchListener {
+
+	@Lazy
+	@Autowired
+	private ISchoolSearchService schoolSearchService;
+
+	@PostPersist
+	@PostUpdate
+	public void onSave(School school) {
+		schoolSearchService.index(school);
+	}
+
+	@PostRemove
+	public void onRemove(School school) {
+		schoolSearchService.remove(school.getSchoolId());
+	}
+}
@@ -0,0 +1,169 @@
+package com.app.service.impl;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.app.entity.School;
+import com.app.repository.SchoolRepository;
+import com.app.repository.projection.SchoolSearchProjection;
+import com.app.service.ISchoolSearchService;
+
+/**
+ * School search for the app-admin console, served from an in-memory text index
+ * instead of loading and lower-casing every school per keystroke.
+ *
+ * The index is loaded once at startup and kept in step by SchoolSearchListener on
+ * every committed insert, update and delete of a school.
+ *
+ * On a multi-node deployment schools may change on another node, so each search
+ * reads the matching rows from the database and ranks them the same way (see
+ * InMemoryReadModel).
+ */
+@Service
+public class SchoolSearchServiceImpl extends InMemoryReadModel implements ISchoolSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchoolSearchServiceImpl.class);
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    private final TextSearchIndex index = new TextSearchIndex();
+
+    // Schools saved or deleted while a reload is running; its older snapshot must not overwrite them
+    private final Set<Integer> touchedDuringReload = new HashSet<>();
+    private boolean reloading;
+
+    private volatile boolean loaded;
+    private volatile long lastLoadAttemptMs;
+
+    private final LongAdder searchCount = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+    private final LongAdder updateCount = new LongAdder();
+    private final LongAdder reloadCount = new LongAdder();
+
+    @Override
+    public List<Integer> search(String query) {
+        if (reloadDue(loaded, lastLoadAttemptMs)) {
+            rebuild();
+        }
+        long start = System.nanoTime();
+        List<Integer> ids = isAuthoritative() ? index.search(query) : searchDatabase(query);
+        searchNanos.add(System.nanoTime() - start);
+        searchCount.increment();
+        return ids;
+    }
+
+    @Override
+    public void index(School school) {
+        if (school == null || school.getSchoolId() == null) {
+            return;
+        }
+        Integer schoolId = school.getSchoolId();
+        String[] fields = fieldsOf(school.getSchoolName(), school.getSchoolCode(),
+                school.getCity(), school.getDistrict(), school.getState());
+        afterCommit(() -> {
+            synchronized (this) {
+                index.put(schoolId, fields);
+                if (reloading) {
+                    touchedDuringReload.add(schoolId);
+                }
+            }
+            updateCount.increment();
+        });
+    }
+
+    @Override
+    public void remove(Integer schoolId) {
+        if (schoolId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (this) {
+                index.remove(schoolId);
+                if (reloading) {
+                    touchedDuringReload.add(schoolId);
+                }
+            }
+            updateCount.increment();
+        });
+    }
+
+    @Override
+    protected void load() {
+        synchronized (this) {
+            reloading = true;
+            touchedDuringReload.clear();
+        }
+        lastLoadAttemptMs = System.currentTimeMillis();
+        try {
+            List<SchoolSearchProjection> rows = schoolRepository.findAllSearchRows();
+            // Schools committed since the query started are already current in the index
+            synchronized (this) {
+                for (SchoolSearchProjection row : rows) {
+                    if (!touchedDuringReload.contains(row.getSchoolId())) {
+                        index.put(row.getSchoolId(), fieldsOf(row.getSchoolName(), row.getSchoolCode(),
+                                row.getCity(), row.getDistrict(), row.getState()));
+                    }
+                }
+            }
+            loaded = true;
+            reloadCount.increment();
+            logger.info("Loaded school search index: {} schools, {} trigrams", index.size(), index.gramCount());
+        } catch (Exception e) {
+            logger.error("Could not load school search index: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                reloading = false;
+                touchedDuringReload.clear();
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        long searches = searchCount.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("authoritative", isAuthoritative());
+        stats.put("loaded", loaded);
+        stats.put("indexedSchools", index.size());
+        stats.put("trigrams", index.gramCount());
+        stats.put("searches", searches);
+        stats.put("avgSearchMicros", searches > 0 ? searchNanos.sum() / searches / 1_000 : 0);
+        stats.put("updates", updateCount.sum());
+        stats.put("reloads", reloadCount.sum());
+        return stats;
+    }
+
+    // Name first: it is the primary field and ranks above the others
+    private static String[] fieldsOf(String name, String code, String city, String district, String state) {
+        return new String[] { name, code, city, district, state };
+    }
+
+    // Rows containing the query's longest word, matched and ranked by a throwaway index over just those rows
+    private List<Integer> searchDatabase(String query) {
+        String longestWord = "";
+        for (String word : TextSearchIndex.normalize(query).split(" ")) {
+            if (word.length() > longestWord.length()) {
+                longestWord = word;
+            }
+        }
+        if (longestWord.isEmpty()) {
+            return List.of();
+        }
+        TextSearchIndex matches = new TextSearchIndex();
+        for (SchoolSearchProjection row : schoolRepository.findSearchRowsContaining(longestWord)) {
+            matches.put(row.getSchoolId(), fieldsOf(row.getSchoolName(), row.getSchoolCode(),
+                    row.getCity(), row.getDistrict(), row.getState()));
+        }
+        return matches.search(query);
+    }
+}
@@ -8,6 +8,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.app.entity.DispatchLog;
@@ -15,18 +16,22 @@ import com.app.entity.Role;
 import com.app.entity.School;
 import com.app.entity.SchoolUser;
 import com.app.exception.ResourceNotFoundException;
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.SchoolRequestDto;
 import com.app.payload.response.ApiResponse;
+import com.app.payload.response.CursorPageDto;
 import com.app.payload.response.DispatchLogResponseDto;
 import com.app.payload.response.SchoolResponseDto;
 import com.app.repository.DispatchLogRepository;
-import com.app.repository.RoleRepository;
 import com.app.repository.SchoolRepository;
 import com.app.repository.SchoolUserRepository;
 import com.app.repository.StudentRepository;
 import com.app.repository.UserRepository;
 import com.app.service.IClassMasterService;
 import com.app.service.IPendingUserService;
+import com.app.service.IPhotoStorageService;
+import com.app.service.IReferenceDataCache;
+import com.app.service.ISchoolDailyStateService;
 import com.app.service.ISchoolService;
 import com.app.service.ISectionMasterService;
 import com.app.Enum.EventType;
@@ -36,16 +41,22 @@ public class SchoolServiceImpl implements ISchoolService {
 
     @Autowired
     private SchoolRepository schoolRepository;
+
+    @Autowired
+    private IPhotoStorageService photoStorageService;
     
     @Autowired
     private IPendingUserService pendingUserService;
     
     @Autowired
-    private RoleRepository roleRepository;
+    private IReferenceDataCache referenceDataCache;
     
     @Autowired
     private DispatchLogRepository dispatchLogRepository;
     
+    @Autowired
+    private ISchoolDailyStateService schoolDailyStateService;
+    
     @Autowired
     private StudentRepository studentRepository;
     
@@ -95,7 +106,7 @@ public class SchoolServiceImpl implements ISchoolService {
                     .pincode(request.getPincode())
                     .contactNo(request.getContactNo())
                     .email(request.getEmail())
-                    .schoolPhoto(request.getSchoolPhoto())
+                    .schoolPhotoRef(photoStorageService.store(request.getSchoolPhoto()))
                     .isActive(false) // new school inactive by default
                     .startDate(request.getStartDate())
                     .endDate(request.getEndDate())
@@ -107,7 +118,7 @@ public class SchoolServiceImpl implements ISchoolService {
             System.out.println("✅ School saved with ID: " + saved.getSchoolId());
             
             // -------- Get Role for School Admin --------
-            Role schoolAdminRole = roleRepository.findByRoleName("SCHOOL_ADMIN")
+            Role schoolAdminRole = referenceDataCache.findRoleByName("SCHOOL_ADMIN")
                     .orElseThrow(() -> new ResourceNotFoundException("Role SCHOOL_ADMIN not found"));
             System.out.println("🔹 Found SCHOOL_ADMIN role with ID: " + schoolAdminRole.getRoleId());
 
@@ -212,7 +223,7 @@ public class SchoolServiceImpl implements ISchoolService {
         school.setPincode(request.getPincode());
         school.setContactNo(request.getContactNo());
         school.setEmail(request.getEmail());
-        school.setSchoolPhoto(request.getSchoolPhoto());
+        school.setSchoolPhotoRef(photoStorageService.store(request.getSchoolPhoto()));
         school.setStartDate(request.getStartDate());
         school.setEndDate(request.getEndDate());
         school.setUpdatedBy(request.getUpdatedBy());
@@ -242,12 +253,15 @@ public class SchoolServiceImpl implements ISchoolService {
     }
 
     @Override
-    public ApiResponse getAllSchools() {
-        List<SchoolResponseDto> schools = schoolRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-
-        return new ApiResponse(true, "All schools fetched successfully", schools);
+    public ApiResponse getAllSchools(PaginationRequest pagination) {
+        Integer afterId = CursorPageDto.decodeCursor(pagination);
+        int pageSize = pagination.resolvePageSize();
+        List<School> rows = schoolRepository.findBySchoolIdGreaterThanOrderBySchoolIdAsc(
+                afterId != null ? afterId : 0, PageRequest.of(0, pageSize + 1));
+
+        CursorPageDto<SchoolResponseDto> page = CursorPageDto.of(rows, pageSize, School::getSchoolId, this::mapToResponse,
+                pagination.wantsTotal() ? schoolRepository.count() : null);
+        return new ApiResponse(true, "All schools fetched successfully", page);
     }
 
     // Mapper
@@ -266,7 +280,7 @@ public class SchoolServiceImpl implements ISchoolService {
                 .pincode(school.getPincode())
                 .contactNo(school.getContactNo())
                 .email(school.getEmail())
-                .schoolPhoto(school.getSchoolPhoto())
+                .schoolPhoto(photoStorageService.toUrl(school.getSchoolPhotoRef()))
                 .isActive(school.getIsActive())
                 .startDate(school.getStartDate())
                 .endDate(school.getEndDate())
@@ -281,33 +295,13 @@ public class SchoolServiceImpl implements ISchoolService {
     public ApiResponse getVehiclesInTransit(Integer schoolId) {
         try {
             // Validate school exists
-            School school = schoolRepository.findById(schoolId)
-                    .orElseThrow(() -> new ResourceNotFoundException("School not found with ID: " + schoolId));
+            if (!schoolRepository.existsById(schoolId)) {
+                throw new ResourceNotFoundException("School not found with ID: " + schoolId);
+            }
 
-            // Get all dispatch logs for this school from today
-            LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
-            LocalDateTime endOfDay = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59).withNano(999999999);
-            
-            List<DispatchLog> todayLogs = dispatchLogRepository.findBySchoolAndCreatedDateBetween(
-                school, startOfDay, endOfDay);
-
-            // Count vehicles that are currently in transit
-            // A vehicle is "in transit" if it has started a trip (PICKUP_FROM_PARENT or PICKUP_FROM_SCHOOL)
-            // but hasn't completed it (no corresponding DROP_TO_SCHOOL or DROP_TO_PARENT)
-            long vehiclesInTransit = todayLogs.stream()
-                .filter(log -> log.getEventType() == EventType.PICKUP_FROM_PARENT || 
-                              log.getEventType() == EventType.PICKUP_FROM_SCHOOL)
-                .map(log -> log.getVehicle().getVehicleId())
-                .distinct()
-                .filter(vehicleId -> {
-                    // Check if this vehicle has completed its trip
-                    boolean hasCompletedTrip = todayLogs.stream()
-                        .anyMatch(log -> log.getVehicle().getVehicleId().equals(vehicleId) &&
-                                       (log.getEventType() == EventType.DROP_TO_SCHOOL ||
-                                        log.getEventType() == EventType.DROP_TO_PARENT));
-                    return !hasCompletedTrip;
-                })
-                .count();
+            // A vehicle is "in transit" while its latest pickup today is newer than its latest drop;
+            // maintained per event by the daily state instead of rescanning today's logs
+            long vehiclesInTransit = schoolDailyStateService.countVehiclesInTransit(schoolId);
 
             return new ApiResponse(true, "Vehicles in transit count retrieved successfully", vehiclesInTransit);
             
@@ -320,28 +314,20 @@ public class SchoolServiceImpl implements ISchoolService {
     public ApiResponse getTodayAttendance(Integer schoolId) {
         try {
             // Validate school exists
-            School school = schoolRepository.findById(schoolId)
-                    .orElseThrow(() -> new ResourceNotFoundException("School not found with ID: " + schoolId));
-
-            // Get all dispatch logs for this school from today
-            LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
-            LocalDateTime endOfDay = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59).withNano(999999999);
-            
-            List<DispatchLog> todayLogs = dispatchLogRepository.findBySchoolAndCreatedDateBetween(
-                school, startOfDay, endOfDay);
+            if (!schoolRepository.existsById(schoolId)) {
+                throw new ResourceNotFoundException("School not found with ID: " + schoolId);
+            }
 
-            // Count students who were dropped to school today (attendance)
-            long studentsPresent = todayLogs.stream()
-                .filter(log -> log.getEventType() == EventType.DROP_TO_SCHOOL)
-                .map(log -> log.getStudent().getStudentId())
-                .distinct()
-                .count();
+            // Students dropped to school today (attendance) and handed back to parents
+            long studentsPresent = schoolDailyStateService.countStudentsDroppedAtSchool(schoolId);
+            long studentsHandedToParents = schoolDailyStateService.countStudentsHandedToParents(schoolId);
 
             // Get total students for this school from student repository
             long totalStudents = studentRepository.countBySchool_SchoolId(schoolId);
 
             Map<String, Object> attendanceData = new HashMap<>();
             attendanceData.put("studentsPresent", studentsPresent);
+            attendanceData.put("studentsHandedToParents", studentsHandedToParents);
             attendanceData.put("totalStudents", totalStudents);
             attendanceData.put("attendanceRate", totalStudents > 0 ? (studentsPresent * 100.0 / totalStudents) : 0.0);
 
@@ -457,13 +443,9 @@ public class SchoolServiceImpl implements ISchoolService {
     @Override
     public ApiResponse getSchoolNotifications(Integer schoolId) {
         try {
-            // Fetch all dispatch logs for the school
-            List<DispatchLog> dispatchLogs = dispatchLogRepository.findBySchool_SchoolIdOrderByCreatedDateDesc(schoolId);
-            
-            // Limit to last 10 for dashboard performance
-            List<DispatchLog> limitedLogs = dispatchLogs.stream()
-                    .limit(10)
-                    .collect(Collectors.toList());
+            // Last 10 dispatch logs for dashboard performance
+            List<DispatchLog> limitedLogs = dispatchLogRepository.findBySchool_SchoolIdOrderByCreatedDateDesc(
+                    schoolId, PageRequest.of(0, 10));
             
             // Convert to DTOs to avoid circular reference issues
             List<DispatchLogResponseDto> notificationDtos = limitedLogs.stream()
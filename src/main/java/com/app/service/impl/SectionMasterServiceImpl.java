@@ -9,6 +9,7 @@ import com.app.payload.response.SectionMasterResponseDto;
 import com.app.repository.SectionMasterRepository;
 import com.app.repository.SchoolRepository;
 import com.app.service.ISectionMasterService;
+import com.app.service.IReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +26,9 @@ public class SectionMasterServiceImpl implements ISectionMasterService {
     @Autowired
     private SchoolRepository schoolRepository;
 
+    @Autowired
+    private IReferenceDataCache referenceDataCache;
+
     @Override
     public ApiResponse createSection(SectionMasterRequestDto request) {
         try {
@@ -47,6 +51,7 @@ public class SectionMasterServiceImpl implements ISectionMasterService {
                     .build();
 
             SectionMaster savedSection = sectionMasterRepository.save(sectionMaster);
+            referenceDataCache.invalidateSections(school.getSchoolId());
             SectionMasterResponseDto response = convertToResponseDto(savedSection);
 
             return new ApiResponse(true, "Section created successfully", response);
@@ -72,12 +77,17 @@ public class SectionMasterServiceImpl implements ISectionMasterService {
 
             sectionMaster.setSectionName(request.getSectionName());
             sectionMaster.setDescription(request.getDescription());
+            Integer previousSchoolId = sectionMaster.getSchool() != null ? sectionMaster.getSchool().getSchoolId() : null;
             sectionMaster.setSchool(school);
             sectionMaster.setIsActive(request.getIsActive());
             sectionMaster.setUpdatedBy(request.getUpdatedBy());
             sectionMaster.setUpdatedDate(LocalDateTime.now());
 
             SectionMaster updatedSection = sectionMasterRepository.save(sectionMaster);
+            referenceDataCache.invalidateSections(school.getSchoolId());
+            if (previousSchoolId != null && !previousSchoolId.equals(school.getSchoolId())) {
+                referenceDataCache.invalidateSections(previousSchoolId);
+            }
             SectionMasterResponseDto response = convertToResponseDto(updatedSection);
 
             return new ApiResponse(true, "Section updated successfully", response);
@@ -93,6 +103,7 @@ public class SectionMasterServiceImpl implements ISectionMasterService {
                     .orElseThrow(() -> new ResourceNotFoundException("Section not found with ID: " + sectionId));
 
             sectionMasterRepository.delete(sectionMaster);
+            referenceDataCache.invalidateSections(sectionMaster.getSchool() != null ? sectionMaster.getSchool().getSchoolId() : null);
             return new ApiResponse(true, "Section deleted successfully", null);
         } catch (Exception e) {
             return new ApiResponse(false, "Error deleting section: " + e.getMessage(), null);
@@ -157,6 +168,7 @@ public class SectionMasterServiceImpl implements ISectionMasterService {
             sectionMaster.setUpdatedDate(LocalDateTime.now());
 
             SectionMaster updatedSection = sectionMasterRepository.save(sectionMaster);
+            referenceDataCache.invalidateSections(updatedSection.getSchool() != null ? updatedSection.getSchool().getSchoolId() : null);
             SectionMasterResponseDto response = convertToResponseDto(updatedSection);
 
             return new ApiResponse(true, "Section status updated successfully", response);
@@ -24,17 +24,16 @@ import com.app.payload.request.PendingUserRequestDTO;
 import com.app.payload.request.StudentRequestDto;
 import com.app.payload.response.ApiResponse;
 import com.app.payload.response.StudentResponseDto;
-import com.app.repository.ClassMasterRepository;
-import com.app.repository.RoleRepository;
 import com.app.repository.SchoolRepository;
 import com.app.repository.SchoolUserRepository;
-import com.app.repository.SectionMasterRepository;
 import com.app.repository.StudentParentRepository;
 import com.app.repository.StudentRepository;
 import com.app.repository.TripRepository;
 import com.app.repository.UserRepository;
 import com.app.repository.UserRoleRepository;
 import com.app.service.IPendingUserService;
+import com.app.service.IPhotoStorageService;
+import com.app.service.IReferenceDataCache;
 import com.app.service.IStudentService;
 
 @Service
@@ -43,6 +42,9 @@ public class StudentServiceImpl implements IStudentService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private IPhotoStorageService photoStorageService;
+
     @Autowired
     private SchoolRepository schoolRepository;
 
@@ -50,7 +52,7 @@ public class StudentServiceImpl implements IStudentService {
     private TripRepository tripRepository;
     
     @Autowired
-    private RoleRepository roleRepository;
+    private IReferenceDataCache referenceDataCache;
     
     @Autowired
     private IPendingUserService pendingUserService;
@@ -61,12 +63,6 @@ public class StudentServiceImpl implements IStudentService {
     @Autowired
     private StudentParentRepository studentParentRepository;
     
-    @Autowired
-    private ClassMasterRepository classMasterRepository;
-    
-    @Autowired
-    private SectionMasterRepository sectionMasterRepository;
-    
     @Autowired
     private SchoolUserRepository schoolUserRepository;
     
@@ -83,11 +79,11 @@ public class StudentServiceImpl implements IStudentService {
                 .orElseThrow(() -> new ResourceNotFoundException("School not found with ID: " + request.getSchoolId()));
 
         // 2. Validate class master
-        ClassMaster classMaster = classMasterRepository.findById(request.getClassId())
+        ClassMaster classMaster = referenceDataCache.findClassById(request.getClassId())
                 .orElseThrow(() -> new ResourceNotFoundException("Class not found with ID: " + request.getClassId()));
 
         // 3. Validate section master
-        SectionMaster sectionMaster = sectionMasterRepository.findById(request.getSectionId())
+        SectionMaster sectionMaster = referenceDataCache.findSectionById(request.getSectionId())
                 .orElseThrow(() -> new ResourceNotFoundException("Section not found with ID: " + request.getSectionId()));
 
         // 4. Check for duplicate email
@@ -117,7 +113,7 @@ public class StudentServiceImpl implements IStudentService {
                 .gender(request.getGender())
                 .classMaster(classMaster)
                 .sectionMaster(sectionMaster)
-                .studentPhoto(request.getStudentPhoto())
+                .studentPhotoRef(photoStorageService.store(request.getStudentPhoto()))
                 .school(school)
                 .motherName(request.getMotherName())
                 .fatherName(request.getFatherName())
@@ -142,7 +138,7 @@ public class StudentServiceImpl implements IStudentService {
         studentParentRepository.save(sp);
 
         // 4. Assign Parent Role
-        Role parentRole = roleRepository.findByRoleName("PARENT")
+        Role parentRole = referenceDataCache.findRoleByName("PARENT")
                 .orElseThrow(() -> new ResourceNotFoundException("Role PARENT not found"));
 
         // 5. Create PendingUser for parent
@@ -175,14 +171,14 @@ public class StudentServiceImpl implements IStudentService {
         // Validate class master if provided
         ClassMaster classMaster = null;
         if (request.getClassId() != null) {
-            classMaster = classMasterRepository.findById(request.getClassId())
+            classMaster = referenceDataCache.findClassById(request.getClassId())
                     .orElseThrow(() -> new ResourceNotFoundException("Class not found with ID: " + request.getClassId()));
         }
 
         // Validate section master if provided
         SectionMaster sectionMaster = null;
         if (request.getSectionId() != null) {
-            sectionMaster = sectionMasterRepository.findById(request.getSectionId())
+            sectionMaster = referenceDataCache.findSectionById(request.getSectionId())
                     .orElseThrow(() -> new ResourceNotFoundException("Section not found with ID: " + request.getSectionId()));
         }
 
@@ -216,7 +212,7 @@ public class StudentServiceImpl implements IStudentService {
         if (sectionMaster != null) {
             student.setSectionMaster(sectionMaster);
         }
-        student.setStudentPhoto(request.getStudentPhoto());
+        student.setStudentPhotoRef(photoStorageService.store(request.getStudentPhoto()));
         student.setMotherName(request.getMotherName());
         student.setFatherName(request.getFatherName());
         student.setPrimaryContactNumber(request.getPrimaryContactNumber());
@@ -314,7 +310,7 @@ public class StudentServiceImpl implements IStudentService {
                 .className(student.getClassMaster() != null ? student.getClassMaster().getClassName() : null)
                 .sectionId(student.getSectionMaster() != null ? student.getSectionMaster().getSectionId() : null)
                 .sectionName(student.getSectionMaster() != null ? student.getSectionMaster().getSectionName() : null)
-                .studentPhoto(student.getStudentPhoto())
+                .studentPhoto(photoStorageService.toUrl(student.getStudentPhotoRef()))
                 .schoolId(student.getSchool() != null ? student.getSchool().getSchoolId() : null)
                 .schoolName(student.getSchool() != null ? student.getSchool().getSchoolName() : null)
                 .motherName(student.getMotherName())
@@ -0,0 +1,272 @@
+package com.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory text index over a few short fields per entity (names, codes, places).
+ *
+ * Queries of three or more characters match anywhere inside a field: every field is
+ * split into trigrams, the query's trigram posting lists are intersected and the
+ * candidates verified against the field text. Shorter queries match word prefixes
+ * through a sorted word map. Matches are ranked by how well and in which field they
+ * hit; field 0 is the primary field (e.g. the name) and ranks highest.
+ *
+ * Writes are serialized; reads never lock. A read racing a write may miss or still
+ * see that one entity, but never returns an entity whose current text does not match.
+ */
+public final class TextSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private static final int SCORE_EXACT = 100;
+    private static final int SCORE_PREFIX = 80;
+    private static final int SCORE_WORD_PREFIX = 60;
+    private static final int SCORE_INFIX = 40;
+    // Subtracted per field position so a name hit outranks the same hit on a city
+    private static final int FIELD_PENALTY = 5;
+
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> grams = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Integer>> words = new ConcurrentSkipListMap<>();
+
+    /**
+     * Add or replace the indexed fields of one entity. Null fields are allowed.
+     */
+    public synchronized void put(Integer id, String... fields) {
+        if (id == null) {
+            return;
+        }
+        Entry previous = entries.get(id);
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = normalize(fields[i]);
+        }
+        Entry entry = new Entry(normalized);
+        if (previous != null && previous.sameText(entry)) {
+            return;
+        }
+
+        Set<String> oldGrams = previous != null ? previous.grams() : Set.of();
+        Set<String> oldWords = previous != null ? previous.words() : Set.of();
+        Set<String> newGrams = entry.grams();
+        Set<String> newWords = entry.words();
+
+        // Publish the new text first so readers verify candidates against it
+        entries.put(id, entry);
+        for (String gram : newGrams) {
+            if (!oldGrams.contains(gram)) {
+                grams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+        for (String word : newWords) {
+            if (!oldWords.contains(word)) {
+                words.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+        for (String gram : oldGrams) {
+            if (!newGrams.contains(gram)) {
+                unlink(grams, gram, id);
+            }
+        }
+        for (String word : oldWords) {
+            if (!newWords.contains(word)) {
+                unlink(words, word, id);
+            }
+        }
+    }
+
+    public synchronized void remove(Integer id) {
+        Entry previous = id != null ? entries.remove(id) : null;
+        if (previous == null) {
+            return;
+        }
+        for (String gram : previous.grams()) {
+            unlink(grams, gram, id);
+        }
+        for (String word : previous.words()) {
+            unlink(words, word, id);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        grams.clear();
+        words.clear();
+    }
+
+    /**
+     * Ids of all entities matching the query, best match first (ties by primary field, then id).
+     */
+    public List<Integer> search(String query) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Integer id : candidates(q)) {
+            Entry entry = entries.get(id);
+            int score = entry != null ? entry.score(q) : 0;
+            if (score > 0) {
+                hits.add(new Hit(id, score, entry.fields.length > 0 ? entry.fields[0] : ""));
+            }
+        }
+        hits.sort(Comparator.comparingInt((Hit h) -> -h.score)
+                .thenComparing(h -> h.primary)
+                .thenComparing(h -> h.id));
+
+        List<Integer> ids = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            ids.add(hit.id);
+        }
+        return ids;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int gramCount() {
+        return grams.size();
+    }
+
+    private Set<Integer> candidates(String q) {
+        if (q.length() < GRAM) {
+            // Too short for trigrams: union of the posting lists of every word starting with q
+            Set<Integer> result = new HashSet<>();
+            for (Set<Integer> ids : words.subMap(q, true, q + Character.MAX_VALUE, true).values()) {
+                result.addAll(ids);
+            }
+            return result;
+        }
+
+        List<Set<Integer>> postings = new ArrayList<>();
+        for (String gram : gramsOf(q)) {
+            Set<Integer> ids = grams.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            postings.add(ids);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private static void unlink(Map<String, Set<Integer>> postings, String key, Integer id) {
+        postings.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // Lower case, anything but letters and digits becomes a single space
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') {
+            sb.setLength(end - 1);
+        }
+        return sb.toString();
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static final class Entry {
+        private final String[] fields;
+
+        private Entry(String[] fields) {
+            this.fields = fields;
+        }
+
+        private Set<String> grams() {
+            Set<String> result = new HashSet<>();
+            for (String field : fields) {
+                result.addAll(gramsOf(field));
+            }
+            return result;
+        }
+
+        private Set<String> words() {
+            Set<String> result = new HashSet<>();
+            for (String field : fields) {
+                for (String word : field.split(" ")) {
+                    if (!word.isEmpty()) {
+                        result.add(word);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private boolean sameText(Entry other) {
+            return Arrays.equals(fields, other.fields);
+        }
+
+        // Best score over all fields, 0 when the query does not occur in any of them
+        private int score(String q) {
+            int best = 0;
+            for (int i = 0; i < fields.length; i++) {
+                String field = fields[i];
+                int score;
+                if (field.equals(q)) {
+                    score = SCORE_EXACT;
+                } else if (field.startsWith(q)) {
+                    score = SCORE_PREFIX;
+                } else if (field.contains(" " + q)) {
+                    score = SCORE_WORD_PREFIX;
+                } else if (q.length() >= GRAM && field.contains(q)) {
+                    score = SCORE_INFIX;
+                } else {
+                    continue;
+                }
+                best = Math.max(best, score - i * FIELD_PENALTY);
+            }
+            return best;
+        }
+    }
+
+    private static final class Hit {
+        private final Integer id;
+        private final int score;
+        private final String primary;
+
+        private Hit(Integer id, int score, String primary) {
+            this.id = id;
+            this.score = score;
+            this.primary = primary;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.app.entity.Trip;
+import com.app.service.IDriverService;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on Trip that evicts the trip's cached GPS context whenever the trip is
+ * edited, started, ended, reassigned or deleted, so fixes for it are validated again.
+ */
+@Component
+public class TripContextInvalidationListener {
+
+	@Lazy
+	@Autowired
+	private IDriverService driverService;
+
+	@PostUpdate
+	@PostRemove
+	public void onChange(Object entity) {
+		if (entity instanceof Trip trip) {
+			driverService.invalidateTripContext(trip.getTripId());
+		}
+	}
+}
@@ -17,6 +17,7 @@ import com.app.repository.DriverRepository;
 import com.app.repository.VehicleDriverRepository;
 import com.app.repository.TripStatusRepository;
 import com.app.entity.TripStatus;
+import com.app.service.IActiveTripIndexService;
 import com.app.service.ITripService;
 import lombok.RequiredArgsConstructor;
 
@@ -46,6 +47,8 @@ public class TripServiceImpl implements ITripService {
     private VehicleDriverRepository vehicleDriverRepository;
 	@Autowired
     private TripStatusRepository tripStatusRepository;
+	@Autowired
+    private IActiveTripIndexService activeTripIndexService;
 
     @Override
     public ApiResponse createTrip(TripRequestDto request) {
@@ -113,6 +116,8 @@ public class TripServiceImpl implements ITripService {
         trip.setUpdatedDate(LocalDateTime.now());
 
         Trip updatedTrip = tripRepository.save(trip);
+        // Parents see the new vehicle / name of a running trip
+        activeTripIndexService.refreshTrip(tripId);
 
         return new ApiResponse(true, "Trip updated successfully", mapToResponse(updatedTrip));
     }
@@ -123,6 +128,7 @@ public class TripServiceImpl implements ITripService {
                 .orElseThrow(() -> new ResourceNotFoundException("Trip not found with ID: " + tripId));
 
         tripRepository.delete(trip);
+        activeTripIndexService.tripEnded(tripId);
 
         return new ApiResponse(true, "Trip deleted successfully", null);
     }
@@ -12,6 +12,7 @@ import com.app.repository.SchoolRepository;
 import com.app.repository.StudentRepository;
 import com.app.repository.TripRepository;
 import com.app.repository.TripStudentRepository;
+import com.app.service.IActiveTripIndexService;
 import com.app.service.ITripStudentService;
 
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,8 @@ public class TripStudentServiceImpl implements ITripStudentService {
     private StudentRepository studentRepository;
 	@Autowired
     private SchoolRepository schoolRepository;
+	@Autowired
+	private IActiveTripIndexService activeTripIndexService;
 
     @Override
     public ApiResponse assignStudentToTrip(TripStudentRequestDto request) {
@@ -56,6 +59,7 @@ public class TripStudentServiceImpl implements ITripStudentService {
                 .build();
 
         TripStudent saved = tripStudentRepository.save(tripStudent);
+        activeTripIndexService.refreshTrip(trip.getTripId());
 
         return new ApiResponse(true, "Student assigned to trip successfully", mapToResponse(saved));
     }
@@ -65,6 +69,7 @@ public class TripStudentServiceImpl implements ITripStudentService {
         TripStudent tripStudent = tripStudentRepository.findById(tripStudentId)
                 .orElseThrow(() -> new ResourceNotFoundException("TripStudent not found with ID: " + tripStudentId));
 
+        Integer previousTripId = tripStudent.getTrip() != null ? tripStudent.getTrip().getTripId() : null;
         if (request.getTripId() != null) {
             Trip trip = tripRepository.findById(request.getTripId())
                     .orElseThrow(() -> new ResourceNotFoundException("Trip not found with ID: " + request.getTripId()));
@@ -82,6 +87,10 @@ public class TripStudentServiceImpl implements ITripStudentService {
         tripStudent.setUpdatedDate(LocalDateTime.now());
 
         TripStudent updated = tripStudentRepository.save(tripStudent);
+        activeTripIndexService.refreshTrip(previousTripId);
+        if (updated.getTrip() != null && !updated.getTrip().getTripId().equals(previousTripId)) {
+            activeTripIndexService.refreshTrip(updated.getTrip().getTripId());
+        }
 
         return new ApiResponse(true, "TripStudent updated successfully", mapToResponse(updated));
     }
@@ -92,6 +101,7 @@ public class TripStudentServiceImpl implements ITripStudentService {
                 .orElseThrow(() -> new ResourceNotFoundException("TripStudent not found with ID: " + tripStudentId));
 
         tripStudentRepository.delete(tripStudent);
+        activeTripIndexService.refreshTrip(tripStudent.getTrip() != null ? tripStudent.getTrip().getTripId() : null);
 
         return new ApiResponse(true, "Student removed from trip successfully", null);
     }
@@ -7,9 +7,9 @@ import com.app.exception.ResourceNotFoundException;
 import com.app.payload.request.UserRoleRequestDto;
 import com.app.payload.response.ApiResponse;
 import com.app.payload.response.UserRoleResponseDto;
-import com.app.repository.RoleRepository;
 import com.app.repository.UserRepository;
 import com.app.repository.UserRoleRepository;
+import com.app.service.IReferenceDataCache;
 import com.app.service.IUserRoleService;
 
 import lombok.RequiredArgsConstructor;
@@ -32,14 +32,14 @@ public class UserRoleServiceImpl implements IUserRoleService {
 	@Autowired
     private UserRepository userRepository;
 	@Autowired
-    private RoleRepository roleRepository;
+    private IReferenceDataCache referenceDataCache;
 
     @Override
     public ApiResponse assignUserRole(UserRoleRequestDto request) {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + request.getUserId()));
 
-        Role role = roleRepository.findById(request.getRoleId())
+        Role role = referenceDataCache.findRoleById(request.getRoleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with ID: " + request.getRoleId()));
 
         UserRole userRole = UserRole.builder()
@@ -60,7 +60,7 @@ public class UserRoleServiceImpl implements IUserRoleService {
         UserRole userRole = userRoleRepository.findById(userRoleId)
                 .orElseThrow(() -> new ResourceNotFoundException("UserRole not found with ID: " + userRoleId));
 
-        Role role = roleRepository.findById(request.getRoleId())
+        Role role = referenceDataCache.findRoleById(request.getRoleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with ID: " + request.getRoleId()));
 
         userRole.setRole(role);
@@ -9,9 +9,9 @@ import com.app.payload.request.UserRequestDto;
 import com.app.payload.response.ApiResponse;
 import com.app.payload.response.UserResponseDto;
 import com.app.payload.response.UserRoleResponseDto;
-import com.app.repository.RoleRepository;
 import com.app.repository.UserRepository;
 import com.app.repository.UserRoleRepository;
+import com.app.service.IReferenceDataCache;
 import com.app.service.IUserService;
 
 import lombok.RequiredArgsConstructor;
@@ -33,7 +33,7 @@ public class UserServiceImpl implements IUserService {
 	@Autowired
     private UserRepository userRepository;
 	@Autowired
-    private RoleRepository roleRepository;
+    private IReferenceDataCache referenceDataCache;
 	@Autowired
     private UserRoleRepository userRoleRepository;
 	
@@ -141,7 +141,7 @@ public class UserServiceImpl implements IUserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
-        Role role = roleRepository.findById(roleId)
+        Role role = referenceDataCache.findRoleById(roleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with ID: " + roleId));
 
         UserRole userRole = UserRole.builder()
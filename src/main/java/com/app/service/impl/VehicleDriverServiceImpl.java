@@ -18,6 +18,7 @@ import com.app.repository.VehicleRepository;
 import com.app.repository.SchoolVehicleRepository;
 import com.app.repository.VehicleOwnerRepository;
 import com.app.repository.TripRepository;
+import com.app.service.IActiveTripIndexService;
 import com.app.service.IVehicleDriverService;
 
 import lombok.RequiredArgsConstructor;
@@ -49,6 +50,8 @@ public class VehicleDriverServiceImpl implements IVehicleDriverService {
     private VehicleOwnerRepository vehicleOwnerRepository;
     @Autowired
     private TripRepository tripRepository;
+    @Autowired
+    private IActiveTripIndexService activeTripIndexService;
 
     @Override
     public ApiResponse assignDriverToVehicle(VehicleDriverRequestDto request) {
@@ -144,6 +147,7 @@ public class VehicleDriverServiceImpl implements IVehicleDriverService {
                     trip.setUpdatedBy(request.getCreatedBy());
                     trip.setUpdatedDate(LocalDateTime.now());
                     tripRepository.save(trip);
+                    activeTripIndexService.refreshTrip(trip.getTripId());
                     updatedTripsCount++;
                     System.out.println("🔍 assignDriverToVehicle: Updated trip ID " + trip.getTripId() + " with driver " + driver.getDriverName());
                 } else {
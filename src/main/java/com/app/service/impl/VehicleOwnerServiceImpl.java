@@ -1,15 +1,20 @@
 package com.app.service.impl;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,14 +32,15 @@ import com.app.entity.VehicleDriver;
 import com.app.entity.VehicleOwner;
 import com.app.entity.Trip;
 import com.app.exception.ResourceNotFoundException;
+import com.app.payload.request.PaginationRequest;
 import com.app.payload.request.PendingUserRequestDTO;
 import com.app.payload.request.VehicleOwnerRequestDto;
 import com.app.payload.response.ApiResponse;
+import com.app.payload.response.CursorPageDto;
 import com.app.payload.response.DispatchLogResponseDto;
 import com.app.payload.response.VehicleOwnerResponseDto;
 import com.app.repository.DispatchLogRepository;
 import com.app.repository.DriverRepository;
-import com.app.repository.RoleRepository;
 import com.app.repository.SchoolRepository;
 import com.app.repository.SchoolUserRepository;
 import com.app.repository.SchoolVehicleRepository;
@@ -46,9 +52,15 @@ import com.app.repository.UserRoleRepository;
 import com.app.repository.VehicleDriverRepository;
 import com.app.repository.VehicleOwnerRepository;
 import com.app.repository.VehicleRepository;
+import com.app.repository.projection.ActiveCountProjection;
+import com.app.repository.projection.VehicleActivityProjection;
+import com.app.service.IActiveTripIndexService;
 import com.app.service.IPendingUserService;
+import com.app.service.IPhotoStorageService;
+import com.app.service.IReferenceDataCache;
 import com.app.service.IVehicleOwnerService;
 import com.app.service.IWebSocketNotificationService;
+import com.app.util.BoundedCache;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -58,9 +70,18 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
 
+	private static final Set<EventType> PICKUP_EVENTS = EnumSet.of(EventType.PICKUP_FROM_PARENT, EventType.PICKUP_FROM_SCHOOL);
+	private static final Set<EventType> DROP_EVENTS = EnumSet.of(EventType.DROP_TO_SCHOOL, EventType.DROP_TO_PARENT);
+
+	// Owner activity feed and notification bounds
+	private static final int RECENT_ACTIVITY_DAYS = 7;
+	private static final int RECENT_ACTIVITY_LIMIT = 10;
+	private static final int NOTIFICATION_WINDOW_DAYS = 30;
+	private static final int NOTIFICATION_LIMIT = 10;
+
 	private final VehicleOwnerRepository vehicleOwnerRepository;
 	private final UserRepository userRepository;
-	private final RoleRepository roleRepository;
+	private final IReferenceDataCache referenceDataCache;
 	private final IPendingUserService pendingUserService;
 	private final SchoolRepository schoolRepository;
     private final SchoolUserRepository schoolUserRepository;
@@ -75,12 +96,23 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
 	private final TripRepository tripRepository;
 	private final TripStudentRepository tripStudentRepository;
 	private final IWebSocketNotificationService webSocketNotificationService;
+	private final IPhotoStorageService photoStorageService;
+	private final IActiveTripIndexService activeTripIndexService;
+
+	// Short-lived per-owner dashboard snapshots
+	@Value("${app.owner.dashboard.cache-ttl-ms:10000}")
+	private long dashboardCacheTtlMs;
+
+	@Value("${app.owner.dashboard.cache-max-size:2000}")
+	private int dashboardCacheMaxSize;
+
+	private final Map<Integer, DashboardSnapshot> dashboardSnapshots = new ConcurrentHashMap<>();
 
 	@Autowired
 	public VehicleOwnerServiceImpl(
 			VehicleOwnerRepository vehicleOwnerRepository,
 			UserRepository userRepository,
-			RoleRepository roleRepository,
+			IReferenceDataCache referenceDataCache,
 			IPendingUserService pendingUserService,
 			SchoolRepository schoolRepository,
             SchoolUserRepository schoolUserRepository,
@@ -93,10 +125,12 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
 			StudentRepository studentRepository,
 			TripRepository tripRepository,
 			TripStudentRepository tripStudentRepository,
-			IWebSocketNotificationService webSocketNotificationService) {
+			IWebSocketNotificationService webSocketNotificationService,
+			IPhotoStorageService photoStorageService,
+			IActiveTripIndexService activeTripIndexService) {
 		this.vehicleOwnerRepository = vehicleOwnerRepository;
 		this.userRepository = userRepository;
-		this.roleRepository = roleRepository;
+		this.referenceDataCache = referenceDataCache;
 		this.pendingUserService = pendingUserService;
 		this.schoolRepository = schoolRepository;
         this.schoolUserRepository = schoolUserRepository;
@@ -110,6 +144,8 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
 		this.tripRepository = tripRepository;
 		this.tripStudentRepository = tripStudentRepository;
 		this.webSocketNotificationService = webSocketNotificationService;
+		this.photoStorageService = photoStorageService;
+		this.activeTripIndexService = activeTripIndexService;
 	}
 	
 	
@@ -215,7 +251,7 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
 	                .name(request.getName())
 	                .contactNumber(request.getContactNumber())
 	                .email(request.getEmail())
-	                .ownerPhoto(request.getOwnerPhoto())
+	                .ownerPhotoRef(photoStorageService.store(request.getOwnerPhoto()))
 	                .address(request.getAddress())
 	                .createdBy(request.getCreatedBy())
 	                .createdDate(LocalDateTime.now())
@@ -224,7 +260,7 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
 	        VehicleOwner savedOwner = vehicleOwnerRepository.save(owner);
 
 	        // Get VEHICLE_OWNER role
-	        Role role = roleRepository.findByRoleName("VEHICLE_OWNER")
+	        Role role = referenceDataCache.findRoleByName("VEHICLE_OWNER")
 	                .orElseThrow(() -> new ResourceNotFoundException("Role VEHICLE_OWNER not found"));
 
 	        // Create PendingUser entry for activation
@@ -345,7 +381,14 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ApiResponse getVehicleOwnerDashboard(Integer ownerId) {
+        long nowMs = System.currentTimeMillis();
+        DashboardSnapshot snapshot = ownerId != null ? dashboardSnapshots.get(ownerId) : null;
+        if (snapshot != null && nowMs - snapshot.takenAtMs < dashboardCacheTtlMs) {
+            return new ApiResponse(true, "Dashboard data retrieved successfully", new HashMap<>(snapshot.data));
+        }
+
         try {
             VehicleOwner owner = vehicleOwnerRepository.findById(ownerId)
                     .orElseThrow(() -> new ResourceNotFoundException("Vehicle Owner not found with ID: " + ownerId));
@@ -364,52 +407,43 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
                 dashboardData.put("userId", owner.getUser().getUId());
             }
             
-            // Get vehicles count by filtering vehicles created by this owner
             // Vehicles are linked to owners via createdBy field (username or owner name)
             String ownerUsername = owner.getUser() != null ? owner.getUser().getUserName() : owner.getName();
-            List<Vehicle> allVehicles = vehicleRepository.findByCreatedBy(ownerUsername);
-            if (allVehicles.isEmpty() && owner.getUser() != null) {
+            List<Integer> vehicleIds = vehicleRepository.findIdsByCreatedBy(ownerUsername);
+            if (vehicleIds.isEmpty() && owner.getUser() != null) {
                 // Fallback to owner name
-                allVehicles = vehicleRepository.findByCreatedBy(owner.getName());
+                vehicleIds = vehicleRepository.findIdsByCreatedBy(owner.getName());
+            }
+            long totalVehicles = 0;
+            long activeVehicles = 0;
+            if (!vehicleIds.isEmpty()) {
+                ActiveCountProjection vehicleCounts = vehicleRepository.countActiveByIds(vehicleIds);
+                totalVehicles = vehicleCounts.getTotal();
+                activeVehicles = vehicleCounts.getActive();
             }
-            long totalVehicles = allVehicles.size();
-            long activeVehicles = allVehicles.stream()
-                    .filter(v -> v.getIsActive() != null && v.getIsActive())
-                    .count();
             dashboardData.put("totalVehicles", totalVehicles);
             dashboardData.put("activeVehicles", activeVehicles);
             dashboardData.put("inactiveVehicles", totalVehicles - activeVehicles);
             
-            // Get drivers count by filtering all drivers created by this owner
-            List<Driver> allDrivers = driverRepository.findAll().stream()
-                    .filter(d -> owner.getName().equals(d.getCreatedBy()))
-                    .collect(Collectors.toList());
-            long totalDrivers = allDrivers.size();
-            long activeDrivers = allDrivers.stream()
-                    .filter(d -> d.getIsActive() != null && d.getIsActive())
-                    .count();
+            // Drivers created by this owner
+            ActiveCountProjection driverCounts = driverRepository.countActiveByCreatedBy(owner.getName());
+            long totalDrivers = driverCounts.getTotal();
+            long activeDrivers = driverCounts.getActive();
             dashboardData.put("totalDrivers", totalDrivers);
             dashboardData.put("activeDrivers", activeDrivers);
             dashboardData.put("inactiveDrivers", totalDrivers - activeDrivers);
             
-            // Get trips count - filter trips by vehicles owned by this owner
-            Set<Integer> vehicleIds = allVehicles.stream()
-                    .map(Vehicle::getVehicleId)
-                    .collect(Collectors.toSet());
-            long totalTrips = tripRepository.findAll().stream()
-                    .filter(t -> t.getVehicle() != null && vehicleIds.contains(t.getVehicle().getVehicleId()))
-                    .count();
-            dashboardData.put("totalTrips", totalTrips);
-            
-            // Get recent activity count (last 7 days)
+            // Trips and recent activity (last 7 days) of the owner's vehicles
             LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-            long recentActivity = dispatchLogRepository.findAll().stream()
-                    .filter(d -> d.getCreatedDate() != null && d.getCreatedDate().isAfter(weekAgo))
-                    .count();
+            long totalTrips = vehicleIds.isEmpty() ? 0 : tripRepository.countByVehicleVehicleIdIn(vehicleIds);
+            long recentActivity = vehicleIds.isEmpty() ? 0
+                    : dispatchLogRepository.countByVehicle_VehicleIdInAndCreatedDateAfter(vehicleIds, weekAgo);
+            dashboardData.put("totalTrips", totalTrips);
             dashboardData.put("recentActivity", recentActivity);
             
             dashboardData.put("lastUpdated", LocalDateTime.now());
-            
+
+            cacheDashboard(ownerId, new DashboardSnapshot(new HashMap<>(dashboardData), nowMs));
             return new ApiResponse(true, "Dashboard data retrieved successfully", dashboardData);
             
         } catch (Exception e) {
@@ -417,13 +451,31 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
         }
     }
 
-    @Override
-    public ApiResponse getAllVehicleOwners(Integer schoolId) {
-        List<VehicleOwnerResponseDto> owners = vehicleOwnerRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    private void cacheDashboard(Integer ownerId, DashboardSnapshot snapshot) {
+        BoundedCache.put(dashboardSnapshots, ownerId, snapshot, dashboardCacheMaxSize, dashboardCacheTtlMs,
+                cached -> cached.takenAtMs);
+    }
+
+    private static final class DashboardSnapshot {
+        private final Map<String, Object> data;
+        private final long takenAtMs;
+
+        private DashboardSnapshot(Map<String, Object> data, long takenAtMs) {
+            this.data = data;
+            this.takenAtMs = takenAtMs;
+        }
+    }
 
-        return new ApiResponse(true, "Vehicle owners fetched successfully", owners);
+    @Override
+    public ApiResponse getAllVehicleOwners(Integer schoolId, PaginationRequest pagination) {
+        Integer afterId = CursorPageDto.decodeCursor(pagination);
+        int pageSize = pagination.resolvePageSize();
+        List<VehicleOwner> rows = vehicleOwnerRepository.findByOwnerIdGreaterThanOrderByOwnerIdAsc(
+                afterId != null ? afterId : 0, PageRequest.of(0, pageSize + 1));
+
+        CursorPageDto<VehicleOwnerResponseDto> page = CursorPageDto.of(rows, pageSize, VehicleOwner::getOwnerId,
+                this::mapToResponse, pagination.wantsTotal() ? vehicleOwnerRepository.count() : null);
+        return new ApiResponse(true, "Vehicle owners fetched successfully", page);
     }
     @Override
     public ApiResponse getVehicleOwnerByUserId(Integer userId) {
@@ -447,7 +499,7 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
                 .orElseThrow(() -> new ResourceNotFoundException("School not found with ID: " + schoolId));
 
         // Get VEHICLE_OWNER role
-        Role role = roleRepository.findByRoleName("VEHICLE_OWNER")
+        Role role = referenceDataCache.findRoleByName("VEHICLE_OWNER")
                 .orElseThrow(() -> new ResourceNotFoundException("Role VEHICLE_OWNER not found"));
 
         // Check if owner is activated (has a User)
@@ -720,9 +772,9 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
                 return new ApiResponse(true, "No vehicles found for this owner", 0L);
             }
 
-            // Get all dispatch logs for today for these vehicles
-            LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
-            LocalDateTime endOfDay = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59).withNano(999999999);
+            // Latest pickup and drop of today per vehicle, one grouped query for the whole fleet
+            LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+            LocalDateTime startOfTomorrow = startOfDay.plusDays(1);
             
             List<Integer> vehicleIds = ownerVehicles.stream()
                     .map(Vehicle::getVehicleId)
@@ -730,28 +782,12 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
 
             System.out.println("🔍 Checking " + vehicleIds.size() + " vehicles for transit status");
 
-            // Count vehicles that are currently in transit
-            long vehiclesInTransit = 0;
-            for (Integer vehicleId : vehicleIds) {
-                // Check if this vehicle has started a trip but hasn't completed it
-                List<DispatchLog> todayLogs = dispatchLogRepository.findByVehicle_VehicleIdAndCreatedDateBetween(
-                    vehicleId, startOfDay, endOfDay);
-                
-                boolean hasStartedTrip = todayLogs.stream()
-                    .anyMatch(log -> log.getEventType() == EventType.PICKUP_FROM_PARENT || 
-                                   log.getEventType() == EventType.PICKUP_FROM_SCHOOL);
-                
-                boolean hasCompletedTrip = todayLogs.stream()
-                    .anyMatch(log -> log.getEventType() == EventType.DROP_TO_SCHOOL || 
-                                   log.getEventType() == EventType.DROP_TO_PARENT);
-                
-                System.out.println("🔍 Vehicle " + vehicleId + ": hasStartedTrip=" + hasStartedTrip + ", hasCompletedTrip=" + hasCompletedTrip);
-                
-                if (hasStartedTrip && !hasCompletedTrip) {
-                    vehiclesInTransit++;
-                    System.out.println("🔍 Vehicle " + vehicleId + " is in transit");
-                }
-            }
+            // A vehicle is in transit when its latest pickup today is newer than its latest drop
+            long vehiclesInTransit = dispatchLogRepository.findLastPickupAndDropByVehicles(
+                    vehicleIds, PICKUP_EVENTS, DROP_EVENTS, startOfDay, startOfTomorrow).stream()
+                    .filter(last -> last.getLastPickupTime() != null
+                            && (last.getLastDropTime() == null || last.getLastPickupTime().isAfter(last.getLastDropTime())))
+                    .count();
 
             System.out.println("🔍 Total vehicles in transit: " + vehiclesInTransit);
             return new ApiResponse(true, "Vehicles in transit count retrieved successfully", vehiclesInTransit);
@@ -794,51 +830,35 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
                 return new ApiResponse(true, "No vehicles found for this owner", new ArrayList<>());
             }
 
-            // Get recent dispatch logs for these vehicles (last 7 days)
-            LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-            LocalDateTime now = LocalDateTime.now();
+            // Newest dispatch logs of the whole fleet in the activity window, already sorted and limited
+            LocalDateTime windowStart = LocalDateTime.now().minusDays(RECENT_ACTIVITY_DAYS);
             
             List<Integer> vehicleIds = ownerVehicles.stream()
                     .map(Vehicle::getVehicleId)
                     .collect(Collectors.toList());
 
-            List<Map<String, Object>> recentActivities = new ArrayList<>();
-            
-            for (Integer vehicleId : vehicleIds) {
-                List<DispatchLog> recentLogs = dispatchLogRepository.findByVehicle_VehicleIdAndCreatedDateBetween(
-                    vehicleId, sevenDaysAgo, now);
+            List<VehicleActivityProjection> recentLogs = dispatchLogRepository.findRecentActivityByVehicles(
+                    vehicleIds, windowStart, PageRequest.of(0, RECENT_ACTIVITY_LIMIT));
+
+            List<Map<String, Object>> recentActivities = new ArrayList<>(recentLogs.size());
+            for (VehicleActivityProjection log : recentLogs) {
+                Map<String, Object> activity = new HashMap<>();
+                activity.put("id", log.getDispatchLogId());
+                activity.put("type", log.getEventType().toString());
+                activity.put("vehicleId", log.getVehicleId());
+                activity.put("vehicleNumber", log.getVehicleNumber());
+                String studentName = log.getStudentFirstName() + 
+                    (log.getStudentMiddleName() != null ? " " + log.getStudentMiddleName() : "") + 
+                    " " + log.getStudentLastName();
+                activity.put("studentName", studentName);
+                activity.put("createdDate", log.getCreatedDate());
+                activity.put("remarks", log.getRemarks());
                 
-                for (DispatchLog log : recentLogs) {
-                    Map<String, Object> activity = new HashMap<>();
-                    activity.put("id", log.getDispatchLogId());
-                    activity.put("type", log.getEventType().toString());
-                    activity.put("vehicleId", log.getVehicle().getVehicleId());
-                    activity.put("vehicleNumber", log.getVehicle().getVehicleNumber());
-                    String studentName = log.getStudent().getFirstName() + 
-                        (log.getStudent().getMiddleName() != null ? " " + log.getStudent().getMiddleName() : "") + 
-                        " " + log.getStudent().getLastName();
-                    activity.put("studentName", studentName);
-                    activity.put("createdDate", log.getCreatedDate());
-                    activity.put("remarks", log.getRemarks());
-                    
-                    // Add human-readable description
-                    String description = getActivityDescription(log.getEventType(), 
-                        log.getVehicle().getVehicleNumber(), studentName);
-                    activity.put("description", description);
-                    
-                    recentActivities.add(activity);
-                }
-            }
-            
-            // Sort by date (most recent first) and limit to 10
-            recentActivities.sort((a, b) -> {
-                LocalDateTime dateA = (LocalDateTime) a.get("createdDate");
-                LocalDateTime dateB = (LocalDateTime) b.get("createdDate");
-                return dateB.compareTo(dateA);
-            });
-            
-            if (recentActivities.size() > 10) {
-                recentActivities = recentActivities.subList(0, 10);
+                // Add human-readable description
+                String description = getActivityDescription(log.getEventType(), log.getVehicleNumber(), studentName);
+                activity.put("description", description);
+                
+                recentActivities.add(activity);
             }
 
             System.out.println("🔍 Found " + recentActivities.size() + " recent activities");
@@ -968,6 +988,14 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
     }
 
     
+    private List<DispatchLog> findRecentOwnerLogs(List<Vehicle> vehicles) {
+        Set<Integer> vehicleIds = vehicles.stream()
+                .map(Vehicle::getVehicleId)
+                .collect(Collectors.toSet());
+        return dispatchLogRepository.findByVehicle_VehicleIdInAndCreatedDateAfterOrderByCreatedDateDesc(
+                vehicleIds, LocalDateTime.now().minusDays(NOTIFICATION_WINDOW_DAYS), PageRequest.of(0, NOTIFICATION_LIMIT));
+    }
+
     private String getActivityDescription(EventType eventType, String vehicleNumber, String studentName) {
         switch (eventType) {
             case PICKUP_FROM_PARENT:
@@ -1121,6 +1149,7 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
             }
             
             tripRepository.save(trip);
+            activeTripIndexService.refreshTrip(tripId);
             
             // Map to response
             Map<String, Object> responseData = mapTripToResponse(trip);
@@ -1358,6 +1387,7 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
             trip.setUpdatedDate(LocalDateTime.now());
             
             tripRepository.save(trip);
+            activeTripIndexService.refreshTrip(tripId);
             
             // Map to response
             Map<String, Object> responseData = mapTripToResponse(trip);
@@ -1384,7 +1414,7 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
                 .name(owner.getName())
                 .contactNumber(owner.getContactNumber())
                 .email(owner.getEmail())
-                .ownerPhoto(owner.getOwnerPhoto())
+                .ownerPhoto(photoStorageService.toUrl(owner.getOwnerPhotoRef()))
                 .address(owner.getAddress())
                 .createdBy(owner.getCreatedBy())
                 .createdDate(owner.getCreatedDate())
@@ -1433,19 +1463,10 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
                 return new ApiResponse(true, "No vehicles found for this owner", new ArrayList<>());
             }
             
-            // Get all dispatch logs for all vehicles
-            List<DispatchLog> allLogs = new ArrayList<>();
-            for (Vehicle vehicle : vehicles) {
-                List<DispatchLog> vehicleLogs = dispatchLogRepository.findByVehicle_VehicleIdOrderByCreatedDateDesc(vehicle.getVehicleId());
-                allLogs.addAll(vehicleLogs);
-            }
-            
-            System.out.println("🔍 Found " + allLogs.size() + " total dispatch logs for owner's vehicles");
+            // Newest dispatch logs across all of the owner's vehicles in one bounded query
+            List<DispatchLog> limitedLogs = findRecentOwnerLogs(vehicles);
             
-            // Limit to last 10 for dashboard performance
-            List<DispatchLog> limitedLogs = allLogs.stream()
-                    .limit(10)
-                    .collect(Collectors.toList());
+            System.out.println("🔍 Found " + limitedLogs.size() + " recent dispatch logs for owner's vehicles");
             
             // Convert to DTOs to avoid circular reference issues
             List<DispatchLogResponseDto> notificationDtos = limitedLogs.stream()
@@ -1499,19 +1520,10 @@ public class VehicleOwnerServiceImpl implements IVehicleOwnerService {
                 return new ApiResponse(true, "No vehicles found for this owner", new ArrayList<>());
             }
 
-            // Get all dispatch logs for all vehicles
-            List<DispatchLog> allLogs = new ArrayList<>();
-            for (Vehicle vehicle : vehicles) {
-                List<DispatchLog> vehicleLogs = dispatchLogRepository.findByVehicle_VehicleIdOrderByCreatedDateDesc(vehicle.getVehicleId());
-                allLogs.addAll(vehicleLogs);
-            }
-
-            System.out.println("🔍 Found " + allLogs.size() + " total dispatch logs for owner's vehicles");
+            // Newest dispatch logs across all of the owner's vehicles in one bounded query
+            List<DispatchLog> limitedLogs = findRecentOwnerLogs(vehicles);
 
-            // Limit to last 10 for dashboard performance
-            List<DispatchLog> limitedLogs = allLogs.stream()
-                    .limit(10)
-                    .collect(Collectors.toList());
+            System.out.println("🔍 Found " + limitedLogs.size() + " recent dispatch logs for owner's vehicles");
 
             // Convert to DTOs to avoid circular reference issues
             List<DispatchLogResponseDto> notificationDtos = limitedLogs.stream()
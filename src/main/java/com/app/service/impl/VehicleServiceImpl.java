@@ -22,6 +22,7 @@ import com.app.repository.SchoolRepository;
 import com.app.repository.SchoolVehicleRepository;
 import com.app.repository.VehicleOwnerRepository;
 import com.app.repository.VehicleRepository;
+import com.app.service.IPhotoStorageService;
 import com.app.service.IVehicleService;
 
 @Service
@@ -30,6 +31,9 @@ public class VehicleServiceImpl implements IVehicleService {
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @Autowired
+    private IPhotoStorageService photoStorageService;
+
     @Autowired
     private SchoolRepository schoolRepository;
     
@@ -52,7 +56,7 @@ public class VehicleServiceImpl implements IVehicleService {
         Vehicle vehicle = Vehicle.builder()
                 .vehicleNumber(request.getVehicleNumber())
                 .registrationNumber(request.getRegistrationNumber())
-                .vehiclePhoto(request.getVehiclePhoto())
+                .vehiclePhotoRef(photoStorageService.store(request.getVehiclePhoto()))
                 .vehicleType(request.getVehicleType())
                 .capacity(request.getCapacity())
                 .isActive(request.getIsActive())
@@ -82,7 +86,7 @@ public class VehicleServiceImpl implements IVehicleService {
 
         vehicle.setVehicleNumber(request.getVehicleNumber());
         vehicle.setRegistrationNumber(request.getRegistrationNumber());
-        vehicle.setVehiclePhoto(request.getVehiclePhoto());
+        vehicle.setVehiclePhotoRef(photoStorageService.store(request.getVehiclePhoto()));
         vehicle.setVehicleType(request.getVehicleType());
         vehicle.setCapacity(request.getCapacity());
         vehicle.setIsActive(request.getIsActive());
@@ -173,7 +177,7 @@ public class VehicleServiceImpl implements IVehicleService {
                 .vehicleId(vehicle.getVehicleId())
                 .vehicleNumber(vehicle.getVehicleNumber())
                 .registrationNumber(vehicle.getRegistrationNumber())
-                .vehiclePhoto(vehicle.getVehiclePhoto())
+                .vehiclePhoto(photoStorageService.toUrl(vehicle.getVehiclePhotoRef()))
                 .vehicleType(vehicle.getVehicleType())
                 .capacity(vehicle.getCapacity())
                 .isActive(vehicle.getIsActive())
@@ -0,0 +1,32 @@
+package com.app.util;
+
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Size bound shared by the small in-process TTL caches (driver and owner dashboards,
+ * reference data, authenticated principals).
+ *
+ * A full cache first drops its expired entries; if that frees nothing it is emptied
+ * outright; the entries are cheap to reload and a cache that full is mostly cold anyway.
+ */
+public final class BoundedCache {
+
+    private BoundedCache() {
+    }
+
+    /**
+     * Put an entry, making room first when the map already holds maxSize entries.
+     * loadedAtMs gives the time an entry was loaded, which ttlMs is measured from.
+     */
+    public static <K, V> void put(Map<K, V> cache, K key, V value, int maxSize, long ttlMs, ToLongFunction<V> loadedAtMs) {
+        if (cache.size() >= maxSize) {
+            long nowMs = System.currentTimeMillis();
+            cache.values().removeIf(entry -> nowMs - loadedAtMs.applyAsLong(entry) >= ttlMs);
+            if (cache.size() >= maxSize) {
+                cache.clear();
+            }
+        }
+        cache.put(key, value);
+    }
+}
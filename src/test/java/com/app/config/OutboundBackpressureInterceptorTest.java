@@ -0,0 +1,163 @@
+package com.app.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.app.service.impl.LocationFanoutServiceImpl;
+
+class OutboundBackpressureInterceptorTest {
+
+    private static final String SESSION_ID = "s1";
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final MessageHandler handler = mock(MessageHandler.class);
+    private final WebSocketSession session = mock(WebSocketSession.class);
+    private OutboundBackpressureInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        interceptor = new OutboundBackpressureInterceptor();
+        ReflectionTestUtils.setField(interceptor, "maxQueueDepth", 10);
+        ReflectionTestUtils.setField(interceptor, "coalesceLocations", true);
+        when(session.getId()).thenReturn(SESSION_ID);
+        interceptor.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(session);
+    }
+
+    @Test
+    void olderQueuedLocationIsReplacedByTheNewerOne() {
+        Message<?> older = interceptor.preSend(location(7, "a"), channel);
+        Message<?> newer = interceptor.preSend(location(7, "b"), channel);
+
+        assertNull(handle(older), "superseded while still queued");
+        assertEquals("b", payload(handle(newer)));
+        assertEquals(1L, interceptor.getStats().get("coalesced"));
+        assertEquals(0, interceptor.getStats().get("queuedNow"));
+    }
+
+    @Test
+    void olderLocationHandledAfterTheNewerOneIsDropped() {
+        Message<?> older = interceptor.preSend(location(7, "a"), channel);
+        Message<?> newer = interceptor.preSend(location(7, "b"), channel);
+
+        // A second executor thread picks up the newer frame first
+        assertNotNull(handle(newer));
+        assertNull(handle(older), "a stale position never follows a fresh one");
+        assertEquals(1L, interceptor.getStats().get("coalesced"));
+    }
+
+    @Test
+    void vehiclesAndOtherMessagesAreNeverCoalesced() {
+        Message<?> vehicle7 = interceptor.preSend(location(7, "a"), channel);
+        Message<?> vehicle8 = interceptor.preSend(location(8, "a"), channel);
+        Message<?> pickup = interceptor.preSend(message("/topic/school/4", "pickup"), channel);
+        Message<?> pickupAgain = interceptor.preSend(message("/topic/school/4", "pickup"), channel);
+
+        assertNotNull(handle(vehicle7));
+        assertNotNull(handle(vehicle8));
+        assertNotNull(handle(pickup));
+        assertNotNull(handle(pickupAgain));
+        assertEquals(0L, interceptor.getStats().get("coalesced"));
+    }
+
+    @Test
+    void locationSendsOfASessionAreSerialized() throws Exception {
+        Message<?> first = interceptor.preSend(location(7, "a"), channel);
+        Message<?> second = interceptor.preSend(location(9, "a"), channel);
+        assertNotNull(interceptor.beforeHandle(first, channel, handler));
+
+        CountDownLatch handled = new CountDownLatch(1);
+        AtomicReference<Message<?>> result = new AtomicReference<>();
+        Thread other = new Thread(() -> {
+            result.set(handle(second));
+            handled.countDown();
+        });
+        other.start();
+        assertEquals(false, handled.await(200, TimeUnit.MILLISECONDS), "waits while the first send is in progress");
+
+        interceptor.afterMessageHandled(first, channel, handler, null);
+        assertEquals(true, handled.await(5, TimeUnit.SECONDS));
+        assertNotNull(result.get());
+    }
+
+    @Test
+    void sessionOverTheLimitIsClosedAndLaterMessagesDropped() throws Exception {
+        ReflectionTestUtils.setField(interceptor, "maxQueueDepth", 2);
+
+        assertNotNull(interceptor.preSend(message("/topic/school/4", "1"), channel));
+        assertNotNull(interceptor.preSend(message("/topic/school/4", "2"), channel));
+        assertNull(interceptor.preSend(message("/topic/school/4", "3"), channel));
+        assertNull(interceptor.preSend(message("/topic/school/4", "4"), channel));
+
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1L, interceptor.getStats().get("evicted"));
+        assertEquals(1L, interceptor.getStats().get("droppedAfterEviction"));
+    }
+
+    @Test
+    void messageRejectedByTheExecutorLeavesTheQueue() throws Exception {
+        Message<?> queued = interceptor.preSend(location(7, "a"), channel);
+        interceptor.afterSendCompletion(queued, channel, false, null);
+
+        assertEquals(0, interceptor.getStats().get("queuedNow"));
+        Message<?> next = interceptor.preSend(location(7, "b"), channel);
+        assertNotNull(handle(next));
+        verify(session, never()).close(any());
+    }
+
+    @Test
+    void messagesOfUnknownSessionsPassThrough() {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId("other-node-session");
+        accessor.setDestination(LocationFanoutServiceImpl.vehicleTopic(7));
+        Message<byte[]> message = MessageBuilder.createMessage("x".getBytes(), accessor.getMessageHeaders());
+
+        assertEquals(message, interceptor.preSend(message, channel));
+        assertEquals(message, interceptor.beforeHandle(message, channel, handler));
+    }
+
+    private Message<?> handle(Message<?> message) {
+        Message<?> result = interceptor.beforeHandle(message, channel, handler);
+        if (result != null) {
+            interceptor.afterMessageHandled(result, channel, handler, null);
+        }
+        return result;
+    }
+
+    private static Message<byte[]> location(int vehicleId, String body) {
+        return message(LocationFanoutServiceImpl.vehicleTopic(vehicleId), body);
+    }
+
+    private static Message<byte[]> message(String destination, String body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(body.getBytes(), accessor.getMessageHeaders());
+    }
+
+    private static String payload(Message<?> message) {
+        return new String((byte[]) message.getPayload());
+    }
+}
@@ -0,0 +1,50 @@
+package com.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.app.service.IReferenceDataInvalidationBus;
+import com.app.service.impl.LocalReferenceDataInvalidationBus;
+
+class ReferenceDataInvalidationBusConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(ReferenceDataInvalidationBusConfig.class);
+
+    @Test
+    void localBusIsTheDefault() {
+        runner.run(context -> assertThat(context).getBean(IReferenceDataInvalidationBus.class)
+                .isInstanceOf(LocalReferenceDataInvalidationBus.class));
+        runner.withPropertyValues("app.reference-data.invalidation-bus=local")
+                .run(context -> assertThat(context).hasSingleBean(LocalReferenceDataInvalidationBus.class));
+    }
+
+    @Test
+    void unknownBusWithoutImplementationFailsStartup() {
+        runner.withPropertyValues("app.reference-data.invalidation-bus=redis")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().rootCause().hasMessageContaining("app.reference-data.invalidation-bus=redis"));
+    }
+
+    @Test
+    void registeredBusReplacesTheLocalOne() {
+        runner.withPropertyValues("app.reference-data.invalidation-bus=redis")
+                .withBean(IReferenceDataInvalidationBus.class, BrokerBus::new)
+                .run(context -> assertThat(context).getBean(IReferenceDataInvalidationBus.class).isInstanceOf(BrokerBus.class));
+    }
+
+    static class BrokerBus implements IReferenceDataInvalidationBus {
+
+        @Override
+        public void publish(InvalidationEvent event) {
+        }
+
+        @Override
+        public void subscribe(Consumer<InvalidationEvent> listener) {
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.app.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import com.app.entity.User;
+import com.app.payload.response.LivePositionDto;
+import com.app.repository.SchoolVehicleRepository;
+import com.app.repository.TripStudentRepository;
+import com.app.repository.UserRepository;
+import com.app.security.JwtUtil;
+import com.app.security.LocationSubscriptionInterceptor;
+import com.app.service.impl.LocationFanoutServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Relay mode end to end: node A runs the embedded Artemis broker, node B only relays
+ * to it. A client session on node B, connected as the vehicle's owner, subscribes to
+ * a vehicle topic and must receive the location published by node A's fanout service.
+ */
+class StompBrokerRelayTest {
+
+    private static final String SESSION_ID = "client-on-node-b";
+    private static final String OWNER_TOKEN = "owner-token";
+    private static final String OWNER_USERNAME = "owner7";
+    private static final int OWNER_USER_ID = 70;
+    private static final long TIMEOUT_MS = 20_000;
+
+    private AnnotationConfigWebApplicationContext nodeA;
+    private AnnotationConfigWebApplicationContext nodeB;
+
+    // One STOMP session: its attributes carry the user from CONNECT to SUBSCRIBE
+    private final Map<String, Object> sessionAttributes = new HashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        // Relay node first, so it does not reconnect to a stopping broker
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void locationPublishedOnOneNodeReachesSubscriberOnTheOther() throws Exception {
+        int port = freePort();
+        nodeA = startNode(port, true);
+        nodeB = startNode(port, false);
+        awaitBroker(nodeA);
+        awaitBroker(nodeB);
+
+        BlockingQueue<Message<?>> toClient = new LinkedBlockingQueue<>();
+        nodeB.getBean("clientOutboundChannel", AbstractSubscribableChannel.class).subscribe(message -> {
+            if (SESSION_ID.equals(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))) {
+                toClient.add(message);
+            }
+        });
+
+        MessageChannel inbound = nodeB.getBean("clientInboundChannel", MessageChannel.class);
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.addNativeHeader("Authorization", "Bearer " + OWNER_TOKEN);
+        inbound.send(frame(connect, null));
+        assertEquals(StompCommand.CONNECTED, command(next(toClient, StompCommand.CONNECTED)));
+
+        StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setSubscriptionId("sub-0");
+        subscribe.setReceipt("subscribed");
+        inbound.send(frame(subscribe, LocationFanoutServiceImpl.vehicleTopic(7)));
+        assertNotNull(next(toClient, StompCommand.RECEIPT), "broker confirmed the subscription");
+
+        LocationFanoutServiceImpl fanoutOnA = nodeA.getBean(LocationFanoutServiceImpl.class);
+        assertTrue(fanoutOnA.publish(position(7)));
+
+        Message<?> delivered = next(toClient, StompCommand.MESSAGE);
+        assertNotNull(delivered, "location published on node A reached the subscriber on node B");
+        assertEquals(LocationFanoutServiceImpl.vehicleTopic(7), SimpMessageHeaderAccessor.getDestination(delivered.getHeaders()));
+        String body = new String((byte[]) delivered.getPayload(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"vehicleId\":7"), body);
+    }
+
+    private static AnnotationConfigWebApplicationContext startNode(int brokerPort, boolean embeddedBroker) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("app.deployment.multi-node", true);
+        properties.put("app.websocket.broker.mode", WebSocketConfig.BROKER_MODE_RELAY);
+        properties.put("app.websocket.broker.relay.port", brokerPort);
+        properties.put("app.websocket.broker.embedded.enabled", embeddedBroker);
+        properties.put("app.websocket.broker.embedded.port", brokerPort);
+        properties.put("app.location.fanout.min-interval-ms", 0);
+
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("node", properties));
+        context.register(NodeConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    private static void awaitBroker(AnnotationConfigWebApplicationContext node) throws InterruptedException {
+        AbstractBrokerMessageHandler relay = node.getBean("stompBrokerRelayMessageHandler", AbstractBrokerMessageHandler.class);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!relay.isBrokerAvailable() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(relay.isBrokerAvailable(), "relay connected to the embedded broker");
+    }
+
+    private static Message<?> next(BlockingQueue<Message<?>> messages, StompCommand expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        long left;
+        while ((left = deadline - System.currentTimeMillis()) > 0) {
+            Message<?> message = messages.poll(left, TimeUnit.MILLISECONDS);
+            if (message != null && command(message) == expected) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    private static StompCommand command(Message<?> message) {
+        return message != null ? StompHeaderAccessor.wrap(message).getCommand() : null;
+    }
+
+    private Message<byte[]> frame(StompHeaderAccessor accessor, String destination) {
+        accessor.setSessionId(SESSION_ID);
+        accessor.setSessionAttributes(sessionAttributes);
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            accessor.setAcceptVersion("1.2");
+            accessor.setHeartbeat(0, 0);
+        }
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static LivePositionDto position(int vehicleId) {
+        LivePositionDto position = new LivePositionDto();
+        position.setVehicleId(vehicleId);
+        position.setSchoolId(4);
+        position.setTripId(1);
+        position.setLatitude(18.5);
+        position.setLongitude(73.8);
+        position.setLastUpdated(LocalDateTime.now());
+        return position;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // One app node: the real STOMP configuration and fanout service, repositories stubbed
+    @Configuration
+    @Import({ WebSocketConfig.class, EmbeddedStompBrokerConfig.class, OutboundBackpressureInterceptor.class,
+            LocationSubscriptionInterceptor.class, LocationFanoutServiceImpl.class })
+    static class NodeConfig {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().registerModule(new JavaTimeModule());
+        }
+
+        @Bean
+        JwtUtil jwtUtil() {
+            JwtUtil jwtUtil = mock(JwtUtil.class);
+            when(jwtUtil.extractUsername(OWNER_TOKEN)).thenReturn(OWNER_USERNAME);
+            return jwtUtil;
+        }
+
+        @Bean
+        UserRepository userRepository() {
+            User owner = new User();
+            owner.setUId(OWNER_USER_ID);
+            owner.setUserName(OWNER_USERNAME);
+            UserRepository userRepository = mock(UserRepository.class);
+            when(userRepository.findByUserName(OWNER_USERNAME)).thenReturn(Optional.of(owner));
+            return userRepository;
+        }
+
+        @Bean
+        TripStudentRepository tripStudentRepository() {
+            return mock(TripStudentRepository.class);
+        }
+
+        @Bean
+        SchoolVehicleRepository schoolVehicleRepository() {
+            SchoolVehicleRepository schoolVehicleRepository = mock(SchoolVehicleRepository.class);
+            when(schoolVehicleRepository.existsByVehicle_VehicleIdAndOwner_User_uId(7, OWNER_USER_ID)).thenReturn(true);
+            return schoolVehicleRepository;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.app.payload.response;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.exception.BadRequestException;
+import com.app.payload.request.PaginationRequest;
+
+class CursorPageDtoTest {
+
+    @Test
+    void cursorRoundTrips() {
+        String cursor = CursorPageDto.encodeCursor(12345);
+
+        assertEquals(12345, CursorPageDto.decodeCursor(withCursor(cursor)));
+        assertFalse(cursor.contains("="), "cursor is URL safe and unpadded");
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(CursorPageDto.decodeCursor(null));
+        assertNull(CursorPageDto.decodeCursor(new PaginationRequest()));
+        assertNull(CursorPageDto.decodeCursor(withCursor(" ")));
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertThrows(BadRequestException.class, () -> CursorPageDto.decodeCursor(withCursor("not*base64")));
+        assertThrows(BadRequestException.class, () -> CursorPageDto.decodeCursor(withCursor(encode("id:abc"))));
+        assertThrows(BadRequestException.class, () -> CursorPageDto.decodeCursor(withCursor(encode("row:5"))));
+    }
+
+    @Test
+    void pageNumberIsRejectedOnKeysetEndpoints() {
+        PaginationRequest pagination = new PaginationRequest(2, 20);
+
+        assertThrows(BadRequestException.class, () -> CursorPageDto.decodeCursor(pagination));
+        assertNull(CursorPageDto.decodeCursor(new PaginationRequest(0, 20)), "pageNo=0 is the first page");
+    }
+
+    @Test
+    void extraRowOnlySignalsNextPage() {
+        CursorPageDto<Integer> page = CursorPageDto.of(List.of(1, 2, 3), 2, Function.identity(), Function.identity(), null);
+
+        assertEquals(List.of(1, 2), page.getItems());
+        assertTrue(page.getHasMore());
+        assertEquals(2, CursorPageDto.decodeCursor(withCursor(page.getNextCursor())));
+
+        CursorPageDto<Integer> last = CursorPageDto.of(List.of(3), 2, Function.identity(), Function.identity(), 3L);
+        assertFalse(last.getHasMore());
+        assertNull(last.getNextCursor());
+        assertEquals(3L, last.getTotalCount());
+    }
+
+    private static PaginationRequest withCursor(String cursor) {
+        PaginationRequest pagination = new PaginationRequest();
+        pagination.setCursor(cursor);
+        return pagination;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
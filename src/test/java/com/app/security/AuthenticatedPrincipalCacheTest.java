@@ -0,0 +1,152 @@
+package com.app.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.entity.User;
+import com.app.entity.UserRole;
+import com.app.service.impl.UserDetailsServiceImpl;
+
+class AuthenticatedPrincipalCacheTest {
+
+    private final UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+    private AuthenticatedPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AuthenticatedPrincipalCache();
+        ReflectionTestUtils.setField(cache, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        UserDetails principal = principal("alice");
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal);
+
+        assertSame(principal, cache.get("alice"));
+        assertSame(principal, cache.get("alice"));
+
+        verify(userDetailsService, times(1)).loadUserByUsername("alice");
+        assertEquals(1L, cache.getStats().get("hits"));
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice"), principal("alice"));
+
+        cache.get("alice");
+        cache.invalidate("alice");
+        cache.get("alice");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void expiredEntryIsReloaded() {
+        ReflectionTestUtils.setField(cache, "ttlMs", 0L);
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice"));
+
+        cache.get("alice");
+        cache.get("alice");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void entryCachedBeforeCommitIsDroppedAgainOnCompletion() {
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate("alice");
+        // A concurrent request re-caches the pre-commit roles
+        cache.get("alice");
+        assertEquals(1, cache.getStats().get("size"));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(0, cache.getStats().get("size"));
+    }
+
+    @Test
+    void removedUserIsNotCached() {
+        when(userDetailsService.loadUserByUsername("ghost")).thenThrow(new UsernameNotFoundException("ghost"));
+
+        assertNull(cache.get("ghost"));
+        assertEquals(0, cache.getStats().get("size"));
+        assertEquals(1L, cache.getStats().get("notFound"));
+    }
+
+    @Test
+    void listenerInvalidatesOnUserAndRoleChanges() {
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice"));
+        when(userDetailsService.loadUserByUsername("bob")).thenReturn(principal("bob"));
+        PrincipalCacheInvalidationListener listener = new PrincipalCacheInvalidationListener();
+        ReflectionTestUtils.setField(listener, "principalCache", cache);
+
+        cache.get("alice");
+        cache.get("bob");
+
+        User alice = new User();
+        alice.setUserName("alice");
+        listener.onChange(alice);
+        assertEquals(1, cache.getStats().get("size"));
+
+        User bob = new User();
+        bob.setUserName("bob");
+        UserRole role = new UserRole();
+        role.setUser(bob);
+        listener.onChange(role);
+        assertEquals(0, cache.getStats().get("size"));
+    }
+
+    @Test
+    void renamedUserIsEvictedUnderTheOldName() {
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice"));
+        PrincipalCacheInvalidationListener listener = new PrincipalCacheInvalidationListener();
+        ReflectionTestUtils.setField(listener, "principalCache", cache);
+        cache.get("alice");
+
+        User user = new User();
+        user.setUserName("alice");
+        listener.onLoad(user);
+        user.setUserName("alice2");
+        listener.beforeUpdate(user);
+        listener.onChange(user);
+
+        assertEquals(0, cache.getStats().get("size"));
+        assertEquals("alice2", user.getLoadedUserName());
+    }
+
+    private static UserDetails principal(String userName) {
+        return org.springframework.security.core.userdetails.User.withUsername(userName)
+                .password("secret")
+                .roles("PARENT")
+                .build();
+    }
+}
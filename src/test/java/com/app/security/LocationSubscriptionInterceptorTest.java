@@ -0,0 +1,84 @@
+package com.app.security;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.service.ILocationFanoutService;
+
+class LocationSubscriptionInterceptorTest {
+
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final ILocationFanoutService locationFanoutService = mock(ILocationFanoutService.class);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private LocationSubscriptionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new LocationSubscriptionInterceptor();
+        ReflectionTestUtils.setField(interceptor, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(interceptor, "locationFanoutService", locationFanoutService);
+        when(locationFanoutService.canSubscribe(any(), any())).thenReturn(false);
+    }
+
+    @Test
+    void anonymousSessionCannotSubscribeToAVehicle() {
+        Map<String, Object> session = new HashMap<>();
+
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(subscribe(session, "/topic/vehicle/7/location"), channel));
+    }
+
+    @Test
+    void sessionWithAnInvalidTokenStaysAnonymous() {
+        when(jwtUtil.extractUsername(anyString())).thenThrow(new IllegalArgumentException("bad signature"));
+        Map<String, Object> session = new HashMap<>();
+        interceptor.preSend(connect(session, "Bearer forged"), channel);
+
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(subscribe(session, "/topic/vehicle/7/location"), channel));
+    }
+
+    @Test
+    void parentOfARiderMaySubscribe() {
+        when(jwtUtil.extractUsername("valid")).thenReturn("parent1");
+        when(locationFanoutService.canSubscribe("parent1", 7)).thenReturn(true);
+        Map<String, Object> session = new HashMap<>();
+        interceptor.preSend(connect(session, "Bearer valid"), channel);
+
+        Message<?> subscribe = subscribe(session, "/topic/vehicle/7/location");
+        assertSame(subscribe, interceptor.preSend(subscribe, channel));
+    }
+
+    private static Message<byte[]> connect(Map<String, Object> session, String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setNativeHeader("Authorization", authorization);
+        accessor.setSessionAttributes(session);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> subscribe(Map<String, Object> session, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSessionAttributes(session);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
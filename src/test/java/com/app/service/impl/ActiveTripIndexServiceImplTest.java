@@ -0,0 +1,96 @@
+package com.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.entity.Trip;
+import com.app.repository.TripRepository;
+import com.app.repository.TripStudentRepository;
+import com.app.repository.projection.ActiveTripStudentProjection;
+
+class ActiveTripIndexServiceImplTest {
+
+    private final TripStudentRepository tripStudentRepository = mock(TripStudentRepository.class);
+    private final TripRepository tripRepository = mock(TripRepository.class);
+    private ActiveTripIndexServiceImpl index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ActiveTripIndexServiceImpl();
+        ReflectionTestUtils.setField(index, "tripStudentRepository", tripStudentRepository);
+        ReflectionTestUtils.setField(index, "tripRepository", tripRepository);
+        when(tripStudentRepository.findActiveTripStudents(anyString())).thenReturn(List.of());
+        index.loadOnStartup();
+
+        Trip trip = new Trip();
+        trip.setTripId(5);
+        trip.setTripName("Morning");
+        index.tripStarted(trip, List.of(100, 101));
+    }
+
+    @Test
+    void deletedOrDeactivatedTripLeavesTheIndex() {
+        when(tripStudentRepository.findActiveTripStudentsByTripId(anyString(), eq(5))).thenReturn(List.of());
+        when(tripRepository.existsByTripIdAndTripStatusAndIsActiveTrue(eq(5), anyString())).thenReturn(false);
+
+        index.refreshTrip(5);
+
+        assertTrue(index.getActiveTripIds(100).isEmpty());
+        assertTrue(index.getActiveTrips(List.of(100, 101)).isEmpty());
+    }
+
+    @Test
+    void editedTripIsReindexedWithItsStudents() {
+        List<ActiveTripStudentProjection> rows = List.of(row(5, 101, "MH12 AB 1234"), row(5, 102, "MH12 AB 1234"));
+        when(tripStudentRepository.findActiveTripStudentsByTripId(anyString(), eq(5))).thenReturn(rows);
+
+        index.refreshTrip(5);
+
+        assertTrue(index.getActiveTripIds(100).isEmpty());
+        assertEquals(Set.of(5), index.getActiveTripIds(102));
+        assertEquals("MH12 AB 1234", index.getActiveTrips(List.of(101)).get(0).getVehicleNumber());
+    }
+
+    @Test
+    void runningTripWithoutStudentsStaysIndexed() {
+        when(tripStudentRepository.findActiveTripStudentsByTripId(anyString(), eq(5))).thenReturn(List.of());
+        when(tripRepository.existsByTripIdAndTripStatusAndIsActiveTrue(eq(5), anyString())).thenReturn(true);
+        index.refreshTrip(5);
+        assertTrue(index.getActiveTripIds(100).isEmpty());
+
+        List<ActiveTripStudentProjection> rows = List.of(row(5, 100, "MH12 AB 1234"));
+        when(tripStudentRepository.findActiveTripStudentsByTripId(anyString(), eq(5))).thenReturn(rows);
+        index.refreshTrip(5);
+
+        assertEquals(Set.of(5), index.getActiveTripIds(100));
+    }
+
+    @Test
+    void endedTripLeavesTheIndex() {
+        index.tripEnded(5);
+
+        assertTrue(index.getActiveTripIds(101).isEmpty());
+        assertEquals(0, index.getStats().get("activeTrips"));
+    }
+
+    private static ActiveTripStudentProjection row(Integer tripId, Integer studentId, String vehicleNumber) {
+        ActiveTripStudentProjection row = mock(ActiveTripStudentProjection.class);
+        when(row.getTripId()).thenReturn(tripId);
+        when(row.getStudentId()).thenReturn(studentId);
+        when(row.getVehicleNumber()).thenReturn(vehicleNumber);
+        when(row.getTripStartTime()).thenReturn(LocalDateTime.now());
+        return row;
+    }
+}
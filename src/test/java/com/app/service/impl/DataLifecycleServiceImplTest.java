@@ -0,0 +1,216 @@
+package com.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.entity.TripRouteSummary;
+import com.app.exception.ConflictException;
+import com.app.repository.TripRouteSummaryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Archive / restore round trip against an in-memory H2 database in MySQL mode, with
+ * trip_route_summaries replaced by an in-memory map.
+ */
+class DataLifecycleServiceImplTest {
+
+    private static final int TRIP_ID = 42;
+
+    @TempDir
+    Path archiveDir;
+
+    private final Map<String, TripRouteSummary> summaries = new ConcurrentHashMap<>();
+    private final AtomicLong summaryIds = new AtomicLong();
+
+    private JdbcTemplate jdbcTemplate;
+    private DataLifecycleServiceImpl service;
+    private LocalDate tripDay;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:lifecycle-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE vehicle_locations (location_id INT PRIMARY KEY, trip_id INT, driver_id INT, "
+                + "vehicle_id INT, school_id INT, latitude DOUBLE, longitude DOUBLE, address VARCHAR(255), speed DOUBLE, "
+                + "bearing DOUBLE, created_date TIMESTAMP, updated_date TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE dispatch_logs (dispatch_log_id INT PRIMARY KEY, trip_id INT, student_id INT, "
+                + "school_id INT, vehicle_id INT, driver_id INT, event_type VARCHAR(40), remarks VARCHAR(255), "
+                + "latitude DOUBLE, longitude DOUBLE, address VARCHAR(255), created_by VARCHAR(50), created_date TIMESTAMP, "
+                + "updated_by VARCHAR(50), updated_date TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE notifications (notification_log_id INT PRIMARY KEY, dispatch_log_id INT, "
+                + "notification_type VARCHAR(40), is_sent BOOLEAN, sent_at TIMESTAMP, error_msg VARCHAR(255), "
+                + "created_by VARCHAR(50), created_date TIMESTAMP, updated_by VARCHAR(50), updated_date TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE job_leases (name VARCHAR(50) PRIMARY KEY, locked_by VARCHAR(64), "
+                + "locked_until TIMESTAMP NOT NULL)");
+
+        service = new DataLifecycleServiceImpl();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "transactionTemplate",
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(service, "tripRouteSummaryRepository", inMemoryRepository());
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(service, "enabled", false);
+        ReflectionTestUtils.setField(service, "locationRetentionDays", 30);
+        ReflectionTestUtils.setField(service, "dispatchLogRetentionDays", 180);
+        ReflectionTestUtils.setField(service, "maxTripDaysPerRun", 500);
+        ReflectionTestUtils.setField(service, "routeMinDistanceMeters", 200d);
+        ReflectionTestUtils.setField(service, "restoreHoldDays", 7);
+        ReflectionTestUtils.setField(service, "archiveDir", archiveDir.toString());
+        ReflectionTestUtils.setField(service, "leaseMs", 60_000L);
+        service.start();
+
+        tripDay = LocalDate.now().minusDays(200);
+        LocalDateTime start = tripDay.atTime(7, 30);
+        for (int i = 0; i < 10; i++) {
+            // About 1.1 km apart, so every fix survives downsampling
+            jdbcTemplate.update("INSERT INTO vehicle_locations VALUES (?, ?, 3, 7, 4, ?, 73.8, NULL, ?, 0, ?, NULL)",
+                    100 + i, TRIP_ID, 18.5 + i * 0.01, 20d + i, Timestamp.valueOf(start.plusMinutes(i)));
+        }
+        jdbcTemplate.update("INSERT INTO dispatch_logs VALUES (500, ?, 9, 4, 7, 3, 'PICKUP_FROM_PARENT', NULL, 18.5, 73.8, "
+                + "NULL, 'driver', ?, NULL, NULL)", TRIP_ID, Timestamp.valueOf(start));
+        jdbcTemplate.update("INSERT INTO notifications VALUES (900, 500, 'PUSH', TRUE, ?, NULL, 'system', ?, NULL, NULL)",
+                Timestamp.valueOf(start), Timestamp.valueOf(start));
+        // Recent rows stay in the hot tables
+        jdbcTemplate.update("INSERT INTO vehicle_locations VALUES (200, ?, 3, 7, 4, 18.5, 73.8, NULL, 10, 0, ?, NULL)",
+                TRIP_ID, Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void archivedTripDayIsRestoredWithItsOriginalRows() {
+        List<Map<String, Object>> locationsBefore = rows("vehicle_locations", "location_id");
+        List<Map<String, Object>> logsBefore = rows("dispatch_logs", "dispatch_log_id");
+        List<Map<String, Object>> notificationsBefore = rows("notifications", "notification_log_id");
+
+        Map<String, Object> run = service.runRetention();
+        assertEquals(1, run.get("locationTripDaysArchived"));
+        assertEquals(1, run.get("dispatchTripDaysArchived"));
+        assertEquals(1, count("vehicle_locations"), "only the recent fix is left");
+        assertEquals(0, count("dispatch_logs"));
+        assertEquals(0, count("notifications"));
+
+        TripRouteSummary summary = summaries.get(TRIP_ID + ":" + tripDay);
+        assertEquals(10, summary.getPointCount());
+        assertEquals(10, summary.getSampledPointCount());
+        assertEquals(29d, summary.getMaxSpeed());
+        assertEquals(1, summary.getArchivedDispatchLogCount());
+        assertEquals(1, summary.getArchivedNotificationCount());
+
+        Map<String, Object> restored = service.restoreTrip(TRIP_ID, tripDay);
+        assertEquals(10, restored.get("restoredLocations"));
+        assertEquals(1, restored.get("restoredDispatchLogs"));
+        assertEquals(1, restored.get("restoredNotifications"));
+        assertEquals(locationsBefore, rows("vehicle_locations", "location_id"));
+        assertEquals(logsBefore, rows("dispatch_logs", "dispatch_log_id"));
+        assertEquals(notificationsBefore, rows("notifications", "notification_log_id"));
+
+        // Held after a restore: the next pass leaves the day alone
+        Map<String, Object> next = service.runRetention();
+        assertEquals(0, next.get("locationTripDaysArchived"));
+        assertEquals(11, count("vehicle_locations"));
+    }
+
+    @Test
+    void passIsSkippedWhileAnotherNodeHoldsTheLease() {
+        jdbcTemplate.update("INSERT INTO job_leases VALUES ('data-lifecycle', 'other-node', ?)",
+                Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)));
+
+        Map<String, Object> run = service.runRetention();
+        assertNotNull(run.get("skipped"));
+        assertEquals(11, count("vehicle_locations"));
+
+        // An expired lease is taken over, and released again after the pass
+        jdbcTemplate.update("UPDATE job_leases SET locked_until = ?", Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+        assertEquals(1, service.runRetention().get("locationTripDaysArchived"));
+        assertNull(jdbcTemplate.queryForObject("SELECT locked_by FROM job_leases", String.class));
+    }
+
+    @Test
+    void restoreOfAMissingArchiveIsAConflict() throws Exception {
+        service.runRetention();
+        try (var files = Files.walk(archiveDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).filter(Files::isRegularFile).toList()) {
+                Files.delete(file);
+            }
+        }
+
+        assertThrows(ConflictException.class, () -> service.restoreTrip(TRIP_ID, tripDay));
+    }
+
+    @Test
+    void requestedRunHappensOnTheLifecycleThread() throws Exception {
+        Map<String, Object> status = service.requestRun();
+        assertNotNull(status);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (service.getRunStatus().get("lastRunResult") == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Map<String, Object> after = service.getRunStatus();
+        assertTrue(after.get("lastRunResult") instanceof Map<?, ?>);
+        assertNull(after.get("lastRunError"));
+        assertEquals(0, count("dispatch_logs"));
+    }
+
+    private List<Map<String, Object>> rows(String table, String idColumn) {
+        return jdbcTemplate.queryForList("SELECT * FROM " + table + " ORDER BY " + idColumn);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private TripRouteSummaryRepository inMemoryRepository() {
+        TripRouteSummaryRepository repository = mock(TripRouteSummaryRepository.class);
+        when(repository.findByTripIdAndTripDate(anyInt(), any())).thenAnswer(invocation ->
+                Optional.ofNullable(summaries.get(invocation.getArgument(0) + ":" + invocation.getArgument(1))));
+        when(repository.findByTripIdOrderByTripDateDesc(anyInt())).thenAnswer(invocation -> summaries.values().stream()
+                .filter(summary -> summary.getTripId().equals(invocation.getArgument(0)))
+                .sorted(Comparator.comparing(TripRouteSummary::getTripDate).reversed())
+                .toList());
+        when(repository.save(any())).thenAnswer(invocation -> {
+            TripRouteSummary summary = invocation.getArgument(0);
+            if (summary.getTripRouteSummaryId() == null) {
+                summary.setTripRouteSummaryId(summaryIds.incrementAndGet());
+            }
+            summaries.put(summary.getTripId() + ":" + summary.getTripDate(), summary);
+            return summary;
+        });
+        return repository;
+    }
+}
@@ -0,0 +1,127 @@
+package com.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.payload.response.LivePositionDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class LocationFanoutServiceImplTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private LocationFanoutServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LocationFanoutServiceImpl();
+        ReflectionTestUtils.setField(service, "messagingTemplate", messagingTemplate);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(service, "minIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(service, "minDistanceMeters", 10d);
+        ReflectionTestUtils.setField(service, "heartbeatMs", 120_000L);
+        ReflectionTestUtils.setField(service, "schoolTopicEnabled", false);
+    }
+
+    @Test
+    void firstTickIsPublishedOnceOnTheVehicleTopic() {
+        assertTrue(service.publish(position(7, 18.5000, 73.8000)));
+
+        verify(messagingTemplate, times(1)).send(eq("/topic/vehicle/7/location"), any(Message.class));
+        assertEquals(1L, service.getFanoutStats().get("published"));
+    }
+
+    @Test
+    void tickWithinMinimumIntervalIsSuppressed() {
+        assertTrue(service.publish(position(7, 18.5000, 73.8000)));
+        // Moved about 1 km, but well inside the interval
+        assertFalse(service.publish(position(7, 18.5100, 73.8000)));
+
+        verify(messagingTemplate, times(1)).send(eq("/topic/vehicle/7/location"), any(Message.class));
+        assertEquals(1L, service.getFanoutStats().get("suppressed"));
+    }
+
+    @Test
+    void tickThatBarelyMovedIsSuppressedUntilHeartbeat() {
+        ReflectionTestUtils.setField(service, "minIntervalMs", 0L);
+        assertTrue(service.publish(position(7, 18.5000, 73.8000)));
+        // About 1 m away: below the distance threshold, heartbeat not yet due
+        assertFalse(service.publish(position(7, 18.50001, 73.8000)));
+
+        ReflectionTestUtils.setField(service, "heartbeatMs", 0L);
+        assertTrue(service.publish(position(7, 18.50001, 73.8000)), "heartbeat forces a refresh even without movement");
+    }
+
+    @Test
+    void tickThatMovedFarEnoughIsPublished() {
+        ReflectionTestUtils.setField(service, "minIntervalMs", 0L);
+        assertTrue(service.publish(position(7, 18.5000, 73.8000)));
+        assertTrue(service.publish(position(7, 18.5010, 73.8000)));
+
+        verify(messagingTemplate, times(2)).send(eq("/topic/vehicle/7/location"), any(Message.class));
+    }
+
+    @Test
+    void vehiclesAreFilteredIndependently() {
+        assertTrue(service.publish(position(7, 18.5000, 73.8000)));
+        assertTrue(service.publish(position(8, 18.5000, 73.8000)));
+
+        assertEquals(2, service.getFanoutStats().get("trackedVehicles"));
+    }
+
+    @Test
+    void schoolTopicIsMirroredOnlyWhenEnabled() {
+        service.publish(position(7, 18.5000, 73.8000));
+        verify(messagingTemplate, never()).send(eq("/topic/school/4"), any(Message.class));
+
+        ReflectionTestUtils.setField(service, "schoolTopicEnabled", true);
+        service.publish(position(8, 18.5000, 73.8000));
+        verify(messagingTemplate, times(1)).send(eq("/topic/school/4"), any(Message.class));
+    }
+
+    @Test
+    void incompletePositionIsRejected() {
+        LivePositionDto noCoordinates = position(7, 18.5, 73.8);
+        noCoordinates.setLatitude(null);
+
+        assertFalse(service.publish(noCoordinates));
+        assertFalse(service.publish(null));
+        verify(messagingTemplate, never()).send(any(String.class), any(Message.class));
+    }
+
+    @Test
+    void onlyVehicleLocationTopicsAreParsed() {
+        assertEquals(7, LocationFanoutServiceImpl.parseVehicleTopic("/topic/vehicle/7/location"));
+        assertNull(LocationFanoutServiceImpl.parseVehicleTopic("/topic/vehicle/abc/location"));
+        assertNull(LocationFanoutServiceImpl.parseVehicleTopic("/topic/school/4"));
+        assertNull(LocationFanoutServiceImpl.parseVehicleTopic(null));
+        assertEquals("/topic/vehicle/7/location", LocationFanoutServiceImpl.vehicleTopic(7));
+    }
+
+    private static LivePositionDto position(int vehicleId, double latitude, double longitude) {
+        LivePositionDto position = new LivePositionDto();
+        position.setVehicleId(vehicleId);
+        position.setSchoolId(4);
+        position.setTripId(1);
+        position.setLatitude(latitude);
+        position.setLongitude(longitude);
+        position.setLastUpdated(LocalDateTime.now());
+        return position;
+    }
+}
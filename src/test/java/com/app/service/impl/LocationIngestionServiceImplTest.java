@@ -0,0 +1,174 @@
+package com.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.payload.request.LocationFixDto;
+
+class LocationIngestionServiceImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private LocationIngestionServiceImpl service;
+
+    private LocationIngestionServiceImpl newService(int capacity, int batchSize, long flushIntervalMs) {
+        LocationIngestionServiceImpl s = new LocationIngestionServiceImpl();
+        ReflectionTestUtils.setField(s, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(s, "queueCapacity", capacity);
+        ReflectionTestUtils.setField(s, "batchSize", batchSize);
+        ReflectionTestUtils.setField(s, "flushIntervalMs", flushIntervalMs);
+        ReflectionTestUtils.setField(s, "offerTimeoutMs", 1L);
+        ReflectionTestUtils.setField(s, "shutdownTimeoutMs", 5_000L);
+        return s;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void fullBatchIsWrittenAsOneMultiRowInsert() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            written.countDown();
+            return 1;
+        });
+        service = newService(1_000, 10, 60_000L);
+        service.start();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(service.enqueue(fix(i)));
+        }
+
+        assertTrue(written.await(5, TimeUnit.SECONDS), "full batch should be flushed without waiting for the interval");
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).update(sql.capture(), any(Object[].class));
+        assertTrue(sql.getValue().startsWith("INSERT INTO vehicle_locations"));
+        assertEquals(10, countRows(sql.getAllValues()));
+    }
+
+    @Test
+    void partialBatchIsFlushedAfterInterval() throws Exception {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+        service = newService(1_000, 100, 50L);
+        service.start();
+
+        service.enqueue(fix(1));
+        service.enqueue(fix(2));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!Long.valueOf(2L).equals(service.getIngestionStats().get("written")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2L, service.getIngestionStats().get("written"), "partial batch should be flushed once the interval elapses");
+    }
+
+    @Test
+    void stopDrainsEverythingStillQueued() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+        // Long interval and large batch: nothing is written until shutdown
+        service = newService(1_000, 500, 60_000L);
+        service.start();
+
+        for (int i = 0; i < 250; i++) {
+            service.enqueue(fix(i));
+        }
+        service.stop();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).update(sql.capture(), any(Object[].class));
+        assertEquals(250, countRows(sql.getAllValues()));
+        assertEquals(250L, service.getIngestionStats().get("written"));
+        assertEquals(0, service.getIngestionStats().get("queueDepth"));
+        assertFalse((Boolean) service.getIngestionStats().get("running"));
+        service = null;
+    }
+
+    @Test
+    void rejectedBatchIsRetriedInHalvesAndOnlyTheBadFixIsDropped() {
+        // Trip 99 was deleted: any INSERT carrying it violates the foreign key
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = (Object[]) invocation.getRawArguments()[1];
+            for (int i = 0; i < args.length; i += 11) {
+                if (Integer.valueOf(99).equals(args[i])) {
+                    throw new DataIntegrityViolationException("FK violation on trip_id");
+                }
+            }
+            return args.length / 11;
+        });
+        service = newService(1_000, 500, 60_000L);
+        service.start();
+
+        for (int i = 0; i < 8; i++) {
+            LocationFixDto fix = fix(i);
+            if (i == 5) {
+                fix.setTripId(99);
+            }
+            service.enqueue(fix);
+        }
+        service.stop();
+
+        assertEquals(7L, service.getIngestionStats().get("written"));
+        assertEquals(1L, service.getIngestionStats().get("failed"));
+        service = null;
+    }
+
+    @Test
+    void fullQueueShedsOldestFix() {
+        // Not started, so no writer drains the queue; only the shedding is exercised
+        LocationIngestionServiceImpl s = newService(2, 10, 60_000L);
+        ReflectionTestUtils.setField(s, "queue", new ArrayBlockingQueue<LocationFixDto>(2));
+
+        assertTrue(s.enqueue(fix(1)));
+        assertTrue(s.enqueue(fix(2)));
+        assertTrue(s.enqueue(fix(3)));
+
+        assertEquals(1L, s.getIngestionStats().get("dropped"));
+        assertEquals(2, s.getIngestionStats().get("queueDepth"));
+    }
+
+    private static int countRows(List<String> statements) {
+        int rows = 0;
+        for (String sql : statements) {
+            rows += (sql.length() - sql.replace("(?, ", "").length()) / "(?, ".length();
+        }
+        return rows;
+    }
+
+    private static LocationFixDto fix(int i) {
+        return LocationFixDto.builder()
+                .tripId(1)
+                .driverId(2)
+                .vehicleId(3)
+                .schoolId(4)
+                .latitude(18.5 + i * 0.0001)
+                .longitude(73.8)
+                .speed(30.0)
+                .bearing(90.0)
+                .address("Stop " + i)
+                .recordedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,274 @@
+package com.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.Enum.MailStatus;
+import com.app.entity.MailOutbox;
+import com.app.repository.MailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Drives the outbox dispatcher against an in-process GreenMail SMTP server, with the
+ * mail_outbox table replaced by an in-memory map.
+ */
+class MailOutboxServiceImplTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private final Map<Long, MailOutbox> rows = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private MailOutboxServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MailOutboxRepository repository = inMemoryRepository();
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        service = new MailOutboxServiceImpl();
+        ReflectionTestUtils.setField(service, "mailOutboxRepository", repository);
+        ReflectionTestUtils.setField(service, "mailSender", sender(greenMail.getSmtp().getPort()));
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(transactionManager));
+        // Disabled: no background polling, the tests call dispatchNow() themselves
+        ReflectionTestUtils.setField(service, "enabled", false);
+        ReflectionTestUtils.setField(service, "pollIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        ReflectionTestUtils.setField(service, "workers", 2);
+        ReflectionTestUtils.setField(service, "maxPerSecond", 0d);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "backoffInitialMs", 30_000L);
+        ReflectionTestUtils.setField(service, "backoffMaxMs", 3_600_000L);
+        ReflectionTestUtils.setField(service, "staleAfterMs", 300_000L);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void dueMessagesAreDeliveredAndMarkedSent() throws Exception {
+        service.enqueue("parent.one@example.com", "Activate", "<b>Hello</b>", true, "noreply@kidsvt.com");
+        service.enqueue("parent.two@example.com", "Activate", "Hello", false, null);
+
+        assertEquals(2, service.dispatchNow());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Activate", received[0].getSubject());
+        for (MailOutbox row : rows.values()) {
+            assertEquals(MailStatus.SENT, row.getStatus());
+            assertEquals(0, row.getAttempts());
+            assertNotNull(row.getSentAt());
+            assertNull(row.getClaimedAt());
+        }
+        assertEquals(0, service.dispatchNow(), "sent messages are not picked up again");
+    }
+
+    @Test
+    void failedSendIsRetriedWithBackoff() throws Exception {
+        ReflectionTestUtils.setField(service, "mailSender", sender(closedPort()));
+        service.enqueue("parent@example.com", "Trip update", "Hello", false, null);
+        MailOutbox row = rows.values().iterator().next();
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(1, service.dispatchNow());
+        assertEquals(MailStatus.PENDING, row.getStatus());
+        assertEquals(1, row.getAttempts());
+        assertNotNull(row.getLastError());
+        assertTrue(!row.getNextAttemptAt().isBefore(before.plusSeconds(29)), "first retry waits the initial backoff");
+
+        assertEquals(0, service.dispatchNow(), "not due again before the backoff elapses");
+
+        // Second failure doubles the delay
+        row.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        before = LocalDateTime.now();
+        service.dispatchNow();
+        assertEquals(2, row.getAttempts());
+        Duration delay = Duration.between(before, row.getNextAttemptAt());
+        assertTrue(delay.getSeconds() >= 59 && delay.getSeconds() <= 61, "second retry waits twice the initial backoff");
+
+        // SMTP is back: the retry goes through
+        ReflectionTestUtils.setField(service, "mailSender", sender(greenMail.getSmtp().getPort()));
+        row.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        assertEquals(1, service.dispatchNow());
+        assertEquals(MailStatus.SENT, row.getStatus());
+        assertNull(row.getLastError());
+        assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void messageIsGivenUpAfterMaxAttempts() throws Exception {
+        ReflectionTestUtils.setField(service, "mailSender", sender(closedPort()));
+        service.enqueue("parent@example.com", "Trip update", "Hello", false, null);
+        MailOutbox row = rows.values().iterator().next();
+
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            row.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+            service.dispatchNow();
+        }
+
+        assertEquals(MailStatus.FAILED, row.getStatus());
+        assertEquals(3, row.getAttempts());
+        row.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        assertEquals(0, service.dispatchNow(), "a FAILED message is never picked up again");
+        assertEquals(1L, service.getOutboxStats().get("dead"));
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void unexpectedSenderErrorIsRetriedNotMarkedSent() throws Exception {
+        JavaMailSender failing = mock(JavaMailSender.class);
+        when(failing.createMimeMessage()).thenAnswer(invocation -> new JavaMailSenderImpl().createMimeMessage());
+        doThrow(new IllegalStateException("transport closed")).when(failing).send(any(MimeMessage[].class));
+        ReflectionTestUtils.setField(service, "mailSender", failing);
+        service.enqueue("parent@example.com", "Trip update", "Hello", false, null);
+        MailOutbox row = rows.values().iterator().next();
+
+        service.dispatchNow();
+
+        assertEquals(MailStatus.PENDING, row.getStatus());
+        assertEquals(1, row.getAttempts());
+        assertEquals("transport closed", row.getLastError());
+    }
+
+    @Test
+    void crashedSenderTaskIsRetriedNotMarkedSent() throws Exception {
+        JavaMailSender crashing = mock(JavaMailSender.class);
+        when(crashing.createMimeMessage()).thenAnswer(invocation -> new JavaMailSenderImpl().createMimeMessage());
+        doThrow(new NoClassDefFoundError("jakarta/activation/DataHandler")).when(crashing).send(any(MimeMessage[].class));
+        ReflectionTestUtils.setField(service, "mailSender", crashing);
+        service.enqueue("parent.one@example.com", "Trip update", "Hello", false, null);
+        service.enqueue("parent.two@example.com", "Trip update", "Hello", false, null);
+
+        service.dispatchNow();
+
+        for (MailOutbox row : rows.values()) {
+            assertEquals(MailStatus.PENDING, row.getStatus());
+            assertEquals(1, row.getAttempts());
+            assertEquals("jakarta/activation/DataHandler", row.getLastError());
+        }
+    }
+
+    @Test
+    void builderDefaultsMatchPendingRow() {
+        MailOutbox mail = MailOutbox.builder().recipient("a@example.com").subject("s").body("b").build();
+
+        assertEquals(MailStatus.PENDING, mail.getStatus());
+        assertEquals(0, mail.getAttempts());
+        assertTrue(mail.getIsHtml());
+    }
+
+    @Test
+    void addressesAreMaskedForLogs() {
+        assertEquals("j***@example.com", MailOutboxServiceImpl.maskAddress("jane.doe@example.com"));
+        assertEquals("***", MailOutboxServiceImpl.maskAddress("not-an-address"));
+        assertNull(MailOutboxServiceImpl.maskAddress(null));
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        sender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+        return sender;
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // Just enough of the JPA repository for the dispatcher, backed by the rows map
+    @SuppressWarnings("unchecked")
+    private MailOutboxRepository inMemoryRepository() {
+        MailOutboxRepository repository = mock(MailOutboxRepository.class);
+        when(repository.save(any(MailOutbox.class))).thenAnswer(invocation -> {
+            MailOutbox mail = invocation.getArgument(0);
+            if (mail.getMailOutboxId() == null) {
+                mail.setMailOutboxId(ids.incrementAndGet());
+                mail.setNextAttemptAt(LocalDateTime.now());
+            }
+            rows.put(mail.getMailOutboxId(), mail);
+            return mail;
+        });
+        when(repository.findDueIds(any(MailStatus.class), any(LocalDateTime.class), any(Pageable.class))).thenAnswer(invocation -> {
+            MailStatus status = invocation.getArgument(0);
+            LocalDateTime now = invocation.getArgument(1);
+            Pageable page = invocation.getArgument(2);
+            return rows.values().stream()
+                    .filter(m -> m.getStatus() == status && !m.getNextAttemptAt().isAfter(now))
+                    .sorted((a, b) -> a.getNextAttemptAt().compareTo(b.getNextAttemptAt()))
+                    .limit(page.getPageSize())
+                    .map(MailOutbox::getMailOutboxId)
+                    .toList();
+        });
+        when(repository.claim(anyLong(), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            MailOutbox mail = rows.get(invocation.<Long>getArgument(0));
+            if (mail == null || mail.getStatus() != MailStatus.PENDING) {
+                return 0;
+            }
+            mail.setStatus(MailStatus.SENDING);
+            mail.setClaimedAt(invocation.getArgument(1));
+            return 1;
+        });
+        when(repository.releaseStale(any(LocalDateTime.class))).thenReturn(0);
+        when(repository.findAllById(any(Iterable.class))).thenAnswer(invocation -> {
+            List<MailOutbox> result = new ArrayList<>();
+            for (Long id : (Iterable<Long>) invocation.getArgument(0)) {
+                result.add(rows.get(id));
+            }
+            return result;
+        });
+        when(repository.saveAll(any(Iterable.class))).thenAnswer(invocation -> {
+            List<MailOutbox> saved = new ArrayList<>();
+            for (MailOutbox mail : (Iterable<MailOutbox>) invocation.getArgument(0)) {
+                rows.put(mail.getMailOutboxId(), mail);
+                saved.add(mail);
+            }
+            return saved;
+        });
+        when(repository.countByStatus(any(MailStatus.class))).thenAnswer(invocation -> rows.values().stream()
+                .filter(m -> m.getStatus() == invocation.getArgument(0))
+                .count());
+        return repository;
+    }
+}
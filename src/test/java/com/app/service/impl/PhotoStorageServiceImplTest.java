@@ -0,0 +1,136 @@
+package com.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.exception.BadRequestException;
+import com.app.exception.PayloadTooLargeException;
+import com.app.repository.StoredPhotoRepository;
+
+class PhotoStorageServiceImplTest {
+
+    @TempDir
+    Path storageDir;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StoredPhotoRepository storedPhotoRepository = mock(StoredPhotoRepository.class);
+    private PhotoStorageServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new PhotoStorageServiceImpl();
+        ReflectionTestUtils.setField(service, "storedPhotoRepository", storedPhotoRepository);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "storageDir", storageDir.toString());
+        ReflectionTestUtils.setField(service, "maxBytes", 1_000_000L);
+        ReflectionTestUtils.setField(service, "thumbnailSize", 200);
+        service.init();
+    }
+
+    @Test
+    void pngIsStoredUnderItsHashWithSniffedType() throws Exception {
+        String base64 = Base64.getEncoder().encodeToString(png(10, 10));
+
+        String hash = service.store("data:image/svg+xml;base64," + base64);
+
+        assertEquals(64, hash.length());
+        assertTrue(Files.exists(storageDir.resolve(hash.substring(0, 2)).resolve(hash)));
+        // The declared SVG type is ignored in favour of the bytes
+        verify(jdbcTemplate).update(anyString(), eq(hash), eq("image/png"), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void plainBase64WithLineBreaksIsAccepted() throws Exception {
+        String base64 = Base64.getMimeEncoder().encodeToString(png(300, 300));
+
+        String hash = service.store(base64);
+
+        assertEquals(64, hash.length());
+        assertTrue(Files.exists(storageDir.resolve(hash.substring(0, 2)).resolve(hash + ".thumb.jpg")));
+    }
+
+    @Test
+    void pathLikeValuesStayReferences() {
+        assertEquals("uploads/a.png", service.store("uploads/a.png"));
+        // Only base64 characters, but the bytes are not an image
+        assertEquals("uploads/photo1", service.store("uploads/photo1"));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void svgDataUrlIsRejected() {
+        String svg = Base64.getEncoder().encodeToString(
+                "<svg xmlns=\"http://www.w3.org/2000/svg\"><script>alert(1)</script></svg>".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class, () -> service.store("data:image/svg+xml;base64," + svg));
+    }
+
+    @Test
+    void invalidDataUrlIsRejected() {
+        assertThrows(BadRequestException.class, () -> service.store("data:image/png;base64,not*base64"));
+        assertThrows(BadRequestException.class, () -> service.store("data:image/png,rawbytes"));
+    }
+
+    @Test
+    void oversizePhotoIsRejectedAsTooLarge() throws Exception {
+        ReflectionTestUtils.setField(service, "maxBytes", 10L);
+        String base64 = Base64.getEncoder().encodeToString(png(10, 10));
+
+        assertThrows(PayloadTooLargeException.class, () -> service.store(base64));
+    }
+
+    @Test
+    void onlyStoredHashesAreAcceptedBack() {
+        String known = "a".repeat(64);
+        String unknown = "b".repeat(64);
+        when(storedPhotoRepository.existsById(known)).thenReturn(true);
+
+        assertEquals(known, service.store(known));
+        assertEquals(known, service.store(PhotoStorageServiceImpl.PHOTO_URL_PREFIX + known));
+        assertThrows(BadRequestException.class, () -> service.store(unknown));
+        assertThrows(BadRequestException.class, () -> service.store(PhotoStorageServiceImpl.PHOTO_URL_PREFIX + unknown));
+    }
+
+    @Test
+    void multiNodeStartupFailsWhenTheNewestPhotoIsNotOnThisNode() throws Exception {
+        String hash = "c".repeat(64);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(hash));
+        ReflectionTestUtils.setField(service, "multiNode", true);
+
+        assertThrows(IllegalStateException.class, () -> service.init());
+
+        Files.createDirectories(storageDir.resolve("cc"));
+        Files.write(storageDir.resolve("cc").resolve(hash), new byte[] { 1 });
+        service.init();
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,109 @@
+package com.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.Enum.ReportType;
+import com.app.exception.ServiceUnavailableException;
+import com.app.payload.response.ReportJobDto;
+import com.app.service.IReportExportService;
+
+class ReportJobServiceImplTest {
+
+    private static final ReportType TYPE = ReportType.values()[0];
+
+    @TempDir
+    Path jobsDir;
+
+    private final IReportExportService reportExportService = mock(IReportExportService.class);
+    private ReportJobServiceImpl service;
+
+    private void start(int workers, int queueCapacity) throws Exception {
+        service = new ReportJobServiceImpl();
+        ReflectionTestUtils.setField(service, "reportExportService", reportExportService);
+        ReflectionTestUtils.setField(service, "jobsDir", jobsDir.toString());
+        ReflectionTestUtils.setField(service, "workers", workers);
+        ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(service, "artifactTtlMinutes", 60L);
+        ReflectionTestUtils.setField(service, "sweepIntervalSeconds", 300L);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void onlyRangesEndingBeforeTodayAreReused() throws Exception {
+        when(reportExportService.writeCsv(anyInt(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(4);
+            out.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        start(1, 10);
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        awaitCompleted(service.submit(7, TYPE, "csv", yesterday.minusDays(7), yesterday));
+        assertTrue(service.submit(7, TYPE, "csv", yesterday.minusDays(7), yesterday).getCached());
+
+        awaitCompleted(service.submit(7, TYPE, "csv", yesterday, null));
+        ReportJobDto again = service.submit(7, TYPE, "csv", yesterday, null);
+        assertFalse(again.getCached(), "rows written later today must be picked up");
+        awaitCompleted(again);
+
+        verify(reportExportService, times(3)).writeCsv(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void fullQueueIsServiceUnavailable() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportExportService.writeCsv(anyInt(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 0L;
+        });
+        start(1, 1);
+        LocalDate day = LocalDate.now().minusDays(30);
+
+        ReportJobDto running = service.submit(7, TYPE, "csv", day, day);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!"RUNNING".equals(service.getJob(running.getJobId()).getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        service.submit(7, TYPE, "csv", day.plusDays(1), day.plusDays(1));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> service.submit(7, TYPE, "csv", day.plusDays(2), day.plusDays(2)));
+        release.countDown();
+    }
+
+    private void awaitCompleted(ReportJobDto job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!"COMPLETED".equals(service.getJob(job.getJobId()).getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("COMPLETED", service.getJob(job.getJobId()).getStatus());
+    }
+}
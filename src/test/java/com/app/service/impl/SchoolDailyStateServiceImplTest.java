@@ -0,0 +1,105 @@
+package com.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.Enum.EventType;
+import com.app.entity.DispatchLog;
+import com.app.entity.School;
+import com.app.entity.Student;
+import com.app.entity.Vehicle;
+import com.app.repository.DispatchLogRepository;
+import com.app.repository.projection.VehicleLastEventProjection;
+
+class SchoolDailyStateServiceImplTest {
+
+    private final DispatchLogRepository dispatchLogRepository = mock(DispatchLogRepository.class);
+    private SchoolDailyStateServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SchoolDailyStateServiceImpl();
+        ReflectionTestUtils.setField(service, "dispatchLogRepository", dispatchLogRepository);
+        when(dispatchLogRepository.findDailyEventsSince(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void singleNodeCountsFromRecordedEvents() {
+        service.loadOnStartup();
+        LocalDateTime now = LocalDateTime.now();
+
+        service.record(event(1, 10, 100, EventType.PICKUP_FROM_PARENT, now.minusMinutes(30)));
+        service.record(event(1, 11, 101, EventType.PICKUP_FROM_PARENT, now.minusMinutes(20)));
+        service.record(event(1, 11, 101, EventType.DROP_TO_SCHOOL, now.minusMinutes(10)));
+        service.record(event(1, 11, 102, EventType.DROP_TO_SCHOOL, now.minusMinutes(10)));
+
+        assertEquals(1, service.countVehiclesInTransit(1));
+        assertEquals(2, service.countStudentsDroppedAtSchool(1));
+        assertEquals(0, service.countStudentsHandedToParents(1));
+        verify(dispatchLogRepository, never()).findLastPickupAndDropBySchool(anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void multiNodeCountsFromTheDatabase() {
+        ReflectionTestUtils.setField(service, "multiNode", true);
+        service.loadOnStartup();
+        LocalDateTime now = LocalDateTime.now();
+        when(dispatchLogRepository.findLastPickupAndDropBySchool(eq(1), any(), any(), any())).thenReturn(List.of(
+                lastEvents(10, now.minusMinutes(5), now.minusMinutes(30)),
+                lastEvents(11, now.minusMinutes(30), now.minusMinutes(5)),
+                lastEvents(12, now.minusMinutes(5), null)));
+        when(dispatchLogRepository.countDistinctStudentsBySchoolAndEventTypeSince(eq(1), eq(EventType.DROP_TO_SCHOOL), any()))
+                .thenReturn(7L);
+
+        // An event recorded on this node is not the whole picture and is not applied
+        service.record(event(1, 13, 100, EventType.PICKUP_FROM_PARENT, now));
+
+        assertEquals(2, service.countVehiclesInTransit(1));
+        assertEquals(7, service.countStudentsDroppedAtSchool(1));
+        verify(dispatchLogRepository, never()).findDailyEventsSince(any(), any());
+        assertEquals(0, service.getStats().get("schools"));
+    }
+
+    private static DispatchLog event(int schoolId, int vehicleId, int studentId, EventType eventType, LocalDateTime createdDate) {
+        School school = new School();
+        school.setSchoolId(schoolId);
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(vehicleId);
+        Student student = new Student();
+        student.setStudentId(studentId);
+        return DispatchLog.builder().school(school).vehicle(vehicle).student(student)
+                .eventType(eventType).createdDate(createdDate).build();
+    }
+
+    private static VehicleLastEventProjection lastEvents(Integer vehicleId, LocalDateTime lastPickup, LocalDateTime lastDrop) {
+        return new VehicleLastEventProjection() {
+            @Override
+            public Integer getVehicleId() {
+                return vehicleId;
+            }
+
+            @Override
+            public LocalDateTime getLastPickupTime() {
+                return lastPickup;
+            }
+
+            @Override
+            public LocalDateTime getLastDropTime() {
+                return lastDrop;
+            }
+        };
+    }
+}
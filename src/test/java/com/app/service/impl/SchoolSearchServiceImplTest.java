@@ -0,0 +1,69 @@
+package com.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.entity.School;
+import com.app.repository.SchoolRepository;
+import com.app.repository.projection.SchoolSearchProjection;
+
+class SchoolSearchServiceImplTest {
+
+    private final SchoolRepository schoolRepository = mock(SchoolRepository.class);
+    private SchoolSearchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SchoolSearchServiceImpl();
+        ReflectionTestUtils.setField(service, "schoolRepository", schoolRepository);
+    }
+
+    @Test
+    void schoolDeletedWhileReloadingStaysDeleted() {
+        List<SchoolSearchProjection> snapshot = List.of(row(1, "Green Valley School"), row(2, "Green Park School"));
+        when(schoolRepository.findAllSearchRows()).thenAnswer(invocation -> {
+            // Committed after the snapshot was read, before it is applied
+            service.remove(2);
+            return snapshot;
+        });
+
+        service.rebuild();
+
+        assertEquals(List.of(1), service.search("green"));
+    }
+
+    @Test
+    void schoolRenamedWhileReloadingKeepsItsNewName() {
+        List<SchoolSearchProjection> snapshot = List.of(row(1, "Green Valley School"));
+        when(schoolRepository.findAllSearchRows()).thenAnswer(invocation -> {
+            service.index(school(1, "Blue Hills School"));
+            return snapshot;
+        });
+
+        service.rebuild();
+
+        assertEquals(List.of(), service.search("green"));
+        assertEquals(List.of(1), service.search("blue"));
+    }
+
+    private static School school(Integer schoolId, String name) {
+        School school = new School();
+        school.setSchoolId(schoolId);
+        school.setSchoolName(name);
+        return school;
+    }
+
+    private static SchoolSearchProjection row(Integer schoolId, String name) {
+        SchoolSearchProjection row = mock(SchoolSearchProjection.class);
+        when(row.getSchoolId()).thenReturn(schoolId);
+        when(row.getSchoolName()).thenReturn(name);
+        return row;
+    }
+}
@@ -0,0 +1,35 @@
+package com.app.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+    @Test
+    void fullCacheDropsExpiredEntriesFirst() {
+        long nowMs = System.currentTimeMillis();
+        Map<String, Long> cache = new LinkedHashMap<>();
+        cache.put("expired", nowMs - 10_000);
+        cache.put("fresh", nowMs);
+
+        BoundedCache.put(cache, "new", nowMs, 2, 5_000, Long::longValue);
+
+        assertEquals(Map.of("fresh", nowMs, "new", nowMs), cache);
+    }
+
+    @Test
+    void fullCacheWithoutExpiredEntriesStartsOver() {
+        long nowMs = System.currentTimeMillis();
+        Map<String, Long> cache = new LinkedHashMap<>();
+        cache.put("a", nowMs);
+        cache.put("b", nowMs);
+
+        BoundedCache.put(cache, "c", nowMs, 2, 5_000, Long::longValue);
+
+        assertEquals(Map.of("c", nowMs), cache);
+    }
+}